@@ -22,8 +22,11 @@ import com.ella.backend.classification.entity.CategoryFeedback;
 import com.ella.backend.classification.entity.CategoryRule;
 import com.ella.backend.classification.repository.CategoryFeedbackRepository;
 import com.ella.backend.classification.repository.CategoryRuleRepository;
+import com.ella.backend.classification.rules.MerchantMappings;
 import com.ella.backend.dto.ApiResponse;
+import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.User;
+import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.services.UserService;
 
 import jakarta.validation.Valid;
@@ -38,6 +41,7 @@ public class ClassificationController {
     private final UserService userService;
     private final CategoryFeedbackRepository feedbackRepository;
     private final CategoryRuleRepository ruleRepository;
+    private final FinancialTransactionRepository transactionRepository;
 
     @PostMapping("/suggest")
     @PreAuthorize("isAuthenticated()")
@@ -57,14 +61,21 @@ public class ClassificationController {
         User user = getCurrentUser();
 
         UUID txId = UUID.fromString(request.transactionId());
+        String merchantKey = transactionRepository.findById(txId)
+                .map(FinancialTransaction::getDescription)
+                .map(MerchantMappings::merchantKey)
+                .filter(k -> !k.isBlank())
+                .orElse(null);
 
         feedbackRepository.save(CategoryFeedback.builder()
                 .userId(user.getId())
                 .transactionId(txId)
+                .merchantKey(merchantKey)
                 .suggestedCategory(request.suggestedCategory())
                 .chosenCategory(request.chosenCategory())
                 .confidence(request.confidence())
                 .build());
+        classificationService.invalidate(user.getId());
 
         return ResponseEntity.ok(ApiResponse.success(null, "Feedback registrado"));
     }
@@ -101,6 +112,7 @@ public class ClassificationController {
                 .category(request.category())
                 .priority(priority)
                 .build());
+        classificationService.invalidate(user.getId());
 
         return ResponseEntity.status(201).body(ApiResponse.success(
                 new CategoryRuleResponseDTO(
@@ -0,0 +1,198 @@
+package com.ella.backend.classification;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.ella.backend.classification.entity.CategoryRule;
+import com.ella.backend.classification.repository.CategoryFeedbackRepository.FeedbackHistoryProjection;
+import com.ella.backend.classification.rules.KeywordHeuristics;
+import com.ella.backend.classification.rules.KeywordHeuristics.CategoryKeywordWeight;
+import com.ella.backend.classification.rules.MerchantMappings;
+import com.ella.backend.classification.rules.PatternAutomaton;
+
+/**
+ * One user's classification inputs, loaded and compiled once:
+ * explicit rules (normalized, in priority order, in a single {@link PatternAutomaton}) and the feedback
+ * history (reduced to one chosen category per merchant key), on top of the shared curated tables.
+ *
+ * Immutable, so a cached instance can serve concurrent uploads; {@link ClassificationService} rebuilds it
+ * when the user's rules or feedback change.
+ */
+final class CompiledClassifier {
+
+    static final CompiledClassifier EMPTY = compile(List.of(), List.of());
+
+    /**
+     * Category decision independent of the transaction type (which only depends on amount/explicit type).
+     */
+    record Match(String category, double confidence, String reason) {
+    }
+
+    private record Rule(String pattern, String category) {
+    }
+
+    static final int FEEDBACK_MATCH_LIMIT = 50;
+
+    private final List<Rule> rules;
+    private final PatternAutomaton ruleAutomaton;
+    private final Map<String, String> feedbackByMerchantKey;
+    private final int feedbackCount;
+
+    private CompiledClassifier(List<Rule> rules, PatternAutomaton ruleAutomaton, Map<String, String> feedbackByMerchantKey, int feedbackCount) {
+        this.rules = rules;
+        this.ruleAutomaton = ruleAutomaton;
+        this.feedbackByMerchantKey = feedbackByMerchantKey;
+        this.feedbackCount = feedbackCount;
+    }
+
+    /**
+     * @param rules    ordered by priority desc, createdAt desc (first match wins)
+     * @param feedback ordered by createdAt desc
+     */
+    static CompiledClassifier compile(List<CategoryRule> rules, List<FeedbackHistoryProjection> feedback) {
+        List<Rule> compiledRules = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        for (CategoryRule rule : rules) {
+            String pattern = normalize(rule.getPattern());
+            if (pattern.isBlank()) continue;
+            compiledRules.add(new Rule(rule.getPattern(), rule.getCategory()));
+            patterns.add(pattern);
+        }
+
+        return new CompiledClassifier(
+                List.copyOf(compiledRules),
+                PatternAutomaton.compile(patterns),
+                Map.copyOf(chooseFeedbackCategories(feedback)),
+                feedback.size());
+    }
+
+    int ruleCount() {
+        return rules.size();
+    }
+
+    int feedbackCount() {
+        return feedbackCount;
+    }
+
+    Match classify(String description) {
+        String normalizedDescription = normalize(description);
+
+        // 1) Regras explícitas do usuário
+        int rule = ruleAutomaton.firstMatch(normalizedDescription);
+        if (rule >= 0) {
+            Rule r = rules.get(rule);
+            return new Match(r.category(), 0.92, "matched rule: " + r.pattern());
+        }
+
+        // 2) Histórico de feedback do usuário
+        String feedbackMatch = feedbackByMerchantKey.get(MerchantMappings.merchantKey(description));
+        if (feedbackMatch != null) {
+            return new Match(feedbackMatch, 0.90, "feedback history match");
+        }
+
+        // 3) Mapeamentos curados de comerciantes (alta precisão)
+        var merchantMatch = MerchantMappings.bestMatch(MerchantMappings.looseNormalize(description));
+        if (merchantMatch.isPresent()) {
+            var m = merchantMatch.get();
+            return new Match(m.category(), m.confidence(), "merchant mapping: " + m.merchantPattern());
+        }
+
+        // 4) Heurística por score (pesos)
+        List<CategoryKeywordWeight> keywords = KeywordHeuristics.matches(normalizedDescription);
+        Map<String, Double> scores = calculateCategoryScores(keywords);
+        var best = scores.entrySet().stream()
+                .max(Map.Entry.comparingByValue());
+
+        if (best.isPresent() && best.get().getValue() > 0.0) {
+            String bestCategory = best.get().getKey();
+            double bestScore = best.get().getValue();
+            return new Match(bestCategory, confidenceFromScore(bestScore), buildScoreReason(bestCategory, bestScore, keywords));
+        }
+
+        // 5) Fallback
+        return new Match("Outros", 0.50, "fallback");
+    }
+
+    /**
+     * Per merchant key, over its 50 most recent feedback rows: the most frequent chosen category wins,
+     * ties go to the most recent.
+     */
+    private static Map<String, String> chooseFeedbackCategories(List<FeedbackHistoryProjection> feedback) {
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        Map<String, Map<String, LocalDateTime>> latest = new HashMap<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (FeedbackHistoryProjection f : feedback) {
+            String key = f.getMerchantKey();
+            String category = f.getChosenCategory();
+            if (key == null || key.isBlank() || category == null || category.isBlank()) continue;
+            if (seen.merge(key, 1, Integer::sum) > FEEDBACK_MATCH_LIMIT) continue;
+
+            counts.computeIfAbsent(key, k -> new HashMap<>()).merge(category, 1, Integer::sum);
+            if (f.getCreatedAt() != null) {
+                latest.computeIfAbsent(key, k -> new HashMap<>())
+                        .merge(category, f.getCreatedAt(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        Map<String, String> chosen = new HashMap<>();
+        counts.forEach((key, byCategory) -> {
+            Map<String, LocalDateTime> latestByCategory = latest.getOrDefault(key, Map.of());
+            byCategory.entrySet().stream()
+                    .max(Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue)
+                            .thenComparing(e -> latestByCategory.getOrDefault(e.getKey(), LocalDateTime.MIN)))
+                    .ifPresent(e -> chosen.put(key, e.getKey()));
+        });
+        return chosen;
+    }
+
+    /**
+     * Calcula score total por categoria com base nas keywords presentes.
+     */
+    private static Map<String, Double> calculateCategoryScores(List<CategoryKeywordWeight> keywords) {
+        Map<String, Double> scores = new HashMap<>();
+        for (CategoryKeywordWeight kw : keywords) {
+            scores.merge(kw.category(), kw.weight(), Double::sum);
+        }
+        scores.values().removeIf(total -> total <= 0.0);
+        return scores;
+    }
+
+    private static double confidenceFromScore(double score) {
+        if (score >= 1.5) return 0.92;
+        if (score >= 1.0) return 0.88;
+        if (score >= 0.9) return 0.85;
+        if (score >= 0.7) return 0.80;
+        if (score >= 0.5) return 0.72;
+        return 0.65;
+    }
+
+    private static String buildScoreReason(String bestCategory, double bestScore, List<CategoryKeywordWeight> keywords) {
+        // lista as keywords que contribuíram para o score da categoria escolhida
+        List<String> matched = new ArrayList<>();
+        for (CategoryKeywordWeight kw : keywords) {
+            if (kw.category().equals(bestCategory)) {
+                matched.add(kw.keyword() + "(" + kw.weight() + ")");
+            }
+        }
+
+        matched.sort(String::compareTo);
+        if (matched.isEmpty()) {
+            return "keyword score: " + String.format(Locale.ROOT, "%.2f", bestScore);
+        }
+        return "keyword score: " + String.format(Locale.ROOT, "%.2f", bestScore) + " matched=" + String.join(",", matched);
+    }
+
+    static String normalize(String input) {
+        if (input == null) return "";
+        String s = input.trim().toLowerCase(Locale.ROOT);
+        s = Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        s = s.replaceAll("\\s+", " ");
+        return s;
+    }
+}
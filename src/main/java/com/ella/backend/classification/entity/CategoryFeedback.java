@@ -36,6 +36,12 @@ public class CategoryFeedback {
     @Column(name = "transaction_id")
     private UUID transactionId;
 
+    /**
+     * {@code MerchantMappings.merchantKey} of the corrected transaction's description; feedback lookups go by this key.
+     */
+    @Column(name = "merchant_key")
+    private String merchantKey;
+
     @Column(name = "suggested_category")
     private String suggestedCategory;
 
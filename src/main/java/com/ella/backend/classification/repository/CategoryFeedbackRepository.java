@@ -1,5 +1,6 @@
 package com.ella.backend.classification.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,17 +12,26 @@ import com.ella.backend.classification.entity.CategoryFeedback;
 
 public interface CategoryFeedbackRepository extends JpaRepository<CategoryFeedback, UUID> {
 
-		@Query("""
-						select cf from CategoryFeedback cf
-						where cf.userId = :userId
-							and cf.transactionId in (
-								select ft.id from FinancialTransaction ft
-								where lower(ft.description) like lower(concat('%', :description, '%'))
-							)
-						order by cf.createdAt desc
-						""")
-		List<CategoryFeedback> findSimilarFeedback(
-						@Param("userId") UUID userId,
-						@Param("description") String description
-		);
+		interface FeedbackHistoryProjection {
+				String getChosenCategory();
+				LocalDateTime getCreatedAt();
+				String getMerchantKey();
+		}
+
+		/**
+		 * A user's keyed feedback, at most {@code perKeyLimit} newest rows per merchant key, newest first.
+		 * Each key is read in index order from idx_category_feedback_user_merchant_key, so the load grows
+		 * with the user's merchants, not with how many times each one was corrected.
+		 */
+		@Query(value = """
+						select chosen_category as "chosenCategory", created_at as "createdAt", merchant_key as "merchantKey"
+						  from (select cf.chosen_category, cf.created_at, cf.merchant_key,
+						               row_number() over (partition by cf.merchant_key order by cf.created_at desc) as rn
+						          from category_feedback cf
+						         where cf.user_id = :userId
+						           and cf.merchant_key is not null) recent
+						 where rn <= :perKeyLimit
+						 order by created_at desc
+						""", nativeQuery = true)
+		List<FeedbackHistoryProjection> findFeedbackHistory(@Param("userId") UUID userId, @Param("perKeyLimit") int perKeyLimit);
 }
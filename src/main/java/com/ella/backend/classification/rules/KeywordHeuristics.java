@@ -1,6 +1,7 @@
 package com.ella.backend.classification.rules;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,6 +35,12 @@ public final class KeywordHeuristics {
      */
     public static final List<CategoryKeywordWeight> KEYWORDS;
 
+    /**
+     * Entradas efetivas de CATEGORY_KEYWORD_WEIGHTS (na mesma ordem), compiladas num único autômato.
+     */
+    private static final List<CategoryKeywordWeight> INDEXED;
+    private static final PatternAutomaton AUTOMATON;
+
     static {
         List<CategoryKeywordWeight> items = new ArrayList<>();
 
@@ -99,6 +106,46 @@ public final class KeywordHeuristics {
 
         KEYWORDS = Collections.unmodifiableList(items);
         CATEGORY_KEYWORD_WEIGHTS = Collections.unmodifiableMap(buildCategoryMap(items));
+
+        List<CategoryKeywordWeight> indexed = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Double>> byCategory : CATEGORY_KEYWORD_WEIGHTS.entrySet()) {
+            for (Map.Entry<String, Double> kw : byCategory.getValue().entrySet()) {
+                indexed.add(new CategoryKeywordWeight(byCategory.getKey(), kw.getKey(), kw.getValue()));
+            }
+        }
+        INDEXED = List.copyOf(indexed);
+        AUTOMATON = PatternAutomaton.compile(INDEXED.stream().map(CategoryKeywordWeight::keyword).toList());
+    }
+
+    /**
+     * Todas as keywords (com categoria e peso) presentes na descrição normalizada, numa única passada,
+     * na ordem de CATEGORY_KEYWORD_WEIGHTS. Cada keyword aparece uma vez, mesmo que ocorra várias vezes.
+     */
+    public static List<CategoryKeywordWeight> matches(String normalizedDescription) {
+        if (normalizedDescription == null || normalizedDescription.isEmpty()) return List.of();
+
+        BitSet found = new BitSet(INDEXED.size());
+        AUTOMATON.forEachMatch(normalizedDescription, (k, start, end) -> found.set(k));
+        if (found.isEmpty()) return List.of();
+
+        List<CategoryKeywordWeight> out = new ArrayList<>(found.cardinality());
+        for (int k = found.nextSetBit(0); k >= 0; k = found.nextSetBit(k + 1)) {
+            out.add(INDEXED.get(k));
+        }
+        return out;
+    }
+
+    /**
+     * Implementação de referência ({@code contains} por keyword), mantida para o teste de equivalência e o benchmark.
+     */
+    static List<CategoryKeywordWeight> matchesLinear(String normalizedDescription) {
+        if (normalizedDescription == null || normalizedDescription.isEmpty()) return List.of();
+
+        List<CategoryKeywordWeight> out = new ArrayList<>();
+        for (CategoryKeywordWeight kw : INDEXED) {
+            if (normalizedDescription.contains(kw.keyword())) out.add(kw);
+        }
+        return out;
     }
 
     private static Map<String, Map<String, Double>> buildCategoryMap(List<CategoryKeywordWeight> items) {
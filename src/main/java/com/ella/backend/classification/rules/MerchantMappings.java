@@ -1,10 +1,13 @@
 package com.ella.backend.classification.rules;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -13,6 +16,10 @@ import java.util.Optional;
  *
  * Matching is done against a "loose normalized" description (lowercase, no accents,
  * and with non-alphanumeric characters treated as spaces).
+ *
+ * The distinct fragments of all mappings are compiled once into a {@link PatternAutomaton}, so
+ * {@link #bestMatch} is one pass over the description plus work proportional to the fragments found,
+ * regardless of how many mappings exist.
  */
 public final class MerchantMappings {
 
@@ -55,6 +62,18 @@ public final class MerchantMappings {
 
     public static final List<MerchantMapping> MAPPINGS;
 
+    private static final int MERCHANT_KEY_MAX_LENGTH = 255;
+
+    // Fragment index, built from MAPPINGS: fragment id -> text / mappings using it; mapping -> distinct fragment ids.
+    private static final String[] FRAGMENTS;
+    private static final int[][] MAPPINGS_BY_FRAGMENT;
+    private static final int[][] FRAGMENTS_BY_MAPPING;
+    private static final PatternAutomaton FRAGMENT_AUTOMATON;
+
+    private static final Comparator<MerchantMapping> BY_PREFERENCE = Comparator
+            .comparingDouble(MerchantMapping::confidence)
+            .thenComparingInt(MerchantMapping::specificityScore);
+
     static {
         List<MerchantMapping> items = new ArrayList<>();
 
@@ -194,18 +213,90 @@ public final class MerchantMappings {
         items.add(mapping("911 MUSEUM", "Lazer", 0.88));
 
         MAPPINGS = Collections.unmodifiableList(items);
+
+        Map<String, Integer> fragmentIds = new LinkedHashMap<>();
+        List<List<Integer>> usedBy = new ArrayList<>();
+        FRAGMENTS_BY_MAPPING = new int[MAPPINGS.size()][];
+        for (int m = 0; m < MAPPINGS.size(); m++) {
+            List<Integer> ids = new ArrayList<>();
+            for (String f : MAPPINGS.get(m).fragments()) {
+                if (f == null || f.isBlank()) continue;
+                Integer id = fragmentIds.get(f);
+                if (id == null) {
+                    id = fragmentIds.size();
+                    fragmentIds.put(f, id);
+                    usedBy.add(new ArrayList<>());
+                }
+                if (ids.contains(id)) continue;
+                ids.add(id);
+                usedBy.get(id).add(m);
+            }
+            FRAGMENTS_BY_MAPPING[m] = ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+        FRAGMENTS = fragmentIds.keySet().toArray(new String[0]);
+        MAPPINGS_BY_FRAGMENT = new int[FRAGMENTS.length][];
+        for (int f = 0; f < FRAGMENTS.length; f++) {
+            MAPPINGS_BY_FRAGMENT[f] = usedBy.get(f).stream().mapToInt(Integer::intValue).toArray();
+        }
+        FRAGMENT_AUTOMATON = PatternAutomaton.compile(List.of(FRAGMENTS));
     }
 
+    /**
+     * Highest-confidence mapping (then most specific, then first in {@link #MAPPINGS}) whose fragments
+     * all occur in the description, with the same rules as {@link MerchantMapping#matchesLoose}.
+     */
     public static Optional<MerchantMapping> bestMatch(String looseNormalizedDescription) {
         if (looseNormalizedDescription == null || looseNormalizedDescription.isBlank()) {
             return Optional.empty();
         }
 
+        BitSet found = new BitSet(FRAGMENTS.length);
+        FRAGMENT_AUTOMATON.forEachMatch(looseNormalizedDescription, (f, start, end) -> {
+            if (FRAGMENTS[f].length() <= 3 && !isToken(looseNormalizedDescription, start, end)) return;
+            found.set(f);
+        });
+
+        int best = -1;
+        for (int f = found.nextSetBit(0); f >= 0; f = found.nextSetBit(f + 1)) {
+            for (int m : MAPPINGS_BY_FRAGMENT[f]) {
+                if (m == best || !containsAll(found, FRAGMENTS_BY_MAPPING[m])) continue;
+                if (best < 0) {
+                    best = m;
+                    continue;
+                }
+                // Ties go to the mapping listed first, like Stream.max over MAPPINGS.
+                int cmp = BY_PREFERENCE.compare(MAPPINGS.get(m), MAPPINGS.get(best));
+                if (cmp > 0 || (cmp == 0 && m < best)) best = m;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(MAPPINGS.get(best));
+    }
+
+    /**
+     * Reference implementation (one {@link MerchantMapping#matchesLoose} per mapping), kept for the
+     * equivalence test and the benchmark.
+     */
+    static Optional<MerchantMapping> bestMatchLinear(String looseNormalizedDescription) {
+        if (looseNormalizedDescription == null || looseNormalizedDescription.isBlank()) {
+            return Optional.empty();
+        }
+
         return MAPPINGS.stream()
                 .filter(m -> m.matchesLoose(looseNormalizedDescription))
-                .max(Comparator
-                        .comparingDouble(MerchantMapping::confidence)
-                        .thenComparingInt(MerchantMapping::specificityScore));
+                .max(BY_PREFERENCE);
+    }
+
+    // Same as matchesLoose's padded " f " check: bounded by a space or the end of the text.
+    private static boolean isToken(String text, int start, int end) {
+        return (start == 0 || text.charAt(start - 1) == ' ')
+                && (end == text.length() || text.charAt(end) == ' ');
+    }
+
+    private static boolean containsAll(BitSet found, int[] fragmentIds) {
+        for (int f : fragmentIds) {
+            if (!found.get(f)) return false;
+        }
+        return true;
     }
 
     private static MerchantMapping mapping(String pattern, String category, double confidence) {
@@ -236,4 +327,18 @@ public final class MerchantMappings {
         s = s.replaceAll("\\s+", " ").trim();
         return s;
     }
+
+    /**
+     * Key under which category feedback is stored and looked up: {@link #looseNormalize} without digits,
+     * so "MERCADO CARREFOUR 123" and "Mercado-Carrefour 0042" share a key (store numbers, installments
+     * and dates don't split the history). Empty input yields an empty key.
+     *
+     * Keep in sync with the backfill in V44__add_merchant_key_to_category_feedback.sql.
+     */
+    public static String merchantKey(String input) {
+        String s = looseNormalize(input);
+        s = s.replaceAll("[0-9]+", " ");
+        s = s.replaceAll("\\s+", " ").trim();
+        return s.length() > MERCHANT_KEY_MAX_LENGTH ? s.substring(0, MERCHANT_KEY_MAX_LENGTH).trim() : s;
+    }
 }
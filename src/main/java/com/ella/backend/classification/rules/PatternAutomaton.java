@@ -0,0 +1,174 @@
+package com.ella.backend.classification.rules;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton over a fixed list of (already normalized) patterns.
+ *
+ * One pass over the text reports every occurrence of every pattern, so matching cost depends on the
+ * text length and the number of hits, not on how many patterns were compiled. Immutable and
+ * thread-safe once built.
+ */
+public final class PatternAutomaton {
+
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param pattern index of the pattern in the list given to {@link #compile}
+         * @param start   start of the occurrence in the text (inclusive)
+         * @param end     end of the occurrence in the text (exclusive)
+         */
+        void onMatch(int pattern, int start, int end);
+    }
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    // Transitions in CSR form: node n owns keys/targets [edgeStart[n], edgeStart[n + 1]), keys sorted.
+    private final int[] edgeStart;
+    private final char[] keys;
+    private final int[] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+
+    private PatternAutomaton(int[] edgeStart, char[] keys, int[] targets, int[] fail, int[][] outputs, int[] patternLengths) {
+        this.edgeStart = edgeStart;
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+    }
+
+    /**
+     * Compiles {@code patterns}; null/empty patterns are kept (so indexes line up) but never match.
+     */
+    public static PatternAutomaton compile(List<String> patterns) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        out.add(new ArrayList<>());
+
+        int[] lengths = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern == null || pattern.isEmpty()) continue;
+            lengths[p] = pattern.length();
+
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    out.add(new ArrayList<>());
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            out.get(node).add(p);
+        }
+
+        int nodes = trie.size();
+        int[] edgeStart = new int[nodes + 1];
+        for (int n = 0; n < nodes; n++) {
+            edgeStart[n + 1] = edgeStart[n] + trie.get(n).size();
+        }
+        char[] keys = new char[edgeStart[nodes]];
+        int[] targets = new int[edgeStart[nodes]];
+        for (int n = 0; n < nodes; n++) {
+            int e = edgeStart[n];
+            for (Map.Entry<Character, Integer> edge : trie.get(n).entrySet()) {
+                keys[e] = edge.getKey();
+                targets[e] = edge.getValue();
+                e++;
+            }
+        }
+
+        // BFS for failure links; outputs are merged along the failure chain so matching never walks it.
+        int[] fail = new int[nodes];
+        int[][] outputs = new int[nodes][];
+        outputs[0] = toArray(out.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            fail[targets[e]] = 0;
+            queue.add(targets[e]);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            List<Integer> merged = new ArrayList<>(out.get(node));
+            for (int p : outputsOf(outputs, fail[node])) merged.add(p);
+            outputs[node] = toArray(merged);
+
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                char c = keys[e];
+                int child = targets[e];
+                int f = fail[node];
+                int next;
+                while ((next = step(edgeStart, keys, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = (next >= 0 && next != child) ? next : 0;
+                queue.add(child);
+            }
+        }
+
+        return new PatternAutomaton(edgeStart, keys, targets, fail, outputs, lengths);
+    }
+
+    /**
+     * Reports every occurrence of every pattern in {@code text}, in order of end position.
+     */
+    public void forEachMatch(CharSequence text, MatchListener listener) {
+        if (text == null) return;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(edgeStart, keys, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            for (int p : outputs[state]) {
+                listener.onMatch(p, i + 1 - patternLengths[p], i + 1);
+            }
+        }
+    }
+
+    /**
+     * Lowest pattern index occurring in {@code text}, or -1. With patterns in priority order this is
+     * "first pattern that {@code text.contains}".
+     */
+    public int firstMatch(CharSequence text) {
+        int[] best = {-1};
+        forEachMatch(text, (pattern, start, end) -> {
+            if (best[0] < 0 || pattern < best[0]) best[0] = pattern;
+        });
+        return best[0];
+    }
+
+    private static int step(int[] edgeStart, char[] keys, int[] targets, int node, char c) {
+        int from = edgeStart[node];
+        int to = edgeStart[node + 1];
+        int idx = Arrays.binarySearch(keys, from, to, c);
+        return idx >= 0 ? targets[idx] : -1;
+    }
+
+    private static int[] outputsOf(int[][] outputs, int node) {
+        int[] o = outputs[node];
+        return o == null ? NO_OUTPUT : o;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) return NO_OUTPUT;
+        int[] arr = new int[values.size()];
+        for (int i = 0; i < arr.length; i++) arr[i] = values.get(i);
+        return arr;
+    }
+}
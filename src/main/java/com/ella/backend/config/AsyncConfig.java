@@ -1,8 +1,34 @@
 package com.ella.backend.config;
 
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import lombok.extern.slf4j.Slf4j;
+
 @Configuration
 @EnableAsync
-public class AsyncConfig {}
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${ella.async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Executor for plain {@code @Async} methods (audit events, e-mail events). With
+     * {@code ella.async.virtual-threads=true} each call gets its own virtual thread; otherwise
+     * Spring's default async executor is kept.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        if (!virtualThreads) return null;
+        log.info("[Async] @Async methods run on virtual threads");
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-vt-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -1,22 +1,98 @@
 package com.ella.backend.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.ella.backend.services.uploads.UploadQueueProperties;
 
 @Configuration
+@EnableConfigurationProperties(UploadQueueProperties.class)
 public class AsyncExecutorConfig {
 
+    @Value("${ella.async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Runs jobs claimed by InvoiceUploadJobWorker. The backlog lives in the database, so the pool is
+     * sized to the per-node concurrency with no in-memory queue to lose on restart.
+     *
+     * Uploads mostly wait on I/O (ella-extractor, Adobe, Postgres). With {@code ella.async.virtual-threads=true}
+     * each job runs on a virtual thread, so {@code ella.uploads.queue.concurrency} can go to the hundreds
+     * without a platform thread each. The shared resources stay bounded on their own: remote extractor calls
+     * by the per-client bulkhead (callers wait up to {@code ella.resilience.max-wait-ms} for a slot),
+     * connections by the Hikari pool, and PDF rendering/OCR by the platform pool {@code ocrTaskExecutor}.
+     */
     @Bean(name = "invoiceUploadTaskExecutor")
-    public Executor invoiceUploadTaskExecutor() {
+    public Executor invoiceUploadTaskExecutor(UploadQueueProperties queueProperties) {
+        int threads = Math.max(1, queueProperties.getConcurrency());
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("invoice-upload-vt-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(200);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
         executor.setThreadNamePrefix("invoice-upload-");
+        // Let running uploads finish on deploy; anything cut off is re-claimed after its lease expires.
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Runs the dashboard insight providers of one request in parallel (DashboardInsightsService).
+     * Tasks see the caller's request attributes, so the request-scoped InsightDataCache is shared
+     * with the request thread. When the pool and its queue are full the caller runs the provider itself.
+     */
+    @Bean(name = "insightTaskExecutor")
+    public Executor insightTaskExecutor(@Value("${ella.insights.parallelism:4}") int parallelism) {
+        int threads = Math.max(1, parallelism);
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("insight-vt-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(requestContextDecorator());
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("insight-");
+        executor.setTaskDecorator(requestContextDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static TaskDecorator requestContextDecorator() {
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            return () -> {
+                RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    task.run();
+                } finally {
+                    RequestContextHolder.setRequestAttributes(previous);
+                }
+            };
+        };
+    }
 }
@@ -0,0 +1,37 @@
+package com.ella.backend.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/health/extractorCircuits}: state of every ella-extractor/Adobe circuit.
+ *
+ * Stays UP while circuits are open: uploads still work through the text fallback, and an
+ * external outage must not get this node pulled out of the load balancer.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExtractorCircuitsHealthIndicator implements HealthIndicator {
+
+    private final RemoteCallResilience resilience;
+
+    @Override
+    public Health health() {
+        Map<String, String> states = resilience.states();
+        List<String> open = states.entrySet().stream()
+                .filter(e -> !"CLOSED".equals(e.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        return Health.up()
+                .withDetail("degraded", !open.isEmpty())
+                .withDetail("notClosed", open)
+                .withDetail("circuits", states)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ella.backend.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties({ExtractorHttpProperties.class, RemoteCallResilienceProperties.class})
+@Slf4j
+public class ExtractorHttpConfig {
+
+    /**
+     * One pooled, keep-alive client for all ella-extractor calls. Responses are transparently
+     * gunzipped (HttpClient 5 sends Accept-Encoding: gzip by default).
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient extractorHttpClient(ExtractorHttpProperties properties) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        log.info("[ExtractorHttp] pool maxTotal={} maxPerRoute={} connectTimeoutMs={} keepAliveSeconds={}",
+                properties.getMaxConnections(), properties.getMaxConnectionsPerRoute(),
+                properties.getConnectTimeoutMs(), properties.getKeepAliveSeconds());
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(properties.getKeepAliveSeconds()))
+                .evictIdleConnections(TimeValue.of(properties.getKeepAliveSeconds(), TimeUnit.SECONDS))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RemoteCallResilience remoteCallResilience(RemoteCallResilienceProperties properties) {
+        log.info("[Resilience] enabled={} failureRate={}% window={} openWaitMs={} maxConcurrentCalls={} maxWaitMs={}",
+                properties.isEnabled(), properties.getFailureRateThreshold(), properties.getSlidingWindowSize(),
+                properties.getOpenStateWaitMs(), properties.getMaxConcurrentCalls(), properties.getMaxWaitMs());
+        return new RemoteCallResilience(properties);
+    }
+
+    @Bean
+    public ExtractorRestTemplates extractorRestTemplates(
+            CloseableHttpClient extractorHttpClient,
+            ExtractorHttpProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            RemoteCallResilience remoteCallResilience
+    ) {
+        return new ExtractorRestTemplates(extractorHttpClient, properties, meterRegistry.getIfAvailable(), remoteCallResilience);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ella.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Shared HTTP connection pool used by every ella-extractor client.
+ */
+@ConfigurationProperties(prefix = "ella.extractor.http")
+public class ExtractorHttpProperties {
+
+    private int maxConnections = 50;
+
+    private int maxConnectionsPerRoute = 20;
+
+    private int connectTimeoutMs = 2000;
+
+    /**
+     * Idle pooled connections are closed after this long (keep-alive window).
+     */
+    private int keepAliveSeconds = 30;
+
+    /**
+     * Read timeout overrides per client, e.g. {@code read-timeout-ms.itau-bank-statement=45000}.
+     * Clients without an entry use their built-in default.
+     */
+    private Map<String, Integer> readTimeoutMs = new LinkedHashMap<>();
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public Map<String, Integer> getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(Map<String, Integer> readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ella.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records {@code ella.extractor.http} latency histograms tagged by client, endpoint path and outcome
+ * (HTTP status, IO_ERROR, or REJECTED by an open circuit / full bulkhead). Endpoint paths are fixed per client, so tag cardinality stays small.
+ */
+class ExtractorMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String METRIC = "ella.extractor.http";
+
+    private final MeterRegistry meterRegistry;
+    private final String clientName;
+
+    ExtractorMetricsInterceptor(MeterRegistry meterRegistry, String clientName) {
+        this.meterRegistry = meterRegistry;
+        this.clientName = clientName;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (RemoteCallResilience.RemoteCallRejectedException e) {
+            outcome = "REJECTED";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("ella-extractor call latency")
+                    .tag("client", clientName)
+                    .tag("endpoint", request.getURI().getPath())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
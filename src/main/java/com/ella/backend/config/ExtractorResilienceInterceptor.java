@@ -0,0 +1,41 @@
+package com.ella.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Routes each extractor call through {@link RemoteCallResilience}; 5xx responses count as failures,
+ * 4xx (e.g. a PDF the extractor rejects) do not.
+ */
+class ExtractorResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RemoteCallResilience resilience;
+    private final String clientName;
+
+    ExtractorResilienceInterceptor(RemoteCallResilience resilience, String clientName) {
+        this.resilience = resilience;
+        this.clientName = clientName;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        return resilience.execute(
+                clientName,
+                request.getURI().getPath(),
+                () -> execution.execute(request, body),
+                response -> statusOrZero(response) >= 500);
+    }
+
+    private static int statusOrZero(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().value();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ella.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out one {@link RestTemplate} per extractor client, all backed by the same pooled
+ * {@link HttpClient}. Only the read timeout differs per client.
+ *
+ * Every ella-extractor client (invoice parsers and bank statement extractors) takes this in its
+ * Spring constructor, so they share connections, keep-alive and gzip handling, and their calls go
+ * through the metrics and resilience interceptors. Clients built without it keep a standalone
+ * RestTemplate of their own.
+ */
+public class ExtractorRestTemplates {
+
+    private final HttpClient httpClient;
+    private final ExtractorHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RemoteCallResilience resilience;
+    private final Map<String, RestTemplate> byClient = new ConcurrentHashMap<>();
+
+    public ExtractorRestTemplates(
+            HttpClient httpClient,
+            ExtractorHttpProperties properties,
+            MeterRegistry meterRegistry,
+            RemoteCallResilience resilience
+    ) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.resilience = resilience;
+    }
+
+    /**
+     * @param clientName     metrics tag and key for {@code ella.extractor.http.read-timeout-ms.<clientName>}
+     * @param defaultTimeout read timeout when no override is configured
+     */
+    public RestTemplate get(String clientName, Duration defaultTimeout) {
+        return byClient.computeIfAbsent(clientName, name -> create(name, defaultTimeout));
+    }
+
+    private RestTemplate create(String clientName, Duration defaultTimeout) {
+        Integer override = properties.getReadTimeoutMs().get(clientName);
+        Duration readTimeout = override != null && override > 0 ? Duration.ofMillis(override) : defaultTimeout;
+
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+
+        // Metrics outermost so calls rejected by the circuit breaker/bulkhead are counted too.
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        if (meterRegistry != null) {
+            interceptors.add(new ExtractorMetricsInterceptor(meterRegistry, clientName));
+        }
+        if (resilience != null) {
+            interceptors.add(new ExtractorResilienceInterceptor(resilience, clientName));
+        }
+
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.setInterceptors(interceptors);
+        return restTemplate;
+    }
+
+    /**
+     * False while the circuit for this client/endpoint is open: callers should skip the call and use their fallback.
+     */
+    public boolean isCallPermitted(String clientName, String endpoint) {
+        return resilience == null || resilience.isCallPermitted(clientName, endpoint);
+    }
+}
@@ -0,0 +1,188 @@
+package com.ella.backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breakers (one per client + endpoint) and bulkheads (one per client) for remote extraction calls.
+ *
+ * An open circuit rejects the call immediately, so callers fall back to text parsing instead of waiting
+ * for a timeout on a service that is down. A full bulkhead makes the call wait up to
+ * {@code ella.resilience.max-wait-ms} for a slot and only then rejects it.
+ */
+@Slf4j
+public class RemoteCallResilience {
+
+    @FunctionalInterface
+    public interface RemoteCall<T> {
+        T call() throws IOException;
+    }
+
+    /**
+     * Thrown when a call is rejected without being attempted (open circuit or full bulkhead).
+     */
+    public static class RemoteCallRejectedException extends IOException {
+        public RemoteCallRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Records, for the current thread, whether any remote call was skipped (open circuit), rejected
+     * (full bulkhead) or failed while it was open. Callers use it to tell a result assembled from
+     * fallbacks apart from a complete one (e.g. to avoid caching the former). Scopes nest.
+     */
+    public static final class DegradationTracker implements AutoCloseable {
+
+        private final DegradationTracker parent;
+        private boolean degraded;
+
+        private DegradationTracker(DegradationTracker parent) {
+            this.parent = parent;
+        }
+
+        public boolean isDegraded() {
+            return degraded;
+        }
+
+        private void mark() {
+            for (DegradationTracker t = this; t != null; t = t.parent) {
+                t.degraded = true;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT_TRACKER.remove();
+            } else {
+                CURRENT_TRACKER.set(parent);
+            }
+        }
+    }
+
+    private static final ThreadLocal<DegradationTracker> CURRENT_TRACKER = new ThreadLocal<>();
+
+    public static DegradationTracker trackDegradation() {
+        DegradationTracker tracker = new DegradationTracker(CURRENT_TRACKER.get());
+        CURRENT_TRACKER.set(tracker);
+        return tracker;
+    }
+
+    private static void markDegraded() {
+        DegradationTracker tracker = CURRENT_TRACKER.get();
+        if (tracker != null) tracker.mark();
+    }
+
+    private final boolean enabled;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public RemoteCallResilience(RemoteCallResilienceProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slidingWindowSize(Math.max(1, properties.getSlidingWindowSize()))
+                .minimumNumberOfCalls(Math.max(1, properties.getMinimumNumberOfCalls()))
+                .slowCallDurationThreshold(Duration.ofMillis(properties.getSlowCallDurationMs()))
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .waitDurationInOpenState(Duration.ofMillis(properties.getOpenStateWaitMs()))
+                // Callers check isCallPermitted() and skip the call entirely, so the breaker must
+                // move to HALF_OPEN on its own to ever probe the service again.
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        this.circuitBreakers.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> log.warn("[Resilience] circuit {} {}",
+                        event.getCircuitBreakerName(), event.getStateTransition())));
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(Math.max(1, properties.getMaxConcurrentCalls()))
+                .maxWaitDuration(Duration.ofMillis(Math.max(0, properties.getMaxWaitMs())))
+                .build());
+    }
+
+    public static String breakerName(String client, String endpoint) {
+        return client + ":" + endpoint;
+    }
+
+    /**
+     * Whether a call to this endpoint would currently be attempted (circuit not open).
+     */
+    public boolean isCallPermitted(String client, String endpoint) {
+        if (!enabled) return true;
+        CircuitBreaker.State state = circuitBreakers.circuitBreaker(breakerName(client, endpoint)).getState();
+        boolean permitted = state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+        if (!permitted) markDegraded();
+        return permitted;
+    }
+
+    /**
+     * Runs {@code call} through the client's bulkhead and the endpoint's circuit breaker.
+     * IOExceptions and results flagged by {@code isFailure} count as failures.
+     */
+    public <T> T execute(String client, String endpoint, RemoteCall<T> call, Predicate<T> isFailure)
+            throws IOException {
+        if (!enabled) {
+            try {
+                T result = call.call();
+                if (isFailure != null && isFailure.test(result)) markDegraded();
+                return result;
+            } catch (IOException | RuntimeException e) {
+                markDegraded();
+                throw e;
+            }
+        }
+
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker(breakerName(client, endpoint));
+        Bulkhead bulkhead = bulkheads.bulkhead(client);
+
+        if (!breaker.tryAcquirePermission()) {
+            markDegraded();
+            throw new RemoteCallRejectedException("Circuit open for " + breaker.getName());
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            breaker.releasePermission();
+            markDegraded();
+            throw new RemoteCallRejectedException("Too many concurrent calls to " + client);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            long elapsed = System.nanoTime() - start;
+            if (isFailure != null && isFailure.test(result)) {
+                markDegraded();
+                breaker.onError(elapsed, TimeUnit.NANOSECONDS, new IOException("Remote call failed: " + breaker.getName()));
+            } else {
+                breaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            markDegraded();
+            breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * Circuit state per breaker name, for the health endpoint.
+     */
+    public Map<String, String> states() {
+        Map<String, String> states = new TreeMap<>();
+        circuitBreakers.getAllCircuitBreakers().forEach(cb -> states.put(cb.getName(), cb.getState().name()));
+        return states;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ella.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Circuit breaker / bulkhead settings for remote extraction calls (ella-extractor, Adobe).
+ */
+@ConfigurationProperties(prefix = "ella.resilience")
+public class RemoteCallResilienceProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Failure (or slow-call) percentage over the sliding window that opens a circuit.
+     */
+    private int failureRateThreshold = 50;
+
+    private int slidingWindowSize = 20;
+
+    private int minimumNumberOfCalls = 5;
+
+    /**
+     * Calls slower than this count as slow; a circuit also opens when most calls are slow.
+     */
+    private long slowCallDurationMs = 8000;
+
+    private int slowCallRateThreshold = 80;
+
+    /**
+     * How long an open circuit short-circuits calls before letting a few probes through.
+     */
+    private long openStateWaitMs = 30000;
+
+    /**
+     * Concurrent calls allowed per remote client.
+     */
+    private int maxConcurrentCalls = 10;
+
+    /**
+     * How long a call waits for a free bulkhead slot before it is rejected (and the caller falls back).
+     * Short bursts above {@code maxConcurrentCalls} queue up instead of degrading to text-only parsing.
+     */
+    private long maxWaitMs = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public long getSlowCallDurationMs() {
+        return slowCallDurationMs;
+    }
+
+    public void setSlowCallDurationMs(long slowCallDurationMs) {
+        this.slowCallDurationMs = slowCallDurationMs;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getOpenStateWaitMs() {
+        return openStateWaitMs;
+    }
+
+    public void setOpenStateWaitMs(long openStateWaitMs) {
+        this.openStateWaitMs = openStateWaitMs;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+}
@@ -78,7 +78,8 @@ public class FinancialTransactionController {
     }
 
     @PostMapping("/bulk-update")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessTransactionsOfPerson(#request.personId)")
+    @PreAuthorize("hasRole('ADMIN') or (@securityService.canAccessTransactionsOfPerson(#request.personId)"
+            + " and @securityService.canAccessTransactions(#request.transactionIds()))")
     public ResponseEntity<ApiResponse<List<FinancialTransactionResponseDTO>>> bulkUpdate(
             @Valid @RequestBody TransactionBulkUpdateRequest request
     ) {
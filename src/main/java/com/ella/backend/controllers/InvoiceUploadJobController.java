@@ -113,6 +113,7 @@ public class InvoiceUploadJobController {
                 .startedAt(job.getStartedAt())
                 .finishedAt(job.getFinishedAt())
                 .errorMessage(job.getErrorMessage())
+                .processedRows(job.getProcessedRows())
                 .result(result)
                 .resultParseError(resultParseError)
                 .build();
@@ -0,0 +1,57 @@
+package com.ella.backend.controllers.admin;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ella.backend.dto.ApiResponse;
+import com.ella.backend.dto.admin.AdminRollupRebuildDTO;
+import com.ella.backend.dto.admin.AdminRollupVerifyDTO;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/rollups/monthly")
+@RequiredArgsConstructor
+@Validated
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRollupController {
+
+    private final MonthlyCategoryRollupService monthlyCategoryRollupService;
+
+    /**
+     * Recomputes the monthly rollup from the transaction tables: one person, or everyone (backfill).
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<AdminRollupRebuildDTO>> rebuild(
+            @RequestParam(required = false) UUID personId
+    ) {
+        AdminRollupRebuildDTO response;
+        if (personId != null) {
+            response = new AdminRollupRebuildDTO(1, monthlyCategoryRollupService.rebuild(personId));
+        } else {
+            MonthlyCategoryRollupService.RebuildSummary summary = monthlyCategoryRollupService.rebuildAll();
+            response = new AdminRollupRebuildDTO(summary.persons(), summary.months());
+        }
+        return ResponseEntity.ok(ApiResponse.success(response, "Rollup mensal reconstruído com sucesso"));
+    }
+
+    @GetMapping("/verify")
+    public ResponseEntity<ApiResponse<AdminRollupVerifyDTO>> verify(@RequestParam UUID personId) {
+        List<String> mismatched = monthlyCategoryRollupService.verify(personId).stream()
+                .map(YearMonth::toString)
+                .toList();
+        AdminRollupVerifyDTO response = new AdminRollupVerifyDTO(personId.toString(), mismatched.isEmpty(), mismatched);
+        return ResponseEntity.ok(ApiResponse.success(response, "Rollup mensal verificado"));
+    }
+}
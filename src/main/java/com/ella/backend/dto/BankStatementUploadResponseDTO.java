@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.UUID;
 
 import com.ella.backend.entities.BankStatement;
+import com.ella.backend.entities.BankStatementTransaction;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,10 +29,21 @@ public class BankStatementUploadResponseDTO {
         if (statement == null) {
             return null;
         }
+        return from(statement, statement.getTransactions());
+    }
+
+    /**
+     * Same as {@link #from(BankStatement)}, with the rows given explicitly (e.g. bulk-inserted rows that
+     * are not in the statement's JPA collection).
+     */
+    public static BankStatementUploadResponseDTO from(BankStatement statement, List<BankStatementTransaction> transactions) {
+        if (statement == null) {
+            return null;
+        }
 
-        List<BankStatementTransactionDTO> txs = statement.getTransactions() == null
+        List<BankStatementTransactionDTO> txs = transactions == null
                 ? List.of()
-                : statement.getTransactions().stream()
+                : transactions.stream()
                     .sorted(Comparator.comparing(t -> t.getTransactionDate() == null ? LocalDate.MIN : t.getTransactionDate()))
                     .map(BankStatementTransactionDTO::from)
                     .toList();
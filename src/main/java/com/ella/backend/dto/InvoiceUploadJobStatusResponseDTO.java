@@ -15,6 +15,7 @@ public class InvoiceUploadJobStatusResponseDTO {
     private LocalDateTime startedAt;
     private LocalDateTime finishedAt;
     private String errorMessage;
+    private int processedRows;
     private InvoiceUploadResponseDTO result;
     private boolean resultParseError;
 }
@@ -1,6 +1,7 @@
 package com.ella.backend.dto;
 
 import java.util.List;
+import java.util.Objects;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -10,4 +11,13 @@ public record TransactionBulkUpdateRequest(
         String personId,
         @NotEmpty(message = "updates não pode ser vazio")
         List<TransactionBulkUpdateItem> updates
-) {}
+) {
+
+    public List<String> transactionIds() {
+        if (updates == null) return List.of();
+        return updates.stream()
+                .filter(Objects::nonNull)
+                .map(TransactionBulkUpdateItem::id)
+                .toList();
+    }
+}
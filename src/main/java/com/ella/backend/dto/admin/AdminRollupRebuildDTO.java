@@ -0,0 +1,13 @@
+package com.ella.backend.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminRollupRebuildDTO {
+    private int personsRebuilt;
+    private int monthsRebuilt;
+}
@@ -0,0 +1,17 @@
+package com.ella.backend.dto.admin;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminRollupVerifyDTO {
+    private String personId;
+    private boolean consistent;
+    /** Months (yyyy-MM) whose stored rollup differs from the source rows. */
+    private List<String> mismatchedMonths;
+}
@@ -2,11 +2,15 @@ package com.ella.backend.dto.dashboard;
 
 import java.util.List;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ChartsDTO {
     private MonthlyEvolutionDTO monthlyEvolution;
     private List<CategoryBreakdownDTO> categoryBreakdown;
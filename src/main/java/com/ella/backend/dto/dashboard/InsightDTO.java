@@ -1,10 +1,14 @@
 package com.ella.backend.dto.dashboard;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class InsightDTO {
     private String type; // warning, success, info
     private String message;
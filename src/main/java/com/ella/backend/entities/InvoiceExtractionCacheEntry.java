@@ -0,0 +1,51 @@
+package com.ella.backend.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Cached PDF extraction result, keyed by file content rather than by person/job.
+ */
+@Entity
+@Table(name = "invoice_extraction_cache")
+@Getter
+@Setter
+public class InvoiceExtractionCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "file_sha256", nullable = false, length = 64)
+    private String fileSha256;
+
+    @Column(name = "parser_version", nullable = false, length = 40)
+    private String parserVersion;
+
+    @Column(name = "variant_key", nullable = false, length = 64)
+    private String variantKey;
+
+    @Column(name = "source", length = 40)
+    private String source;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "result_json", nullable = false, columnDefinition = "jsonb")
+    private String resultJson;
+
+    @Column(name = "created_at", nullable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
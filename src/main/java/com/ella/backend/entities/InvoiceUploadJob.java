@@ -57,8 +57,12 @@ public class InvoiceUploadJob {
     @Column(name = "file_sha256", length = 64)
     private String fileSha256;
 
-    @Column(name = "file_bytes", nullable = false, columnDefinition = "bytea")
-    private byte[] fileBytes;
+    /**
+     * Reference to the uploaded file in the blob store (see UploadBlobStorage).
+     * The bytes themselves are never loaded with the job.
+     */
+    @Column(name = "blob_ref", length = 512)
+    private String blobRef;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "result_json", columnDefinition = "jsonb")
@@ -76,4 +80,23 @@ public class InvoiceUploadJob {
 
     @Column(name = "finished_at")
     private LocalDateTime finishedAt;
+
+    // Queue/lease bookkeeping; claims and heartbeats update these columns directly (InvoiceUploadJobQueue).
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by", length = 128)
+    private String lockedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Rows processed so far by a streaming import, reported mid-transaction by InvoiceUploadJobQueue.reportProgress:
+    // they are committed only if the job SUCCEEDED. Reset to 0 when the job fails or is retried.
+    @Column(name = "processed_rows", nullable = false, updatable = false)
+    private int processedRows;
 }
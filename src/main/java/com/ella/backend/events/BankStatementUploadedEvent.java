@@ -0,0 +1,13 @@
+package com.ella.backend.events;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A bank statement and its rows were persisted.
+ *
+ * @param months months covered by the statement rows
+ */
+public record BankStatementUploadedEvent(UUID personId, UUID bankStatementId, Set<YearMonth> months) {
+}
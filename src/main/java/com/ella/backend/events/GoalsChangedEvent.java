@@ -0,0 +1,9 @@
+package com.ella.backend.events;
+
+import java.util.UUID;
+
+/**
+ * A goal of the person was created, updated or deleted.
+ */
+public record GoalsChangedEvent(UUID personId) {
+}
@@ -0,0 +1,13 @@
+package com.ella.backend.events;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * An invoice was created, edited or paid/unpaid.
+ *
+ * @param personId card owner
+ * @param month    invoice reference month
+ */
+public record InvoiceChangedEvent(UUID personId, UUID invoiceId, YearMonth month) {
+}
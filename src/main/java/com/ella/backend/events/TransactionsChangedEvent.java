@@ -0,0 +1,14 @@
+package com.ella.backend.events;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Financial or bank statement transactions of a person were created, updated or deleted
+ * (soft-deletes included). Published after the transaction commits.
+ *
+ * @param months months (by transaction date) whose rows changed
+ */
+public record TransactionsChangedEvent(UUID personId, Set<YearMonth> months) {
+}
@@ -0,0 +1,8 @@
+package com.ella.backend.events;
+
+/**
+ * Role, status or e-mail of the user with this e-mail changed, or the user was deleted:
+ * cached principals of that e-mail are stale.
+ */
+public record UserAccessChangedEvent(String email) {
+}
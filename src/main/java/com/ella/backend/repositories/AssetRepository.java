@@ -19,4 +19,6 @@ public interface AssetRepository extends JpaRepository<Asset, UUID> {
     Optional<Asset> findByInvestmentId(UUID investmentId);
 
     void deleteByInvestmentId(UUID investmentId);
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
@@ -12,4 +12,6 @@ import com.ella.backend.entities.Person;
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, UUID> {
     Optional<Budget> findByOwner(Person owner);
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
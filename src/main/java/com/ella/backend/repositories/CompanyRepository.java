@@ -10,4 +10,6 @@ import java.util.UUID;
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
 
     List<Company> findByOwner(Person owner);
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
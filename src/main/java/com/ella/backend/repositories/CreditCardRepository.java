@@ -25,4 +25,6 @@ public interface CreditCardRepository extends JpaRepository<CreditCard, UUID> {
             @Param("lastFourDigits") String lastFourDigits,
             @Param("bankName") String bankName
     );
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
@@ -21,4 +21,6 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
             LocalDate start,
             LocalDate end
     );
+
+    boolean existsByIdAndPersonId(UUID id, UUID personId);
 }
@@ -33,6 +33,17 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
 
         Optional<FinancialTransaction> findByIdAndDeletedAtIsNull(UUID id);
 
+        boolean existsByIdAndPersonIdAndDeletedAtIsNull(UUID id, UUID personId);
+
+        @Query("""
+                select count(t)
+                from FinancialTransaction t
+                where t.id in :ids
+                  and t.person.id = :personId
+                  and t.deletedAt is null
+                """)
+        long countActiveByIdInAndPersonId(@Param("ids") Collection<UUID> ids, @Param("personId") UUID personId);
+
     List<FinancialTransaction> findByPerson(Person person);
 
         List<FinancialTransaction> findByPersonAndDeletedAtIsNull(Person person);
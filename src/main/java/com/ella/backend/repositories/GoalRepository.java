@@ -16,4 +16,6 @@ public interface GoalRepository extends JpaRepository<Goal, UUID> {
     boolean existsByOwner(Person owner);
 
     long countByOwnerAndStatus(Person owner, GoalStatus status);
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
@@ -13,4 +13,6 @@ public interface InstallmentRepository extends JpaRepository<Installment, UUID>
     List<Installment> findByInvoice(Invoice invoice);
 
     List<Installment> findByTransaction(FinancialTransaction transaction);
+
+    boolean existsByIdAndTransactionPersonId(UUID id, UUID personId);
 }
@@ -17,4 +17,6 @@ public interface InvestmentRepository extends JpaRepository<Investment, UUID> {
     List<Investment> findByOwnerAndExcludedFromAssetsFalse(Person owner);
 
     Optional<Investment> findByIdAndOwner(UUID id, Person owner);
+
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 }
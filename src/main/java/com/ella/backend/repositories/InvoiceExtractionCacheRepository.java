@@ -0,0 +1,32 @@
+package com.ella.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ella.backend.entities.InvoiceExtractionCacheEntry;
+
+public interface InvoiceExtractionCacheRepository extends JpaRepository<InvoiceExtractionCacheEntry, UUID> {
+
+    Optional<InvoiceExtractionCacheEntry> findByFileSha256AndParserVersionAndVariantKey(
+            String fileSha256,
+            String parserVersion,
+            String variantKey
+    );
+
+    /**
+     * Entries past the TTL, and entries of other parser builds (no lookup can reach those anymore).
+     */
+    @Modifying
+    @Query(value = """
+            delete from invoice_extraction_cache
+             where created_at < :cutoff
+                or parser_version <> :parserVersion
+            """, nativeQuery = true)
+    int deleteExpiredOrOtherVersion(@Param("cutoff") LocalDateTime cutoff, @Param("parserVersion") String parserVersion);
+}
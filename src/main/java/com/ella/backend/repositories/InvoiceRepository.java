@@ -45,4 +45,6 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     Optional<Invoice> findTopByCardOwnerOrderByDueDateAsc(Person owner);
 
     Optional<Invoice> findTopByCardOwnerAndDeletedAtIsNullOrderByDueDateAsc(Person owner);
+
+    boolean existsByIdAndCardOwnerIdAndDeletedAtIsNull(UUID id, UUID ownerId);
 }
@@ -1,9 +1,15 @@
 package com.ella.backend.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ella.backend.entities.InvoiceUploadJob;
 
@@ -11,4 +17,23 @@ public interface InvoiceUploadJobRepository extends JpaRepository<InvoiceUploadJ
     Optional<InvoiceUploadJob> findByIdAndPersonId(UUID id, UUID personId);
 
     Optional<InvoiceUploadJob> findTopByPersonIdAndFileSha256OrderByCreatedAtDesc(UUID personId, String fileSha256);
+
+    List<InvoiceUploadJob> findTop500ByBlobRefIsNotNullAndStatusInAndFinishedAtBefore(
+            Collection<InvoiceUploadJob.Status> statuses,
+            LocalDateTime finishedBefore
+    );
+
+    /**
+     * Jobs created before the blob store kept their bytes in the (now unmapped) file_bytes column.
+     */
+    @Modifying
+    @Query(value = """
+            update invoice_upload_jobs
+               set file_bytes = null
+             where blob_ref is null
+               and file_bytes is not null
+               and status in ('SUCCEEDED', 'FAILED')
+               and finished_at < :cutoff
+            """, nativeQuery = true)
+    int clearLegacyFileBytesFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -1,9 +1,13 @@
 package com.ella.backend.security;
 
+import com.ella.backend.enums.Role;
+import com.ella.backend.enums.Status;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public class CustomUserDetails implements UserDetails {
@@ -28,6 +32,16 @@ public class CustomUserDetails implements UserDetails {
         this.enabled = enabled;
     }
 
+    public static CustomUserDetails of(UUID id, String email, String password, Role role, Status status) {
+        return new CustomUserDetails(
+                id,
+                email,
+                password,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name())),
+                status == Status.ACTIVE
+        );
+    }
+
     public UUID getId() {
         return id;
     }
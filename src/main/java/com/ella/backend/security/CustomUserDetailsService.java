@@ -1,18 +1,13 @@
 package com.ella.backend.security;
 
 import com.ella.backend.entities.User;
-import com.ella.backend.enums.Status;
 import com.ella.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
@@ -25,18 +20,6 @@ public class CustomUserDetailsService implements UserDetailsService {
                 new UsernameNotFoundException("Usuário não encontrado com o e-mail " + email)
         );
 
-        List<GrantedAuthority> authorities = List.of(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
-
-        boolean enabled = user.getStatus() == Status.ACTIVE;
-
-        return new CustomUserDetails(
-                user.getId(),
-                user.getEmail(),
-                user.getPassword(),
-                authorities,
-                enabled
-        );
+        return CustomUserDetails.of(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getStatus());
     }
 }
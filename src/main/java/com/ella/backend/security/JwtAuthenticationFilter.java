@@ -20,8 +20,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -39,32 +39,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             final String jwt = authHeader.substring(7);
 
+            // One signature verification per token (then cached until exp); throws when invalid/expired.
+            JwtClaimsCache.VerifiedToken token = jwtClaimsCache.verify(jwt);
+
             // Never accept password reset tokens as access tokens.
-            try {
-                String purpose = jwtService.extractClaim(jwt, c -> c.get(JwtService.CLAIM_PURPOSE, String.class));
-                if (JwtService.PURPOSE_PASSWORD_RESET.equals(purpose)) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-            } catch (Exception ignored) {
-                // fall through to normal validation/handling
+            if (token.isPasswordReset()) {
+                filterChain.doFilter(request, response);
+                return;
             }
 
-            final String userEmail = jwtService.extractUsername(jwt);
+            final String userEmail = token.subject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                UserDetails userDetails = principalCache.load(userEmail);
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
@@ -0,0 +1,96 @@
+package com.ella.backend.security;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.services.invoices.util.Sha256;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Claims of access tokens whose signature was already verified, keyed by the token's SHA-256,
+ * each kept until the token's own {@code exp}. A token is parsed and verified once; later
+ * requests with the same token cost one hash and one lookup.
+ *
+ * Invalid tokens are never cached (they are re-verified, and rejected, every time).
+ */
+@Component
+public class JwtClaimsCache {
+
+    public record VerifiedToken(String subject, String purpose, Instant expiresAt) {
+
+        public boolean isPasswordReset() {
+            return JwtService.PURPOSE_PASSWORD_RESET.equals(purpose);
+        }
+
+        boolean isExpired(Instant now) {
+            return expiresAt == null || !expiresAt.isAfter(now);
+        }
+    }
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtClaimsCache(
+            JwtService jwtService,
+            @Value("${ella.security.jwt-cache.max-size:10000}") long maxSize
+    ) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verified claims of {@code token}; throws like {@link JwtService#parseClaims(String)} when the
+     * token is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String hash = Sha256.hex(token);
+        if (hash != null) {
+            VerifiedToken cached = cache.getIfPresent(hash);
+            if (cached != null && !cached.isExpired(Instant.now())) {
+                return cached;
+            }
+        }
+
+        Claims claims = jwtService.parseClaims(token);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JwtService.CLAIM_PURPOSE, String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        if (hash != null && verified.expiresAt() != null) {
+            cache.put(hash, verified);
+        }
+        return verified;
+    }
+
+    long size() {
+        return cache.estimatedSize();
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -135,6 +135,14 @@ public class JwtService {
         return expiration.before(new Date());
     }
 
+    /**
+     * Verifies signature and expiration once and returns every claim
+     * (throws {@link io.jsonwebtoken.ExpiredJwtException} / {@link io.jsonwebtoken.JwtException}).
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -0,0 +1,73 @@
+package com.ella.backend.security;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ella.backend.entities.User;
+import com.ella.backend.enums.Role;
+import com.ella.backend.enums.Status;
+import com.ella.backend.events.UserAccessChangedEvent;
+import com.ella.backend.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived cache of what JWT authentication needs about a user (id, role, status), so an
+ * authenticated request does not load the User/Person row every time.
+ *
+ * Entries are evicted after commit when role, status or e-mail change ({@link UserAccessChangedEvent});
+ * the TTL bounds staleness on other nodes, which do not see the event. No password is kept: logins
+ * go through {@link CustomUserDetailsService}, uncached.
+ */
+@Component
+public class PrincipalCache {
+
+    record Principal(UUID id, String email, Role role, Status status) {
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<String, Principal> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            @Value("${ella.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${ella.security.principal-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * @throws UsernameNotFoundException when no user has this e-mail (not cached)
+     */
+    public CustomUserDetails load(String email) {
+        Principal principal = cache.get(email, this::fetch);
+        return CustomUserDetails.of(principal.id(), principal.email(), null, principal.role(), principal.status());
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        evict(event.email());
+    }
+
+    private Principal fetch(String email) {
+        User user = userRepository.findByEmail(email).orElseThrow(() ->
+                new UsernameNotFoundException("Usuário não encontrado com o e-mail " + email)
+        );
+        return new Principal(user.getId(), user.getEmail(), user.getRole(), user.getStatus());
+    }
+}
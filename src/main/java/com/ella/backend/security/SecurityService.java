@@ -1,5 +1,8 @@
 package com.ella.backend.security;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.security.access.AccessDeniedException;
@@ -18,19 +21,28 @@ import com.ella.backend.repositories.CreditCardRepository;
 import com.ella.backend.repositories.ExpenseRepository;
 import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.GoalRepository;
+import com.ella.backend.repositories.InstallmentRepository;
 import com.ella.backend.repositories.InvestmentRepository;
 import com.ella.backend.repositories.InvoiceRepository;
-import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.services.UserService;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Regras de ownership usadas nos {@code @PreAuthorize}.
+ *
+ * O principal vem do {@link CustomUserDetails} que o {@link JwtAuthenticationFilter} monta uma vez
+ * por request (id e role já resolvidos), então as checagens não voltam ao banco para buscar o
+ * usuário; a posse é conferida com {@code exists ... where id = ? and owner_id = ?}, sem hidratar a
+ * entidade alvo.
+ */
 @Component
 @RequiredArgsConstructor
 public class SecurityService {
 
+    private static final String ROLE_ADMIN = "ROLE_" + Role.ADMIN.name();
+
     private final UserService userService;
-    private final PersonRepository personRepository;
     private final FinancialTransactionRepository financialTransactionRepository;
     private final CompanyRepository companyRepository;
     private final CreditCardRepository creditCardRepository;
@@ -40,13 +52,25 @@ public class SecurityService {
     private final BudgetRepository budgetRepository;
     private final InvestmentRepository investmentRepository;
     private final AssetRepository assetRepository;
+    private final InstallmentRepository installmentRepository;
+
+    private record AuthenticatedPrincipal(UUID id, boolean admin) {
+    }
+
+    @FunctionalInterface
+    private interface OwnershipProbe {
+        boolean exists(UUID id, UUID ownerId);
+    }
 
     // =========================================================
     // Helpers centrais
     // =========================================================
 
-    /** Busca o usuário autenticado ou lança AccessDeniedException. */
-    private User getAuthenticatedUserOrThrow() {
+    /**
+     * Principal autenticado ou AccessDeniedException. Quando a autenticação veio do filtro JWT, id e
+     * role já estão no {@link CustomUserDetails}; outros tipos de Authentication caem na busca por e-mail.
+     */
+    private AuthenticatedPrincipal getAuthenticatedPrincipalOrThrow() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (auth == null || !auth.isAuthenticated()
@@ -54,27 +78,47 @@ public class SecurityService {
             throw new InsufficientAuthenticationException("Usuário não autenticado");
         }
 
+        if (auth.getPrincipal() instanceof CustomUserDetails details && details.getId() != null) {
+            boolean admin = details.getAuthorities().stream()
+                    .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+            return new AuthenticatedPrincipal(details.getId(), admin);
+        }
+
         String email = auth.getName(); // subject do JWT
+        User user;
         try {
-            return userService.findByEmail(email);
+            user = userService.findByEmail(email);
         } catch (ResourceNotFoundException e) {
             // Não vaze informação sobre existência de usuário; trate como acesso negado.
             throw new AccessDeniedException("Usuário não autorizado");
         }
+        if (user.getId() == null) {
+            throw new AccessDeniedException("Usuário não autorizado");
+        }
+        return new AuthenticatedPrincipal(user.getId(), user.getRole() == Role.ADMIN);
     }
 
     /** Retorna o UUID (person_id) do usuário autenticado, ou lança AccessDeniedException. */
     public UUID getAuthenticatedPersonIdOrThrow() {
-        User user = getAuthenticatedUserOrThrow();
-        if (user.getId() == null) {
-            throw new AccessDeniedException("Usuário não autorizado");
-        }
-        return user.getId();
+        return getAuthenticatedPrincipalOrThrow().id();
+    }
+
+    /** ADMIN pode tudo; USER só o que pertence a ele (id inválido = nega acesso). */
+    private boolean owns(String id, OwnershipProbe probe) {
+        AuthenticatedPrincipal principal = getAuthenticatedPrincipalOrThrow();
+        if (principal.admin()) return true;
+
+        UUID uuid = parseUuid(id);
+        return uuid != null && probe.exists(uuid, principal.id());
     }
 
-    /** Verifica se o usuário é ADMIN. */
-    private boolean isAdmin(User user) {
-        return user.getRole() == Role.ADMIN;
+    private static UUID parseUuid(String id) {
+        if (id == null) return null;
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     // =========================================================
@@ -83,56 +127,46 @@ public class SecurityService {
 
     /** Versão antiga, se ainda tiver algum @PreAuthorize usando. */
     public boolean isCurrentUser(String id) {
-        User current = getAuthenticatedUserOrThrow();
-        System.out.println("[SecurityService.isCurrentUser] Comparing: current.id=" + current.getId() + " vs provided id=" + id);
-        boolean result = current.getId() != null
-                && current.getId().toString().equals(id);
-        System.out.println("[SecurityService.isCurrentUser] Result: " + result);
-        return result;
+        return getAuthenticatedPrincipalOrThrow().id().toString().equals(id);
     }
 
     // =========================================================
     // Person
     // =========================================================
 
+    /** USER só pode ver/alterar a própria Person (o id do usuário é o id da Person). */
     public boolean canAccessPerson(String personId) {
-        User current = getAuthenticatedUserOrThrow();
-
-        // ADMIN pode tudo
-        if (isAdmin(current)) return true;
+        AuthenticatedPrincipal principal = getAuthenticatedPrincipalOrThrow();
+        if (principal.admin()) return true;
 
-        // USER só pode ver/alterar a própria Person
-        try {
-            UUID uuid = UUID.fromString(personId);
-            return personRepository.findById(uuid)
-                    .map(person -> person.getId() != null
-                            && person.getId().equals(current.getId()))
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            // id inválido = nega acesso
-            return false;
-        }
+        UUID uuid = parseUuid(personId);
+        return uuid != null && uuid.equals(principal.id());
     }
 
     // =========================================================
-    // FinancialTransaction
+    // FinancialTransaction / Income
     // =========================================================
 
     public boolean canAccessTransaction(String transactionId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
+        return owns(transactionId, financialTransactionRepository::existsByIdAndPersonIdAndDeletedAtIsNull);
+    }
 
-        try {
-            UUID uuid = UUID.fromString(transactionId);
-            return financialTransactionRepository.findByIdAndDeletedAtIsNull(uuid)
-                    .map(tx ->
-                            tx.getPerson() != null &&
-                                    tx.getPerson().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
+    /**
+     * Todas as transações precisam ser do usuário: uma única contagem para o lote, em vez de uma
+     * checagem por id.
+     */
+    public boolean canAccessTransactions(Collection<String> transactionIds) {
+        AuthenticatedPrincipal principal = getAuthenticatedPrincipalOrThrow();
+        if (principal.admin()) return true;
+        if (transactionIds == null || transactionIds.isEmpty()) return true;
+
+        Set<UUID> ids = new HashSet<>();
+        for (String transactionId : transactionIds) {
+            UUID uuid = parseUuid(transactionId);
+            if (uuid == null) return false;
+            ids.add(uuid);
         }
+        return financialTransactionRepository.countActiveByIdInAndPersonId(ids, principal.id()) == ids.size();
     }
 
     public boolean canAccessTransactionsOfPerson(String personId) {
@@ -140,25 +174,21 @@ public class SecurityService {
         return canAccessPerson(personId);
     }
 
+    /** Receita é uma FinancialTransaction do tipo INCOME. */
+    public boolean canAccessIncome(String incomeId) {
+        return canAccessTransaction(incomeId);
+    }
+
+    public boolean canAccessIncomesOfPerson(String personId) {
+        return canAccessPerson(personId);
+    }
+
     // =========================================================
     // Company
     // =========================================================
 
     public boolean canAccessCompany(String companyId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(companyId);
-            return companyRepository.findById(uuid)
-                    .map(company ->
-                            company.getOwner() != null &&
-                                    company.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(companyId, companyRepository::existsByIdAndOwnerId);
     }
 
     // =========================================================
@@ -174,40 +204,19 @@ public class SecurityService {
     }
 
     public boolean canAccessCreditCard(String cardId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(cardId);
-            return creditCardRepository.findById(uuid)
-                    .map(card ->
-                            card.getOwner() != null &&
-                                    card.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(cardId, creditCardRepository::existsByIdAndOwnerId);
     }
 
     // =========================================================
-    // Invoice
+    // Invoice / Installment
     // =========================================================
 
     public boolean canAccessInvoice(String invoiceId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
+        return owns(invoiceId, invoiceRepository::existsByIdAndCardOwnerIdAndDeletedAtIsNull);
+    }
 
-        try {
-            UUID uuid = UUID.fromString(invoiceId);
-            return invoiceRepository.findByIdAndDeletedAtIsNull(uuid)
-                    .map(inv -> inv.getCard() != null
-                            && inv.getCard().getOwner() != null
-                            && inv.getCard().getOwner().getId().equals(user.getId()))
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+    public boolean canAccessInstallment(String installmentId) {
+        return owns(installmentId, installmentRepository::existsByIdAndTransactionPersonId);
     }
 
     // =========================================================
@@ -215,20 +224,7 @@ public class SecurityService {
     // =========================================================
 
     public boolean canAccessGoal(String goalId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(goalId);
-            return goalRepository.findById(uuid)
-                    .map(goal ->
-                            goal.getOwner() != null &&
-                                    goal.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(goalId, goalRepository::existsByIdAndOwnerId);
     }
 
     // =========================================================
@@ -236,20 +232,7 @@ public class SecurityService {
     // =========================================================
 
     public boolean canAccessBudget(String budgetId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(budgetId);
-            return budgetRepository.findById(uuid)
-                    .map(budget ->
-                            budget.getOwner() != null &&
-                                    budget.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(budgetId, budgetRepository::existsByIdAndOwnerId);
     }
 
     // =========================================================
@@ -257,20 +240,7 @@ public class SecurityService {
     // =========================================================
 
     public boolean canAccessInvestment(String investmentId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(investmentId);
-            return investmentRepository.findById(uuid)
-                    .map(investment ->
-                            investment.getOwner() != null &&
-                                    investment.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(investmentId, investmentRepository::existsByIdAndOwnerId);
     }
 
     public boolean canAccessInvestmentsOfPerson(String personId) {
@@ -282,20 +252,7 @@ public class SecurityService {
     // =========================================================
 
     public boolean canAccessAsset(String assetId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(assetId);
-            return assetRepository.findById(uuid)
-                    .map(asset ->
-                            asset.getOwner() != null &&
-                                    asset.getOwner().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(assetId, assetRepository::existsByIdAndOwnerId);
     }
 
     public boolean canAccessAssetsOfPerson(String personId) {
@@ -307,20 +264,6 @@ public class SecurityService {
     // =========================================================
 
     public boolean canAccessExpense(String expenseId) {
-        User user = getAuthenticatedUserOrThrow();
-        if (isAdmin(user)) return true;
-
-        try {
-            UUID uuid = UUID.fromString(expenseId);
-            return expenseRepository.findById(uuid)
-                    .map(expense ->
-                            expense.getPerson() != null &&
-                                    expense.getPerson().getId().equals(user.getId())
-                    )
-                    .orElse(false);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return owns(expenseId, expenseRepository::existsByIdAndPersonId);
     }
 }
-
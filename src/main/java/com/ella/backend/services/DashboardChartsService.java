@@ -2,16 +2,15 @@ package com.ella.backend.services;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
@@ -19,68 +18,66 @@ import com.ella.backend.dto.dashboard.CategoryBreakdownDTO;
 import com.ella.backend.dto.dashboard.ChartsDTO;
 import com.ella.backend.dto.dashboard.MonthlyEvolutionDTO;
 import com.ella.backend.dto.dashboard.MonthlyPointDTO;
-import com.ella.backend.entities.BankStatementTransaction;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.TransactionType;
 import com.ella.backend.exceptions.ResourceNotFoundException;
-import com.ella.backend.repositories.BankStatementTransactionRepository;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.PersonRepository;
-import com.ella.backend.services.cashflow.BankStatementCashflowHeuristics;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.CategoryTotal;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.MonthTotal;
+import com.ella.backend.services.rollup.MonthlyRollupSource;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Gráficos do dashboard a partir de agregados do rollup mensal: poucas linhas por mês
+ * (tipo x origem) e uma por categoria, em vez de carregar transações e extratos.
+ * Os extratos já entram no rollup filtrados por BankStatementCashflowHeuristics
+ * (créditos como INCOME, débitos como EXPENSE, origem STATEMENT); enquanto o backfill
+ * dessas linhas não rodou, o MonthlyCategoryRollupService as calcula direto dos extratos.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardChartsService {
 
     private final PersonRepository personRepository;
-    private final FinancialTransactionRepository financialTransactionRepository;
-        private final BankStatementTransactionRepository bankStatementTransactionRepository;
+        private final MonthlyCategoryRollupService monthlyCategoryRollupService;
+        private final DashboardCache dashboardCache;
 
         public ChartsDTO getCharts(String personId, int year, Integer month) {
         UUID personUuid = UUID.fromString(personId);
-        Person person = personRepository.findById(personUuid)
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
 
                 YearMonth target = month != null && month >= 1 && month <= 12 ? YearMonth.of(year, month) : null;
-                LocalDate rangeStart;
-                LocalDate rangeEnd;
+                YearMonth rangeStart = target != null ? target.minusMonths(5) : YearMonth.of(year, 1);
+                YearMonth rangeEnd = target != null ? target : YearMonth.of(year, 12);
 
-                if (target != null) {
-                        YearMonth windowStartYm = target.minusMonths(5);
-                        rangeStart = windowStartYm.atDay(1);
-                        rangeEnd = target.atEndOfMonth();
-                } else {
-                        rangeStart = YearMonth.of(year, 1).atDay(1);
-                        rangeEnd = YearMonth.of(year, 12).atEndOfMonth();
-                }
+                DashboardCacheKey key = new DashboardCacheKey(personUuid, DashboardView.CHARTS, rangeStart, rangeEnd, target != null ? "month" : "year");
+                return dashboardCache.get(key, () -> computeCharts(personId, personUuid, year, month, target, rangeStart, rangeEnd));
+        }
+
+        private ChartsDTO computeCharts(String personId, UUID personUuid, int year, Integer month,
+                                        YearMonth target, YearMonth rangeStart, YearMonth rangeEnd) {
+        Person person = personRepository.findById(personUuid)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
 
                 log.info("[DashboardChartsService] personId={} year={} month={} range {} -> {}", personId, year, month, rangeStart, rangeEnd);
 
-                List<FinancialTransaction> txs = financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(
-                                person, rangeStart, rangeEnd
-                );
+                List<MonthTotal> monthTotals = monthlyCategoryRollupService.sumByMonthTypeAndSource(person.getId(), rangeStart, rangeEnd);
 
-                List<BankStatementTransaction> statementTxs = bankStatementTransactionRepository
-                        .findForUserAndPeriod(person.getId(), rangeStart, rangeEnd)
-                        .stream()
-                        .filter(t -> !BankStatementCashflowHeuristics.shouldIgnore(t))
-                        .toList();
+                // Categorias: só o mês selecionado, ou o ano inteiro quando não há mês.
+                List<CategoryTotal> categoryTotals = target != null
+                        ? monthlyCategoryRollupService.sumExpensesByCategory(person.getId(), target, target)
+                        : monthlyCategoryRollupService.sumExpensesByCategory(person.getId(), rangeStart, rangeEnd);
 
-        if (log.isInfoEnabled()) {
-                        List<String> sample = txs.stream()
-                    .limit(5)
-                    .map(tx -> String.format("%s|%s|%s", tx.getTransactionDate(), tx.getType(), tx.getAmount()))
-                    .toList();
-                        log.info("[DashboardChartsService] loaded {} txs for charts; samples={}", txs.size(), sample);
-        }
+                log.debug("[DashboardChartsService] loaded {} month rows and {} category rows for charts", monthTotals.size(), categoryTotals.size());
 
-                MonthlyEvolutionDTO monthlyEvolution = buildMonthlyEvolution(txs, statementTxs, year, target);
-                List<CategoryBreakdownDTO> categoryBreakdown = buildCategoryBreakdown(txs, statementTxs, target);
+                MonthlyEvolutionDTO monthlyEvolution = buildMonthlyEvolution(monthTotals, rangeStart, rangeEnd);
+                List<CategoryBreakdownDTO> categoryBreakdown = buildCategoryBreakdown(categoryTotals);
 
         return ChartsDTO.builder()
                 .monthlyEvolution(monthlyEvolution)
@@ -88,70 +85,35 @@ public class DashboardChartsService {
                 .build();
     }
 
-        private MonthlyEvolutionDTO buildMonthlyEvolution(List<FinancialTransaction> txs, List<BankStatementTransaction> statementTxs, int year, YearMonth target) {
-                Map<YearMonth, List<FinancialTransaction>> grouped = txs.stream()
-                .filter(tx -> tx.getTransactionDate() != null)
-                .collect(Collectors.groupingBy(
-                        tx -> YearMonth.from(tx.getTransactionDate())
-                ));
-
-                Map<YearMonth, List<BankStatementTransaction>> groupedStatements = statementTxs.stream()
-                        .filter(tx -> tx != null && tx.getTransactionDate() != null)
-                        .collect(Collectors.groupingBy(tx -> YearMonth.from(tx.getTransactionDate())));
+        private MonthlyEvolutionDTO buildMonthlyEvolution(List<MonthTotal> monthTotals, YearMonth rangeStart, YearMonth rangeEnd) {
+                Map<YearMonth, List<MonthTotal>> grouped = new HashMap<>();
+                for (MonthTotal row : monthTotals) {
+                        if (row == null || row.month() == null) continue;
+                        grouped.computeIfAbsent(row.month(), k -> new ArrayList<>()).add(row);
+                }
 
         List<MonthlyPointDTO> points = new ArrayList<>();
-                if (target != null) {
-                        for (int i = 5; i >= 0; i--) {
-                                YearMonth ym = target.minusMonths(i);
-                                List<FinancialTransaction> monthTx = grouped.getOrDefault(ym, Collections.emptyList());
-                                List<BankStatementTransaction> monthStatements = groupedStatements.getOrDefault(ym, Collections.emptyList());
-
-                                BigDecimal incomeFinancial = sumByType(monthTx, TransactionType.INCOME);
-                                BigDecimal incomeChecking = sumStatementByType(monthStatements, BankStatementTransaction.Type.CREDIT);
-                                BigDecimal income = incomeFinancial.add(incomeChecking);
-
-                                BigDecimal expensesCard = sumCardExpenses(monthTx);
-                                BigDecimal expensesOther = sumNonCardExpenses(monthTx);
-                                BigDecimal expensesChecking = sumStatementByType(monthStatements, BankStatementTransaction.Type.DEBIT).add(expensesOther);
-                                BigDecimal expenses = expensesCard.add(expensesChecking);
-
-                                String label = ym.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM"));
-                                points.add(MonthlyPointDTO.builder()
-                                                .monthLabel(label)
-                                                .income(income)
-                                                .expenses(expenses)
-                                                .incomeChecking(incomeChecking)
-                                                .expensesChecking(expensesChecking)
-                                                .expensesCard(expensesCard)
-                                                .build());
-                        }
-                } else {
-                        for (int m = 1; m <= 12; m++) {
-                                YearMonth ym = YearMonth.of(year, m);
-                                List<FinancialTransaction> monthTx = grouped.getOrDefault(ym, Collections.emptyList());
-
-                                List<BankStatementTransaction> monthStatements = groupedStatements.getOrDefault(ym, Collections.emptyList());
-
-                                BigDecimal incomeFinancial = sumByType(monthTx, TransactionType.INCOME);
-                                BigDecimal incomeChecking = sumStatementByType(monthStatements, BankStatementTransaction.Type.CREDIT);
-                                BigDecimal income = incomeFinancial.add(incomeChecking);
-
-                                BigDecimal expensesCard = sumCardExpenses(monthTx);
-                                BigDecimal expensesOther = sumNonCardExpenses(monthTx);
-                                BigDecimal expensesChecking = sumStatementByType(monthStatements, BankStatementTransaction.Type.DEBIT).add(expensesOther);
-                                BigDecimal expenses = expensesCard.add(expensesChecking);
-
-                                String label = String.format("%04d-%02d", year, m);
-
-                                points.add(MonthlyPointDTO.builder()
-                                                .monthLabel(label)
-                                                .income(income)
-                                                .expenses(expenses)
-                                                .incomeChecking(incomeChecking)
-                                                .expensesChecking(expensesChecking)
-                                                .expensesCard(expensesCard)
-                                                .build());
-                        }
+                for (YearMonth ym = rangeStart; !ym.isAfter(rangeEnd); ym = ym.plusMonths(1)) {
+                        List<MonthTotal> monthRows = grouped.getOrDefault(ym, Collections.emptyList());
+
+                        // Receitas de financial_transactions somam o valor como está (como antes); extratos em módulo.
+                        BigDecimal incomeFinancial = sum(monthRows, TransactionType.INCOME, null, false);
+                        BigDecimal incomeChecking = sum(monthRows, TransactionType.INCOME, MonthlyRollupSource.STATEMENT, true);
+                        BigDecimal income = incomeFinancial.add(incomeChecking);
+
+                        BigDecimal expensesCard = sum(monthRows, TransactionType.EXPENSE, MonthlyRollupSource.CARD, true);
+                        BigDecimal expensesOther = sum(monthRows, TransactionType.EXPENSE, MonthlyRollupSource.NON_CARD, true);
+                        BigDecimal expensesChecking = sum(monthRows, TransactionType.EXPENSE, MonthlyRollupSource.STATEMENT, true).add(expensesOther);
+                        BigDecimal expenses = expensesCard.add(expensesChecking);
+
+                        points.add(MonthlyPointDTO.builder()
+                                        .monthLabel(String.format("%04d-%02d", ym.getYear(), ym.getMonthValue()))
+                                        .income(income)
+                                        .expenses(expenses)
+                                        .incomeChecking(incomeChecking)
+                                        .expensesChecking(expensesChecking)
+                                        .expensesCard(expensesCard)
+                                        .build());
                 }
 
         return MonthlyEvolutionDTO.builder()
@@ -159,55 +121,32 @@ public class DashboardChartsService {
                 .build();
     }
 
-        private List<CategoryBreakdownDTO> buildCategoryBreakdown(List<FinancialTransaction> txs, List<BankStatementTransaction> statementTxs, YearMonth targetMonth) {
-                Map<String, BigDecimal> byCategory = new java.util.HashMap<>();
-
-                for (FinancialTransaction tx : txs) {
-                        if (tx == null || tx.getType() != TransactionType.EXPENSE || tx.getAmount() == null) continue;
-                        if (targetMonth != null && tx.getTransactionDate() != null && !YearMonth.from(tx.getTransactionDate()).equals(targetMonth)) {
-                                continue;
-                        }
-                        if (targetMonth != null && tx.getTransactionDate() == null) {
-                                continue;
-                        }
-                        String category = sanitizeCategory(tx.getCategory());
-                        byCategory.merge(category, tx.getAmount().abs(), BigDecimal::add);
-                }
-
-                for (BankStatementTransaction stx : statementTxs) {
-                        if (stx == null || stx.getAmount() == null || stx.getType() != BankStatementTransaction.Type.DEBIT) continue;
-                        if (targetMonth != null && stx.getTransactionDate() != null && !YearMonth.from(stx.getTransactionDate()).equals(targetMonth)) {
-                                continue;
-                        }
-                        if (targetMonth != null && stx.getTransactionDate() == null) {
-                                continue;
-                        }
-                        String category = sanitizeCategory(BankStatementCashflowHeuristics.categorize(stx.getDescription(), stx.getType()));
-                        byCategory.merge(category, stx.getAmount().abs(), BigDecimal::add);
-                }
+        private List<CategoryBreakdownDTO> buildCategoryBreakdown(List<CategoryTotal> categoryTotals) {
+                List<CategoryTotal> rows = categoryTotals.stream()
+                        .filter(row -> row != null && row.total() != null)
+                        .toList();
 
-                if (byCategory.isEmpty()) {
+                if (rows.isEmpty()) {
                         return Collections.emptyList();
                 }
 
-                BigDecimal totalExpenses = byCategory.values().stream()
-                        .filter(Objects::nonNull)
+                BigDecimal totalExpenses = rows.stream()
+                        .map(CategoryTotal::total)
                         .reduce(BigDecimal.ZERO, BigDecimal::add);
 
                 if (totalExpenses.compareTo(BigDecimal.ZERO) == 0) {
                         return Collections.emptyList();
                 }
 
-                return byCategory.entrySet().stream()
-                        .map(entry -> {
-                                BigDecimal total = entry.getValue();
-                                BigDecimal percentage = total
+                return rows.stream()
+                        .map(row -> {
+                                BigDecimal percentage = row.total()
                                         .multiply(BigDecimal.valueOf(100))
                                         .divide(totalExpenses, 2, RoundingMode.HALF_UP);
 
                                 return CategoryBreakdownDTO.builder()
-                                        .category(entry.getKey())
-                                        .total(total)
+                                        .category(row.category())
+                                        .total(row.total())
                                         .percentage(percentage)
                                         .build();
                         })
@@ -215,47 +154,16 @@ public class DashboardChartsService {
                         .toList();
         }
 
-        private String sanitizeCategory(String category) {
-                if (category == null || category.isBlank()) {
-                        return "Outros";
-                }
-                return category.trim();
-        }
-
-    private BigDecimal sumByType(List<FinancialTransaction> txs, TransactionType type) {
-        return txs.stream()
-                .filter(tx -> tx.getType() == type)
-                .map(FinancialTransaction::getAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-        private BigDecimal sumStatementByType(List<BankStatementTransaction> txs, BankStatementTransaction.Type type) {
-                return txs.stream()
-                        .filter(tx -> tx != null && tx.getType() == type)
-                        .map(BankStatementTransaction::getAmount)
-                        .filter(Objects::nonNull)
-                        .map(BigDecimal::abs)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-        }
-
-        private BigDecimal sumCardExpenses(List<FinancialTransaction> txs) {
-                return txs.stream()
-                        .filter(tx -> tx != null && tx.getType() == TransactionType.EXPENSE)
-                        .filter(tx -> tx.getPurchaseDate() != null)
-                        .map(FinancialTransaction::getAmount)
-                        .filter(Objects::nonNull)
-                        .map(BigDecimal::abs)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-        }
-
-        private BigDecimal sumNonCardExpenses(List<FinancialTransaction> txs) {
-                return txs.stream()
-                        .filter(tx -> tx != null && tx.getType() == TransactionType.EXPENSE)
-                        .filter(tx -> tx.getPurchaseDate() == null)
-                        .map(FinancialTransaction::getAmount)
+        /**
+         * @param source {@code null} = CARD + NON_CARD (financial_transactions)
+         * @param abs    soma {@code totalAbs} em vez de {@code total}
+         */
+        private BigDecimal sum(List<MonthTotal> rows, TransactionType type, MonthlyRollupSource source, boolean abs) {
+                return rows.stream()
+                        .filter(row -> type.name().equals(row.type()))
+                        .filter(row -> source == null ? row.source().isFinancialTransaction() : row.source() == source)
+                        .map(row -> abs ? row.totalAbs() : row.total())
                         .filter(Objects::nonNull)
-                        .map(BigDecimal::abs)
                         .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
 }
@@ -14,6 +14,9 @@ import com.ella.backend.entities.Person;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,9 +27,15 @@ public class DashboardGoalsService {
     private final PersonRepository personRepository;
     private final GoalRepository goalRepository;
     private final GoalGeneratorService goalGeneratorService;
+    private final DashboardCache dashboardCache;
 
     public List<GoalProgressDTO> getGoals(String personId) {
         UUID personUuid = UUID.fromString(personId);
+        // Metas automáticas dependem do histórico: a entrada cobre qualquer mês.
+        return dashboardCache.get(DashboardCacheKey.anyMonth(personUuid, DashboardView.GOALS), () -> computeGoals(personUuid));
+    }
+
+    private List<GoalProgressDTO> computeGoals(UUID personUuid) {
         Person person = personRepository.findById(personUuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
 
@@ -1,56 +1,161 @@
 package com.ella.backend.services;
 
+import java.time.Duration;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
 import com.ella.backend.entities.Person;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
+import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightDeduplicator;
 import com.ella.backend.services.insights.providers.InsightProvider;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DashboardInsightsService {
 
     private final List<InsightProvider> insightProviders;
     private final PersonRepository personRepository;
+    private final DashboardCache dashboardCache;
+    private final InsightDataCache insightDataCache;
+    private final Executor insightExecutor;
+    private final Duration providerTimeout;
+    private final int lookbackMonths;
 
+    public DashboardInsightsService(
+            List<InsightProvider> insightProviders,
+            PersonRepository personRepository,
+            DashboardCache dashboardCache,
+            InsightDataCache insightDataCache,
+            @Qualifier("insightTaskExecutor") Executor insightExecutor,
+            @Value("${ella.insights.provider-timeout-ms:3000}") long providerTimeoutMs
+    ) {
+        this.insightProviders = insightProviders;
+        this.personRepository = personRepository;
+        this.dashboardCache = dashboardCache;
+        this.insightDataCache = insightDataCache;
+        this.insightExecutor = insightExecutor;
+        this.providerTimeout = Duration.ofMillis(providerTimeoutMs);
+        this.lookbackMonths = insightProviders.stream().mapToInt(InsightProvider::lookbackMonths).max().orElse(0);
+    }
+
+    private record InsightRun(List<InsightDTO> insights, boolean complete) {
+    }
+
+    /**
+     * Providers look back up to {@link InsightProvider#lookbackMonths()} months before the selected one;
+     * the largest of them is the range the cached entry covers.
+     * A partial result (some provider timed out) is returned but not cached.
+     */
     public List<InsightDTO> getInsights(String personId, int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        DashboardCacheKey key = DashboardCacheKey.of(UUID.fromString(personId), DashboardView.INSIGHTS, ym.minusMonths(lookbackMonths), ym);
+        AtomicReference<List<InsightDTO>> partial = new AtomicReference<>();
+        List<InsightDTO> insights = dashboardCache.get(key, () -> {
+            InsightRun run = computeInsights(personId, year, month);
+            if (run.complete()) return run.insights();
+            partial.set(run.insights());
+            return null;
+        });
+        if (insights != null) return insights;
+        // null = this call, or the one it waited for, was partial (not cached)
+        return partial.get() != null ? partial.get() : computeInsights(personId, year, month).insights();
+    }
+
+    /**
+     * Runs every provider concurrently; the response waits for the slowest one, up to
+     * {@code ella.insights.provider-timeout-ms}. Late or failing providers are left out; the
+     * others keep their order, which deduplication and the top-5 cut depend on.
+     */
+    private InsightRun computeInsights(String personId, int year, int month) {
         Person person = resolvePerson(personId);
+        prefetch(person, year, month);
 
-        List<InsightDTO> allInsights = new ArrayList<>();
+        // FutureTask (not CompletableFuture) so cancel(true) interrupts a provider that ran out of time
+        // and gives its thread back to the pool.
+        List<FutureTask<List<InsightDTO>>> runs = new ArrayList<>(insightProviders.size());
         for (InsightProvider provider : insightProviders) {
+            FutureTask<List<InsightDTO>> run = new FutureTask<>(() -> provider.generate(person, year, month));
+            runs.add(run);
+            insightExecutor.execute(run);
+        }
+
+        long deadline = System.nanoTime() + providerTimeout.toNanos();
+        boolean complete = true;
+        List<InsightDTO> allInsights = new ArrayList<>();
+        for (int i = 0; i < runs.size(); i++) {
+            String providerName = insightProviders.get(i).getClass().getSimpleName();
+            FutureTask<List<InsightDTO>> run = runs.get(i);
             try {
-                List<InsightDTO> providerInsights = provider.generate(person, year, month);
+                List<InsightDTO> providerInsights = run.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
                 if (providerInsights != null && !providerInsights.isEmpty()) {
                     allInsights.addAll(providerInsights);
                 }
-            } catch (Exception e) {
+            } catch (TimeoutException e) {
+                complete = false;
+                run.cancel(true);
+                log.warn(
+                        "Insight provider {} timed out after {} ms for personId={}, year={}, month={}",
+                        providerName,
+                        providerTimeout.toMillis(),
+                        personId,
+                        year,
+                        month
+                );
+            } catch (ExecutionException e) {
                 // Segurança: um provider não deve derrubar o dashboard inteiro.
                 log.warn(
                         "Insight provider {} failed for personId={}, year={}, month={}",
-                        provider.getClass().getSimpleName(),
+                        providerName,
                         personId,
                         year,
                         month,
-                        e
+                        e.getCause()
                 );
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete = false;
+                runs.forEach(r -> r.cancel(true));
+                break;
             }
         }
 
-        return InsightDeduplicator.deduplicate(allInsights).stream()
+        List<InsightDTO> insights = InsightDeduplicator.deduplicate(allInsights).stream()
                 .limit(5)
                 .collect(Collectors.toList());
+        return new InsightRun(insights, complete);
+    }
+
+    /**
+     * Loads the months every provider needs in one pass before they start; on failure the providers
+     * fall back to loading month by month.
+     */
+    private void prefetch(Person person, int year, int month) {
+        try {
+            insightDataCache.prefetch(person, YearMonth.of(year, month), lookbackMonths);
+        } catch (Exception e) {
+            log.warn("Insight prefetch failed for personId={}, year={}, month={}: {}", person.getId(), year, month, e.toString());
+        }
     }
 
     private Person resolvePerson(String personId) {
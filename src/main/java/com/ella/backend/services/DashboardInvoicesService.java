@@ -2,6 +2,7 @@ package com.ella.backend.services;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -17,6 +18,9 @@ import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.InstallmentRepository;
 import com.ella.backend.repositories.InvoiceRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,9 +33,16 @@ public class DashboardInvoicesService {
     private final PersonRepository personRepository;
     private final InvoiceRepository invoiceRepository;
     private final InstallmentRepository installmentRepository;
+    private final DashboardCache dashboardCache;
 
     public List<InvoiceSummaryDTO> getInvoices(String personId, int year, int month) {
         UUID personUuid = UUID.fromString(personId);
+        // Parcelas de compras de meses anteriores entram na fatura: a entrada cobre qualquer mês.
+        DashboardCacheKey key = new DashboardCacheKey(personUuid, DashboardView.INVOICES, null, null, YearMonth.of(year, month).toString());
+        return dashboardCache.get(key, () -> computeInvoices(personId, personUuid, year, month));
+    }
+
+    private List<InvoiceSummaryDTO> computeInvoices(String personId, UUID personUuid, int year, int month) {
         Person person = personRepository.findById(personUuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
 
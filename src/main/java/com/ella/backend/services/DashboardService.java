@@ -18,7 +18,6 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -50,6 +49,11 @@ import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.InstallmentRepository;
 import com.ella.backend.repositories.InvoiceRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryTotal;
 
 import lombok.RequiredArgsConstructor;
 
@@ -65,6 +69,8 @@ public class DashboardService {
     private final GoalRepository goalRepository;
     private final InvoiceRepository invoiceRepository;
         private final InstallmentRepository installmentRepository;
+        private final MonthlyCategoryRollupService monthlyCategoryRollupService;
+        private final DashboardCache dashboardCache;
 
         @Value("${ella.dashboard.transactions.limit:200}")
         private int personalTransactionsLimit;
@@ -96,12 +102,21 @@ public class DashboardService {
         return response;
     }
 
-    @Cacheable(
-            cacheNames = "dashboard",
-            key = "#request.personId + '-' + #request.year + '-' + #request.month",
-            sync = true
-    )
+    /**
+     * Cacheado por pessoa/ano/mês; invalidado por eventos de domínio da própria pessoa (ver DashboardCacheInvalidator).
+     */
     public DashboardResponseDTO buildDashboard(DashboardRequestDTO request) {
+        UUID personUuid = UUID.fromString(request.getPersonId());
+        DashboardCacheKey key = new DashboardCacheKey(
+                personUuid,
+                DashboardView.FULL,
+                YearMonth.of(request.getYear(), 1),
+                YearMonth.of(request.getYear(), 12),
+                String.valueOf(request.getMonth()));
+        return dashboardCache.get(key, () -> computeDashboard(request));
+    }
+
+    private DashboardResponseDTO computeDashboard(DashboardRequestDTO request) {
         logger.info("[Dashboard] 🔄 buildDashboard iniciado para personId: {}, year: {}, month: {}",
                 request.getPersonId(), request.getYear(), request.getMonth());
 
@@ -121,25 +136,18 @@ public class DashboardService {
         logger.debug("[Dashboard] 📅 Período do mês: {} a {}", monthStart, monthEnd);
         logger.debug("[Dashboard] 📅 Período do ano: {} a {}", yearStart, yearEnd);
 
-        // Performance: não carregue todas as transações do mês/ano.
-        // Use agregações no banco + uma lista limitada para a UI.
-        BigDecimal monthIncome = financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(
-                person, monthStart, monthEnd, TransactionType.INCOME);
-        BigDecimal monthExpenses = financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(
-                person, monthStart, monthEnd, TransactionType.EXPENSE);
-
-        BigDecimal yearIncome = financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(
-                person, yearStart, yearEnd, TransactionType.INCOME);
-        BigDecimal yearExpenses = financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(
-                person, yearStart, yearEnd, TransactionType.EXPENSE);
+        // Performance: totais vêm do rollup mensal (poucas linhas por mês), não das transações.
+        // Só as fontes de financial_transactions: extratos bancários não entram nestes totais.
+        List<MonthlyCategoryTotal> yearRollup = monthlyCategoryRollupService.find(
+                person.getId(), YearMonth.of(year, 1), YearMonth.of(year, 12)).stream()
+                .filter(row -> row.source().isFinancialTransaction())
+                .toList();
 
-        List<FinancialTransactionRepository.CategoryTotalProjection> monthExpenseByCategory =
-                financialTransactionRepository.sumExpenseTotalsByCategoryForPersonAndDateRange(
-                        person, monthStart, monthEnd);
+        BigDecimal monthIncome = sumRollup(yearRollup, ym, TransactionType.INCOME);
+        BigDecimal monthExpenses = sumRollup(yearRollup, ym, TransactionType.EXPENSE);
 
-        List<FinancialTransactionRepository.MonthTypeTotalProjection> yearMonthlyTotals =
-                financialTransactionRepository.sumTotalsByMonthAndTypeForPersonAndDateRange(
-                        person.getId(), yearStart, yearEnd);
+        BigDecimal yearIncome = sumRollup(yearRollup, null, TransactionType.INCOME);
+        BigDecimal yearExpenses = sumRollup(yearRollup, null, TransactionType.EXPENSE);
 
         List<Invoice> personalInvoicesEntities =
                 invoiceRepository.findByCardOwnerAndMonthAndYearAndDeletedAtIsNull(person, month, year);
@@ -164,8 +172,8 @@ public class DashboardService {
                 .yearExpenses(yearExpenses)
                 .build();
 
-        List<CategoryBreakdownDTO> personalCategory = buildCategoryBreakdownFromAggregates(monthExpenseByCategory);
-        MonthlyEvolutionDTO personalMonthlyEvolution = buildMonthlyEvolutionFromAggregates(yearMonthlyTotals, year);
+        List<CategoryBreakdownDTO> personalCategory = buildCategoryBreakdownFromRollup(yearRollup, ym);
+        MonthlyEvolutionDTO personalMonthlyEvolution = buildMonthlyEvolutionFromRollup(yearRollup, year);
         GoalProgressDTO mainGoalProgress = buildMainGoalProgress(personalGoals);
         List<InvoiceSummaryDTO> personalInvoices = buildInvoiceSummaries(personalInvoicesEntities);
 
@@ -221,31 +229,48 @@ public class DashboardService {
                 return list.subList(0, limit);
         }
 
-        private List<CategoryBreakdownDTO> buildCategoryBreakdownFromAggregates(
-                        List<FinancialTransactionRepository.CategoryTotalProjection> monthExpenseByCategory
-        ) {
-                if (monthExpenseByCategory == null || monthExpenseByCategory.isEmpty()) {
+        /**
+         * Soma do rollup por tipo: um mês ({@code month}) ou o período inteiro ({@code month == null}).
+         */
+        private static BigDecimal sumRollup(List<MonthlyCategoryTotal> rollup, YearMonth month, TransactionType type) {
+                return rollup.stream()
+                                .filter(row -> type.name().equals(row.type()))
+                                .filter(row -> month == null || month.equals(row.month()))
+                                .map(MonthlyCategoryTotal::total)
+                                .filter(Objects::nonNull)
+                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        private List<CategoryBreakdownDTO> buildCategoryBreakdownFromRollup(List<MonthlyCategoryTotal> rollup, YearMonth month) {
+                // Mesmo agrupamento de antes (por categoria, só DESPESAS): CARD e NON_CARD se somam.
+                Map<String, BigDecimal> monthExpenseByCategory = new HashMap<>();
+                for (MonthlyCategoryTotal row : rollup) {
+                        if (!month.equals(row.month()) || !TransactionType.EXPENSE.name().equals(row.type()) || row.total() == null) {
+                                continue;
+                        }
+                        monthExpenseByCategory.merge(row.category(), row.total(), BigDecimal::add);
+                }
+
+                if (monthExpenseByCategory.isEmpty()) {
                         return Collections.emptyList();
                 }
 
-                BigDecimal totalExpenses = monthExpenseByCategory.stream()
-                                .map(FinancialTransactionRepository.CategoryTotalProjection::getTotal)
-                                .filter(Objects::nonNull)
+                BigDecimal totalExpenses = monthExpenseByCategory.values().stream()
                                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
                 if (totalExpenses.compareTo(BigDecimal.ZERO) == 0) {
                         return Collections.emptyList();
                 }
 
-                return monthExpenseByCategory.stream()
-                                .filter(p -> p != null && p.getCategory() != null && p.getTotal() != null)
-                                .map(p -> {
-                                        BigDecimal percentage = p.getTotal()
+                return monthExpenseByCategory.entrySet().stream()
+                                .filter(e -> e.getKey() != null)
+                                .map(e -> {
+                                        BigDecimal percentage = e.getValue()
                                                         .multiply(BigDecimal.valueOf(100))
                                                         .divide(totalExpenses, 2, RoundingMode.HALF_UP);
                                         return CategoryBreakdownDTO.builder()
-                                                        .category(p.getCategory())
-                                                        .total(p.getTotal())
+                                                        .category(e.getKey())
+                                                        .total(e.getValue())
                                                         .percentage(percentage)
                                                         .build();
                                 })
@@ -253,29 +278,23 @@ public class DashboardService {
                                 .toList();
         }
 
-        private MonthlyEvolutionDTO buildMonthlyEvolutionFromAggregates(
-                        List<FinancialTransactionRepository.MonthTypeTotalProjection> yearMonthlyTotals,
-                        int year
-        ) {
+        private MonthlyEvolutionDTO buildMonthlyEvolutionFromRollup(List<MonthlyCategoryTotal> rollup, int year) {
                 Map<YearMonth, EnumMap<TransactionType, BigDecimal>> map = new HashMap<>();
 
-                if (yearMonthlyTotals != null) {
-                        for (var row : yearMonthlyTotals) {
-                                if (row == null || row.getMonthStart() == null || row.getType() == null || row.getTotal() == null) {
-                                        continue;
-                                }
-
-                                TransactionType type;
-                                try {
-                                        type = TransactionType.valueOf(row.getType());
-                                } catch (Exception ignored) {
-                                        continue;
-                                }
-
-                                YearMonth ym = YearMonth.from(row.getMonthStart());
-                                EnumMap<TransactionType, BigDecimal> totals = map.computeIfAbsent(ym, k -> new EnumMap<>(TransactionType.class));
-                                totals.put(type, row.getTotal());
+                for (MonthlyCategoryTotal row : rollup) {
+                        if (row.month() == null || row.type() == null || row.total() == null) {
+                                continue;
+                        }
+
+                        TransactionType type;
+                        try {
+                                type = TransactionType.valueOf(row.type());
+                        } catch (Exception ignored) {
+                                continue;
                         }
+
+                        EnumMap<TransactionType, BigDecimal> totals = map.computeIfAbsent(row.month(), k -> new EnumMap<>(TransactionType.class));
+                        totals.merge(type, row.total(), BigDecimal::add);
                 }
 
                 List<MonthlyPointDTO> points = new ArrayList<>();
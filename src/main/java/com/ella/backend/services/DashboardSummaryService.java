@@ -18,6 +18,11 @@ import com.ella.backend.enums.TransactionType;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DashboardCacheKey;
+import com.ella.backend.services.cache.DashboardView;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryTotal;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +34,8 @@ public class DashboardSummaryService {
 
     private final PersonRepository personRepository;
     private final FinancialTransactionRepository financialTransactionRepository;
+    private final MonthlyCategoryRollupService monthlyCategoryRollupService;
+    private final DashboardCache dashboardCache;
 
         @Value("${ella.dashboard.debug.summary-expenses:false}")
         private boolean debugSummaryExpenses;
@@ -38,6 +45,12 @@ public class DashboardSummaryService {
 
     public SummaryDTO getSummary(String personId, int year, int month) {
         UUID personUuid = UUID.fromString(personId);
+        YearMonth ym = YearMonth.of(year, month);
+        return dashboardCache.get(DashboardCacheKey.of(personUuid, DashboardView.SUMMARY, ym, ym),
+                () -> computeSummary(personId, personUuid, year, month));
+    }
+
+    private SummaryDTO computeSummary(String personId, UUID personUuid, int year, int month) {
         Person person = personRepository.findById(personUuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
 
@@ -45,21 +58,26 @@ public class DashboardSummaryService {
         LocalDate monthStart = ym.atDay(1);
         LocalDate monthEnd = ym.atEndOfMonth();
 
-        List<FinancialTransaction> monthTx = financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(
-                person, monthStart, monthEnd
-        );
-
-        BigDecimal income = sumByType(monthTx, TransactionType.INCOME);
-
+        BigDecimal income;
         BigDecimal expenses;
         if (debugSummaryExpenses) {
+            List<FinancialTransaction> monthTx = financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(
+                    person, monthStart, monthEnd
+            );
+            income = sumByType(monthTx, TransactionType.INCOME);
+
             List<FinancialTransaction> expensesTx = monthTx.stream()
                     .filter(tx -> tx != null && tx.getType() == TransactionType.EXPENSE)
                     .toList();
             expenses = sumAmounts(expensesTx);
             logSummaryExpensesDebug(personId, year, month, monthStart, monthEnd, monthTx.size(), expensesTx, expenses);
         } else {
-            expenses = sumByType(monthTx, TransactionType.EXPENSE);
+            // Caminho normal: totais do rollup mensal (só financial_transactions, como antes).
+            List<MonthlyCategoryTotal> monthRollup = monthlyCategoryRollupService.find(person.getId(), ym, ym).stream()
+                    .filter(row -> row.source().isFinancialTransaction())
+                    .toList();
+            income = sumRollupByType(monthRollup, TransactionType.INCOME);
+            expenses = sumRollupByType(monthRollup, TransactionType.EXPENSE);
         }
 
         BigDecimal balance = income.subtract(expenses);
@@ -87,6 +105,14 @@ public class DashboardSummaryService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    private BigDecimal sumRollupByType(List<MonthlyCategoryTotal> rollup, TransactionType type) {
+        return rollup.stream()
+                .filter(row -> type.name().equals(row.type()))
+                .map(MonthlyCategoryTotal::total)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
         private BigDecimal sumAmounts(List<FinancialTransaction> txs) {
                 return txs.stream()
                                 .map(FinancialTransaction::getAmount)
@@ -6,7 +6,6 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -37,7 +36,6 @@ public class ExpenseService {
 
     @Auditable(action = "EXPENSE_CREATED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public ExpenseResponseDTO create(ExpenseRequestDTO dto) {
         validateExpenseBusinessRules(dto);
 
@@ -114,7 +112,6 @@ public class ExpenseService {
 
     @Auditable(action = "EXPENSE_UPDATED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public ExpenseResponseDTO update(String id, ExpenseRequestDTO dto) {
         validateExpenseBusinessRules(dto);
 
@@ -146,7 +143,6 @@ public class ExpenseService {
 
     @Auditable(action = "EXPENSE_DELETED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public void delete(String id) {
         UUID uuid = UUID.fromString(id);
 
@@ -33,7 +33,6 @@ import com.ella.backend.entities.BankStatement;
 import com.ella.backend.entities.BankStatementTransaction;
 import com.ella.backend.entities.Budget;
 import com.ella.backend.entities.FinancialReport;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Investment;
 import com.ella.backend.entities.Person;
@@ -43,10 +42,11 @@ import com.ella.backend.repositories.AssetRepository;
 import com.ella.backend.repositories.BankStatementTransactionRepository;
 import com.ella.backend.repositories.BudgetRepository;
 import com.ella.backend.repositories.FinancialReportRepository;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.InvestmentRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryTotal;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -60,7 +60,7 @@ public class FinancialReportService {
 
     private final FinancialReportRepository financialReportRepository;
     private final PersonRepository personRepository;
-    private final FinancialTransactionRepository financialTransactionRepository;
+    private final MonthlyCategoryRollupService monthlyCategoryRollupService;
     private final InvestmentRepository investmentRepository;
     private final AssetRepository assetRepository;
     private final GoalRepository goalRepository;
@@ -81,10 +81,9 @@ public class FinancialReportService {
         Period period = resolvePeriod(type, referenceDate);
         Period prevPeriod = resolvePreviousPeriod(type, period);
 
-        List<FinancialTransaction> tx = financialTransactionRepository
-            .findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, period.start, period.end);
-        List<FinancialTransaction> prevTx = financialTransactionRepository
-            .findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, prevPeriod.start, prevPeriod.end);
+        // Períodos são sempre meses inteiros: os totais vêm do rollup mensal.
+        List<MonthlyCategoryTotal> tx = loadRollup(person, period);
+        List<MonthlyCategoryTotal> prevTx = loadRollup(person, prevPeriod);
 
         ComputedSummary currentSummary = computeSummary(tx);
         ComputedSummary previousSummary = computeSummary(prevTx);
@@ -223,14 +222,20 @@ public class FinancialReportService {
                 .build();
     }
 
-    private static List<CategoryTotalDTO> computeByCategory(List<FinancialTransaction> tx, TransactionType type) {
+    private List<MonthlyCategoryTotal> loadRollup(Person person, Period period) {
+        return monthlyCategoryRollupService.find(person.getId(), YearMonth.from(period.start), YearMonth.from(period.end)).stream()
+                .filter(row -> row.source().isFinancialTransaction())
+                .toList();
+    }
+
+    private static List<CategoryTotalDTO> computeByCategory(List<MonthlyCategoryTotal> tx, TransactionType type) {
         Map<String, BigDecimal> totals = new HashMap<>();
         BigDecimal total = BigDecimal.ZERO;
 
-        for (FinancialTransaction t : tx) {
-            if (t.getType() != type) continue;
-            BigDecimal abs = t.getAmount() == null ? BigDecimal.ZERO : t.getAmount().abs();
-            totals.merge(String.valueOf(t.getCategory()), abs, BigDecimal::add);
+        for (MonthlyCategoryTotal t : tx) {
+            if (!type.name().equals(t.type())) continue;
+            BigDecimal abs = t.totalAbs() == null ? BigDecimal.ZERO : t.totalAbs();
+            totals.merge(String.valueOf(t.category()), abs, BigDecimal::add);
             total = total.add(abs);
         }
 
@@ -250,15 +255,15 @@ public class FinancialReportService {
         return list;
     }
 
-    private static ComputedSummary computeSummary(List<FinancialTransaction> tx) {
+    private static ComputedSummary computeSummary(List<MonthlyCategoryTotal> tx) {
         BigDecimal income = BigDecimal.ZERO;
         BigDecimal expenses = BigDecimal.ZERO;
 
-        for (FinancialTransaction t : tx) {
-            BigDecimal abs = t.getAmount() == null ? BigDecimal.ZERO : t.getAmount().abs();
-            if (t.getType() == TransactionType.INCOME) {
+        for (MonthlyCategoryTotal t : tx) {
+            BigDecimal abs = t.totalAbs() == null ? BigDecimal.ZERO : t.totalAbs();
+            if (TransactionType.INCOME.name().equals(t.type())) {
                 income = income.add(abs);
-            } else if (t.getType() == TransactionType.EXPENSE) {
+            } else if (TransactionType.EXPENSE.name().equals(t.type())) {
                 expenses = expenses.add(abs);
             }
         }
@@ -12,15 +12,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
 import com.ella.backend.exceptions.ResourceNotFoundException;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 import com.ella.backend.services.goals.providers.GoalProvider;
 
 import lombok.RequiredArgsConstructor;
@@ -38,7 +38,7 @@ public class GoalGeneratorService {
     private final List<GoalProvider> goalProviders;
     private final PersonRepository personRepository;
     private final GoalRepository goalRepository;
-    private final FinancialTransactionRepository financialTransactionRepository;
+    private final TxViewStore txViewStore;
     private final CashflowTransactionsService cashflowTransactionsService;
 
     /**
@@ -110,20 +110,24 @@ public class GoalGeneratorService {
 
         Set<String> newlyAddedTitles = new java.util.HashSet<>();
 
-        List<FinancialTransaction> recentTransactions = fetchRecentTransactions(person, monthsToAnalyze);
+        LocalDate end = LocalDate.now();
+        LocalDate start = analysisStart(end, monthsToAnalyze);
+        List<TxView> recentTransactions = Optional.ofNullable(txViewStore.findFinancial(person.getId(), start, end))
+                .orElse(List.of());
 
         boolean needsCashflow = goalProviders.stream()
             .anyMatch(p -> p != null && p.getDataSource() == GoalProvider.GoalDataSource.CASHFLOW_COMBINED);
 
-        List<FinancialTransaction> cashflowTransactions = needsCashflow
-            ? fetchRecentCashflowTransactions(person, monthsToAnalyze)
+        // Reaproveita as transações já carregadas; só o extrato é consultado a mais.
+        List<TxView> cashflowTransactions = needsCashflow
+            ? Optional.ofNullable(cashflowTransactionsService.combineWithStatements(person, start, end, recentTransactions)).orElse(List.of())
             : List.of();
 
         List<Goal> newGoals = goalProviders.stream()
                 .sorted(java.util.Comparator.comparingInt(GoalProvider::getPriority))
                 .flatMap(provider -> {
                     try {
-                        List<FinancialTransaction> txs = provider.getDataSource() == GoalProvider.GoalDataSource.CASHFLOW_COMBINED
+                        List<TxView> txs = provider.getDataSource() == GoalProvider.GoalDataSource.CASHFLOW_COMBINED
                                 ? cashflowTransactions
                                 : recentTransactions;
                         if (txs == null) {
@@ -153,19 +157,8 @@ public class GoalGeneratorService {
         return goalRepository.saveAll(newGoals);
     }
 
-    private List<FinancialTransaction> fetchRecentTransactions(Person person, int monthsToAnalyze) {
+    private static LocalDate analysisStart(LocalDate end, int monthsToAnalyze) {
         int months = Math.max(3, Math.min(6, monthsToAnalyze));
-        LocalDate end = LocalDate.now();
-        LocalDate start = end.minusMonths(months).withDayOfMonth(1);
-        return Optional.ofNullable(financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, start, end))
-                .orElse(List.of());
-    }
-
-    private List<FinancialTransaction> fetchRecentCashflowTransactions(Person person, int monthsToAnalyze) {
-        int months = Math.max(3, Math.min(6, monthsToAnalyze));
-        LocalDate end = LocalDate.now();
-        LocalDate start = end.minusMonths(months).withDayOfMonth(1);
-        return Optional.ofNullable(cashflowTransactionsService.fetchCashflowTransactions(person, start, end))
-                .orElse(List.of());
+        return end.minusMonths(months).withDayOfMonth(1);
     }
 }
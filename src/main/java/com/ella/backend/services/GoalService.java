@@ -5,13 +5,14 @@ import com.ella.backend.dto.GoalResponseDTO;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
+import com.ella.backend.events.GoalsChangedEvent;
 import com.ella.backend.exceptions.BadRequestException;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.audit.Auditable;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -25,9 +26,9 @@ public class GoalService {
 
     private final GoalRepository goalRepository;
     private final PersonRepository personRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Auditable(action = "GOAL_CREATED", entityType = "Goal")
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public GoalResponseDTO create(GoalRequestDTO dto) {
         UUID ownerUuid = UUID.fromString(dto.getOwnerId());
         Person owner = personRepository.findById(ownerUuid)
@@ -42,6 +43,7 @@ public class GoalService {
         Goal goal = getGoal(dto, owner);
 
         Goal saved = goalRepository.save(goal);
+        publishChanged(saved.getOwner());
         return toDTO(saved);
     }
 
@@ -91,7 +93,6 @@ public class GoalService {
     }
 
     @Auditable(action = "GOAL_UPDATED", entityType = "Goal")
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public GoalResponseDTO update(String id, GoalRequestDTO dto) {
         UUID uuid = UUID.fromString(id);
         Goal goal = goalRepository.findById(uuid)
@@ -126,6 +127,7 @@ public class GoalService {
             goal.setStatus(dto.getStatus());
         }
 
+        Person previousOwner = goal.getOwner();
         if (dto.getOwnerId() != null && !dto.getOwnerId().isBlank()) {
             UUID ownerUuid = UUID.fromString(dto.getOwnerId());
             Person owner = personRepository.findById(ownerUuid)
@@ -134,17 +136,28 @@ public class GoalService {
         }
 
         Goal saved = goalRepository.save(goal);
+        publishChanged(saved.getOwner());
+        if (previousOwner != null && saved.getOwner() != null
+                && !previousOwner.getId().equals(saved.getOwner().getId())) {
+            publishChanged(previousOwner);
+        }
         return toDTO(saved);
     }
 
     @Auditable(action = "GOAL_DELETED", entityType = "Goal")
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public void delete(String id) {
         UUID uuid = UUID.fromString(id);
         Goal goal = goalRepository.findById(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Objetivo não encontrado"));
 
         goalRepository.delete(goal);
+        publishChanged(goal.getOwner());
+    }
+
+    private void publishChanged(Person owner) {
+        if (owner != null && owner.getId() != null) {
+            eventPublisher.publishEvent(new GoalsChangedEvent(owner.getId()));
+        }
     }
 
     private void validateGoalBusinessRules(BigDecimal targetAmount, BigDecimal currentAmount, LocalDate deadline) {
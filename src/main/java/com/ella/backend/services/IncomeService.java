@@ -5,7 +5,6 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -36,7 +35,6 @@ public class IncomeService {
 
     @Auditable(action = "INCOME_CREATED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public IncomeResponseDTO create(IncomeRequestDTO dto) {
         validateIncomeBusinessRules(dto);
 
@@ -112,7 +110,6 @@ public class IncomeService {
 
     @Auditable(action = "INCOME_UPDATED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public IncomeResponseDTO update(String id, IncomeRequestDTO dto) {
         validateIncomeBusinessRules(dto);
 
@@ -143,7 +140,6 @@ public class IncomeService {
 
     @Auditable(action = "INCOME_DELETED", entityType = "FinancialTransaction")
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public void delete(String id) {
         UUID uuid = UUID.fromString(id);
         FinancialTransaction entity = transactionRepository.findByIdAndDeletedAtIsNull(uuid)
@@ -1,9 +1,11 @@
 package com.ella.backend.services;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ import com.ella.backend.dto.InvoiceResponseDTO;
 import com.ella.backend.entities.CreditCard;
 import com.ella.backend.entities.Invoice;
 import com.ella.backend.enums.InvoiceStatus;
+import com.ella.backend.events.InvoiceChangedEvent;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.mappers.FinancialTransactionMapper;
 import com.ella.backend.repositories.CreditCardRepository;
@@ -32,6 +35,7 @@ public class InvoiceService {
     private final CreditCardRepository creditCardRepository;
     private final FinancialTransactionRepository financialTransactionRepository;
     private final InstallmentRepository installmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Auditable(action = "INVOICE_CREATED", entityType = "Invoice")
     public InvoiceResponseDTO create(InvoiceRequestDTO dto) {
@@ -59,6 +63,7 @@ public class InvoiceService {
         }
 
         invoice = invoiceRepository.save(invoice);
+        publishChanged(invoice);
         return toDTO(invoice);
     }
 
@@ -87,6 +92,9 @@ public class InvoiceService {
         CreditCard card = creditCardRepository.findById(UUID.fromString(dto.getCardId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Cartão não encontrado"));
 
+        // o mês/cartão anterior também deixa de mostrar esta fatura
+        publishChanged(invoice);
+
         invoice.setCard(card);
         invoice.setMonth(dto.getMonth());
         invoice.setYear(dto.getYear());
@@ -107,6 +115,7 @@ public class InvoiceService {
         }
 
         invoice = invoiceRepository.save(invoice);
+        publishChanged(invoice);
         return toDTO(invoice);
     }
 
@@ -128,6 +137,7 @@ public class InvoiceService {
         }
 
         invoice = invoiceRepository.save(invoice);
+        publishChanged(invoice);
         return toDTO(invoice);
     }
 
@@ -142,6 +152,7 @@ public class InvoiceService {
         // Soft delete invoice
         invoice.setDeletedAt(now);
         invoiceRepository.save(invoice);
+        publishChanged(invoice);
 
         // Soft delete all transactions linked via installments (cascade)
         var installments = installmentRepository.findByInvoice(invoice);
@@ -258,6 +269,13 @@ public class InvoiceService {
         return dto;
         }
 
+    private void publishChanged(Invoice invoice) {
+        var owner = invoice.getCard() != null ? invoice.getCard().getOwner() : null;
+        if (owner == null || invoice.getMonth() == null || invoice.getYear() == null) return;
+        eventPublisher.publishEvent(new InvoiceChangedEvent(
+                owner.getId(), invoice.getId(), YearMonth.of(invoice.getYear(), invoice.getMonth())));
+    }
+
     private InvoiceResponseDTO toDTO(Invoice invoice) {
         InvoiceResponseDTO dto = new InvoiceResponseDTO();
         dto.setId(invoice.getId().toString());
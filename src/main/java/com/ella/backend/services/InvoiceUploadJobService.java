@@ -1,20 +1,25 @@
 package com.ella.backend.services;
 
-import java.security.MessageDigest;
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.cache.CacheManager;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ella.backend.dto.InvoiceUploadResponseDTO;
 import com.ella.backend.entities.InvoiceUploadJob;
 import com.ella.backend.repositories.InvoiceUploadJobRepository;
+import com.ella.backend.services.invoices.util.Sha256;
+import com.ella.backend.services.uploads.InvoiceUploadJobQueue;
+import com.ella.backend.services.uploads.InvoiceUploadJobQueuedEvent;
+import com.ella.backend.services.uploads.UploadBlobStorage;
+import com.ella.backend.services.uploads.UploadQueueProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -29,7 +34,10 @@ public class InvoiceUploadJobService {
     private final InvoiceUploadJobRepository jobRepository;
     private final InvoiceUploadService invoiceUploadService;
     private final ObjectMapper objectMapper;
-    private final CacheManager cacheManager;
+    private final UploadBlobStorage uploadBlobStorage;
+    private final InvoiceUploadJobQueue jobQueue;
+    private final UploadQueueProperties queueProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public InvoiceUploadJob createJob(UUID personId,
@@ -38,7 +46,7 @@ public class InvoiceUploadJobService {
                                      byte[] fileBytes,
                                      String password,
                                      String dueDate) {
-        String fileSha256 = computeSha256Hex(fileBytes);
+        String fileSha256 = Sha256.hex(fileBytes);
 
         if (fileSha256 != null) {
             Optional<InvoiceUploadJob> existing = jobRepository
@@ -64,23 +72,52 @@ public class InvoiceUploadJobService {
         job.setPassword(password);
         job.setDueDate(dueDate);
         job.setFileSha256(fileSha256);
-        job.setFileBytes(fileBytes);
-        return jobRepository.save(job);
+        // Flushed so the "db" blob store can write file_bytes on the inserted row.
+        InvoiceUploadJob saved = jobRepository.saveAndFlush(job);
+
+        try {
+            saved.setBlobRef(uploadBlobStorage.put(saved.getId(), fileBytes));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store upload file", e);
+        }
+        deleteBlobOnRollback(saved.getBlobRef());
+        return saved;
+    }
+
+    /**
+     * The blob is written before the job row commits. If the transaction rolls back no job points to it,
+     * and the purge job only looks at finished jobs, so it would stay on disk forever.
+     */
+    private void deleteBlobOnRollback(String blobRef) {
+        if (blobRef == null || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    uploadBlobStorage.delete(blobRef);
+                }
+            }
+        });
     }
 
     public Optional<InvoiceUploadJob> findByIdForPerson(UUID jobId, UUID personId) {
         return jobRepository.findByIdAndPersonId(jobId, personId);
     }
 
-    @Async("invoiceUploadTaskExecutor")
+    /**
+     * The job is already durable (PENDING) once {@link #createJob} commits; this only wakes a worker
+     * so it does not wait for the next poll. Any node may end up processing it.
+     */
     public void startProcessing(UUID jobId) {
         if (jobId == null) return;
-        // We always re-load inside a transaction; avoids detached entity issues.
-        processJob(jobId);
+        eventPublisher.publishEvent(new InvoiceUploadJobQueuedEvent(jobId));
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processJob(UUID jobId) {
+    /**
+     * Runs a job claimed by {@code workerId} (see InvoiceUploadJobWorker). Not transactional on purpose:
+     * the upload has its own transaction, and the job outcome must be recorded even when it rolls back.
+     */
+    public void processJob(UUID jobId, String workerId) {
         if (jobId == null) return;
         InvoiceUploadJob job = jobRepository.findById(jobId).orElse(null);
         if (job == null) {
@@ -88,48 +125,92 @@ public class InvoiceUploadJobService {
             return;
         }
 
-        // Idempotency: don't re-run completed jobs.
-        if (job.getStatus() == InvoiceUploadJob.Status.SUCCEEDED
-                || job.getStatus() == InvoiceUploadJob.Status.FAILED
-                || job.getStatus() == InvoiceUploadJob.Status.RUNNING) {
+        // Lease lost (expired and re-claimed elsewhere) or job already finished: nothing to do here.
+        if (job.getStatus() != InvoiceUploadJob.Status.RUNNING || !Objects.equals(job.getLockedBy(), workerId)) {
+            log.info("[InvoiceUploadJob] skipping jobId={} status={} lockedBy={} worker={}",
+                    jobId, job.getStatus(), job.getLockedBy(), workerId);
             return;
         }
 
-        job.setStatus(InvoiceUploadJob.Status.RUNNING);
-        job.setStartedAt(LocalDateTime.now());
-        jobRepository.save(job);
-
         try {
-            InvoiceUploadResponseDTO result = invoiceUploadService.processInvoiceBytesForPerson(
-                    job.getPersonId(),
-                    job.getFilename(),
-                    job.getContentType(),
-                    job.getFileBytes(),
-                    job.getPassword(),
-                    job.getDueDate()
-            );
-
-            job.setResultJson(writeResultJson(result));
-            job.setStatus(InvoiceUploadJob.Status.SUCCEEDED);
-            job.setFinishedAt(LocalDateTime.now());
-            jobRepository.save(job);
-
-            // Best-effort cache eviction (processInvoice already evicts, but keep this here
-            // to ensure eviction if the processing method changes in the future).
-            try {
-                var cache = cacheManager.getCache("dashboard");
-                if (cache != null) cache.clear();
-            } catch (Exception ignored) {}
+            InvoiceUploadResponseDTO result;
+            if (isPdf(job.getFilename())) {
+                // Loaded on demand here only; polling the job never touches the file.
+                byte[] fileBytes = uploadBlobStorage.readAll(job.getId(), job.getBlobRef());
+
+                result = invoiceUploadService.processInvoiceBytesForPerson(
+                        job.getPersonId(),
+                        job.getFilename(),
+                        job.getContentType(),
+                        fileBytes,
+                        job.getPassword(),
+                        job.getDueDate()
+                );
+            } else {
+                // CSV is streamed from the blob store chunk by chunk; pollers see processed_rows grow
+                // (rows handled so far; they commit together at the end).
+                result = invoiceUploadService.processCsvForPerson(
+                        job.getPersonId(),
+                        job.getFilename(),
+                        () -> uploadBlobStorage.open(job.getId(), job.getBlobRef()),
+                        rows -> reportProgress(jobId, workerId, rows)
+                );
+            }
+
+            if (!jobQueue.complete(jobId, workerId, writeResultJson(result))) {
+                logLeaseLost(jobId, workerId, "SUCCEEDED");
+            }
 
         } catch (Exception e) {
+            if (isRetryable(e) && job.getAttempts() < queueProperties.getMaxAttempts()) {
+                long delaySeconds = retryDelaySeconds(job.getAttempts());
+                log.warn("[InvoiceUploadJob] attempt {} failed jobId={}, retrying in {}s: {}",
+                        job.getAttempts(), jobId, delaySeconds, e.toString());
+                if (jobQueue.scheduleRetry(jobId, workerId, delaySeconds, trimError(e.getMessage()))) {
+                    return;
+                }
+            }
+
             log.error("[InvoiceUploadJob] failed jobId={}", jobId, e);
-            job.setStatus(InvoiceUploadJob.Status.FAILED);
-            job.setErrorMessage(trimError(e.getMessage()));
-            job.setFinishedAt(LocalDateTime.now());
-            jobRepository.save(job);
+            if (!jobQueue.fail(jobId, workerId, trimError(e.getMessage()))) {
+                logLeaseLost(jobId, workerId, "FAILED");
+            }
+        }
+    }
+
+    /**
+     * The lease expired during the run and another worker re-claimed the job; its outcome wins.
+     */
+    private static void logLeaseLost(UUID jobId, String workerId, String outcome) {
+        log.warn("[InvoiceUploadJob] lease lost jobId={} worker={}; discarding {} outcome", jobId, workerId, outcome);
+    }
+
+    private void reportProgress(UUID jobId, String workerId, int rows) {
+        try {
+            jobQueue.reportProgress(jobId, workerId, rows);
+        } catch (Exception e) {
+            // Progress is informational only; never fail the import because of it.
+            log.debug("[InvoiceUploadJob] progress update failed jobId={}: {}", jobId, e.toString());
         }
     }
 
+    private static boolean isPdf(String filename) {
+        return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".pdf");
+    }
+
+    /**
+     * Invalid/unsupported invoices (IllegalArgumentException, incl. InvoiceParsingException) fail the same way
+     * every time; only infrastructure errors are worth another attempt.
+     */
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalArgumentException);
+    }
+
+    private long retryDelaySeconds(int attempts) {
+        long base = Math.max(1, queueProperties.getRetryBackoffSeconds());
+        return base << Math.min(Math.max(0, attempts - 1), 10);
+    }
+
     private String writeResultJson(InvoiceUploadResponseDTO result) {
         if (result == null) return null;
         try {
@@ -145,26 +226,4 @@ public class InvoiceUploadJobService {
         if (m.length() <= 2000) return m;
         return m.substring(0, 1997) + "...";
     }
-
-    private static String computeSha256Hex(byte[] bytes) {
-        if (bytes == null || bytes.length == 0) return null;
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(bytes);
-            return toHexLower(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to compute SHA-256", e);
-        }
-    }
-
-    private static String toHexLower(byte[] bytes) {
-        char[] hex = new char[bytes.length * 2];
-        final char[] alphabet = "0123456789abcdef".toCharArray();
-        for (int i = 0; i < bytes.length; i++) {
-            int v = bytes[i] & 0xFF;
-            hex[i * 2] = alphabet[v >>> 4];
-            hex[i * 2 + 1] = alphabet[v & 0x0F];
-        }
-        return new String(hex);
-    }
 }
@@ -2,6 +2,7 @@ package com.ella.backend.services;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -12,20 +13,25 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.IntConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ella.backend.classification.ClassificationService;
+import com.ella.backend.classification.dto.ClassificationSuggestRequestDTO;
+import com.ella.backend.classification.dto.ClassificationSuggestResponseDTO;
 import com.ella.backend.dto.FinancialTransactionResponseDTO;
 import com.ella.backend.dto.InvoiceUploadResponseDTO;
 import com.ella.backend.entities.CreditCard;
@@ -43,6 +49,7 @@ import com.ella.backend.services.invoices.extraction.ExtractionPipeline;
 import com.ella.backend.services.invoices.extraction.ExtractionResult;
 import com.ella.backend.services.invoices.extraction.InvoiceExtractionHeuristics;
 import com.ella.backend.services.invoices.parsers.ParseResult;
+import com.ella.backend.services.uploads.BulkIngestionWriter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -53,7 +60,8 @@ import lombok.extern.slf4j.Slf4j;
 public class InvoiceUploadService {
 
     private static final String BUILD_MARKER = "2025-12-29T1022";
-    private static final int UPLOAD_PERSIST_BATCH_SIZE = 50;
+    // Linhas acumuladas antes de gravar (um INSERT multi-linha por tabela, ver BulkIngestionWriter).
+    private static final int UPLOAD_PERSIST_BATCH_SIZE = 1000;
 
     private final FinancialTransactionRepository transactionRepository;
     private final UserService userService;
@@ -62,9 +70,10 @@ public class InvoiceUploadService {
     private final InvoiceRepository invoiceRepository;
     private final InstallmentRepository installmentRepository;
     private final ExtractionPipeline extractionPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkIngestionWriter bulkIngestionWriter;
     
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public InvoiceUploadResponseDTO processInvoice(MultipartFile file, String password, String dueDate) {
         String filename = file.getOriginalFilename();
         if (filename == null) {
@@ -76,8 +85,12 @@ public class InvoiceUploadService {
         boolean isPdf = filename.toLowerCase().endsWith(".pdf");
 
         try {
+            if (!isPdf) {
+                // CSV é lido direto do stream do multipart, em blocos (sem file.getBytes()).
+                return processCsvForUser(user, filename, file, rows -> {});
+            }
             byte[] bytes = file.getBytes();
-            return processInvoiceBytesForUser(user, filename, file.getContentType(), bytes, password, dueDate, isPdf);
+            return processInvoiceBytesForUser(user, filename, file.getContentType(), bytes, password, dueDate);
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -85,8 +98,10 @@ public class InvoiceUploadService {
         }
     }
 
-    @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
+    /**
+     * Background (job) path. Not @Transactional on purpose: extraction (PDFBox, OCR, extractor/Adobe HTTP)
+     * runs without holding a pooled DB connection; only the user lookup and persistence run in a transaction.
+     */
     public InvoiceUploadResponseDTO processInvoiceBytesForPerson(UUID personId,
                                                                  String filename,
                                                                  String contentType,
@@ -103,15 +118,55 @@ public class InvoiceUploadService {
             throw new IllegalArgumentException("File bytes cannot be empty");
         }
 
-        User user = userService.findById(personId.toString());
         boolean isPdf = filename.toLowerCase().endsWith(".pdf");
+        if (!isPdf) {
+            return processCsvForPerson(personId, filename, () -> new ByteArrayInputStream(fileBytes), rows -> {});
+        }
+
+        ParsedUpload parsed;
         try {
-            return processInvoiceBytesForUser(user, filename, contentType, fileBytes, password, dueDate, isPdf);
+            parsed = parseUpload(filename, contentType, fileBytes, password, dueDate);
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to process file", e);
         }
+
+        return transactionTemplate.execute(status -> {
+            User user = userService.findById(personId.toString());
+            return processTransactions(user, parsed.transactions(), filename, parsed.parseResult(), parsed.rawText());
+        });
+    }
+
+    /**
+     * Streaming CSV import (background jobs and large bank exports). Rows are read from {@code source}
+     * one line at a time and classified/persisted in chunks of {@link #UPLOAD_PERSIST_BATCH_SIZE} inside a
+     * single transaction; the next chunk is only read after the previous one was written, so memory is
+     * bounded by the chunk (plus the response DTOs), not by the file.
+     *
+     * @param source   opened at most twice (FULL_EXPORT files get a cheap first pass over the card names)
+     * @param progress receives the number of rows processed so far after each chunk. They are written
+     *                 but not committed until the whole file is in, so a later failure rolls them back.
+     */
+    public InvoiceUploadResponseDTO processCsvForPerson(UUID personId,
+                                                        String filename,
+                                                        InputStreamSource source,
+                                                        IntConsumer progress) {
+        if (personId == null) {
+            throw new IllegalArgumentException("personId cannot be null");
+        }
+        if (filename == null || filename.isBlank()) {
+            throw new IllegalArgumentException("Filename cannot be null");
+        }
+
+        return transactionTemplate.execute(status -> {
+            User user = userService.findById(personId.toString());
+            try {
+                return processCsvForUser(user, filename, source, progress);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to process file", e);
+            }
+        });
     }
 
     private InvoiceUploadResponseDTO processInvoiceBytesForUser(User user,
@@ -119,51 +174,104 @@ public class InvoiceUploadService {
                                                                String contentType,
                                                                byte[] fileBytes,
                                                                String password,
-                                                               String dueDate,
-                                                               boolean isPdf) throws IOException {
-        List<TransactionData> transactions;
-        ParseResult parseResult = null;
-        String rawText = null;
-        if (isPdf) {
-            log.info("[InvoiceUpload][PDF] filename={} bytes={} contentType={}",
-                    filename, fileBytes != null ? fileBytes.length : 0, contentType);
-
-            ParsedPdfResult parsed = parsePdfDetailed(fileBytes, password, dueDate);
-            transactions = parsed.transactions();
-            parseResult = parsed.parseResult();
-            rawText = parsed.rawText();
-
-            // Importante (design): NÃO deduplicamos transações no pós-processamento do upload.
-            // Entradas idênticas podem representar compras legítimas repetidas.
-            // Aqui apenas removemos linhas nulas (se existirem).
-            transactions = deduplicateTransactions(transactions, true);
-        } else {
-            try (InputStream is = new ByteArrayInputStream(fileBytes)) {
-                transactions = parseCsv(is);
+                                                               String dueDate) throws IOException {
+        ParsedUpload parsed = parseUpload(filename, contentType, fileBytes, password, dueDate);
+        return processTransactions(user, parsed.transactions(), filename, parsed.parseResult(), parsed.rawText());
+    }
+
+    private InvoiceUploadResponseDTO processCsvForUser(User user,
+                                                       String filename,
+                                                       InputStreamSource source,
+                                                       IntConsumer progress) throws IOException {
+        if (user == null) throw new IllegalArgumentException("user cannot be null");
+
+        List<TransactionData> chunk = new ArrayList<>(UPLOAD_PERSIST_BATCH_SIZE);
+        int rows = 0;
+        int chunks = 0;
+        UploadBatchWriter upload;
+
+        // Entradas idênticas são preservadas (compras legítimas repetidas); linhas inválidas são descartadas.
+        try (CsvRowReader reader = new CsvRowReader(source.getInputStream())) {
+            InvoiceBanks banks = reader.format() == CsvFormat.FULL_EXPORT ? scanCsvInvoiceBanks(source) : InvoiceBanks.NONE;
+            upload = new UploadBatchWriter(user, filename, banks);
+
+            TransactionData row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                rows++;
+                if (chunk.size() >= UPLOAD_PERSIST_BATCH_SIZE) {
+                    upload.write(chunk);
+                    chunk.clear();
+                    chunks++;
+                    progress.accept(upload.processedRows());
+                }
             }
-            // Mesma regra para CSV: preservar entradas idênticas; limpar apenas nulos.
-            transactions = deduplicateTransactions(transactions, true);
+        }
+        if (!chunk.isEmpty()) {
+            upload.write(chunk);
+            chunk.clear();
+            chunks++;
+            progress.accept(upload.processedRows());
         }
 
-        if (transactions == null || transactions.isEmpty()) {
-            if (isPdf) {
-                throw new IllegalArgumentException(
-                    (password != null && !password.isBlank()
-                        ? "Não foi possível extrair transações desse PDF mesmo com senha informada. "
-                        : "Não foi possível extrair transações desse PDF. ") +
-                        "Ele pode estar escaneado (imagem), ter restrição de extração de texto, " +
-                        "ou ter um layout ainda não suportado. " +
-                        "Tente exportar/enviar um CSV, ou um PDF com texto selecionável."
-                );
-            }
+        if (rows == 0) {
             throw new IllegalArgumentException(
                     "Não encontrei transações neste arquivo. Confira se o CSV tem cabeçalho e colunas compatíveis."
             );
         }
 
-        return processTransactions(user, transactions, filename, parseResult, rawText);
+        log.info("[InvoiceUpload][CSV] filename={} rows={} chunks={}", filename, rows, chunks);
+        return upload.finish(null, null, null);
+    }
+
+    /**
+     * Bank-specific invoice grouping depends on every card name in the file; only FULL_EXPORT has a card
+     * column, so only that format pays for this first pass (nothing is retained from it).
+     */
+    private InvoiceBanks scanCsvInvoiceBanks(InputStreamSource source) throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(source.getInputStream())) {
+            InvoiceBanks banks = InvoiceBanks.NONE;
+            TransactionData row;
+            while ((row = reader.next()) != null) {
+                banks = banks.with(row);
+            }
+            return banks;
+        }
+    }
+
+    private ParsedUpload parseUpload(String filename,
+                                     String contentType,
+                                     byte[] fileBytes,
+                                     String password,
+                                     String dueDate) throws IOException {
+        log.info("[InvoiceUpload][PDF] filename={} bytes={} contentType={}",
+                filename, fileBytes != null ? fileBytes.length : 0, contentType);
+
+        ParsedPdfResult parsed = parsePdfDetailed(fileBytes, password, dueDate);
+        ParseResult parseResult = parsed.parseResult();
+        String rawText = parsed.rawText();
+
+        // Importante (design): NÃO deduplicamos transações no pós-processamento do upload.
+        // Entradas idênticas podem representar compras legítimas repetidas.
+        // Aqui apenas removemos linhas nulas (se existirem).
+        List<TransactionData> transactions = deduplicateTransactions(parsed.transactions(), true);
+
+        if (transactions == null || transactions.isEmpty()) {
+            throw new IllegalArgumentException(
+                (password != null && !password.isBlank()
+                    ? "Não foi possível extrair transações desse PDF mesmo com senha informada. "
+                    : "Não foi possível extrair transações desse PDF. ") +
+                    "Ele pode estar escaneado (imagem), ter restrição de extração de texto, " +
+                    "ou ter um layout ainda não suportado. " +
+                    "Tente exportar/enviar um CSV, ou um PDF com texto selecionável."
+            );
+        }
+
+        return new ParsedUpload(transactions, parseResult, rawText);
     }
 
+    private record ParsedUpload(List<TransactionData> transactions, ParseResult parseResult, String rawText) {}
+
     private record ParsedPdfResult(List<TransactionData> transactions, ParseResult parseResult, String rawText) {}
 
     private List<TransactionData> deduplicateTransactions(List<TransactionData> transactions) {
@@ -276,36 +384,54 @@ public class InvoiceUploadService {
         return n.contains("c6 bank") || n.contains("c6bank");
     }
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public InvoiceUploadResponseDTO processInvoice(MultipartFile file, String password) {
         return processInvoice(file, password, null);
     }
 
-    private List<TransactionData> parseCsv(InputStream inputStream) throws IOException {
-        List<TransactionData> transactions = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+    /**
+     * Lê o CSV linha a linha: a primeira linha não vazia é o cabeçalho (define o formato) e cada chamada a
+     * {@link #next()} devolve a próxima linha válida. Nada além da linha atual fica em memória.
+     */
+    private final class CsvRowReader implements Closeable {
+        private final BufferedReader reader;
+        private CsvFormat format;
+
+        CsvRowReader(InputStream inputStream) {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        }
+
+        CsvFormat format() throws IOException {
+            if (format == null) {
+                String header = nextLine();
+                format = header != null ? detectCsvFormat(header) : CsvFormat.UNKNOWN;
+            }
+            return format;
+        }
+
+        TransactionData next() throws IOException {
+            CsvFormat f = format();
             String line;
-            boolean isFirstLine = true;
-            CsvFormat format = null;
+            while ((line = nextLine()) != null) {
+                TransactionData data = parseLine(line, f);
+                if (data != null) return data;
+            }
+            return null;
+        }
 
+        private String nextLine() throws IOException {
+            String line;
             while ((line = reader.readLine()) != null) {
                 if (line.startsWith("\uFEFF")) line = line.substring(1);
                 line = line.trim();
-                if (line.isEmpty()) continue;
-
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    format = detectCsvFormat(line);
-                    continue;
-                }
-
-                if (format == null) throw new IllegalArgumentException("Formato de CSV não reconhecido");
-
-                TransactionData data = parseLine(line, format);
-                if (data != null) transactions.add(data);
+                if (!line.isEmpty()) return line;
             }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
         }
-        return transactions;
     }
 
     private List<TransactionData> parsePdf(InputStream inputStream, String password, String dueDateOverride) throws IOException {
@@ -371,36 +497,6 @@ public class InvoiceUploadService {
         InvoiceUploadResponseDTO.CaptureSummaryDTO captureSummary = buildCaptureSummary(parseResult, rawText, transactions);
         List<String> unmatchedTransactions = parseResult != null ? parseResult.getUnmatchedTransactions() : null;
 
-        List<FinancialTransactionResponseDTO> responseTransactions = new ArrayList<>();
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        Invoice lastInvoice = null;
-        
-        // Cache para evitar múltiplas consultas/criações do mesmo cartão no mesmo upload
-        Map<String, CreditCard> cardCache = new HashMap<>();
-        // Cache para evitar múltiplas consultas/criações da mesma fatura no mesmo upload
-        Map<String, Invoice> invoiceCache = new HashMap<>();
-
-        List<FinancialTransaction> txBatch = new ArrayList<>(UPLOAD_PERSIST_BATCH_SIZE);
-        List<InstallmentPlan> installmentBatch = new ArrayList<>(UPLOAD_PERSIST_BATCH_SIZE);
-
-        // Santander-only: the upload response total should reflect invoice net amount (EXPENSE - INCOME).
-        // Other banks keep the previous behavior for backwards compatibility.
-        boolean isSantanderInvoice = transactions != null && transactions.stream().anyMatch(tx -> {
-            if (tx == null || tx.cardName == null) return false;
-            return tx.cardName.toLowerCase().contains("santander");
-        });
-
-        boolean isSicrediInvoice = transactions != null && transactions.stream().anyMatch(tx -> {
-            if (tx == null || tx.cardName == null) return false;
-            return tx.cardName.toLowerCase().contains("sicredi");
-        });
-
-        boolean isC6Invoice = transactions != null && transactions.stream().anyMatch(tx -> {
-            if (tx == null || tx.cardName == null) return false;
-            String n = tx.cardName.toLowerCase();
-            return n.contains("c6") || n.contains("carbon");
-        });
-
         if (transactions == null || transactions.isEmpty()) {
             return InvoiceUploadResponseDTO.builder()
                 .invoiceId(null)
@@ -414,77 +510,153 @@ public class InvoiceUploadService {
                 .build();
         }
 
-        for (TransactionData data : transactions) {
-             CardMetadata cardMetadata = extractCardMetadata(data.cardName, originalFilename);
-             String cacheKey = (cardMetadata.brand() + "|" + (cardMetadata.lastFourDigits() != null ? cardMetadata.lastFourDigits() : cardMetadata.name())).toLowerCase();
-             
-             CreditCard card = cardCache.computeIfAbsent(cacheKey, key -> resolveOrCreateCard(user, cardMetadata));
-             
-             if (card != null) {
-                 LocalDate invoiceDueDate = data.dueDate;
-                 if (invoiceDueDate == null) {
-                     // Fallback: se não conseguimos extrair vencimento do arquivo, usamos a lógica antiga (baseada na data da compra)
-                     invoiceDueDate = estimateDueDateFromCardAndTxDate(card, data.date);
-                 }
-
-                 LocalDate resolvedInvoiceDueDate = invoiceDueDate;
-
-                 String invoiceKey = buildInvoiceKeyForUpload(user, card, resolvedInvoiceDueDate, isSantanderInvoice, isSicrediInvoice, isC6Invoice);
-                 Invoice invoice = invoiceCache.computeIfAbsent(invoiceKey, k -> getOrCreateInvoice(card, resolvedInvoiceDueDate));
-                 lastInvoice = invoice;
-
-                 FinancialTransaction tx = buildTransactionEntity(user, data, resolvedInvoiceDueDate);
-                 txBatch.add(tx);
-                 installmentBatch.add(new InstallmentPlan(invoice, data));
-                 
-                 if (data.type == TransactionType.EXPENSE) {
-                     invoice.setTotalAmount(safe(invoice.getTotalAmount()).add(data.amount));
-                 } else {
-                     invoice.setTotalAmount(safe(invoice.getTotalAmount()).subtract(data.amount));
-                 }
-
-                 if (txBatch.size() >= UPLOAD_PERSIST_BATCH_SIZE) {
-                     flushUploadBatch(txBatch, installmentBatch, responseTransactions);
-                 }
-
-                 if (isSantanderInvoice) {
-                     if (data.type == TransactionType.EXPENSE) {
-                         totalAmount = totalAmount.add(tx.getAmount());
-                     } else {
-                         totalAmount = totalAmount.subtract(tx.getAmount());
-                     }
-                 } else {
-                     totalAmount = totalAmount.add(tx.getAmount());
-                 }
-             }
-        }
-
-        flushUploadBatch(txBatch, installmentBatch, responseTransactions);
-
-        BigDecimal parsedInvoiceTotal = parseResult != null ? parseResult.getTotalAmount() : null;
-        if (parsedInvoiceTotal != null
-                && parsedInvoiceTotal.compareTo(BigDecimal.ZERO) > 0
-                && invoiceCache.size() == 1) {
-            Invoice onlyInvoice = invoiceCache.values().iterator().next();
-            onlyInvoice.setTotalAmount(parsedInvoiceTotal);
-            invoiceRepository.save(onlyInvoice);
-            lastInvoice = onlyInvoice;
-            totalAmount = parsedInvoiceTotal;
-        }
-        
-        LocalDate startDate = transactions.stream().map(t -> t.date).min(LocalDate::compareTo).orElse(null);
-        LocalDate endDate = transactions.stream().map(t -> t.date).max(LocalDate::compareTo).orElse(null);
-
-        return InvoiceUploadResponseDTO.builder()
-                .invoiceId(lastInvoice != null ? lastInvoice.getId() : null)
-                .totalAmount(totalAmount)
-                .totalTransactions(responseTransactions.size())
-                .startDate(startDate)
-                .endDate(endDate)
-                .transactions(responseTransactions)
-                .captureSummary(captureSummary)
-                .unmatchedTransactions(unmatchedTransactions)
-                .build();
+        UploadBatchWriter upload = new UploadBatchWriter(user, originalFilename, InvoiceBanks.of(transactions));
+        upload.write(transactions);
+        return upload.finish(parseResult, captureSummary, unmatchedTransactions);
+    }
+
+    /**
+     * Bancos cujas faturas são agrupadas por usuário/mês (e não por cartão) no upload.
+     */
+    private record InvoiceBanks(boolean santander, boolean sicredi, boolean c6) {
+        static final InvoiceBanks NONE = new InvoiceBanks(false, false, false);
+
+        static InvoiceBanks of(List<TransactionData> transactions) {
+            InvoiceBanks banks = NONE;
+            for (TransactionData tx : transactions) {
+                banks = banks.with(tx);
+            }
+            return banks;
+        }
+
+        InvoiceBanks with(TransactionData tx) {
+            if (tx == null || tx.cardName == null) return this;
+            String n = tx.cardName.toLowerCase();
+            return new InvoiceBanks(
+                    santander || n.contains("santander"),
+                    sicredi || n.contains("sicredi"),
+                    c6 || n.contains("c6") || n.contains("carbon"));
+        }
+    }
+
+    /**
+     * Estado de um upload em andamento: caches de cartão/fatura, totais e as respostas já gravadas.
+     * Recebe as linhas em um ou mais blocos ({@link #write}); cada bloco é classificado e gravado antes de
+     * retornar, então só as linhas do bloco atual ficam em memória.
+     */
+    private final class UploadBatchWriter {
+        private final User user;
+        private final String originalFilename;
+        private final InvoiceBanks banks;
+
+        // Cache para evitar múltiplas consultas/criações do mesmo cartão no mesmo upload
+        private final Map<String, CreditCard> cardCache = new HashMap<>();
+        // Cache para evitar múltiplas consultas/criações da mesma fatura no mesmo upload
+        private final Map<String, Invoice> invoiceCache = new HashMap<>();
+
+        private final List<FinancialTransaction> txBatch = new ArrayList<>(UPLOAD_PERSIST_BATCH_SIZE);
+        private final List<InstallmentPlan> installmentBatch = new ArrayList<>(UPLOAD_PERSIST_BATCH_SIZE);
+        private final List<FinancialTransactionResponseDTO> responseTransactions = new ArrayList<>();
+
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private Invoice lastInvoice;
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        UploadBatchWriter(User user, String originalFilename, InvoiceBanks banks) {
+            this.user = user;
+            this.originalFilename = originalFilename;
+            this.banks = banks;
+        }
+
+        int processedRows() {
+            return responseTransactions.size();
+        }
+
+        void write(List<TransactionData> transactions) {
+            // Uma única chamada de classificação para todas as linhas sem categoria do bloco.
+            Map<TransactionData, String> suggestedCategories = suggestCategories(user, transactions);
+
+            for (TransactionData data : transactions) {
+                if (data.date != null) {
+                    if (startDate == null || data.date.isBefore(startDate)) startDate = data.date;
+                    if (endDate == null || data.date.isAfter(endDate)) endDate = data.date;
+                }
+
+                CardMetadata cardMetadata = extractCardMetadata(data.cardName, originalFilename);
+                String cacheKey = (cardMetadata.brand() + "|" + (cardMetadata.lastFourDigits() != null ? cardMetadata.lastFourDigits() : cardMetadata.name())).toLowerCase();
+
+                CreditCard card = cardCache.computeIfAbsent(cacheKey, key -> resolveOrCreateCard(user, cardMetadata));
+
+                if (card != null) {
+                    LocalDate invoiceDueDate = data.dueDate;
+                    if (invoiceDueDate == null) {
+                        // Fallback: se não conseguimos extrair vencimento do arquivo, usamos a lógica antiga (baseada na data da compra)
+                        invoiceDueDate = estimateDueDateFromCardAndTxDate(card, data.date);
+                    }
+
+                    LocalDate resolvedInvoiceDueDate = invoiceDueDate;
+
+                    String invoiceKey = buildInvoiceKeyForUpload(user, card, resolvedInvoiceDueDate, banks.santander(), banks.sicredi(), banks.c6());
+                    Invoice invoice = invoiceCache.computeIfAbsent(invoiceKey, k -> getOrCreateInvoice(card, resolvedInvoiceDueDate));
+                    lastInvoice = invoice;
+
+                    FinancialTransaction tx = buildTransactionEntity(user, data, resolvedInvoiceDueDate, suggestedCategories.get(data));
+                    txBatch.add(tx);
+                    installmentBatch.add(new InstallmentPlan(invoice, data));
+
+                    if (data.type == TransactionType.EXPENSE) {
+                        invoice.setTotalAmount(safe(invoice.getTotalAmount()).add(data.amount));
+                    } else {
+                        invoice.setTotalAmount(safe(invoice.getTotalAmount()).subtract(data.amount));
+                    }
+
+                    if (txBatch.size() >= UPLOAD_PERSIST_BATCH_SIZE) {
+                        flushUploadBatch(txBatch, installmentBatch, responseTransactions);
+                    }
+
+                    // Santander-only: the upload response total should reflect invoice net amount (EXPENSE - INCOME).
+                    // Other banks keep the previous behavior for backwards compatibility.
+                    if (banks.santander()) {
+                        if (data.type == TransactionType.EXPENSE) {
+                            totalAmount = totalAmount.add(tx.getAmount());
+                        } else {
+                            totalAmount = totalAmount.subtract(tx.getAmount());
+                        }
+                    } else {
+                        totalAmount = totalAmount.add(tx.getAmount());
+                    }
+                }
+            }
+
+            flushUploadBatch(txBatch, installmentBatch, responseTransactions);
+        }
+
+        InvoiceUploadResponseDTO finish(ParseResult parseResult,
+                                        InvoiceUploadResponseDTO.CaptureSummaryDTO captureSummary,
+                                        List<String> unmatchedTransactions) {
+            BigDecimal parsedInvoiceTotal = parseResult != null ? parseResult.getTotalAmount() : null;
+            if (parsedInvoiceTotal != null
+                    && parsedInvoiceTotal.compareTo(BigDecimal.ZERO) > 0
+                    && invoiceCache.size() == 1) {
+                Invoice onlyInvoice = invoiceCache.values().iterator().next();
+                onlyInvoice.setTotalAmount(parsedInvoiceTotal);
+                invoiceRepository.save(onlyInvoice);
+                lastInvoice = onlyInvoice;
+                totalAmount = parsedInvoiceTotal;
+            }
+
+            return InvoiceUploadResponseDTO.builder()
+                    .invoiceId(lastInvoice != null ? lastInvoice.getId() : null)
+                    .totalAmount(totalAmount)
+                    .totalTransactions(responseTransactions.size())
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .transactions(responseTransactions)
+                    .captureSummary(captureSummary)
+                    .unmatchedTransactions(unmatchedTransactions)
+                    .build();
+        }
     }
 
     private InvoiceUploadResponseDTO.CaptureSummaryDTO buildCaptureSummary(ParseResult parseResult,
@@ -615,16 +787,39 @@ public class InvoiceUploadService {
         }
     }
 
-    private FinancialTransaction buildTransactionEntity(User user, TransactionData txData, LocalDate invoiceDueDate) {
+    private Map<TransactionData, String> suggestCategories(User user, List<TransactionData> transactions) {
+        List<TransactionData> uncategorized = new ArrayList<>();
+        for (TransactionData data : transactions) {
+            if (data != null && isUncategorizedCategory(data.category)) {
+                uncategorized.add(data);
+            }
+        }
+        if (uncategorized.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ClassificationSuggestRequestDTO> requests = new ArrayList<>(uncategorized.size());
+        for (TransactionData data : uncategorized) {
+            requests.add(new ClassificationSuggestRequestDTO(data.description, data.amount, data.type));
+        }
+        List<ClassificationSuggestResponseDTO> suggestions = classificationService.suggestAll(user.getId(), requests);
+
+        Map<TransactionData, String> byTransaction = new IdentityHashMap<>();
+        for (int i = 0; i < uncategorized.size() && suggestions != null && i < suggestions.size(); i++) {
+            byTransaction.put(uncategorized.get(i), suggestions.get(i).category());
+        }
+        return byTransaction;
+    }
+
+    private FinancialTransaction buildTransactionEntity(User user, TransactionData txData, LocalDate invoiceDueDate, String suggestedCategory) {
         LocalDate resolvedDueDate = txData.dueDate != null ? txData.dueDate : invoiceDueDate;
         if (resolvedDueDate == null) {
             resolvedDueDate = txData.date;
         }
 
         String resolvedCategory = txData.category;
-        if (isUncategorizedCategory(resolvedCategory)) {
-            var suggestion = classificationService.suggest(user.getId(), txData.description, txData.amount, txData.type);
-            resolvedCategory = suggestion.category();
+        if (isUncategorizedCategory(resolvedCategory) && suggestedCategory != null) {
+            resolvedCategory = suggestedCategory;
         }
 
         FinancialTransaction entity = FinancialTransaction.builder()
@@ -654,20 +849,19 @@ public class InvoiceUploadService {
             return;
         }
 
-        List<FinancialTransaction> saved = transactionRepository.saveAll(txBatch);
-        transactionRepository.flush();
+        // Ids gerados no writer; as entidades não ficam no persistence context.
+        bulkIngestionWriter.insertTransactions(txBatch);
 
         List<com.ella.backend.entities.Installment> installments = new ArrayList<>(installmentBatch.size());
         for (int i = 0; i < installmentBatch.size(); i++) {
             InstallmentPlan plan = installmentBatch.get(i);
-            FinancialTransaction tx = saved.get(i);
+            FinancialTransaction tx = txBatch.get(i);
             installments.add(buildInstallmentForUpload(plan.invoice(), tx, plan.txData()));
         }
 
-        installmentRepository.saveAll(installments);
-        installmentRepository.flush();
+        bulkIngestionWriter.insertInstallments(installments);
 
-        for (FinancialTransaction tx : saved) {
+        for (FinancialTransaction tx : txBatch) {
             responseTransactions.add(mapToDTO(tx));
         }
 
@@ -9,6 +9,7 @@ import com.ella.backend.entities.User;
 import com.ella.backend.enums.PaymentProvider;
 import com.ella.backend.enums.PaymentStatus;
 import com.ella.backend.enums.Status;
+import com.ella.backend.events.UserAccessChangedEvent;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.PaymentRepository;
 import com.ella.backend.repositories.UserRepository;
@@ -16,6 +17,7 @@ import com.ella.backend.audit.Auditable;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -29,6 +31,7 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final SubscriptionService subscriptionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * V1: simulação de pagamento (sem integração real com gateway).
@@ -62,6 +65,7 @@ public class PaymentService {
         user.setPlan(dto.getPlan());
         user.setStatus(Status.ACTIVE);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getEmail()));
 
         // Cria/atualiza assinatura
         Subscription subscription = subscriptionService.createOrUpdateSubscription(user, dto.getPlan());
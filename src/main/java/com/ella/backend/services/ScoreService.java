@@ -18,19 +18,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.ella.backend.entities.CreditCard;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Invoice;
 import com.ella.backend.entities.Person;
 import com.ella.backend.entities.Score;
 import com.ella.backend.enums.InvoiceStatus;
-import com.ella.backend.enums.TransactionStatus;
-import com.ella.backend.enums.TransactionType;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.CreditCardRepository;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.InvoiceRepository;
 import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.repositories.ScoreRepository;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 
 import lombok.RequiredArgsConstructor;
 
@@ -46,7 +44,7 @@ public class ScoreService {
 
     private final ScoreRepository scoreRepository;
     private final InvoiceRepository invoiceRepository;
-    private final FinancialTransactionRepository transactionRepository;
+    private final TxViewStore txViewStore;
     private final PersonRepository personRepository;
     private final CreditCardRepository creditCardRepository;
 
@@ -161,15 +159,14 @@ public class ScoreService {
         LocalDate end = LocalDate.now();
         LocalDate start = end.minusDays(Math.max(1, diversityLookbackDays));
 
-        List<FinancialTransaction> txs = transactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, start, end);
+        List<TxView> txs = txViewStore.findFinancialNotCancelled(person.getId(), start, end);
 
         Set<String> categories = new HashSet<>();
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (tx == null) continue;
-            if (tx.getType() != TransactionType.EXPENSE) continue;
-            if (tx.getStatus() == TransactionStatus.CANCELLED) continue;
+            if (!tx.isExpense()) continue;
 
-            String category = tx.getCategory();
+            String category = tx.category();
             if (category == null) continue;
             String normalized = category.trim().toLowerCase(Locale.ROOT);
             if (!normalized.isBlank()) {
@@ -199,25 +196,22 @@ public class ScoreService {
         LocalDate start = window.getFirst().atDay(1);
         LocalDate end = window.getLast().atEndOfMonth();
 
-        List<FinancialTransaction> txs = transactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, start, end);
+        List<TxView> txs = txViewStore.findFinancialNotCancelled(person.getId(), start, end);
 
         Map<YearMonth, BigDecimal> totals = new HashMap<>();
         for (YearMonth ym : window) {
             totals.put(ym, BigDecimal.ZERO);
         }
 
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (tx == null) continue;
-            if (tx.getType() != TransactionType.EXPENSE) continue;
-            if (tx.getStatus() == TransactionStatus.CANCELLED) continue;
-            if (tx.getTransactionDate() == null) continue;
-            if (tx.getAmount() == null) continue;
+            if (!tx.isExpense()) continue;
 
-            YearMonth ym = YearMonth.from(tx.getTransactionDate());
+            YearMonth ym = tx.month();
             if (!totals.containsKey(ym)) continue;
 
             BigDecimal currentTotal = totals.getOrDefault(ym, BigDecimal.ZERO);
-            totals.put(ym, currentTotal.add(tx.getAmount().abs()));
+            totals.put(ym, currentTotal.add(tx.amount().abs()));
         }
 
         double[] values = new double[window.size()];
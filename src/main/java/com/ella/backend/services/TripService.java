@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,7 +26,6 @@ public class TripService {
     private final UserService userService;
 
     @Transactional
-    @CacheEvict(cacheNames = "dashboard", allEntries = true)
     public ApplyTripResponseDTO applyTrip(ApplyTripRequestDTO request) {
         if (request == null || request.transactionIds() == null || request.transactionIds().isEmpty()) {
             throw new IllegalArgumentException("transactionIds é obrigatório");
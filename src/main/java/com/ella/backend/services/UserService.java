@@ -13,6 +13,7 @@ import com.ella.backend.audit.Auditable;
 import com.ella.backend.email.events.LgpdConsentEmailRequestedEvent;
 import com.ella.backend.email.events.UserRegisteredEvent;
 import com.ella.backend.entities.User;
+import com.ella.backend.events.UserAccessChangedEvent;
 import com.ella.backend.enums.Role;
 import com.ella.backend.enums.Status;
 import com.ella.backend.exceptions.BadRequestException;
@@ -87,7 +88,9 @@ public class UserService {
 
         User existing = findById(id);
         existing.setRole(role);
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        publisher.publishEvent(new UserAccessChangedEvent(saved.getEmail()));
+        return saved;
     }
 
 
@@ -101,6 +104,8 @@ public class UserService {
             throw new RuntimeException("E-mail já cadastrado");
         }
 
+        String previousEmail = existing.getEmail();
+
         // Campos de User
         existing.setEmail(data.getEmail());
         if (data.getRole() != null) {
@@ -128,7 +133,12 @@ public class UserService {
 
         validateUserBusinessRules(existing, false);
 
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        publisher.publishEvent(new UserAccessChangedEvent(previousEmail));
+        if (!previousEmail.equals(saved.getEmail())) {
+            publisher.publishEvent(new UserAccessChangedEvent(saved.getEmail()));
+        }
+        return saved;
     }
 
     @Auditable(action = "USER_AVATAR_UPDATED", entityType = "User")
@@ -154,6 +164,7 @@ public class UserService {
     public void delete(String id) {
         User existing = findById(id);
         userRepository.delete(existing);
+        publisher.publishEvent(new UserAccessChangedEvent(existing.getEmail()));
     }
 
     private String normalizeEmail(String email) {
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -26,6 +27,7 @@ import com.ella.backend.enums.Plan;
 import com.ella.backend.enums.Role;
 import com.ella.backend.enums.Status;
 import com.ella.backend.enums.SubscriptionStatus;
+import com.ella.backend.events.UserAccessChangedEvent;
 import com.ella.backend.exceptions.BadRequestException;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.PaymentRepository;
@@ -42,6 +44,7 @@ public class AdminUserService {
     private final UserRepository userRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final PaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<User> search(String q, Role role, Status status, int page, int size) {
         int safePage = Math.max(page, 0);
@@ -65,14 +68,18 @@ public class AdminUserService {
     public User updateStatus(String id, AdminUpdateUserStatusRequestDTO request) {
         User user = findById(id);
         user.setStatus(request.getStatus());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(saved.getEmail()));
+        return saved;
     }
 
     @Auditable(action = "ADMIN_USER_UPDATE_ROLE", entityType = "User")
     public User updateRole(String id, AdminUpdateUserRoleRequestDTO request) {
         User user = findById(id);
         user.setRole(request.getRole());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(saved.getEmail()));
+        return saved;
     }
 
     @Auditable(action = "ADMIN_USER_UPDATE_PLAN", entityType = "User")
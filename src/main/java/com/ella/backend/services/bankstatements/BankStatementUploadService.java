@@ -4,9 +4,15 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,6 +20,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.ella.backend.dto.BankStatementUploadResponseDTO;
 import com.ella.backend.entities.BankStatement;
 import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.events.BankStatementUploadedEvent;
 import com.ella.backend.repositories.BankStatementRepository;
 import com.ella.backend.services.bankstatements.extractor.BancoDoBrasilBankStatementExtractorClient;
 import com.ella.backend.services.bankstatements.extractor.BradescoBankStatementExtractorClient;
@@ -22,6 +29,7 @@ import com.ella.backend.services.bankstatements.extractor.ItauBankStatementExtra
 import com.ella.backend.services.bankstatements.extractor.NubankBankStatementExtractorClient;
 import com.ella.backend.services.bankstatements.parsers.ItauBankStatementParser;
 import com.ella.backend.services.ocr.PdfTextExtractor;
+import com.ella.backend.services.uploads.BulkIngestionWriter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +55,8 @@ public class BankStatementUploadService {
     private final BradescoBankStatementExtractorClient bradescoExtractorClient;
     private final NubankBankStatementExtractorClient nubankExtractorClient;
     private final BancoDoBrasilBankStatementExtractorClient bancoDoBrasilExtractorClient;
+    private final BulkIngestionWriter bulkIngestionWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BankStatementUploadResponseDTO uploadItauPersonnalitePdf(MultipartFile file, UUID userId, String password) {
@@ -138,6 +148,7 @@ public class BankStatementUploadService {
         statement.setCreditLimit(nz(parsed.getCreditLimit()));
         statement.setAvailableLimit(nz(parsed.getAvailableLimit()));
 
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.getTransactions()) {
@@ -157,7 +168,7 @@ public class BankStatementUploadService {
             entity.setAmount(nz(tx.amount()));
             entity.setBalance(nz(tx.balance()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
 
             if (debug) {
@@ -172,13 +183,13 @@ public class BankStatementUploadService {
             System.err.println("[UPLOAD_DEBUG] Total de transações adicionadas: " + persisted);
         }
 
-        BankStatement saved = bankStatementRepository.save(statement);
+        BankStatement saved = persistStatement(statement, rows);
 
         if (debug) {
             System.err.println("[UPLOAD_DEBUG] BankStatement salvo com ID: " + saved.getId());
         }
 
-        return BankStatementUploadResponseDTO.from(saved);
+        return BankStatementUploadResponseDTO.from(saved, rows);
     }
 
     @Transactional
@@ -222,6 +233,7 @@ public class BankStatementUploadService {
         statement.setAvailableLimit(BigDecimal.ZERO);
 
         boolean debug = isParserDebugEnabled();
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.transactions()) {
@@ -250,15 +262,15 @@ public class BankStatementUploadService {
             entity.setAmount(amount);
             entity.setBalance(nz(tx.balanceAsBigDecimal()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
         }
 
         log.info("[BankStatementUpload][ITAU] parsed statementDate={} opening={} closing={} persistedTxCount={}",
                 statement.getStatementDate(), statement.getOpeningBalance(), statement.getClosingBalance(), persisted);
 
-        BankStatement saved = bankStatementRepository.save(statement);
-        return BankStatementUploadResponseDTO.from(saved);
+        BankStatement saved = persistStatement(statement, rows);
+        return BankStatementUploadResponseDTO.from(saved, rows);
     }
 
     @Transactional
@@ -302,6 +314,7 @@ public class BankStatementUploadService {
         statement.setAvailableLimit(BigDecimal.ZERO);
 
         boolean debug = isParserDebugEnabled();
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.transactions()) {
@@ -340,15 +353,15 @@ public class BankStatementUploadService {
             entity.setAmount(amount);
             entity.setBalance(nz(tx.balanceAsBigDecimal()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
         }
 
         log.info("[BankStatementUpload][C6] parsed statementDate={} opening={} closing={} persistedTxCount={}",
                 statement.getStatementDate(), statement.getOpeningBalance(), statement.getClosingBalance(), persisted);
 
-        BankStatement saved = bankStatementRepository.save(statement);
-        return BankStatementUploadResponseDTO.from(saved);
+        BankStatement saved = persistStatement(statement, rows);
+        return BankStatementUploadResponseDTO.from(saved, rows);
     }
 
     @Transactional
@@ -392,6 +405,7 @@ public class BankStatementUploadService {
         statement.setAvailableLimit(BigDecimal.ZERO);
 
         boolean debug = isParserDebugEnabled();
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.transactions()) {
@@ -419,15 +433,15 @@ public class BankStatementUploadService {
             entity.setAmount(amount);
             entity.setBalance(nz(tx.balanceAsBigDecimal()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
         }
 
         log.info("[BankStatementUpload][NUBANK] parsed statementDate={} opening={} closing={} persistedTxCount={}",
                 statement.getStatementDate(), statement.getOpeningBalance(), statement.getClosingBalance(), persisted);
 
-        BankStatement saved = bankStatementRepository.save(statement);
-        return BankStatementUploadResponseDTO.from(saved);
+        BankStatement saved = persistStatement(statement, rows);
+        return BankStatementUploadResponseDTO.from(saved, rows);
     }
 
     @Transactional
@@ -471,6 +485,7 @@ public class BankStatementUploadService {
         statement.setAvailableLimit(BigDecimal.ZERO);
 
         boolean debug = isParserDebugEnabled();
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.transactions()) {
@@ -498,15 +513,15 @@ public class BankStatementUploadService {
             entity.setAmount(amount);
             entity.setBalance(nz(tx.balanceAsBigDecimal()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
         }
 
         log.info("[BankStatementUpload][BRADESCO] parsed statementDate={} opening={} closing={} persistedTxCount={}",
                 statement.getStatementDate(), statement.getOpeningBalance(), statement.getClosingBalance(), persisted);
 
-        BankStatement saved = bankStatementRepository.save(statement);
-        return BankStatementUploadResponseDTO.from(saved);
+        BankStatement saved = persistStatement(statement, rows);
+        return BankStatementUploadResponseDTO.from(saved, rows);
     }
 
     @Transactional
@@ -551,6 +566,7 @@ public class BankStatementUploadService {
         statement.setAvailableLimit(BigDecimal.ZERO);
 
         boolean debug = isParserDebugEnabled();
+        List<BankStatementTransaction> rows = new ArrayList<>();
         int persisted = 0;
 
         for (var tx : parsed.transactions()) {
@@ -578,15 +594,38 @@ public class BankStatementUploadService {
             entity.setAmount(amount);
             entity.setBalance(nz(tx.balanceAsBigDecimal()));
 
-            statement.addTransaction(entity);
+            rows.add(entity);
             persisted++;
         }
 
         log.info("[BankStatementUpload][BANCO_DO_BRASIL] parsed statementDate={} opening={} closing={} persistedTxCount={}",
                 statement.getStatementDate(), statement.getOpeningBalance(), statement.getClosingBalance(), persisted);
 
+        BankStatement saved = persistStatement(statement, rows);
+        return BankStatementUploadResponseDTO.from(saved, rows);
+    }
+
+    /**
+     * Salva o extrato e grava as linhas com um INSERT multi-linha. As linhas ficam fora da coleção
+     * (cascade ALL) do extrato, senão o JPA as inseriria de novo no flush.
+     */
+    private BankStatement persistStatement(BankStatement statement, List<BankStatementTransaction> rows) {
         BankStatement saved = bankStatementRepository.save(statement);
-        return BankStatementUploadResponseDTO.from(saved);
+        for (BankStatementTransaction row : rows) {
+            row.setBankStatement(saved);
+        }
+        bulkIngestionWriter.insertStatementTransactions(rows);
+
+        // Saldos/limites do extrato também aparecem no dashboard, não só as linhas
+        eventPublisher.publishEvent(new BankStatementUploadedEvent(
+                saved.getUserId(),
+                saved.getId(),
+                rows.stream()
+                        .map(BankStatementTransaction::getTransactionDate)
+                        .filter(Objects::nonNull)
+                        .map(YearMonth::from)
+                        .collect(Collectors.toUnmodifiableSet())));
+        return saved;
     }
 
     private String safeExtractText(PDDocument document) {
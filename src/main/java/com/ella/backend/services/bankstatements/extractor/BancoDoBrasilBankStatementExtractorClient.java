@@ -14,13 +14,13 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.ella.backend.config.ExtractorRestTemplates;
 import com.ella.backend.entities.BankStatementTransaction;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -36,9 +36,10 @@ public class BancoDoBrasilBankStatementExtractorClient {
 
     @Autowired
     public BancoDoBrasilBankStatementExtractorClient(
-            @Value("${ella.extractor.base-url:http://localhost:8000}") String baseUrl
+            @Value("${ella.extractor.base-url:http://localhost:8000}") String baseUrl,
+            ExtractorRestTemplates restTemplates
     ) {
-        this(baseUrl, createDefaultRestTemplate());
+        this(baseUrl, restTemplates.get("banco-do-brasil-bank-statement", TIMEOUT));
     }
 
     BancoDoBrasilBankStatementExtractorClient(String baseUrl, RestTemplate restTemplate) {
@@ -88,13 +89,6 @@ public class BancoDoBrasilBankStatementExtractorClient {
         }
     }
 
-    private static RestTemplate createDefaultRestTemplate() {
-        SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
-        f.setConnectTimeout((int) TIMEOUT.toMillis());
-        f.setReadTimeout((int) TIMEOUT.toMillis());
-        return new RestTemplate(f);
-    }
-
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record BancoDoBrasilBankStatementResponse(
             String bank,
@@ -14,13 +14,13 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.ella.backend.config.ExtractorRestTemplates;
 import com.ella.backend.entities.BankStatementTransaction;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -37,9 +37,10 @@ public class NubankBankStatementExtractorClient {
 
     @Autowired
     public NubankBankStatementExtractorClient(
-            @Value("${ella.extractor.base-url:http://localhost:8000}") String baseUrl
+            @Value("${ella.extractor.base-url:http://localhost:8000}") String baseUrl,
+            ExtractorRestTemplates restTemplates
     ) {
-        this(baseUrl, createDefaultRestTemplate());
+        this(baseUrl, restTemplates.get("nubank-bank-statement", TIMEOUT));
     }
 
     NubankBankStatementExtractorClient(String baseUrl, RestTemplate restTemplate) {
@@ -89,13 +90,6 @@ public class NubankBankStatementExtractorClient {
         }
     }
 
-    private static RestTemplate createDefaultRestTemplate() {
-        SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
-        f.setConnectTimeout((int) TIMEOUT.toMillis());
-        f.setReadTimeout((int) TIMEOUT.toMillis());
-        return new RestTemplate(f);
-    }
-
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record NubankBankStatementResponse(
             String bank,
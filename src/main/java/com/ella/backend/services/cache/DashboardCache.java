@@ -0,0 +1,215 @@
+package com.ella.backend.services.cache;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of dashboard responses, partitioned by person and by the months each response covers
+ * ({@link DashboardCacheKey}). Writes invalidate only the affected person's entries whose months
+ * intersect the change ({@link DashboardCacheInvalidator}), so other users' activity does not
+ * flush anyone else's dashboard. The TTL only bounds staleness for changes that publish no event.
+ *
+ * Two tiers: a node-local Caffeine cache (L1) in front of an optional shared {@link DashboardRemoteCache}
+ * (L2), so a dashboard computed on one node is served by the others, and an invalidation on one node
+ * reaches every node's L1. Lookups are counted in {@code ella.dashboard.cache} by tier, view and result.
+ *
+ * A load that overlaps an invalidation of its person (it may have read the data from before the write)
+ * is returned to its caller but cached on neither tier: L1 compares a per-person invalidation sequence
+ * before and after the load, L2 a per-person generation kept by the shared store.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    static final String METRIC = "ella.dashboard.cache";
+
+    private static final Duration MIN_SEQUENCE_RETENTION = Duration.ofMinutes(10);
+
+    private final Cache<DashboardCacheKey, Object> local;
+    private final Duration ttl;
+    private final DashboardRemoteCache remote;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Sequence number of the latest node-local invalidation, per person and of everything. Kept well
+    // past the TTL: only loads running longer than that could miss an invalidation.
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final Cache<UUID, Long> lastInvalidation;
+    private volatile long lastInvalidateAll;
+
+    public DashboardCache(
+            @Value("${ella.cache.dashboard.max-size:5000}") long maxSize,
+            @Value("${ella.cache.dashboard.ttl-seconds:120}") long ttlSeconds,
+            DashboardRemoteCache remote,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.lastInvalidation = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.multipliedBy(10).compareTo(MIN_SEQUENCE_RETENTION) > 0
+                        ? ttl.multipliedBy(10)
+                        : MIN_SEQUENCE_RETENTION)
+                .build();
+        this.remote = remote;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        remote.subscribe(this::invalidateLocal);
+        Gauge.builder(METRIC + ".size", local, Cache::estimatedSize)
+                .description("Entries in the node-local dashboard cache")
+                .tag("tier", "l1")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached value for {@code key}: L1, then L2, then {@code loader} (concurrent callers on this node
+     * wait for a single computation). {@code null} results are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(DashboardCacheKey key, Supplier<T> loader) {
+        Object cached = local.getIfPresent(key);
+        if (cached != null) {
+            count("l1", key.view(), "hit");
+            return (T) cached;
+        }
+        count("l1", key.view(), "miss");
+        long sequence = invalidationSequence(key.personId());
+        Object value = local.get(key, k -> loadThroughRemote(k, loader));
+        if (value != null && sequence != invalidationSequence(key.personId())) {
+            // Invalidated while loading: the value may predate the change, keep it out of L1.
+            local.asMap().remove(key, value);
+            count("l1", key.view(), "stale");
+        }
+        return (T) value;
+    }
+
+    /**
+     * Drops the person's entries of the given views that cover any of {@code months}
+     * (empty = every month), on every tier and node.
+     *
+     * Scans the keys only (never the values); the cache is size-bounded, so this stays cheap
+     * compared with the write that triggered it.
+     *
+     * @return number of node-local entries removed
+     */
+    public int invalidate(UUID personId, Collection<YearMonth> months, Set<DashboardView> views) {
+        if (personId == null) return 0;
+        DashboardInvalidation invalidation = new DashboardInvalidation(personId, Set.copyOf(months), Set.copyOf(views));
+        int removed = invalidateLocal(invalidation);
+        if (remote.isEnabled()) {
+            try {
+                remote.invalidate(invalidation);
+            } catch (Exception e) {
+                log.warn("[DashboardCache] remote invalidation failed personId={}: {}", personId, e.toString());
+            }
+        }
+        log.debug("[DashboardCache] invalidated personId={} months={} views={} removed={}", personId, months, views, removed);
+        return removed;
+    }
+
+    public long size() {
+        return local.estimatedSize();
+    }
+
+    private int invalidateLocal(DashboardInvalidation invalidation) {
+        long sequence = invalidationSequence.incrementAndGet();
+        if (invalidation.personId() == null) {
+            lastInvalidateAll = sequence;
+            int removed = (int) local.estimatedSize();
+            local.invalidateAll();
+            return removed;
+        }
+        lastInvalidation.put(invalidation.personId(), sequence);
+        int[] removed = {0};
+        local.asMap().keySet().removeIf(key -> {
+            boolean match = invalidation.matches(key);
+            if (match) removed[0]++;
+            return match;
+        });
+        return removed[0];
+    }
+
+    private long invalidationSequence(UUID personId) {
+        Long person = personId == null ? null : lastInvalidation.getIfPresent(personId);
+        return Math.max(lastInvalidateAll, person == null ? 0 : person);
+    }
+
+    private <T> Object loadThroughRemote(DashboardCacheKey key, Supplier<T> loader) {
+        if (!remote.isEnabled()) {
+            return loader.get();
+        }
+
+        Object shared = readRemote(key);
+        if (shared != null) {
+            count("l2", key.view(), "hit");
+            return shared;
+        }
+        count("l2", key.view(), "miss");
+
+        Long generation = readGeneration(key);
+        T value = loader.get();
+        if (value != null && generation != null) {
+            try {
+                if (!remote.put(key, objectMapper.writeValueAsString(value), ttl, generation)) {
+                    count("l2", key.view(), "stale");
+                }
+            } catch (Exception e) {
+                count("l2", key.view(), "error");
+                log.warn("[DashboardCache] remote put failed view={}: {}", key.view(), e.toString());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Null when the generation cannot be read: the value is then not shared, since its put could not be checked.
+     */
+    private Long readGeneration(DashboardCacheKey key) {
+        if (key.personId() == null) return null;
+        try {
+            return remote.generation(key.personId());
+        } catch (Exception e) {
+            count("l2", key.view(), "error");
+            log.warn("[DashboardCache] remote generation read failed view={}: {}", key.view(), e.toString());
+            return null;
+        }
+    }
+
+    private Object readRemote(DashboardCacheKey key) {
+        try {
+            Optional<String> json = remote.get(key);
+            if (json.isEmpty()) return null;
+            return objectMapper.readValue(json.get(), objectMapper.getTypeFactory().constructType(key.view().valueType()));
+        } catch (Exception e) {
+            // Unreadable (e.g. DTO changed across a deploy) or unreachable: recompute.
+            count("l2", key.view(), "error");
+            log.warn("[DashboardCache] remote get failed view={}: {}", key.view(), e.toString());
+            return null;
+        }
+    }
+
+    private void count(String tier, DashboardView view, String result) {
+        meterRegistry.counter(METRIC, "tier", tier, "view", view.name(), "result", result).increment();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ella.backend.services.cache;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class DashboardCacheConfiguration {
+
+    /**
+     * Shared tier for multi-node deployments; holds one pool connection per node for LISTEN.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ella.cache.dashboard.remote", name = "enabled", havingValue = "true")
+    public DashboardRemoteCache postgresDashboardRemoteCache(JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper) {
+        log.info("[DashboardCache] Remote tier enabled: postgres (dashboard_cache_entries + LISTEN/NOTIFY)");
+        return new PostgresDashboardRemoteCache(jdbcTemplate, dataSource, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DashboardRemoteCache.class)
+    public DashboardRemoteCache disabledDashboardRemoteCache() {
+        log.info("[DashboardCache] Remote tier disabled (ella.cache.dashboard.remote.enabled=false): node-local only");
+        return new DisabledDashboardRemoteCache();
+    }
+}
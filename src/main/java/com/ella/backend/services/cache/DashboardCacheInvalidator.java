@@ -0,0 +1,52 @@
+package com.ella.backend.services.cache;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ella.backend.events.BankStatementUploadedEvent;
+import com.ella.backend.events.GoalsChangedEvent;
+import com.ella.backend.events.InvoiceChangedEvent;
+import com.ella.backend.events.TransactionsChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Turns domain events into {@link DashboardCache} invalidations. Events published inside a transaction
+ * are handled after it commits, so a rolled back change invalidates nothing and a request that starts
+ * after the eviction reads the committed data. A request that was already computing when the eviction
+ * ran is still answered, but DashboardCache does not cache its (possibly old) result.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCacheInvalidator {
+
+    private final DashboardCache dashboardCache;
+
+    /**
+     * Published by MonthlyRollupTracker, already after commit.
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        dashboardCache.invalidate(event.personId(), event.months(), DashboardView.all());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankStatementUploaded(BankStatementUploadedEvent event) {
+        dashboardCache.invalidate(event.personId(), event.months(), DashboardView.all());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoiceChanged(InvoiceChangedEvent event) {
+        dashboardCache.invalidate(event.personId(), Set.of(event.month()),
+                EnumSet.of(DashboardView.FULL, DashboardView.INVOICES, DashboardView.INSIGHTS));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGoalsChanged(GoalsChangedEvent event) {
+        dashboardCache.invalidate(event.personId(), Set.of(), EnumSet.of(DashboardView.FULL, DashboardView.GOALS));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ella.backend.services.cache;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * One cached dashboard response of a person.
+ *
+ * {@code from}/{@code to} are the months whose data the response is built from; {@code null} means it
+ * may depend on any month (e.g. goals generated from history, invoices with installments from earlier
+ * purchases). {@code variant} separates responses of the same view and months (e.g. a request parameter).
+ */
+public record DashboardCacheKey(UUID personId, DashboardView view, YearMonth from, YearMonth to, String variant) {
+
+    public static DashboardCacheKey of(UUID personId, DashboardView view, YearMonth from, YearMonth to) {
+        return new DashboardCacheKey(personId, view, from, to, "");
+    }
+
+    public static DashboardCacheKey anyMonth(UUID personId, DashboardView view) {
+        return new DashboardCacheKey(personId, view, null, null, "");
+    }
+
+    /**
+     * Whether a change to {@code months} (empty = unknown/all months) may affect this entry.
+     */
+    public boolean covers(Collection<YearMonth> months) {
+        if (from == null || to == null || months == null || months.isEmpty()) return true;
+        for (YearMonth month : months) {
+            if (!month.isBefore(from) && !month.isAfter(to)) return true;
+        }
+        return false;
+    }
+}
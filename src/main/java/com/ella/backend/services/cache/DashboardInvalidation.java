@@ -0,0 +1,22 @@
+package com.ella.backend.services.cache;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entries to drop: the person's entries of {@code views} covering any of {@code months}
+ * (empty = every month). A {@code null} person means every entry of every person.
+ */
+public record DashboardInvalidation(UUID personId, Set<YearMonth> months, Set<DashboardView> views) {
+
+    public static DashboardInvalidation everything() {
+        return new DashboardInvalidation(null, Set.of(), DashboardView.all());
+    }
+
+    public boolean matches(DashboardCacheKey key) {
+        return (personId == null || personId.equals(key.personId()))
+                && views.contains(key.view())
+                && key.covers(months);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ella.backend.services.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Shared (L2) tier of {@link DashboardCache}, seen by every node: values are stored as JSON and
+ * invalidations are broadcast so each node can drop its own L1 entries.
+ *
+ * Implementations may throw: {@link DashboardCache} logs remote failures and carries on with L1 / a recomputation.
+ */
+public interface DashboardRemoteCache {
+
+    boolean isEnabled();
+
+    Optional<String> get(DashboardCacheKey key);
+
+    /**
+     * Counter of the person's invalidations. Read it before computing a value and pass it to
+     * {@link #put}: a value computed while the person was invalidated is then dropped.
+     */
+    long generation(UUID personId);
+
+    /**
+     * Stores the entry unless the person was invalidated since {@code generation} was read.
+     *
+     * @return false when the entry was dropped as possibly stale
+     */
+    boolean put(DashboardCacheKey key, String json, Duration ttl, long generation);
+
+    /**
+     * Removes the matching shared entries, bumps the person's generation and notifies the other nodes.
+     */
+    void invalidate(DashboardInvalidation invalidation);
+
+    /**
+     * Receives invalidations published by other nodes.
+     */
+    void subscribe(Consumer<DashboardInvalidation> listener);
+}
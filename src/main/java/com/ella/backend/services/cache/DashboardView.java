@@ -0,0 +1,41 @@
+package com.ella.backend.services.cache;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.ella.backend.dto.dashboard.ChartsDTO;
+import com.ella.backend.dto.dashboard.DashboardResponseDTO;
+import com.ella.backend.dto.dashboard.GoalProgressDTO;
+import com.ella.backend.dto.dashboard.InsightDTO;
+import com.ella.backend.dto.dashboard.InvoiceSummaryDTO;
+import com.ella.backend.dto.dashboard.SummaryDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Dashboard responses kept in {@link DashboardCache}, with the JSON type their remote-tier
+ * entries are read back as.
+ */
+public enum DashboardView {
+    /** POST /api/dashboard (buildDashboard). */
+    FULL(new TypeReference<DashboardResponseDTO>() {}),
+    SUMMARY(new TypeReference<SummaryDTO>() {}),
+    CHARTS(new TypeReference<ChartsDTO>() {}),
+    INSIGHTS(new TypeReference<List<InsightDTO>>() {}),
+    GOALS(new TypeReference<List<GoalProgressDTO>>() {}),
+    INVOICES(new TypeReference<List<InvoiceSummaryDTO>>() {});
+
+    private final TypeReference<?> valueType;
+
+    DashboardView(TypeReference<?> valueType) {
+        this.valueType = valueType;
+    }
+
+    public TypeReference<?> valueType() {
+        return valueType;
+    }
+
+    public static Set<DashboardView> all() {
+        return EnumSet.allOf(DashboardView.class);
+    }
+}
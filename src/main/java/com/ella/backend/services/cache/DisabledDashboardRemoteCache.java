@@ -0,0 +1,40 @@
+package com.ella.backend.services.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Single-node / local setup: no shared tier, {@link DashboardCache} works with its L1 only.
+ */
+public class DisabledDashboardRemoteCache implements DashboardRemoteCache {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public Optional<String> get(DashboardCacheKey key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public long generation(UUID personId) {
+        return 0;
+    }
+
+    @Override
+    public boolean put(DashboardCacheKey key, String json, Duration ttl, long generation) {
+        return false;
+    }
+
+    @Override
+    public void invalidate(DashboardInvalidation invalidation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<DashboardInvalidation> listener) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.ella.backend.services.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link DashboardRemoteCache} on the application database: entries in the UNLOGGED
+ * {@code dashboard_cache_entries} table, invalidations broadcast with NOTIFY on
+ * {@link #CHANNEL} and received by one LISTEN connection per node.
+ *
+ * Writes run in their own transaction: reads of the dashboard may happen inside a read-only
+ * transaction, and a NOTIFY is only delivered once its transaction commits.
+ *
+ * Each person has a generation in {@code dashboard_cache_generations}, bumped by every invalidation.
+ * A put holds a share lock on that row and stores only if the generation is still the one read before
+ * the value was computed, so a load that overlapped a write can never outlive its invalidation:
+ * either the put sees the new generation and drops the entry, or the invalidation waits for the put
+ * to commit and then deletes it.
+ */
+@Slf4j
+public class PostgresDashboardRemoteCache implements DashboardRemoteCache {
+
+    static final String CHANNEL = "dashboard_cache_invalidation";
+
+    /** NOTIFY payloads are limited to 8000 bytes; past this the months are dropped (= every month). */
+    private static final int MAX_PAYLOAD_CHARS = 7000;
+    private static final long POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    record Notification(UUID origin, UUID personId, Set<YearMonth> months, Set<DashboardView> views) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final UUID nodeId = UUID.randomUUID();
+    private final List<Consumer<DashboardInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listenerThread;
+
+    public PostgresDashboardRemoteCache(JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public Optional<String> get(DashboardCacheKey key) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "select payload from dashboard_cache_entries where cache_key = ? and expires_at > now()",
+                String.class, cacheKey(key));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public long generation(UUID personId) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "select generation from dashboard_cache_generations where person_id = ?", Long.class, personId);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean put(DashboardCacheKey key, String json, Duration ttl, long generation) {
+        jdbcTemplate.update("""
+                insert into dashboard_cache_generations (person_id, generation) values (?, 0)
+                on conflict (person_id) do nothing
+                """, key.personId());
+        Long current = jdbcTemplate.queryForObject(
+                "select generation from dashboard_cache_generations where person_id = ? for share",
+                Long.class, key.personId());
+        if (current == null || current != generation) {
+            return false;
+        }
+
+        jdbcTemplate.update("""
+                insert into dashboard_cache_entries (cache_key, person_id, view, month_from, month_to, payload, expires_at)
+                values (?, ?, ?, ?, ?, ?, ?)
+                on conflict (cache_key) do update
+                   set payload = excluded.payload,
+                       expires_at = excluded.expires_at
+                """,
+                cacheKey(key),
+                key.personId(),
+                key.view().name(),
+                key.from() == null ? null : key.from().atDay(1),
+                key.to() == null ? null : key.to().atDay(1),
+                json,
+                Timestamp.valueOf(LocalDateTime.now().plus(ttl)));
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void invalidate(DashboardInvalidation invalidation) {
+        if (invalidation.personId() == null || invalidation.views().isEmpty()) return;
+
+        // First: waits for puts of the person in flight (they hold a share lock) and fails the later ones.
+        jdbcTemplate.update("""
+                insert into dashboard_cache_generations (person_id, generation) values (?, 1)
+                on conflict (person_id) do update set generation = dashboard_cache_generations.generation + 1
+                """, invalidation.personId());
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("delete from dashboard_cache_entries where person_id = ? and view in (");
+        args.add(invalidation.personId());
+        for (DashboardView view : invalidation.views()) {
+            sql.append(args.size() == 1 ? "?" : ", ?");
+            args.add(view.name());
+        }
+        sql.append(")");
+        if (!invalidation.months().isEmpty()) {
+            sql.append(" and (month_from is null or month_to is null");
+            for (YearMonth month : invalidation.months()) {
+                sql.append(" or ? between month_from and month_to");
+                args.add(month.atDay(1));
+            }
+            sql.append(")");
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CHANNEL, payload(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<DashboardInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(
+            initialDelayString = "${ella.cache.dashboard.remote.purge-interval-ms:600000}",
+            fixedDelayString = "${ella.cache.dashboard.remote.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("delete from dashboard_cache_entries where expires_at <= now()");
+        if (purged > 0) {
+            log.debug("[DashboardCache] purged expired remote entries={}", purged);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "dashboard-cache-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Whether this node currently receives invalidations from the other nodes.
+     */
+    boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Holds one connection of the pool for LISTEN. After a reconnect every node-local entry is
+     * dropped, since notifications sent while disconnected are lost.
+     */
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                listening = true;
+                if (reconnecting) {
+                    dispatch(DashboardInvalidation.everything());
+                    log.info("[DashboardCache] invalidation listener reconnected");
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                if (!running) return;
+                reconnecting = true;
+                log.warn("[DashboardCache] invalidation listener failed, retrying in {}ms: {}", RECONNECT_DELAY_MS, e.toString());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            if (nodeId.equals(notification.origin())) return;
+            dispatch(new DashboardInvalidation(notification.personId(), notification.months(), notification.views()));
+        } catch (Exception e) {
+            log.warn("[DashboardCache] ignoring invalid invalidation payload: {}", e.toString());
+        }
+    }
+
+    private void dispatch(DashboardInvalidation invalidation) {
+        for (Consumer<DashboardInvalidation> listener : listeners) {
+            listener.accept(invalidation);
+        }
+    }
+
+    private String payload(DashboardInvalidation invalidation) {
+        try {
+            String json = objectMapper.writeValueAsString(new Notification(
+                    nodeId, invalidation.personId(), invalidation.months(), invalidation.views()));
+            if (json.length() <= MAX_PAYLOAD_CHARS) return json;
+            return objectMapper.writeValueAsString(new Notification(
+                    nodeId, invalidation.personId(), Set.of(), invalidation.views()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao serializar invalidação do cache do dashboard", e);
+        }
+    }
+
+    private static String cacheKey(DashboardCacheKey key) {
+        return key.personId() + "|" + key.view() + "|" + key.from() + "|" + key.to() + "|" + key.variant();
+    }
+}
@@ -7,6 +7,13 @@ import com.ella.backend.entities.BankStatementTransaction;
 
 public final class BankStatementCashflowHeuristics {
 
+    /**
+     * Version of the rules below. The STATEMENT rows of the monthly rollup are computed with them, so
+     * bump this whenever {@link #shouldIgnore} or {@link #categorize} changes: on the next startup the
+     * statement part of the rollup is rebuilt (MonthlyRollupBackfillRunner).
+     */
+    public static final int VERSION = 1;
+
     private static final Locale LOCALE_PT_BR = Locale.of("pt", "BR");
 
     private BankStatementCashflowHeuristics() {
@@ -8,59 +8,64 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 
 import com.ella.backend.entities.BankStatementTransaction;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.repositories.BankStatementTransactionRepository;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 
 @Service
 public class CashflowTransactionsService {
 
-    private final FinancialTransactionRepository financialTransactionRepository;
-    private final BankStatementTransactionRepository bankStatementTransactionRepository;
+    private final TxViewStore txViewStore;
 
-    public CashflowTransactionsService(
-            FinancialTransactionRepository financialTransactionRepository,
-            BankStatementTransactionRepository bankStatementTransactionRepository
-    ) {
-        this.financialTransactionRepository = financialTransactionRepository;
-        this.bankStatementTransactionRepository = bankStatementTransactionRepository;
+    public CashflowTransactionsService(TxViewStore txViewStore) {
+        this.txViewStore = txViewStore;
     }
 
     /**
      * Returns a best-effort combined list of transactions for cashflow analytics.
      *
      * - Base: FinancialTransaction (already categorized)
-     * - Plus: BankStatementTransaction mapped into synthetic FinancialTransaction
+     * - Plus: BankStatementTransaction rows, categorized by heuristics
      *
      * Notes:
      * - Bank statement rows like BALANCE are ignored.
      * - Some statement rows that look like credit card bill payments are ignored to reduce double counting.
      */
-    public List<FinancialTransaction> fetchCashflowTransactions(Person person, LocalDate start, LocalDate end) {
+    public List<TxView> fetchCashflowTransactions(Person person, LocalDate start, LocalDate end) {
         if (person == null || person.getId() == null || start == null || end == null) {
             return List.of();
         }
 
-        List<FinancialTransaction> base = financialTransactionRepository
-            .findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, start, end);
+        List<TxView> base = txViewStore.findFinancial(person.getId(), start, end);
+        return combineWithStatements(person, start, end, base);
+    }
+
+    /**
+     * Same as {@link #fetchCashflowTransactions}, for callers that already loaded the
+     * FinancialTransaction rows of the period (only the bank statement rows are queried).
+     */
+    public List<TxView> combineWithStatements(
+            Person person,
+            LocalDate start,
+            LocalDate end,
+            List<TxView> base
+    ) {
+        if (person == null || person.getId() == null || start == null || end == null) {
+            return List.of();
+        }
         if (base == null) {
             base = List.of();
         }
 
-        List<BankStatementTransaction> statement = bankStatementTransactionRepository
-                .findForUserAndPeriod(person.getId(), start, end);
+        List<TxViewStore.StatementRow> statement = txViewStore.findStatementRows(person.getId(), start, end);
         if (statement == null || statement.isEmpty()) {
             return base;
         }
 
-        List<FinancialTransaction> mapped = new ArrayList<>(statement.size());
-        for (BankStatementTransaction stx : statement) {
-            FinancialTransaction fx = toSyntheticFinancialTransaction(person, stx);
-            if (fx != null) {
-                mapped.add(fx);
+        List<TxView> mapped = new ArrayList<>(statement.size());
+        for (TxViewStore.StatementRow row : statement) {
+            TxView view = toCashflowView(row);
+            if (view != null) {
+                mapped.add(view);
             }
         }
 
@@ -68,48 +73,39 @@ public class CashflowTransactionsService {
             return base;
         }
 
-        List<FinancialTransaction> out = new ArrayList<>(base.size() + mapped.size());
+        List<TxView> out = new ArrayList<>(base.size() + mapped.size());
         out.addAll(base);
         out.addAll(mapped);
-        out.sort(Comparator.comparing(FinancialTransaction::getTransactionDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        out.sort(Comparator.comparingLong(TxView::epochDay));
         return out;
     }
 
-    private FinancialTransaction toSyntheticFinancialTransaction(Person person, BankStatementTransaction stx) {
-        if (person == null || stx == null) {
+    private TxView toCashflowView(TxViewStore.StatementRow row) {
+        if (row == null) {
             return null;
         }
-        if (stx.getType() == null || stx.getTransactionDate() == null || stx.getAmount() == null) {
+        if (row.type() == null || row.transactionDate() == null || row.amount() == null) {
             return null;
         }
-        if (stx.getType() == BankStatementTransaction.Type.BALANCE) {
+        if (row.type() == BankStatementTransaction.Type.BALANCE) {
             return null;
         }
 
-        String description = stx.getDescription() != null ? stx.getDescription().trim() : "";
+        String description = row.description() != null ? row.description().trim() : "";
         if (description.isBlank()) {
             return null;
         }
 
-        if (BankStatementCashflowHeuristics.looksLikeCreditCardBillPayment(stx.getType(), description)) {
+        if (BankStatementCashflowHeuristics.looksLikeCreditCardBillPayment(row.type(), description)) {
             return null;
         }
 
-        TransactionType type = stx.getType() == BankStatementTransaction.Type.CREDIT
+        TransactionType type = row.type() == BankStatementTransaction.Type.CREDIT
                 ? TransactionType.INCOME
                 : TransactionType.EXPENSE;
 
-        String category = BankStatementCashflowHeuristics.categorize(description, stx.getType());
-
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(stx.getTransactionDate())
-                .purchaseDate(stx.getTransactionDate())
-                .description(description)
-                .amount(stx.getAmount())
-                .type(type)
-                .category(category)
-                .status(TransactionStatus.PAID)
-                .build();
+        String category = BankStatementCashflowHeuristics.categorize(description, row.type());
+
+        return TxView.of(row.transactionDate(), row.amount(), type, category, description);
     }
 }
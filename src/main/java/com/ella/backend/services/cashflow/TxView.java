@@ -0,0 +1,69 @@
+package com.ella.backend.services.cashflow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.enums.TransactionType;
+
+/**
+ * Read-only view of one transaction for analytics (insights, goal suggestions, score): only what
+ * those computations read, with no entity, Person proxy or persistence context behind it.
+ *
+ * Kept compact because a request may hold several months of rows: amount in cents, date as epoch
+ * day, and category interned (a few distinct values repeated across every row).
+ *
+ * @param epochDay    transaction date, {@link LocalDate#toEpochDay()}
+ * @param amountCents signed amount in cents
+ */
+public record TxView(
+        long epochDay,
+        long amountCents,
+        TransactionType type,
+        String category,
+        String description
+) {
+
+    /**
+     * @throws NullPointerException when {@code date} is null (rows without a date are not analyzable)
+     */
+    public static TxView of(LocalDate date, BigDecimal amount, TransactionType type, String category, String description) {
+        return new TxView(
+                date.toEpochDay(),
+                toCents(amount),
+                type,
+                category != null ? category.intern() : null,
+                description);
+    }
+
+    public static TxView from(FinancialTransaction tx) {
+        return of(tx.getTransactionDate(), tx.getAmount(), tx.getType(), tx.getCategory(), tx.getDescription());
+    }
+
+    public LocalDate transactionDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    public YearMonth month() {
+        return YearMonth.from(transactionDate());
+    }
+
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+
+    public boolean isExpense() {
+        return type == TransactionType.EXPENSE;
+    }
+
+    public boolean isIncome() {
+        return type == TransactionType.INCOME;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) return 0L;
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ella.backend.services.cashflow;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.enums.TransactionType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain SQL reads of the rows analytics work on, mapped straight into records: nothing enters a
+ * persistence context, so there is no Person proxy, snapshot or dirty check per row. Date bounds are
+ * always parameters, so the queries use the (person_id, transaction_date) indexes.
+ */
+@Component
+@RequiredArgsConstructor
+public class TxViewStore {
+
+    /** A bank statement row as the cashflow heuristics see it. */
+    public record StatementRow(LocalDate transactionDate, BigDecimal amount, BankStatementTransaction.Type type, String description) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The person's financial_transactions in [start, end] by date (soft-deleted rows excluded).
+     */
+    public List<TxView> findFinancial(UUID personId, LocalDate start, LocalDate end) {
+        return jdbcTemplate.query("""
+                select transaction_date, amount, type, category, description
+                  from financial_transactions
+                 where person_id = ?
+                   and deleted_at is null
+                   and transaction_date between ? and ?
+                 order by transaction_date
+                """, (rs, i) -> mapView(rs), personId, start, end);
+    }
+
+    /**
+     * Same as {@link #findFinancial}, without CANCELLED rows.
+     */
+    public List<TxView> findFinancialNotCancelled(UUID personId, LocalDate start, LocalDate end) {
+        return jdbcTemplate.query("""
+                select transaction_date, amount, type, category, description
+                  from financial_transactions
+                 where person_id = ?
+                   and deleted_at is null
+                   and status <> 'CANCELLED'
+                   and transaction_date between ? and ?
+                 order by transaction_date
+                """, (rs, i) -> mapView(rs), personId, start, end);
+    }
+
+    /**
+     * The person's bank statement rows in [start, end] by date.
+     */
+    public List<StatementRow> findStatementRows(UUID personId, LocalDate start, LocalDate end) {
+        return jdbcTemplate.query("""
+                select t.transaction_date, t.amount, t.type, t.description
+                  from bank_statement_transactions t
+                  join bank_statements s on s.id = t.bank_statement_id
+                 where s.user_id = ?
+                   and t.transaction_date between ? and ?
+                 order by t.transaction_date
+                """, (rs, i) -> new StatementRow(
+                        rs.getObject("transaction_date", LocalDate.class),
+                        rs.getBigDecimal("amount"),
+                        parseStatementType(rs.getString("type")),
+                        rs.getString("description")),
+                personId, start, end);
+    }
+
+    private static TxView mapView(ResultSet rs) throws SQLException {
+        String type = rs.getString("type");
+        return TxView.of(
+                rs.getObject("transaction_date", LocalDate.class),
+                rs.getBigDecimal("amount"),
+                type != null ? TransactionType.valueOf(type) : null,
+                rs.getString("category"),
+                rs.getString("description"));
+    }
+
+    private static BankStatementTransaction.Type parseStatementType(String value) {
+        if (value == null) return null;
+        try {
+            return BankStatementTransaction.Type.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
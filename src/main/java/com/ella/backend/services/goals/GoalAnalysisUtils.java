@@ -17,8 +17,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import com.ella.backend.entities.FinancialTransaction;
-import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 public final class GoalAnalysisUtils {
 
@@ -30,19 +29,19 @@ public final class GoalAnalysisUtils {
     private GoalAnalysisUtils() {
     }
 
-    public static boolean isExpense(FinancialTransaction tx) {
-        return tx != null && tx.getType() == TransactionType.EXPENSE;
+    public static boolean isExpense(TxView tx) {
+        return tx != null && tx.isExpense();
     }
 
-    public static boolean isIncome(FinancialTransaction tx) {
-        return tx != null && tx.getType() == TransactionType.INCOME;
+    public static boolean isIncome(TxView tx) {
+        return tx != null && tx.isIncome();
     }
 
-    public static BigDecimal safeAmount(FinancialTransaction tx) {
-        if (tx == null || tx.getAmount() == null) {
+    public static BigDecimal safeAmount(TxView tx) {
+        if (tx == null) {
             return BigDecimal.ZERO;
         }
-        return tx.getAmount().abs();
+        return BigDecimal.valueOf(Math.abs(tx.amountCents()), 2);
     }
 
     public static String normalizeCategory(String category) {
@@ -77,13 +76,13 @@ public final class GoalAnalysisUtils {
         return false;
     }
 
-    public static List<YearMonth> distinctMonths(List<FinancialTransaction> txs) {
+    public static List<YearMonth> distinctMonths(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
         return txs.stream()
                 .filter(Objects::nonNull)
-                .map(FinancialTransaction::getTransactionDate)
+                .map(TxView::transactionDate)
                 .filter(Objects::nonNull)
                 .map(YearMonth::from)
                 .distinct()
@@ -91,12 +90,12 @@ public final class GoalAnalysisUtils {
                 .toList();
     }
 
-    public static Map<String, BigDecimal> totalExpensesByCategory(List<FinancialTransaction> txs) {
+    public static Map<String, BigDecimal> totalExpensesByCategory(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return Map.of();
         }
         Map<String, BigDecimal> totals = new HashMap<>();
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (!isExpense(tx)) {
                 continue;
             }
@@ -104,26 +103,26 @@ public final class GoalAnalysisUtils {
             if (amount.compareTo(BigDecimal.ZERO) <= 0) {
                 continue;
             }
-            String category = normalizeCategory(tx.getCategory());
+            String category = normalizeCategory(tx.category());
             totals.put(category, totals.getOrDefault(category, BigDecimal.ZERO).add(amount));
         }
         return totals;
     }
 
-    public static Map<YearMonth, BigDecimal> monthlyExpensesForCategory(List<FinancialTransaction> txs, String category) {
+    public static Map<YearMonth, BigDecimal> monthlyExpensesForCategory(List<TxView> txs, String category) {
         if (txs == null || txs.isEmpty()) {
             return Map.of();
         }
         String wanted = normalizeCategory(category);
         Map<YearMonth, BigDecimal> out = new HashMap<>();
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (!isExpense(tx)) {
                 continue;
             }
-            if (!wanted.equals(normalizeCategory(tx.getCategory()))) {
+            if (!wanted.equals(normalizeCategory(tx.category()))) {
                 continue;
             }
-            LocalDate date = tx.getTransactionDate();
+            LocalDate date = tx.transactionDate();
             if (date == null) {
                 continue;
             }
@@ -2,9 +2,9 @@ package com.ella.backend.services.goals.providers;
 
 import java.util.List;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 /**
  * Legacy provider (V1). Mantido apenas para compatibilidade de código.
  *
@@ -14,7 +14,7 @@ import com.ella.backend.entities.Person;
 public class BudgetGoalProvider implements GoalProvider {
 
     @Override
-    public List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions) {
+    public List<Goal> generateGoals(Person person, List<TxView> recentTransactions) {
         return List.of();
     }
 
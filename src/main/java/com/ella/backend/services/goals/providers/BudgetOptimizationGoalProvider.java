@@ -11,17 +11,17 @@ import java.util.Map;
 
 import org.springframework.stereotype.Component;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.goals.GoalAnalysisUtils;
 
 @Component
 public class BudgetOptimizationGoalProvider implements GoalProvider {
 
     @Override
-    public List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions) {
+    public List<Goal> generateGoals(Person person, List<TxView> recentTransactions) {
         if (person == null || recentTransactions == null || recentTransactions.isEmpty()) {
             return List.of();
         }
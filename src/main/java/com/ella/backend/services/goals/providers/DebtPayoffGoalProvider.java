@@ -8,13 +8,13 @@ import java.util.Objects;
 
 import org.springframework.stereotype.Component;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Invoice;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
 import com.ella.backend.enums.InvoiceStatus;
 import com.ella.backend.repositories.InvoiceRepository;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.goals.GoalAnalysisUtils;
 
 @Component
@@ -32,7 +32,7 @@ public class DebtPayoffGoalProvider implements GoalProvider {
     }
 
     @Override
-    public List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions) {
+    public List<Goal> generateGoals(Person person, List<TxView> recentTransactions) {
         if (person == null) {
             return List.of();
         }
@@ -60,7 +60,7 @@ public class DebtPayoffGoalProvider implements GoalProvider {
         BigDecimal income = BigDecimal.ZERO;
         BigDecimal expenses = BigDecimal.ZERO;
         if (recentTransactions != null) {
-            for (FinancialTransaction tx : recentTransactions) {
+            for (TxView tx : recentTransactions) {
                 if (GoalAnalysisUtils.isIncome(tx)) {
                     income = income.add(GoalAnalysisUtils.safeAmount(tx));
                 } else if (GoalAnalysisUtils.isExpense(tx)) {
@@ -7,10 +7,10 @@ import java.util.List;
 
 import org.springframework.stereotype.Component;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.goals.GoalAnalysisUtils;
 
 @Component
@@ -22,7 +22,7 @@ public class EmergencyFundGoalProvider implements GoalProvider {
     }
 
     @Override
-    public List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions) {
+    public List<Goal> generateGoals(Person person, List<TxView> recentTransactions) {
         if (person == null || recentTransactions == null || recentTransactions.isEmpty()) {
             return List.of();
         }
@@ -31,7 +31,7 @@ public class EmergencyFundGoalProvider implements GoalProvider {
 
         BigDecimal income = BigDecimal.ZERO;
         BigDecimal expenses = BigDecimal.ZERO;
-        for (FinancialTransaction tx : recentTransactions) {
+        for (TxView tx : recentTransactions) {
             if (GoalAnalysisUtils.isIncome(tx)) {
                 income = income.add(GoalAnalysisUtils.safeAmount(tx));
             } else if (GoalAnalysisUtils.isExpense(tx)) {
@@ -2,9 +2,9 @@ package com.ella.backend.services.goals.providers;
 
 import java.util.List;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 
 public interface GoalProvider {
 
@@ -16,12 +16,12 @@ public interface GoalProvider {
     /**
      * Gera 0..N metas financeiras baseadas no histórico recente do usuário.
      */
-    List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions);
+    List<Goal> generateGoals(Person person, List<TxView> recentTransactions);
 
     /**
      * Fonte de dados preferida pelo provider.
      *
-     * Por padrão, usa apenas {@link FinancialTransaction}. Alguns providers (ex: fluxo de caixa, assinaturas)
+     * Por padrão, usa apenas TxView. Alguns providers (ex: fluxo de caixa, assinaturas)
      * podem optar por incluir transações de extrato bancário agregadas.
      */
     default GoalDataSource getDataSource() {
@@ -13,10 +13,10 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.goals.GoalAnalysisUtils;
 
 @Component
@@ -30,7 +30,7 @@ public class SubscriptionCleanupGoalProvider implements GoalProvider {
     }
 
     @Override
-    public List<Goal> generateGoals(Person person, List<FinancialTransaction> recentTransactions) {
+    public List<Goal> generateGoals(Person person, List<TxView> recentTransactions) {
         if (person == null || recentTransactions == null || recentTransactions.isEmpty()) {
             return List.of();
         }
@@ -39,7 +39,7 @@ public class SubscriptionCleanupGoalProvider implements GoalProvider {
         List<YearMonth> required = GoalAnalysisUtils.trailingMonthsInclusive(current, 3);
         Set<YearMonth> requiredSet = Set.copyOf(required);
 
-        List<FinancialTransaction> candidates = recentTransactions.stream()
+        List<TxView> candidates = recentTransactions.stream()
                 .filter(Objects::nonNull)
                 .filter(GoalAnalysisUtils::isExpense)
                 .filter(tx -> GoalAnalysisUtils.safeAmount(tx).compareTo(BigDecimal.valueOf(8)) >= 0)
@@ -51,15 +51,15 @@ public class SubscriptionCleanupGoalProvider implements GoalProvider {
         }
 
         Map<String, Map<YearMonth, BigDecimal>> monthlyByKey = new HashMap<>();
-        for (FinancialTransaction tx : candidates) {
-            if (tx.getTransactionDate() == null) {
+        for (TxView tx : candidates) {
+            if (tx.transactionDate() == null) {
                 continue;
             }
-            YearMonth ym = YearMonth.from(tx.getTransactionDate());
+            YearMonth ym = YearMonth.from(tx.transactionDate());
             if (!requiredSet.contains(ym)) {
                 continue;
             }
-            String key = GoalAnalysisUtils.normalizeDescriptionKey(tx.getDescription());
+            String key = GoalAnalysisUtils.normalizeDescriptionKey(tx.description());
             if (key.isBlank()) {
                 continue;
             }
@@ -108,9 +108,9 @@ public class SubscriptionCleanupGoalProvider implements GoalProvider {
         return List.of(goal);
     }
 
-    private boolean isLikelySubscription(FinancialTransaction tx) {
-        String category = GoalAnalysisUtils.normalizeCategory(tx.getCategory()).toLowerCase(LOCALE_PT_BR);
-        String d = tx.getDescription() != null ? tx.getDescription().toLowerCase(LOCALE_PT_BR) : "";
+    private boolean isLikelySubscription(TxView tx) {
+        String category = GoalAnalysisUtils.normalizeCategory(tx.category()).toLowerCase(LOCALE_PT_BR);
+        String d = tx.description() != null ? tx.description().toLowerCase(LOCALE_PT_BR) : "";
         if (d.isBlank()) {
             return false;
         }
@@ -2,60 +2,142 @@ package com.ella.backend.services.insights;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.RequestScope;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 
+/**
+ * Transactions per month ({@link TxView}s, not entities) for one insights request, shared by every {@link com.ella.backend.services.insights.providers.InsightProvider}.
+ *
+ * Providers run concurrently (see {@code DashboardInsightsService}), so the maps are concurrent and
+ * loading is single-flight: the first caller of a month runs the query, callers racing on the same
+ * month wait for it instead of issuing their own. A failed load is not kept, so a later caller retries.
+ *
+ * {@link #prefetch} loads the whole window the providers declared (one query per source) and slices it
+ * into months in memory; months outside it are still loaded one by one on demand.
+ */
 @Component
 @RequestScope
 public class InsightDataCache {
 
-    private final FinancialTransactionRepository financialTransactionRepository;
+    private final TxViewStore txViewStore;
     private final CashflowTransactionsService cashflowTransactionsService;
-    private final Map<YearMonth, List<FinancialTransaction>> txByMonth = new HashMap<>();
-    private final Map<YearMonth, List<FinancialTransaction>> cashflowTxByMonth = new HashMap<>();
+    private final ConcurrentMap<YearMonth, CompletableFuture<List<TxView>>> txByMonth = new ConcurrentHashMap<>();
+    private final ConcurrentMap<YearMonth, CompletableFuture<List<TxView>>> cashflowTxByMonth = new ConcurrentHashMap<>();
 
     public InsightDataCache(
-            FinancialTransactionRepository financialTransactionRepository,
+            TxViewStore txViewStore,
             CashflowTransactionsService cashflowTransactionsService
     ) {
-        this.financialTransactionRepository = financialTransactionRepository;
+        this.txViewStore = txViewStore;
         this.cashflowTransactionsService = cashflowTransactionsService;
     }
 
-    public List<FinancialTransaction> getTransactionsForMonth(Person person, int year, int month) {
+    /**
+     * Loads {@code lookbackMonths} months before {@code current} through {@code current} in one
+     * financial_transactions query and one bank statement query, and fills both per-month views.
+     * Months some caller already loaded are kept as they are.
+     */
+    public void prefetch(Person person, YearMonth current, int lookbackMonths) {
+        YearMonth first = current.minusMonths(Math.max(0, lookbackMonths));
+        LocalDate start = first.atDay(1);
+        LocalDate end = current.atEndOfMonth();
+
+        List<TxView> base = txViewStore.findFinancial(person.getId(), start, end);
+        List<TxView> combined = cashflowTransactionsService.combineWithStatements(person, start, end, base);
+
+        Map<YearMonth, List<TxView>> baseByMonth = sliceByMonth(base, first, current);
+        Map<YearMonth, List<TxView>> combinedByMonth = sliceByMonth(combined, first, current);
+        baseByMonth.forEach((ym, txs) -> txByMonth.putIfAbsent(ym, CompletableFuture.completedFuture(txs)));
+        combinedByMonth.forEach((ym, txs) -> cashflowTxByMonth.putIfAbsent(ym, CompletableFuture.completedFuture(txs)));
+    }
+
+    public List<TxView> getTransactionsForMonth(Person person, int year, int month) {
         return getTransactionsForMonth(person, YearMonth.of(year, month));
     }
 
-    public List<FinancialTransaction> getTransactionsForMonth(Person person, YearMonth yearMonth) {
-        return txByMonth.computeIfAbsent(yearMonth, ym -> {
-            LocalDate start = ym.atDay(1);
-            LocalDate end = ym.atEndOfMonth();
-            return financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(person, start, end);
+    public List<TxView> getTransactionsForMonth(Person person, YearMonth yearMonth) {
+        return loadOnce(txByMonth, yearMonth, () -> {
+            LocalDate start = yearMonth.atDay(1);
+            LocalDate end = yearMonth.atEndOfMonth();
+            return txViewStore.findFinancial(person.getId(), start, end);
         });
     }
 
-    public List<FinancialTransaction> getCashflowTransactionsForMonth(Person person, int year, int month) {
+    public List<TxView> getCashflowTransactionsForMonth(Person person, int year, int month) {
         return getCashflowTransactionsForMonth(person, YearMonth.of(year, month));
     }
 
-    public List<FinancialTransaction> getCashflowTransactionsForMonth(Person person, YearMonth yearMonth) {
-        return cashflowTxByMonth.computeIfAbsent(yearMonth, ym -> {
-            LocalDate start = ym.atDay(1);
-            LocalDate end = ym.atEndOfMonth();
-            List<FinancialTransaction> combined = cashflowTransactionsService.fetchCashflowTransactions(person, start, end);
+    public List<TxView> getCashflowTransactionsForMonth(Person person, YearMonth yearMonth) {
+        return loadOnce(cashflowTxByMonth, yearMonth, () -> {
+            LocalDate start = yearMonth.atDay(1);
+            LocalDate end = yearMonth.atEndOfMonth();
+            List<TxView> combined = cashflowTransactionsService.fetchCashflowTransactions(person, start, end);
             return combined != null ? combined : List.of();
         });
     }
 
+    /** Every month of [first, last] gets an entry (empty when it had no rows); input order is kept. */
+    private static Map<YearMonth, List<TxView>> sliceByMonth(
+            List<TxView> txs,
+            YearMonth first,
+            YearMonth last
+    ) {
+        Map<YearMonth, List<TxView>> byMonth = new LinkedHashMap<>();
+        for (YearMonth ym = first; !ym.isAfter(last); ym = ym.plusMonths(1)) {
+            byMonth.put(ym, new ArrayList<>());
+        }
+        if (txs != null) {
+            for (TxView tx : txs) {
+                if (tx == null) continue;
+                List<TxView> month = byMonth.get(tx.month());
+                if (month != null) month.add(tx);
+            }
+        }
+        byMonth.replaceAll((ym, month) -> Collections.unmodifiableList(month));
+        return byMonth;
+    }
+
+    /**
+     * The query runs outside the map (not inside computeIfAbsent), so a slow month never blocks
+     * lookups of other months.
+     */
+    private static <T> T loadOnce(ConcurrentMap<YearMonth, CompletableFuture<T>> map, YearMonth yearMonth, Supplier<T> loader) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = map.putIfAbsent(yearMonth, created);
+        if (existing == null) {
+            try {
+                created.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                map.remove(yearMonth, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+            return created.join();
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
     public static YearMonth previousMonth(YearMonth current) {
         return current.minusMonths(1);
     }
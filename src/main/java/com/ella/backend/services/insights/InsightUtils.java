@@ -7,8 +7,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
-import com.ella.backend.entities.FinancialTransaction;
-import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 public final class InsightUtils {
 
@@ -17,19 +16,19 @@ public final class InsightUtils {
     private InsightUtils() {
     }
 
-    public static BigDecimal safeAmount(FinancialTransaction transaction) {
-        if (transaction == null || transaction.getAmount() == null) {
+    public static BigDecimal safeAmount(TxView transaction) {
+        if (transaction == null) {
             return BigDecimal.ZERO;
         }
-        return transaction.getAmount().abs();
+        return BigDecimal.valueOf(Math.abs(transaction.amountCents()), 2);
     }
 
-    public static boolean isExpense(FinancialTransaction transaction) {
-        return transaction != null && transaction.getType() == TransactionType.EXPENSE;
+    public static boolean isExpense(TxView transaction) {
+        return transaction != null && transaction.isExpense();
     }
 
-    public static boolean isIncome(FinancialTransaction transaction) {
-        return transaction != null && transaction.getType() == TransactionType.INCOME;
+    public static boolean isIncome(TxView transaction) {
+        return transaction != null && transaction.isIncome();
     }
 
     public static String normalizeCategory(String category) {
@@ -45,12 +44,12 @@ public final class InsightUtils {
         return nf.format(safe);
     }
 
-    public static List<BigDecimal> toAmounts(List<FinancialTransaction> txs) {
+    public static List<BigDecimal> toAmounts(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
         List<BigDecimal> out = new ArrayList<>(txs.size());
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (tx == null) {
                 continue;
             }
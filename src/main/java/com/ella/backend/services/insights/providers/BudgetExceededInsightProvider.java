@@ -13,11 +13,11 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
 import com.ella.backend.repositories.GoalRepository;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -38,7 +38,7 @@ public class BudgetExceededInsightProvider implements InsightProvider {
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
-        List<FinancialTransaction> txs = insightDataCache.getTransactionsForMonth(person, ym);
+        List<TxView> txs = insightDataCache.getTransactionsForMonth(person, ym);
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
@@ -53,7 +53,7 @@ public class BudgetExceededInsightProvider implements InsightProvider {
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
                 .collect(Collectors.groupingBy(
-                        t -> InsightUtils.normalizeCategory(t.getCategory()).toLowerCase(LOCALE_PT_BR),
+                        t -> InsightUtils.normalizeCategory(t.category()).toLowerCase(LOCALE_PT_BR),
                         Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                 ));
 
@@ -9,8 +9,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -27,7 +27,7 @@ public class CashflowSummaryInsightProvider implements InsightProvider {
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
-        List<FinancialTransaction> txs = insightDataCache.getCashflowTransactionsForMonth(person, ym);
+        List<TxView> txs = insightDataCache.getCashflowTransactionsForMonth(person, ym);
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
@@ -35,7 +35,7 @@ public class CashflowSummaryInsightProvider implements InsightProvider {
         BigDecimal income = BigDecimal.ZERO;
         BigDecimal expenses = BigDecimal.ZERO;
 
-        for (FinancialTransaction tx : txs) {
+        for (TxView tx : txs) {
             if (tx == null) {
                 continue;
             }
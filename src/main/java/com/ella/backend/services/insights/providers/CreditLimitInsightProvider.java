@@ -11,9 +11,9 @@ import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
 import com.ella.backend.entities.CreditCard;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
 import com.ella.backend.repositories.CreditCardRepository;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -34,7 +34,7 @@ public class CreditLimitInsightProvider implements InsightProvider {
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
-        List<FinancialTransaction> txs = insightDataCache.getTransactionsForMonth(person, ym);
+        List<TxView> txs = insightDataCache.getTransactionsForMonth(person, ym);
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
@@ -7,4 +7,12 @@ import com.ella.backend.entities.Person;
 
 public interface InsightProvider {
     List<InsightDTO> generate(Person person, int year, int month);
+
+    /**
+     * How many months before the selected one this provider reads from InsightDataCache
+     * (0 = only the selected month). The union of all providers is prefetched in one pass.
+     */
+    default int lookbackMonths() {
+        return 0;
+    }
 }
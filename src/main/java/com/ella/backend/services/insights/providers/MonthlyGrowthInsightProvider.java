@@ -10,8 +10,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -27,10 +27,15 @@ public class MonthlyGrowthInsightProvider implements InsightProvider {
         this.insightDataCache = insightDataCache;
     }
 
+    @Override
+    public int lookbackMonths() {
+        return 1;
+    }
+
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth current = YearMonth.of(year, month);
-        List<FinancialTransaction> currentTx = insightDataCache.getTransactionsForMonth(person, current);
+        List<TxView> currentTx = insightDataCache.getTransactionsForMonth(person, current);
         if (currentTx == null || currentTx.isEmpty()) {
             return List.of();
         }
@@ -42,7 +47,7 @@ public class MonthlyGrowthInsightProvider implements InsightProvider {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         YearMonth previous = InsightDataCache.previousMonth(current);
-        List<FinancialTransaction> previousTx = insightDataCache.getTransactionsForMonth(person, previous);
+        List<TxView> previousTx = insightDataCache.getTransactionsForMonth(person, previous);
 
         BigDecimal previousTotal = previousTx.stream()
                 .filter(Objects::nonNull)
@@ -16,8 +16,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -44,7 +44,7 @@ public class OutrosCategoryQualityInsightProvider implements InsightProvider {
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
-        List<FinancialTransaction> txs = insightDataCache.getTransactionsForMonth(person, ym);
+        List<TxView> txs = insightDataCache.getTransactionsForMonth(person, ym);
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
@@ -53,7 +53,7 @@ public class OutrosCategoryQualityInsightProvider implements InsightProvider {
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
                 .collect(Collectors.groupingBy(
-                        t -> InsightUtils.normalizeCategory(t.getCategory()),
+                        t -> InsightUtils.normalizeCategory(t.category()),
                         Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                 ));
 
@@ -87,17 +87,17 @@ public class OutrosCategoryQualityInsightProvider implements InsightProvider {
             return List.of();
         }
 
-        List<FinancialTransaction> outrosTxs = txs.stream()
+        List<TxView> outrosTxs = txs.stream()
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
-                .filter(t -> isOutros(InsightUtils.normalizeCategory(t.getCategory())))
+                .filter(t -> isOutros(InsightUtils.normalizeCategory(t.category())))
                 .toList();
 
         int count = outrosTxs.size();
 
         Map<String, BigDecimal> byKey = outrosTxs.stream()
                 .collect(Collectors.groupingBy(
-                        t -> normalizeDescriptionKey(t.getDescription()),
+                        t -> normalizeDescriptionKey(t.description()),
                         Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                 ));
 
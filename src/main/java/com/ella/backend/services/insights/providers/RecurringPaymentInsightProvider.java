@@ -19,8 +19,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -32,6 +32,7 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
 
     private static final Pattern MULTISPACE = Pattern.compile("\\s+");
     private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final int MONTHS_ANALYZED = 3;
 
     private final InsightDataCache insightDataCache;
 
@@ -39,16 +40,21 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         this.insightDataCache = insightDataCache;
     }
 
+    @Override
+    public int lookbackMonths() {
+        return MONTHS_ANALYZED - 1;
+    }
+
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth current = YearMonth.of(year, month);
-        List<YearMonth> months = InsightDataCache.trailingMonthsInclusive(current, 3);
-        if (months.size() < 3) {
+        List<YearMonth> months = InsightDataCache.trailingMonthsInclusive(current, MONTHS_ANALYZED);
+        if (months.size() < MONTHS_ANALYZED) {
             return List.of();
         }
 
         // Carrega tx dos 3 meses (inclui o mês atual)
-        List<FinancialTransaction> all = new ArrayList<>();
+        List<TxView> all = new ArrayList<>();
         for (YearMonth ym : months) {
             all.addAll(insightDataCache.getCashflowTransactionsForMonth(person, ym));
         }
@@ -58,7 +64,7 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         }
 
         // Filtra candidatos a assinatura
-        List<FinancialTransaction> expenses = all.stream()
+        List<TxView> expenses = all.stream()
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
                 .filter(this::isLikelySubscriptionCandidate)
@@ -68,13 +74,13 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
             return List.of();
         }
 
-        Map<String, List<FinancialTransaction>> byDescriptionKey = expenses.stream()
-                .collect(Collectors.groupingBy(t -> normalizeDescriptionKey(t.getDescription())));
+        Map<String, List<TxView>> byDescriptionKey = expenses.stream()
+                .collect(Collectors.groupingBy(t -> normalizeDescriptionKey(t.description())));
 
         List<RecurringGroup> recurringGroups = new ArrayList<>();
 
-        for (Map.Entry<String, List<FinancialTransaction>> entry : byDescriptionKey.entrySet()) {
-            List<FinancialTransaction> groupTx = entry.getValue();
+        for (Map.Entry<String, List<TxView>> entry : byDescriptionKey.entrySet()) {
+            List<TxView> groupTx = entry.getValue();
             if (groupTx == null || groupTx.size() < 3) {
                 continue;
             }
@@ -122,13 +128,13 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
                 .build());
     }
 
-    private boolean isLikelySubscriptionCandidate(FinancialTransaction tx) {
+    private boolean isLikelySubscriptionCandidate(TxView tx) {
         BigDecimal amount = InsightUtils.safeAmount(tx);
         if (amount.compareTo(BigDecimal.valueOf(5)) < 0) {
             return false;
         }
         // Evita alguns padrões comuns de transferências e afins
-        String d = tx.getDescription() != null ? tx.getDescription().toLowerCase(LOCALE_PT_BR) : "";
+        String d = tx.description() != null ? tx.description().toLowerCase(LOCALE_PT_BR) : "";
         if (d.isBlank()) {
             return false;
         }
@@ -166,19 +172,19 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         return s;
     }
 
-    private List<AmountCluster> clusterByAmount(List<FinancialTransaction> txs) {
+    private List<AmountCluster> clusterByAmount(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
 
-        List<FinancialTransaction> sorted = txs.stream()
+        List<TxView> sorted = txs.stream()
                 .sorted(Comparator.comparing(InsightUtils::safeAmount))
                 .toList();
 
         List<AmountCluster> clusters = new ArrayList<>();
         AmountCluster current = null;
 
-        for (FinancialTransaction tx : sorted) {
+        for (TxView tx : sorted) {
             BigDecimal amount = InsightUtils.safeAmount(tx);
             if (current == null) {
                 current = new AmountCluster();
@@ -217,8 +223,8 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         // Precisamos cobrir os 3 meses (inclusive current)
         Set<YearMonth> required = Set.copyOf(months);
 
-        Map<YearMonth, List<FinancialTransaction>> byMonth = cluster.txs.stream()
-                .collect(Collectors.groupingBy(t -> YearMonth.from(t.getTransactionDate())));
+        Map<YearMonth, List<TxView>> byMonth = cluster.txs.stream()
+                .collect(Collectors.groupingBy(t -> YearMonth.from(t.transactionDate())));
 
         if (!byMonth.keySet().containsAll(required)) {
             return Optional.empty();
@@ -242,8 +248,8 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         int minDay = Integer.MAX_VALUE;
         int maxDay = Integer.MIN_VALUE;
         for (YearMonth ym : required) {
-            FinancialTransaction tx = byMonth.get(ym).getFirst();
-            int day = tx.getTransactionDate().getDayOfMonth();
+            TxView tx = byMonth.get(ym).getFirst();
+            int day = tx.transactionDate().getDayOfMonth();
             minDay = Math.min(minDay, day);
             maxDay = Math.max(maxDay, day);
         }
@@ -258,13 +264,13 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
         return Optional.of(new RecurringGroup(displayName, estimatedMonthly));
     }
 
-    private String mostCommonDescription(List<FinancialTransaction> txs) {
+    private String mostCommonDescription(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return "Assinatura";
         }
         Map<String, Long> counts = new LinkedHashMap<>();
-        for (FinancialTransaction tx : txs) {
-            String d = tx.getDescription() != null ? tx.getDescription().trim() : "";
+        for (TxView tx : txs) {
+            String d = tx.description() != null ? tx.description().trim() : "";
             if (d.isBlank()) {
                 continue;
             }
@@ -277,9 +283,9 @@ public class RecurringPaymentInsightProvider implements InsightProvider {
     }
 
     private static final class AmountCluster {
-        private final List<FinancialTransaction> txs = new ArrayList<>();
+        private final List<TxView> txs = new ArrayList<>();
 
-        void add(FinancialTransaction tx) {
+        void add(TxView tx) {
             txs.add(tx);
         }
 
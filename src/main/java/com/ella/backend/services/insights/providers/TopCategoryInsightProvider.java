@@ -16,8 +16,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -42,7 +42,7 @@ public class TopCategoryInsightProvider implements InsightProvider {
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth ym = YearMonth.of(year, month);
-        List<FinancialTransaction> txs = insightDataCache.getTransactionsForMonth(person, ym);
+        List<TxView> txs = insightDataCache.getTransactionsForMonth(person, ym);
         if (txs == null || txs.isEmpty()) {
             return List.of();
         }
@@ -51,7 +51,7 @@ public class TopCategoryInsightProvider implements InsightProvider {
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
                 .collect(Collectors.groupingBy(
-                        t -> InsightUtils.normalizeCategory(t.getCategory()),
+                        t -> InsightUtils.normalizeCategory(t.category()),
                         Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                 ));
 
@@ -96,7 +96,7 @@ public class TopCategoryInsightProvider implements InsightProvider {
         }
 
         private InsightDTO buildOutrosInsight(
-                        List<FinancialTransaction> monthTransactions,
+                        List<TxView> monthTransactions,
                         BigDecimal outrosAmount,
                         BigDecimal outrosPercentage
         ) {
@@ -105,17 +105,17 @@ public class TopCategoryInsightProvider implements InsightProvider {
 
                 String type = pct0.compareTo(BigDecimal.valueOf(30)) >= 0 ? "warning" : "info";
 
-                List<FinancialTransaction> outrosTxs = monthTransactions.stream()
+                List<TxView> outrosTxs = monthTransactions.stream()
                                 .filter(Objects::nonNull)
                                 .filter(InsightUtils::isExpense)
-                                .filter(t -> isOutros(InsightUtils.normalizeCategory(t.getCategory())))
+                                .filter(t -> isOutros(InsightUtils.normalizeCategory(t.category())))
                                 .toList();
 
                 int count = outrosTxs.size();
 
                 Map<String, BigDecimal> byKey = outrosTxs.stream()
                                 .collect(Collectors.groupingBy(
-                                                t -> normalizeDescriptionKey(t.getDescription()),
+                                                t -> normalizeDescriptionKey(t.description()),
                                                 Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                                 ));
 
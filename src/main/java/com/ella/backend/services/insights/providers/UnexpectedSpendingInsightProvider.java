@@ -15,8 +15,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.InsightUtils;
 
@@ -24,17 +24,24 @@ import com.ella.backend.services.insights.InsightUtils;
 @Order(30)
 public class UnexpectedSpendingInsightProvider implements InsightProvider {
 
+    private static final int BASELINE_MONTHS = 3;
+
     private final InsightDataCache insightDataCache;
 
     public UnexpectedSpendingInsightProvider(InsightDataCache insightDataCache) {
         this.insightDataCache = insightDataCache;
     }
 
+    @Override
+    public int lookbackMonths() {
+        return BASELINE_MONTHS;
+    }
+
     @Override
     public List<InsightDTO> generate(Person person, int year, int month) {
         YearMonth currentYm = YearMonth.of(year, month);
 
-        List<FinancialTransaction> currentTx = insightDataCache.getTransactionsForMonth(person, currentYm);
+        List<TxView> currentTx = insightDataCache.getTransactionsForMonth(person, currentYm);
         if (currentTx == null || currentTx.isEmpty()) {
             return List.of();
         }
@@ -44,10 +51,10 @@ public class UnexpectedSpendingInsightProvider implements InsightProvider {
             return List.of();
         }
 
-        List<YearMonth> baselineMonths = InsightDataCache.previousMonths(currentYm, 3);
+        List<YearMonth> baselineMonths = InsightDataCache.previousMonths(currentYm, BASELINE_MONTHS);
         Map<YearMonth, Map<String, BigDecimal>> baselineTotalsByMonth = new HashMap<>();
         for (YearMonth ym : baselineMonths) {
-            List<FinancialTransaction> txs = insightDataCache.getTransactionsForMonth(person, ym);
+            List<TxView> txs = insightDataCache.getTransactionsForMonth(person, ym);
             baselineTotalsByMonth.put(ym, totalsByCategory(txs));
         }
 
@@ -122,7 +129,7 @@ public class UnexpectedSpendingInsightProvider implements InsightProvider {
                 .collect(Collectors.toList());
     }
 
-    private Map<String, BigDecimal> totalsByCategory(List<FinancialTransaction> txs) {
+    private Map<String, BigDecimal> totalsByCategory(List<TxView> txs) {
         if (txs == null || txs.isEmpty()) {
             return Map.of();
         }
@@ -131,7 +138,7 @@ public class UnexpectedSpendingInsightProvider implements InsightProvider {
                 .filter(Objects::nonNull)
                 .filter(InsightUtils::isExpense)
                 .collect(Collectors.groupingBy(
-                        t -> InsightUtils.normalizeCategory(t.getCategory()),
+                        t -> InsightUtils.normalizeCategory(t.category()),
                         Collectors.reducing(BigDecimal.ZERO, InsightUtils::safeAmount, BigDecimal::add)
                 ));
     }
@@ -12,6 +12,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.ella.backend.config.AdobeOAuthProperties;
+import com.ella.backend.config.RemoteCallResilience;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,19 +26,29 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class AdobeExtractor {
 
+    private static final String RESILIENCE_CLIENT = "adobe";
+    private static final String RESILIENCE_ENDPOINT = "/extract";
+
     private final AdobeOAuthProperties adobeProperties;
     private final RestTemplate restTemplate;
+    private final RemoteCallResilience resilience;
 
     @Autowired
-    public AdobeExtractor(AdobeOAuthProperties adobeProperties, ObjectProvider<RestTemplate> restTemplateProvider) {
+    public AdobeExtractor(
+            AdobeOAuthProperties adobeProperties,
+            ObjectProvider<RestTemplate> restTemplateProvider,
+            ObjectProvider<RemoteCallResilience> resilienceProvider
+    ) {
         this.adobeProperties = adobeProperties;
         this.restTemplate = restTemplateProvider != null ? restTemplateProvider.getIfAvailable() : null;
+        this.resilience = resilienceProvider != null ? resilienceProvider.getIfAvailable() : null;
     }
 
     // Construtor auxiliar para testes unitários (sem Spring).
     AdobeExtractor(AdobeOAuthProperties adobeProperties, RestTemplate restTemplate) {
         this.adobeProperties = adobeProperties;
         this.restTemplate = restTemplate;
+        this.resilience = null;
     }
 
     /**
@@ -72,6 +83,12 @@ public class AdobeExtractor {
             return null;
         }
 
+        // VALIDAÇÃO 4: circuito aberto (Adobe falhando/lento) -> não espera o timeout.
+        if (resilience != null && !resilience.isCallPermitted(RESILIENCE_CLIENT, RESILIENCE_ENDPOINT)) {
+            log.warn("[AdobeExtractor] Skipping Adobe call: circuit open");
+            return null;
+        }
+
         try {
             HttpHeaders headers = prepareHeaders();
             String pdfBase64 = Base64.getEncoder().encodeToString(pdfBytes);
@@ -114,7 +131,10 @@ public class AdobeExtractor {
             HttpEntity<String> request = new HttpEntity<>(body, headers);
             log.debug("[AdobeExtractor] Calling Adobe at: {}", url);
 
-            String response = restTemplate.postForObject(url, request, String.class);
+            String response = resilience != null
+                    ? resilience.execute(RESILIENCE_CLIENT, RESILIENCE_ENDPOINT,
+                            () -> restTemplate.postForObject(url, request, String.class), null)
+                    : restTemplate.postForObject(url, request, String.class);
             if (response == null) {
                 log.warn("[AdobeExtractor] Adobe API returned null");
                 return null;
@@ -20,6 +20,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import com.ella.backend.config.QualityScoreConfig;
+import com.ella.backend.config.RemoteCallResilience;
 import com.ella.backend.services.invoices.InvoiceParsingException;
 import com.ella.backend.services.invoices.extraction.core.ReconciliationPolicy;
 import com.ella.backend.services.invoices.extraction.core.TotalResolver;
@@ -71,6 +72,7 @@ public class ExtractionPipeline {
 
     private final AdobeExtractor adobeExtractor;
     private final AdobeFallbackStrategy adobeFallbackStrategy;
+    private final ExtractionResultCache extractionResultCache;
 
     private final AtomicBoolean debugConfigLoggedOnce = new AtomicBoolean(false);
 
@@ -106,6 +108,39 @@ public class ExtractionPipeline {
 
         log.info("[InvoiceUpload][PDF] Read pdfBytes={} bytes", pdfBytes.length);
 
+        // Same file (+ password/dueDate) already extracted: skip PDFBox, OCR, Adobe and extractor calls.
+        ExtractionResultCache.Key cacheKey = extractionResultCache != null
+                ? extractionResultCache.keyFor(pdfBytes, password, dueDateOverride)
+                : null;
+        if (cacheKey != null) {
+            var cached = extractionResultCache.find(cacheKey);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        ExtractionResult result;
+        boolean degraded;
+        try (RemoteCallResilience.DegradationTracker tracker = RemoteCallResilience.trackDegradation()) {
+            result = extractFromDocument(pdfBytes, password, dueDateFromRequest);
+            degraded = tracker.isDegraded();
+        }
+
+        // A result built while an extractor/Adobe call was skipped, rejected or failed is a fallback:
+        // serve it, but don't pin it in the cache for the next uploads of this file.
+        if (degraded) {
+            log.info("[InvoiceUpload] Extraction used a degraded path (remote call skipped/failed); not caching");
+        } else if (cacheKey != null) {
+            try {
+                extractionResultCache.store(cacheKey, result);
+            } catch (Exception e) {
+                log.warn("[InvoiceUpload] Extraction cache store failed: {}", e.toString());
+            }
+        }
+        return result;
+    }
+
+    private ExtractionResult extractFromDocument(byte[] pdfBytes, String password, LocalDate dueDateFromRequest) throws IOException {
         try (PDDocument document = (password != null && !password.isBlank())
                 ? PDDocument.load(new ByteArrayInputStream(pdfBytes), password)
                 : PDDocument.load(new ByteArrayInputStream(pdfBytes))) {
@@ -117,6 +152,9 @@ public class ExtractionPipeline {
             String text = pdfTextExtractor.extractText(document);
             text = text == null ? "" : text;
 
+            // One memo per extraction: baseline selection, parse and retries share parser selections.
+            ParseContext parseContext = new ParseContext(invoiceParserFactory.getParsers());
+
             // Safe removal: Mercado Pago invoices are intentionally not supported.
             // Detect early (before baseline parser selection) to avoid misleading parser/due-date errors.
             if (looksLikeMercadoPagoInvoice(text)) {
@@ -129,7 +167,7 @@ public class ExtractionPipeline {
             // Identifica o parser baseado no texto do PDFBox para decidir políticas específicas.
             InvoiceParserStrategy baselineParser = null;
             try {
-                InvoiceParserSelector.Selection selection = InvoiceParserSelector.selectBest(invoiceParserFactory.getParsers(), text);
+                InvoiceParserSelector.Selection selection = parseContext.select(ParseContext.SOURCE_PDFBOX, text);
                 baselineParser = selection != null && selection.chosen() != null ? selection.chosen().parser() : null;
             } catch (Exception ignored) {
                 baselineParser = null;
@@ -170,7 +208,8 @@ public class ExtractionPipeline {
                     (text.length() > 500 ? text.substring(0, 500) : text));
 
             try {
-                ParseResult parseResult = parsePdfText(pdfBytes, text, dueDateFromRequest);
+                ParseResult parseResult = parsePdfText(pdfBytes, text,
+                        ocrAttempted ? ParseContext.SOURCE_OCR : ParseContext.SOURCE_PDFBOX, parseContext, dueDateFromRequest);
                 List<TransactionData> transactions = parseResult.getTransactions();
 
                 // Diagnostic: if the invoice total is present in the extracted text, log the comparison once.
@@ -193,7 +232,7 @@ public class ExtractionPipeline {
                         log.info("[InvoiceUpload][OCR] Skipping OCR empty-result retry for Itau/C6/Nubank/BB/Bradesco/Santander (disabled for these parsers)");
                     } else {
                         String ocrText = runOcrOrThrow(document);
-                        parseResult = parsePdfText(pdfBytes, ocrText, dueDateFromRequest);
+                        parseResult = parsePdfText(pdfBytes, ocrText, ParseContext.SOURCE_OCR, parseContext, dueDateFromRequest);
                         transactions = parseResult.getTransactions();
                         ocrAttempted = true;
                         text = ocrText;
@@ -209,11 +248,11 @@ public class ExtractionPipeline {
                         log.info("[OCR] Trigger: parsed transactions look garbled; retrying once with OCR...");
                         String ocrText = runOcrOrThrow(document);
                         ocrAttempted = true;
-                        ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, dueDateFromRequest);
+                        ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, ParseContext.SOURCE_OCR, parseContext, dueDateFromRequest);
                         List<TransactionData> ocrTransactions = ocrParseResult.getTransactions();
                         if (isOcrResultBetter(ocrTransactions, transactions)) {
                             logInvoiceTotalValidation("OCR", ocrText, ocrTransactions);
-                            return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest);
+                            return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest, parseContext);
                         }
                     }
                 }
@@ -228,7 +267,7 @@ public class ExtractionPipeline {
                         try {
                             String sortedText = pdfTextExtractor.extractTextSorted(document);
                             if (sortedText != null && !sortedText.isBlank()) {
-                                ParseResult sortedParseResult = parsePdfText(pdfBytes, sortedText, dueDateFromRequest);
+                                ParseResult sortedParseResult = parsePdfText(pdfBytes, sortedText, ParseContext.SOURCE_PDFBOX_SORTED, parseContext, dueDateFromRequest);
                                 List<TransactionData> sortedTransactions = sortedParseResult.getTransactions();
 
                                 BigDecimal expected = extractInvoiceExpectedTotal(text);
@@ -239,7 +278,7 @@ public class ExtractionPipeline {
                                 if (expected != null
                                         && isOcrResultBetterForMissingTransactions(sortedTransactions, transactions, expected)) {
                                     logInvoiceTotalValidation("PDFBox-sorted", sortedText, sortedTransactions);
-                                    return finalizeResultWithAdobeFallback(sortedParseResult, sortedText, "PDFBox-sorted", false, pdfBytes, dueDateFromRequest);
+                                    return finalizeResultWithAdobeFallback(sortedParseResult, sortedText, "PDFBox-sorted", false, pdfBytes, dueDateFromRequest, parseContext);
                                 }
                             }
                         } catch (Exception e) {
@@ -249,7 +288,7 @@ public class ExtractionPipeline {
                         log.info("[OCR] Trigger: possible missing transactions (total mismatch); retrying once with OCR...");
                         String ocrText = runOcrOrThrow(document);
                         ocrAttempted = true;
-                        ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, dueDateFromRequest);
+                        ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, ParseContext.SOURCE_OCR, parseContext, dueDateFromRequest);
                         List<TransactionData> ocrTransactions = ocrParseResult.getTransactions();
 
                         BigDecimal expected = extractInvoiceExpectedTotal(text);
@@ -259,14 +298,14 @@ public class ExtractionPipeline {
 
                         if (expected != null && isOcrResultBetterForMissingTransactions(ocrTransactions, transactions, expected)) {
                             logInvoiceTotalValidation("OCR", ocrText, ocrTransactions);
-                            return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest);
+                            return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest, parseContext);
                         }
                     }
                 }
 
                 String source = ocrAttempted ? "OCR" : "PDFBox";
                 logInvoiceTotalValidation(source, text, transactions);
-                return finalizeResultWithAdobeFallback(parseResult, text, source, ocrAttempted, pdfBytes, dueDateFromRequest);
+                return finalizeResultWithAdobeFallback(parseResult, text, source, ocrAttempted, pdfBytes, dueDateFromRequest, parseContext);
             } catch (IllegalArgumentException e) {
                 // If parsing fails (missing due date / unsupported layout / etc), retry once with OCR when enabled.
                 if (!ocrAttempted && ocrProperties.isEnabled()) {
@@ -278,10 +317,10 @@ public class ExtractionPipeline {
                     ocrAttempted = true;
                     String ocrText = runOcrOrThrow(document);
                     logDueDateSignalsIfEnabled("OCR-retry", ocrText);
-                    ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, dueDateFromRequest);
+                    ParseResult ocrParseResult = parsePdfText(pdfBytes, ocrText, ParseContext.SOURCE_OCR, parseContext, dueDateFromRequest);
                     List<TransactionData> parsed = ocrParseResult.getTransactions();
                     logInvoiceTotalValidation("OCR", ocrText, parsed);
-                    return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest);
+                    return finalizeResultWithAdobeFallback(ocrParseResult, ocrText, "OCR", true, pdfBytes, dueDateFromRequest, parseContext);
                 }
                 throw e;
             }
@@ -333,7 +372,8 @@ public class ExtractionPipeline {
             String baseParseSource,
             boolean ocrAttempted,
             byte[] pdfBytes,
-            LocalDate dueDateFromRequest
+            LocalDate dueDateFromRequest,
+            ParseContext parseContext
     ) {
         ParseResult current = applyQualityScore(baseParseResult, baseRawText, baseParseSource);
         int currentScore = current.getQualityScore();
@@ -355,7 +395,7 @@ public class ExtractionPipeline {
 
             if (adobeText != null && !adobeText.isBlank()) {
                 try {
-                    adobeParse = parsePdfText(pdfBytes, adobeText, dueDateFromRequest);
+                    adobeParse = parsePdfText(pdfBytes, adobeText, ParseContext.SOURCE_ADOBE, parseContext, dueDateFromRequest);
                     adobeParse = applyQualityScore(adobeParse, adobeText, "Adobe");
                     adobeScore = adobeParse.getQualityScore();
                     log.info("[ExtractionPipeline] Adobe parsing concluído com score: {}", adobeScore);
@@ -382,6 +422,9 @@ public class ExtractionPipeline {
             }
         }
 
+        log.info("[ExtractionPipeline] Parser selection memo: hits={} misses={}",
+                parseContext.hits(), parseContext.misses());
+
         validateOrThrow(chosen);
         return new ExtractionResult(chosen, chosenText, topLevelSource, ocrAttempted, fallbackDecision);
     }
@@ -616,10 +659,18 @@ public class ExtractionPipeline {
         }
     }
 
-    private ParseResult parsePdfText(byte[] pdfBytes, String text, LocalDate dueDateFromRequest) {
+    private ParseResult parsePdfText(
+            byte[] pdfBytes,
+            String text,
+            String source,
+            ParseContext parseContext,
+            LocalDate dueDateFromRequest
+    ) {
         return parserParent.parse(
                 pdfBytes,
                 text,
+                source,
+                parseContext,
                 dueDateFromRequest,
                 this::tryExtractDueDateFallback,
                 ExtractionPipeline::looksLikeMercadoPagoInvoice
@@ -629,9 +680,7 @@ public class ExtractionPipeline {
     private static boolean looksLikeMercadoPagoInvoice(String text) {
         if (text == null || text.isBlank()) return false;
 
-        String n = com.ella.backend.services.invoices.util.NormalizeUtil.normalize(text)
-            .replaceAll("\\s+", " ")
-            .trim();
+        String n = com.ella.backend.services.invoices.util.NormalizeUtil.normalize(text);
 
         // Avoid false positives from merchant lines like "MERCADOPAGO *XYZ" inside other banks.
         boolean hasBrand = n.contains("mercado pago") || n.contains("mercadopago");
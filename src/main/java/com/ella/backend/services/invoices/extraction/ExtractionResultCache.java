@@ -0,0 +1,217 @@
+package com.ella.backend.services.invoices.extraction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ella.backend.entities.InvoiceExtractionCacheEntry;
+import com.ella.backend.enums.TransactionScope;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.repositories.InvoiceExtractionCacheRepository;
+import com.ella.backend.services.invoices.parsers.ParseResult;
+import com.ella.backend.services.invoices.parsers.TransactionData;
+import com.ella.backend.services.invoices.util.Sha256;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed cache of {@link ExtractionResult}s.
+ *
+ * Key: file SHA-256 + {@link #PARSER_VERSION} + a digest of the dueDate override.
+ * Password-protected files are never cached: an entry is shared by everyone uploading the same
+ * file and holds the decrypted text, and a key derived from the password could be brute-forced.
+ *
+ * Entries hold raw invoice text and transactions, so they are deleted once past the TTL (or once
+ * another parser build is running) instead of only being ignored on read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExtractionResultCache {
+
+    /**
+     * Derived from the compiled parser/extraction code (see {@link ParserBuildFingerprint}), so a
+     * build that changes how PDFs are parsed never reuses results of the previous one.
+     */
+    public static final String PARSER_VERSION = ParserBuildFingerprint.compute();
+
+    private final InvoiceExtractionCacheRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ella.invoice.extraction-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ella.invoice.extraction-cache.ttl-days:30}")
+    private int ttlDays = 30;
+
+    public record Key(String fileSha256, String variantKey) {
+    }
+
+    /**
+     * @return null (not cacheable) for empty input or a password-protected upload
+     */
+    public Key keyFor(byte[] pdfBytes, String password, String dueDateOverride) {
+        if (password != null && !password.isBlank()) return null;
+        String fileSha256 = Sha256.hex(pdfBytes);
+        if (fileSha256 == null) return null;
+        String variant = Sha256.hex(fileSha256 + "|" + blankToEmpty(dueDateOverride).trim());
+        return new Key(fileSha256, variant);
+    }
+
+    public Optional<ExtractionResult> find(Key key) {
+        if (!enabled || key == null) return Optional.empty();
+        try {
+            Optional<InvoiceExtractionCacheEntry> entry = repository
+                    .findByFileSha256AndParserVersionAndVariantKey(key.fileSha256(), PARSER_VERSION, key.variantKey());
+            if (entry.isEmpty()) return Optional.empty();
+
+            InvoiceExtractionCacheEntry e = entry.get();
+            if (isExpired(e)) return Optional.empty();
+
+            CachedExtraction cached = objectMapper.readValue(e.getResultJson(), CachedExtraction.class);
+            log.info("[ExtractionCache] HIT sha256={} source={} txCount={}",
+                    key.fileSha256(), cached.source(), cached.transactions() == null ? 0 : cached.transactions().size());
+            return Optional.of(cached.toResult());
+        } catch (Exception ex) {
+            log.warn("[ExtractionCache] lookup failed sha256={}: {}", key.fileSha256(), ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores in its own transaction: the upload transaction may still roll back on a persistence
+     * error, and the retry should hit the cache anyway.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void store(Key key, ExtractionResult result) {
+        if (!enabled || key == null || result == null || result.parseResult() == null) return;
+        try {
+            InvoiceExtractionCacheEntry entry = repository
+                    .findByFileSha256AndParserVersionAndVariantKey(key.fileSha256(), PARSER_VERSION, key.variantKey())
+                    .orElseGet(InvoiceExtractionCacheEntry::new);
+            entry.setFileSha256(key.fileSha256());
+            entry.setParserVersion(PARSER_VERSION);
+            entry.setVariantKey(key.variantKey());
+            entry.setSource(result.source());
+            entry.setResultJson(objectMapper.writeValueAsString(CachedExtraction.of(result)));
+            entry.setCreatedAt(LocalDateTime.now());
+            repository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent upload of the same file already stored it.
+            log.debug("[ExtractionCache] concurrent store ignored sha256={}", key.fileSha256());
+        } catch (Exception e) {
+            log.warn("[ExtractionCache] store failed sha256={}: {}", key.fileSha256(), e.toString());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${ella.invoice.extraction-cache.purge-interval-ms:3600000}",
+            fixedDelayString = "${ella.invoice.extraction-cache.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime cutoff = expiryCutoff();
+        int purged = repository.deleteExpiredOrOtherVersion(cutoff, PARSER_VERSION);
+        if (purged > 0) {
+            log.info("[ExtractionCache] Purged entries={} cutoff={} parserVersion={}", purged, cutoff, PARSER_VERSION);
+        }
+    }
+
+    private LocalDateTime expiryCutoff() {
+        return LocalDateTime.now().minusDays(Math.max(1, ttlDays));
+    }
+
+    private boolean isExpired(InvoiceExtractionCacheEntry entry) {
+        return entry.getCreatedAt() != null && entry.getCreatedAt().isBefore(expiryCutoff());
+    }
+
+    private static String blankToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    record CachedTransaction(
+            String description,
+            BigDecimal amount,
+            TransactionType type,
+            TransactionScope scope,
+            String category,
+            LocalDate date,
+            LocalDate dueDate,
+            String cardName,
+            String cardholderName,
+            Integer installmentNumber,
+            Integer installmentTotal
+    ) {
+        static CachedTransaction of(TransactionData tx) {
+            return new CachedTransaction(tx.description, tx.amount, tx.type, tx.scope, tx.category, tx.date,
+                    tx.dueDate, tx.cardName, tx.cardholderName, tx.installmentNumber, tx.installmentTotal);
+        }
+
+        TransactionData toTransactionData() {
+            TransactionData tx = new TransactionData(description, amount, type, category, date, cardName, scope);
+            tx.setDueDate(dueDate);
+            tx.setCardholderName(cardholderName);
+            tx.installmentNumber = installmentNumber;
+            tx.installmentTotal = installmentTotal;
+            return tx;
+        }
+    }
+
+    record CachedExtraction(
+            String source,
+            boolean ocrAttempted,
+            String fallbackDecision,
+            String rawText,
+            List<CachedTransaction> transactions,
+            List<String> unmatchedTransactions,
+            LocalDate dueDate,
+            BigDecimal totalAmount,
+            String cardLastDigits,
+            String bankName,
+            int qualityScore,
+            String parseSource
+    ) {
+        static CachedExtraction of(ExtractionResult result) {
+            ParseResult p = result.parseResult();
+            List<CachedTransaction> txs = new ArrayList<>();
+            for (TransactionData tx : result.transactions()) {
+                if (tx != null) txs.add(CachedTransaction.of(tx));
+            }
+            return new CachedExtraction(result.source(), result.ocrAttempted(), result.fallbackDecision(),
+                    result.rawText(), txs, p.getUnmatchedTransactions(), p.getDueDate(), p.getTotalAmount(),
+                    p.getCardLastDigits(), p.getBankName(), p.getQualityScore(), p.getSource());
+        }
+
+        ExtractionResult toResult() {
+            List<TransactionData> txs = new ArrayList<>();
+            if (transactions != null) {
+                for (CachedTransaction tx : transactions) {
+                    txs.add(tx.toTransactionData());
+                }
+            }
+            ParseResult parseResult = ParseResult.builder()
+                    .transactions(txs)
+                    .unmatchedTransactions(unmatchedTransactions)
+                    .dueDate(dueDate)
+                    .totalAmount(totalAmount)
+                    .cardLastDigits(cardLastDigits)
+                    .bankName(bankName)
+                    .qualityScore(qualityScore)
+                    .source(parseSource)
+                    .rawText(rawText)
+                    .build();
+            return new ExtractionResult(parseResult, rawText, source, ocrAttempted, fallbackDecision);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ella.backend.services.invoices.extraction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ella.backend.services.invoices.parsers.InvoiceParserSelector;
+import com.ella.backend.services.invoices.parsers.InvoiceParserStrategy;
+
+/**
+ * Per-extraction memo of parser selections.
+ *
+ * The pipeline selects a baseline parser (OCR-skip policy), then parses the same text, and every
+ * retry (OCR, PDFBox-sorted, Adobe) parses again. This keeps {@link InvoiceParserSelector#selectBest}
+ * to one run per (source, text), including "unsupported layout" failures.
+ *
+ * Not thread-safe: create one per {@code extractFromPdfBytes} call.
+ */
+public final class ParseContext {
+
+    public static final String SOURCE_PDFBOX = "PDFBox";
+    public static final String SOURCE_PDFBOX_SORTED = "PDFBox-sorted";
+    public static final String SOURCE_OCR = "OCR";
+    public static final String SOURCE_ADOBE = "Adobe";
+
+    private final List<InvoiceParserStrategy> parsers;
+    private final Map<String, Entry> selections = new HashMap<>();
+
+    private int hits;
+    private int misses;
+
+    public ParseContext(List<InvoiceParserStrategy> parsers) {
+        this.parsers = parsers;
+    }
+
+    public InvoiceParserSelector.Selection select(String source, String text) {
+        String t = text == null ? "" : text;
+        String key = source == null ? "" : source;
+
+        Entry cached = selections.get(key);
+        if (cached != null && (cached.text == t || cached.text.equals(t))) {
+            hits++;
+            return cached.unwrap();
+        }
+
+        misses++;
+        Entry entry;
+        try {
+            entry = new Entry(t, InvoiceParserSelector.selectBest(parsers, t), null);
+        } catch (RuntimeException e) {
+            entry = new Entry(t, null, e);
+        }
+        selections.put(key, entry);
+        return entry.unwrap();
+    }
+
+    public int hits() {
+        return hits;
+    }
+
+    public int misses() {
+        return misses;
+    }
+
+    private record Entry(String text, InvoiceParserSelector.Selection selection, RuntimeException failure) {
+        InvoiceParserSelector.Selection unwrap() {
+            if (failure != null) throw failure;
+            return selection;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ella.backend.services.invoices.extraction;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version of the code that turns a PDF into a {@link ExtractionResult}, derived from the build:
+ * a digest over the compiled classes of the parsing, extraction, normalization and OCR packages.
+ * Any change there (a parser, the text normalizer, the category mapper...) changes the digest, so
+ * results cached by a previous build stop matching without anyone bumping a constant.
+ */
+@Slf4j
+final class ParserBuildFingerprint {
+
+    private static final String BASE = "com/ella/backend/";
+
+    private static final String[] PATTERNS = {
+            "classpath*:" + BASE + "services/invoices/parsers/**/*.class",
+            "classpath*:" + BASE + "services/invoices/extraction/**/*.class",
+            "classpath*:" + BASE + "services/invoices/quality/**/*.class",
+            "classpath*:" + BASE + "services/invoices/util/**/*.class",
+            "classpath*:" + BASE + "services/ocr/**/*.class",
+    };
+
+    private ParserBuildFingerprint() {
+    }
+
+    static String compute() {
+        try {
+            PathMatchingResourcePatternResolver resolver =
+                    new PathMatchingResourcePatternResolver(ParserBuildFingerprint.class.getClassLoader());
+
+            // Keyed by package-relative path so the digest does not depend on where the jar lives.
+            Map<String, Resource> classes = new TreeMap<>();
+            for (String pattern : PATTERNS) {
+                for (Resource resource : resolver.getResources(pattern)) {
+                    String url = resource.getURL().toString();
+                    int at = url.lastIndexOf(BASE);
+                    classes.put(at >= 0 ? url.substring(at) : url, resource);
+                }
+            }
+            if (classes.isEmpty()) {
+                return unknown("no classes found");
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, Resource> entry : classes.entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = entry.getValue().getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            String version = "b-" + HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+            log.info("[ExtractionCache] parser build fingerprint={} classes={}", version, classes.size());
+            return version;
+        } catch (Exception e) {
+            return unknown(e.toString());
+        }
+    }
+
+    /**
+     * Unique per process: the cache just misses instead of serving results of unknown parser code.
+     */
+    private static String unknown(String reason) {
+        log.warn("[ExtractionCache] could not fingerprint parser classes ({}); cache entries will not be reused", reason);
+        return "u-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
+}
@@ -7,9 +7,25 @@ import java.util.function.Predicate;
 import com.ella.backend.services.invoices.parsers.ParseResult;
 
 public interface ParserParent {
+    default ParseResult parse(
+            byte[] pdfBytes,
+            String text,
+            LocalDate dueDateFromRequest,
+            Function<String, LocalDate> dueDateFallbackExtractor,
+            Predicate<String> unsupportedInvoiceDetector
+    ) {
+        return parse(pdfBytes, text, null, null, dueDateFromRequest, dueDateFallbackExtractor, unsupportedInvoiceDetector);
+    }
+
+    /**
+     * Same as above, but reuses the parser selection memoized in {@code context} for
+     * {@code (source, text)}. A {@code null} context selects from scratch.
+     */
     ParseResult parse(
             byte[] pdfBytes,
             String text,
+            String source,
+            ParseContext context,
             LocalDate dueDateFromRequest,
             Function<String, LocalDate> dueDateFallbackExtractor,
             Predicate<String> unsupportedInvoiceDetector
@@ -10,6 +10,7 @@ import java.util.function.Predicate;
 import org.springframework.stereotype.Component;
 
 import com.ella.backend.services.invoices.InvoiceParsingException;
+import com.ella.backend.services.invoices.extraction.ParseContext;
 import com.ella.backend.services.invoices.extraction.ParserParent;
 import com.ella.backend.services.invoices.parsers.InvoiceParserFactory;
 import com.ella.backend.services.invoices.parsers.InvoiceParserSelector;
@@ -37,6 +38,8 @@ public class InvoiceParsingCore implements ParserParent {
     public ParseResult parse(
             byte[] pdfBytes,
             String text,
+            String source,
+            ParseContext context,
             LocalDate dueDateFromRequest,
             Function<String, LocalDate> dueDateFallbackExtractor,
             Predicate<String> unsupportedInvoiceDetector
@@ -47,14 +50,19 @@ public class InvoiceParsingCore implements ParserParent {
             throw new InvoiceParsingException(UNSUPPORTED_MERCADO_PAGO_MESSAGE);
         }
 
-        InvoiceParserSelector.Selection selection = InvoiceParserSelector.selectBest(invoiceParserFactory.getParsers(), normalizedText);
+        InvoiceParserSelector.Selection selection = context != null
+                ? context.select(source, normalizedText)
+                : InvoiceParserSelector.selectBest(invoiceParserFactory.getParsers(), normalizedText);
         InvoiceParserSelector.Candidate chosen = selection.chosen();
         InvoiceParserStrategy parser = chosen.parser();
 
         LocalDate dueDate = chosen.dueDate();
         List<TransactionData> transactions = chosen.transactions();
 
-        if (parser instanceof PdfAwareInvoiceParser pdfAware) {
+        if (parser instanceof PdfAwareInvoiceParser pdfAware && !pdfAware.isPdfParsingAvailable()) {
+            log.warn("[InvoiceUpload] Pdf-aware parse skipped for parser={}: remote extractor circuit open, using text parser",
+                    parser.getClass().getSimpleName());
+        } else if (parser instanceof PdfAwareInvoiceParser pdfAware) {
             try {
                 ParseResult pdfParse = pdfAware.parseWithPdf(pdfBytes, normalizedText);
                 if (pdfParse != null && pdfParse.getDueDate() != null) {
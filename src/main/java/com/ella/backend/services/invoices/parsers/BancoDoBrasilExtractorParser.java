@@ -40,6 +40,11 @@ public class BancoDoBrasilExtractorParser implements InvoiceParserStrategy, PdfA
         return fallbackTextParser.extractTransactions(text);
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorClient.PATH_BANCO_DO_BRASIL);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         try {
@@ -10,6 +10,7 @@ import java.util.Objects;
 import com.ella.backend.enums.TransactionScope;
 import com.ella.backend.enums.TransactionType;
 import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 /**
  * Parser específico para o novo layout Bradesco "Fatura Mensal" (v1).
@@ -37,9 +38,14 @@ public class BradescoFaturaMensalV1InvoiceParser implements InvoiceParserStrateg
 
     @Override
     public boolean isApplicable(String text) {
-        if (text == null || text.isBlank()) return false;
+        return isApplicable(NormalizedText.of(text));
+    }
+
+    @Override
+    public boolean isApplicable(NormalizedText text) {
+        if (text.isBlank()) return false;
 
-        String n = NormalizeUtil.normalize(text);
+        String n = text.normalized();
 
         boolean hasBradescoMarker = n.contains("bradesco")
                 || n.contains("banco bradesco")
@@ -98,6 +104,11 @@ public class BradescoFaturaMensalV1InvoiceParser implements InvoiceParserStrateg
         return txs;
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorBradescoFaturaMensalV1Client.PATH_BRADESCO_FATURA_MENSAL_V1);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         EllaExtractorBradescoFaturaMensalV1Client.BradescoFaturaMensalV1Response resp = client.parseBradescoFaturaMensalV1(pdfBytes);
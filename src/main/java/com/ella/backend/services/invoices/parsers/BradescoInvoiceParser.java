@@ -12,7 +12,7 @@ import java.util.regex.Pattern;
 
 import com.ella.backend.enums.TransactionScope;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 public class BradescoInvoiceParser implements InvoiceParserStrategy {
 
@@ -47,9 +47,14 @@ public class BradescoInvoiceParser implements InvoiceParserStrategy {
 
     @Override
     public boolean isApplicable(String text) {
-        if (text == null || text.isBlank()) return false;
+        return isApplicable(NormalizedText.of(text));
+    }
+
+    @Override
+    public boolean isApplicable(NormalizedText text) {
+        if (text.isBlank()) return false;
 
-        String n = NormalizeUtil.normalize(text);
+        String n = text.normalized();
 
         // ✅ KEYWORDS FORTES DE BRADESCO (pelo menos 1 deve estar presente)
         boolean hasBradescoMarker = n.contains("bradesco")
@@ -45,6 +45,11 @@ public class C6ExtractorParser implements InvoiceParserStrategy, PdfAwareInvoice
         return fallbackTextParser.extractTransactions(text);
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorClient.PATH_C6_INVOICE);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         try {
@@ -16,6 +16,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.ella.backend.config.ExtractorRestTemplates;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -30,8 +31,13 @@ public class EllaExtractorBradescoFaturaMensalV1Client {
 
     private static final String DEFAULT_BASE_URL = "http://localhost:8000";
 
+    static final String CLIENT_NAME = "bradesco-fatura-mensal-v1";
+
+    public static final String PATH_BRADESCO_FATURA_MENSAL_V1 = "/parse/bradesco-fatura-mensal-v1";
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final ExtractorRestTemplates restTemplates;
 
     public EllaExtractorBradescoFaturaMensalV1Client() {
         this(DEFAULT_BASE_URL, createDefaultRestTemplate());
@@ -41,12 +47,21 @@ public class EllaExtractorBradescoFaturaMensalV1Client {
         this(baseUrl, createDefaultRestTemplate());
     }
 
+    public EllaExtractorBradescoFaturaMensalV1Client(String baseUrl, ExtractorRestTemplates restTemplates) {
+        this(baseUrl, restTemplates.get(CLIENT_NAME, TIMEOUT), restTemplates);
+    }
+
     EllaExtractorBradescoFaturaMensalV1Client(RestTemplate restTemplate) {
         this(DEFAULT_BASE_URL, restTemplate);
     }
 
     EllaExtractorBradescoFaturaMensalV1Client(String baseUrl, RestTemplate restTemplate) {
+        this(baseUrl, restTemplate, null);
+    }
+
+    private EllaExtractorBradescoFaturaMensalV1Client(String baseUrl, RestTemplate restTemplate, ExtractorRestTemplates restTemplates) {
         this.restTemplate = restTemplate;
+        this.restTemplates = restTemplates;
         String url = (baseUrl != null && !baseUrl.isBlank()) ? baseUrl.trim() : DEFAULT_BASE_URL;
         if (url.endsWith("/")) url = url.substring(0, url.length() - 1);
         this.baseUrl = url;
@@ -63,7 +78,7 @@ public class EllaExtractorBradescoFaturaMensalV1Client {
                 : "";
         log.info("[EllaExtractorBradescoFaturaMensalV1Client] Sending PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/bradesco-fatura-mensal-v1";
+        String url = baseUrl + PATH_BRADESCO_FATURA_MENSAL_V1;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -97,6 +112,13 @@ public class EllaExtractorBradescoFaturaMensalV1Client {
         }
     }
 
+    /**
+     * False while the circuit for {@code endpoint} is open (ella-extractor failing or too slow).
+     */
+    public boolean isAvailable(String endpoint) {
+        return restTemplates == null || restTemplates.isCallPermitted(CLIENT_NAME, endpoint);
+    }
+
     private static RestTemplate createDefaultRestTemplate() {
         SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
         f.setConnectTimeout((int) TIMEOUT.toMillis());
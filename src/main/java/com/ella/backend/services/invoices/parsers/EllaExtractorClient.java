@@ -16,6 +16,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.ella.backend.config.ExtractorRestTemplates;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -29,8 +30,17 @@ public class EllaExtractorClient {
 
     private static final String DEFAULT_BASE_URL = "http://localhost:8000";
 
+    static final String CLIENT_NAME = "ella-extractor";
+
+    public static final String PATH_ITAU_PERSONNALITE = "/parse/itau-personnalite";
+    public static final String PATH_SICREDI = "/parse/sicredi";
+    public static final String PATH_SANTANDER = "/parse/santander";
+    public static final String PATH_BANCO_DO_BRASIL = "/parse/banco-do-brasil";
+    public static final String PATH_C6_INVOICE = "/parse/c6-invoice";
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final ExtractorRestTemplates restTemplates;
 
     public EllaExtractorClient() {
         this(DEFAULT_BASE_URL, createDefaultRestTemplate());
@@ -40,12 +50,21 @@ public class EllaExtractorClient {
         this(baseUrl, createDefaultRestTemplate());
     }
 
+    public EllaExtractorClient(String baseUrl, ExtractorRestTemplates restTemplates) {
+        this(baseUrl, restTemplates.get(CLIENT_NAME, TIMEOUT), restTemplates);
+    }
+
     EllaExtractorClient(RestTemplate restTemplate) {
         this(DEFAULT_BASE_URL, restTemplate);
     }
 
     EllaExtractorClient(String baseUrl, RestTemplate restTemplate) {
+        this(baseUrl, restTemplate, null);
+    }
+
+    private EllaExtractorClient(String baseUrl, RestTemplate restTemplate, ExtractorRestTemplates restTemplates) {
         this.restTemplate = restTemplate;
+        this.restTemplates = restTemplates;
         String url = (baseUrl != null && !baseUrl.isBlank()) ? baseUrl.trim() : DEFAULT_BASE_URL;
         if (url.endsWith("/")) url = url.substring(0, url.length() - 1);
         this.baseUrl = url;
@@ -62,7 +81,7 @@ public class EllaExtractorClient {
                 : "";
         log.info("[EllaExtractorClient] Sending PDF to ella-extractor bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/itau-personnalite";
+        String url = baseUrl + PATH_ITAU_PERSONNALITE;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -105,7 +124,7 @@ public class EllaExtractorClient {
                 : "";
         log.info("[EllaExtractorClient] Sending Sicredi PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/sicredi";
+        String url = baseUrl + PATH_SICREDI;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -148,7 +167,7 @@ public class EllaExtractorClient {
                 : "";
         log.info("[EllaExtractorClient] Sending Santander PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/santander";
+        String url = baseUrl + PATH_SANTANDER;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -191,7 +210,7 @@ public class EllaExtractorClient {
                 : "";
         log.info("[EllaExtractorClient] Sending BB PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/banco-do-brasil";
+        String url = baseUrl + PATH_BANCO_DO_BRASIL;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -234,7 +253,7 @@ public class EllaExtractorClient {
                 : "";
         log.info("[EllaExtractorClient] Sending C6 invoice PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/c6-invoice";
+        String url = baseUrl + PATH_C6_INVOICE;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -267,6 +286,13 @@ public class EllaExtractorClient {
         }
     }
 
+    /**
+     * False while the circuit for {@code endpoint} is open (ella-extractor failing or too slow).
+     */
+    public boolean isAvailable(String endpoint) {
+        return restTemplates == null || restTemplates.isCallPermitted(CLIENT_NAME, endpoint);
+    }
+
     private static RestTemplate createDefaultRestTemplate() {
         SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
         f.setConnectTimeout((int) TIMEOUT.toMillis());
@@ -16,6 +16,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.ella.backend.config.ExtractorRestTemplates;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -30,8 +31,13 @@ public class EllaExtractorLatamPassClient {
 
     private static final String DEFAULT_BASE_URL = "http://localhost:8000";
 
+    static final String CLIENT_NAME = "latam-pass";
+
+    public static final String PATH_ITAU_LATAM_PASS = "/parse/itau-latam-pass";
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final ExtractorRestTemplates restTemplates;
 
     public EllaExtractorLatamPassClient() {
         this(DEFAULT_BASE_URL, createDefaultRestTemplate());
@@ -41,12 +47,21 @@ public class EllaExtractorLatamPassClient {
         this(baseUrl, createDefaultRestTemplate());
     }
 
+    public EllaExtractorLatamPassClient(String baseUrl, ExtractorRestTemplates restTemplates) {
+        this(baseUrl, restTemplates.get(CLIENT_NAME, TIMEOUT), restTemplates);
+    }
+
     EllaExtractorLatamPassClient(RestTemplate restTemplate) {
         this(DEFAULT_BASE_URL, restTemplate);
     }
 
     EllaExtractorLatamPassClient(String baseUrl, RestTemplate restTemplate) {
+        this(baseUrl, restTemplate, null);
+    }
+
+    private EllaExtractorLatamPassClient(String baseUrl, RestTemplate restTemplate, ExtractorRestTemplates restTemplates) {
         this.restTemplate = restTemplate;
+        this.restTemplates = restTemplates;
         String url = (baseUrl != null && !baseUrl.isBlank()) ? baseUrl.trim() : DEFAULT_BASE_URL;
         if (url.endsWith("/")) url = url.substring(0, url.length() - 1);
         this.baseUrl = url;
@@ -63,7 +78,7 @@ public class EllaExtractorLatamPassClient {
                 : "";
         log.info("[EllaExtractorLatamPassClient] Sending PDF bytes={} magic={} url={}", pdfBytes.length, magic, baseUrl);
 
-        String url = baseUrl + "/parse/itau-latam-pass";
+        String url = baseUrl + PATH_ITAU_LATAM_PASS;
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         ByteArrayResource resource = new ByteArrayResource(pdfBytes) {
@@ -97,6 +112,13 @@ public class EllaExtractorLatamPassClient {
         }
     }
 
+    /**
+     * False while the circuit for {@code endpoint} is open (ella-extractor failing or too slow).
+     */
+    public boolean isAvailable(String endpoint) {
+        return restTemplates == null || restTemplates.isCallPermitted(CLIENT_NAME, endpoint);
+    }
+
     private static RestTemplate createDefaultRestTemplate() {
         SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
         f.setConnectTimeout((int) TIMEOUT.toMillis());
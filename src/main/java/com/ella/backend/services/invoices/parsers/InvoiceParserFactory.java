@@ -5,9 +5,12 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.ella.backend.config.ExtractorRestTemplates;
+
 @Component
 public class InvoiceParserFactory {
 
@@ -15,11 +18,25 @@ public class InvoiceParserFactory {
 
     private final List<InvoiceParserStrategy> parsers;
 
-    public InvoiceParserFactory(@Value("${ella.extractor.base-url:http://localhost:8000}") String ellaExtractorBaseUrl) {
+    public InvoiceParserFactory(String ellaExtractorBaseUrl) {
+        this(ellaExtractorBaseUrl, null);
+    }
+
+    @Autowired
+    public InvoiceParserFactory(
+            @Value("${ella.extractor.base-url:http://localhost:8000}") String ellaExtractorBaseUrl,
+            ExtractorRestTemplates restTemplates
+    ) {
         log.info("[InvoiceParserFactory] Using ella.extractor.base-url={}", ellaExtractorBaseUrl);
-        EllaExtractorClient extractorClient = new EllaExtractorClient(ellaExtractorBaseUrl);
-        EllaExtractorLatamPassClient latamPassClient = new EllaExtractorLatamPassClient(ellaExtractorBaseUrl);
-        EllaExtractorBradescoFaturaMensalV1Client bradescoFaturaMensalV1Client = new EllaExtractorBradescoFaturaMensalV1Client(ellaExtractorBaseUrl);
+        EllaExtractorClient extractorClient = restTemplates != null
+                ? new EllaExtractorClient(ellaExtractorBaseUrl, restTemplates)
+                : new EllaExtractorClient(ellaExtractorBaseUrl);
+        EllaExtractorLatamPassClient latamPassClient = restTemplates != null
+                ? new EllaExtractorLatamPassClient(ellaExtractorBaseUrl, restTemplates)
+                : new EllaExtractorLatamPassClient(ellaExtractorBaseUrl);
+        EllaExtractorBradescoFaturaMensalV1Client bradescoFaturaMensalV1Client = restTemplates != null
+                ? new EllaExtractorBradescoFaturaMensalV1Client(ellaExtractorBaseUrl, restTemplates)
+                : new EllaExtractorBradescoFaturaMensalV1Client(ellaExtractorBaseUrl);
         this.parsers = List.of(
                 // More specific parsers first
             new ItauLatamPassInvoiceParser(latamPassClient),
@@ -7,7 +7,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 /**
  * Centralizes parser selection so we can unit-test and avoid regressions.
@@ -35,7 +35,92 @@ public final class InvoiceParserSelector {
     ) {
     }
 
+    /**
+     * Staged selection: a cheap applicability pass over every parser first, then the full
+     * due-date + transaction extraction only for the shortlisted (applicable) parsers.
+     *
+     * An applicable parser always outscores a non-applicable one (see {@link #scoreCandidate}),
+     * so skipping the extraction of non-applicable parsers never changes the winner. When exactly
+     * one parser is applicable it short-circuits to a single extraction. Only when nothing is
+     * applicable do we fall back to evaluating every parser, like the exhaustive selector did.
+     */
     public static Selection selectBest(List<InvoiceParserStrategy> parsers, String text) {
+        return selectBest(parsers, NormalizedText.of(text));
+    }
+
+    /**
+     * Same as {@link #selectBest(List, String)} over a text normalized once by the caller: the Itaú
+     * guardrail and every parser's applicability check share {@code text.normalized()}.
+     */
+    public static Selection selectBest(List<InvoiceParserStrategy> parsers, NormalizedText text) {
+        NormalizedText nt = text == null ? NormalizedText.of(null) : text;
+        String t = nt.original();
+
+        if (parsers == null || parsers.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum parser de fatura está configurado.");
+        }
+
+        int size = parsers.size();
+        Candidate[] candidates = new Candidate[size];
+        boolean[] applicable = new boolean[size];
+        int applicableCount = 0;
+        Boolean itauInvoice = null;
+
+        // Stage 1: applicability fingerprint only.
+        for (int i = 0; i < size; i++) {
+            InvoiceParserStrategy parser = parsers.get(i);
+            if (parser == null) continue;
+
+            if (parser instanceof BradescoInvoiceParser) {
+                if (itauInvoice == null) {
+                    itauInvoice = looksLikeItauInvoice(nt);
+                }
+                if (itauInvoice) {
+                    candidates[i] = guardrailSkip(parser);
+                    continue;
+                }
+            }
+
+            try {
+                applicable[i] = parser.isApplicable(nt);
+            } catch (Exception ignored) {
+            }
+            if (applicable[i]) applicableCount++;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("[InvoiceParserSelector] applicability pass: {} of {} parsers applicable", applicableCount, size);
+        }
+
+        // Stage 2: full extraction for the shortlist (or for everyone when nothing is applicable).
+        Candidate best = null;
+        List<Candidate> evaluated = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            InvoiceParserStrategy parser = parsers.get(i);
+            if (parser == null) continue;
+
+            Candidate candidate = candidates[i];
+            if (candidate == null) {
+                if (applicableCount > 0 && !applicable[i]) {
+                    candidate = new Candidate(parser, 0, false, null, 0, null);
+                } else {
+                    candidate = evaluate(parser, t, applicable[i]);
+                    if (best == null || candidate.score > best.score) {
+                        best = candidate;
+                    }
+                }
+            }
+            evaluated.add(candidate);
+        }
+
+        return finish(best, evaluated);
+    }
+
+    /**
+     * Reference implementation that runs the full extraction of every parser.
+     * Kept for equivalence tests and benchmarks against {@link #selectBest}.
+     */
+    static Selection selectBestExhaustive(List<InvoiceParserStrategy> parsers, String text) {
         String t = text == null ? "" : text;
 
         if (parsers == null || parsers.isEmpty()) {
@@ -48,15 +133,8 @@ public final class InvoiceParserSelector {
         for (InvoiceParserStrategy parser : parsers) {
             if (parser == null) continue;
 
-            // Guardrail: never let Bradesco win on clearly-Itaú PDFs.
-            // This happens because several parsers can extract a due date + generic dd/MM lines even when not applicable.
-            if (parser instanceof BradescoInvoiceParser && looksLikeItauInvoice(t)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("[InvoiceParserSelector] guardrail skip parser={} reason=looksLikeItauInvoice",
-                            parser.getClass().getSimpleName());
-                }
-                Candidate candidate = new Candidate(parser, 0, false, null, 0, null);
-                evaluated.add(candidate);
+            if (parser instanceof BradescoInvoiceParser && looksLikeItauInvoice(NormalizedText.of(t))) {
+                evaluated.add(guardrailSkip(parser));
                 continue;
             }
 
@@ -66,44 +144,63 @@ public final class InvoiceParserSelector {
             } catch (Exception ignored) {
             }
 
-            LocalDate dueDate = null;
-            try {
-                dueDate = parser.extractDueDate(t);
-            } catch (Exception ignored) {
-            }
+            Candidate candidate = evaluate(parser, t, applicable);
+            evaluated.add(candidate);
 
-            List<TransactionData> txs = null;
-            int txCount = 0;
-            try {
-                txs = parser.extractTransactions(t);
-                txCount = (txs == null ? 0 : txs.size());
-            } catch (Exception ignored) {
-                txs = null;
-                txCount = 0;
+            if (best == null || candidate.score > best.score) {
+                best = candidate;
             }
+        }
 
-            int score = scoreCandidate(applicable, dueDate, txCount);
+        return finish(best, evaluated);
+    }
 
-            // Prefer the more specific LATAM PASS parser when it matches.
-            // Rationale: the Personalité parser often extracts one extra "payment" line from the
-            // demonstrative section (e.g., "PAGAMENTO PIX"), increasing txCount and winning the
-            // selector score, even though that line must be ignored.
-            if (parser instanceof ItauLatamPassInvoiceParser && applicable) {
-                score += 25_000;
-            }
-            Candidate candidate = new Candidate(parser, score, applicable, dueDate, txCount, txs);
-            evaluated.add(candidate);
+    private static Candidate guardrailSkip(InvoiceParserStrategy parser) {
+        // Guardrail: never let Bradesco win on clearly-Itaú PDFs.
+        // This happens because several parsers can extract a due date + generic dd/MM lines even when not applicable.
+        if (log.isDebugEnabled()) {
+            log.debug("[InvoiceParserSelector] guardrail skip parser={} reason=looksLikeItauInvoice",
+                    parser.getClass().getSimpleName());
+        }
+        return new Candidate(parser, 0, false, null, 0, null);
+    }
 
-            if (log.isDebugEnabled()) {
-                log.debug("[InvoiceParserSelector] candidate parser={} applicable={} dueDate={} txCount={} score={}",
-                        parser.getClass().getSimpleName(), applicable, dueDate, txCount, score);
-            }
+    private static Candidate evaluate(InvoiceParserStrategy parser, String t, boolean applicable) {
+        LocalDate dueDate = null;
+        try {
+            dueDate = parser.extractDueDate(t);
+        } catch (Exception ignored) {
+        }
 
-            if (best == null || candidate.score > best.score) {
-                best = candidate;
-            }
+        List<TransactionData> txs = null;
+        int txCount = 0;
+        try {
+            txs = parser.extractTransactions(t);
+            txCount = (txs == null ? 0 : txs.size());
+        } catch (Exception ignored) {
+            txs = null;
+            txCount = 0;
         }
 
+        int score = scoreCandidate(applicable, dueDate, txCount);
+
+        // Prefer the more specific LATAM PASS parser when it matches.
+        // Rationale: the Personalité parser often extracts one extra "payment" line from the
+        // demonstrative section (e.g., "PAGAMENTO PIX"), increasing txCount and winning the
+        // selector score, even though that line must be ignored.
+        if (parser instanceof ItauLatamPassInvoiceParser && applicable) {
+            score += 25_000;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("[InvoiceParserSelector] candidate parser={} applicable={} dueDate={} txCount={} score={}",
+                    parser.getClass().getSimpleName(), applicable, dueDate, txCount, score);
+        }
+
+        return new Candidate(parser, score, applicable, dueDate, txCount, txs);
+    }
+
+    private static Selection finish(Candidate best, List<Candidate> evaluated) {
         if (best == null || best.score <= 0) {
             throw new IllegalArgumentException("Layout de fatura não suportado.");
         }
@@ -116,9 +213,9 @@ public final class InvoiceParserSelector {
         return new Selection(best, evaluated);
     }
 
-    private static boolean looksLikeItauInvoice(String text) {
-        if (text == null || text.isBlank()) return false;
-        String n = NormalizeUtil.normalize(text);
+    private static boolean looksLikeItauInvoice(NormalizedText text) {
+        if (text.isBlank()) return false;
+        String n = text.normalized();
 
         boolean hasItauBankMarker = n.contains("itau")
             || n.contains("banco itau")
@@ -3,9 +3,20 @@ package com.ella.backend.services.invoices.parsers;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.ella.backend.services.invoices.util.NormalizedText;
+
 public interface InvoiceParserStrategy {
     boolean isApplicable(String text);
 
+    /**
+     * Applicability check over a text normalized once per extraction (see {@link InvoiceParserSelector}).
+     * Parsers whose check runs on {@code NormalizeUtil.normalize(text)} override this to reuse
+     * {@link NormalizedText#normalized()} instead of normalizing again.
+     */
+    default boolean isApplicable(NormalizedText text) {
+        return isApplicable(text.original());
+    }
+
     LocalDate extractDueDate(String text);
 
     List<TransactionData> extractTransactions(String text);
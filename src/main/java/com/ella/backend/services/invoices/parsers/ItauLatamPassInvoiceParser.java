@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import com.ella.backend.enums.TransactionScope;
 import com.ella.backend.enums.TransactionType;
 import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 /**
  * Parser específico para faturas Itaú LATAM PASS.
@@ -51,9 +52,14 @@ public class ItauLatamPassInvoiceParser implements InvoiceParserStrategy, PdfAwa
 
     @Override
     public boolean isApplicable(String text) {
-        if (text == null || text.isBlank()) return false;
+        return isApplicable(NormalizedText.of(text));
+    }
+
+    @Override
+    public boolean isApplicable(NormalizedText text) {
+        if (text.isBlank()) return false;
 
-        String n = NormalizeUtil.normalize(text);
+        String n = text.normalized();
 
         // Must NOT steal Personalité/Personnalité.
         if (n.contains("personalite") || n.contains("personnalite")) {
@@ -208,6 +214,11 @@ public class ItauLatamPassInvoiceParser implements InvoiceParserStrategy, PdfAwa
         return haystack.toLowerCase().indexOf(needle.toLowerCase());
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorLatamPassClient.PATH_ITAU_LATAM_PASS);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         EllaExtractorLatamPassClient.ItauLatamPassResponse resp = client.parseItauLatamPass(pdfBytes);
@@ -17,7 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import com.ella.backend.enums.TransactionScope;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 /**
  * Parser específico para faturas Itaú Personalité.
@@ -81,25 +81,30 @@ public class ItauPersonaliteInvoiceParser implements InvoiceParserStrategy, PdfA
 
     @Override
     public boolean isApplicable(String text) {
-        if (text == null || text.isBlank()) return false;
+        return isApplicable(NormalizedText.of(text));
+    }
+
+    @Override
+    public boolean isApplicable(NormalizedText text) {
+        if (text.isBlank()) return false;
 
-        String n = NormalizeUtil.normalize(text);
+        String n = text.normalized();
 
         // A versão "n" é a única base confiável aqui: PDFBox pode perder acentos/letras e inserir quebras.
 
         // ✅ MARCADOR 1: Keywords Itaú (tolerante a acentos/variações)
-        boolean hasItauMarker = NormalizeUtil.containsKeyword(n, "itau")
-            || NormalizeUtil.containsKeyword(n, "banco itau")
-            || NormalizeUtil.containsKeyword(n, "itau unibanco")
-            || NormalizeUtil.containsKeyword(n, "unibanco")
-            || NormalizeUtil.containsKeyword(n, "itaucard")
-            || NormalizeUtil.containsKeyword(n, "itau card")
+        boolean hasItauMarker = n.contains("itau")
+            || n.contains("banco itau")
+            || n.contains("itau unibanco")
+            || n.contains("unibanco")
+            || n.contains("itaucard")
+            || n.contains("itau card")
             // PDFBox às vezes perde o 'u' em "Itaú" e vira "Ita ..."
-            || NormalizeUtil.containsKeyword(n, "ita unibanco")
-            || NormalizeUtil.containsKeyword(n, "ita cares")
-            || NormalizeUtil.containsKeyword(n, "itau cares")
-            || NormalizeUtil.containsKeyword(n, "itacares")
-            || NormalizeUtil.containsKeyword(n, "itaucares");
+            || n.contains("ita unibanco")
+            || n.contains("ita cares")
+            || n.contains("itau cares")
+            || n.contains("itacares")
+            || n.contains("itaucares");
 
         // Em algumas faturas o texto "Personnalité" pode estar apenas no logo/arte e não ser extraído pelo PDFBox.
         // Nesses casos, detectamos o layout Itaú (fatura) + marcadores premium como substituto.
@@ -111,8 +116,8 @@ public class ItauPersonaliteInvoiceParser implements InvoiceParserStrategy, PdfA
             || (n.contains("visa") && n.contains("infinite"));
 
         // ✅ MARCADOR 2: Keywords Personalité (tolerante a acentos)
-        boolean hasPersonaliteMarker = NormalizeUtil.containsKeyword(n, "personalite")
-            || NormalizeUtil.containsKeyword(n, "personnalite")
+        boolean hasPersonaliteMarker = n.contains("personalite")
+            || n.contains("personnalite")
             || PERSONALITE_LABEL.matcher(n).find()
             || PERSONNALITE_LABEL.matcher(n).find()
             || PERSONALITE_GARBLED.matcher(n).find();
@@ -311,6 +316,11 @@ public class ItauPersonaliteInvoiceParser implements InvoiceParserStrategy, PdfA
         return dedupeByInstallmentKey(transactions);
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return ellaExtractorClient.isAvailable(EllaExtractorClient.PATH_ITAU_PERSONNALITE);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         try {
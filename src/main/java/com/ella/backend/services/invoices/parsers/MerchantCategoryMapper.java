@@ -1,647 +1,189 @@
 package com.ella.backend.services.invoices.parsers;
 
 import java.text.Normalizer;
-
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.ella.backend.classification.rules.PatternAutomaton;
 import com.ella.backend.enums.TransactionType;
 
+/**
+ * Categoriza descrições de fatura pela tabela {@link MerchantCategoryRules}.
+ *
+ * Todos os needles da tabela são compilados uma vez em dois autômatos (texto normalizado e forma
+ * compacta); por linha de fatura o texto é percorrido uma vez por forma e as regras só consultam
+ * os bits dos needles encontrados, na ordem da tabela.
+ */
 final class MerchantCategoryMapper {
 
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern EC_PREFIX = Pattern.compile("\\bEC\\s*\\*");
+    private static final Pattern MP_STAR_PREFIX = Pattern.compile("\\bMP\\s*\\*");
+    private static final Pattern MP_PREFIX = Pattern.compile("\\bMP\\s+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^A-Z0-9 ]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private record CompiledRule(String category, Predicate<Hits> when) {
+    }
+
+    private static final List<CompiledRule> INCOME_RULES;
+    private static final List<CompiledRule> EXPENSE_RULES;
+    private static final PatternAutomaton TEXT_NEEDLES;
+    private static final PatternAutomaton COMPACT_NEEDLES;
+
+    static {
+        Compiler compiler = new Compiler();
+        INCOME_RULES = compiler.compile(MerchantCategoryRules.INCOME);
+        EXPENSE_RULES = compiler.compile(MerchantCategoryRules.EXPENSE);
+        TEXT_NEEDLES = PatternAutomaton.compile(List.copyOf(compiler.text.keySet()));
+        COMPACT_NEEDLES = PatternAutomaton.compile(List.copyOf(compiler.compact.keySet()));
+    }
+
     private MerchantCategoryMapper() {
     }
 
     static String categorize(String description, TransactionType type) {
         if (description == null || description.isBlank()) return "Outros";
 
-        String n = normalize(description);
-        String nCompact = compact(n);
-
         // Disney+ precisa usar o texto original, pois normalize remove '+' (DISNEY+ -> DISNEY)
         String rawUpper = description.toUpperCase();
         if (rawUpper.contains("DISNEY+") || rawUpper.contains("DISNEY +")) {
             return "Assinaturas";
         }
 
-        // Créditos/estornos/pagamentos
-        if (type == TransactionType.INCOME) {
-            if (n.contains("INCLUSAO DE PAGAMENTO") || n.contains("PAGAMENTO")) {
-                return "Pagamento";
-            }
-            if (n.contains("ESTORNO") || n.contains("CREDITO") || n.contains("REEMBOLSO") || n.contains("DEVOLUCAO")
-                    || n.contains("PAYGOAL") || n.contains("CASHBACK") || n.contains("PONTOS")) {
-                return "Reembolso";
-            }
-            return "Outros";
-        }
-
-        // Taxas
-        if (n.contains("ANUIDADE") || n.contains("ANULIDADE")) {
-            return "Taxas e Juros";
-        }
-
-        // Encargos financeiros recorrentes em fatura
-        if (containsAny(n, nCompact,
-                "ENCARGOS DE ROTATIVO",
-                "ENCARGOS SOBREPARCELADO",
-                "JUROS DE MORA",
-                "MULTA POR ATRASO")) {
-            return "Taxas e Juros";
-        }
-
-        // ===== Mapeamentos explícitos (merchants recorrentes Sicredi) =====
-        // Importante: estes são mais específicos e entram antes das heurísticas genéricas.
-        if (containsAny(n, nCompact,
-                "ORBITA BLUE",
-                "CREPE POTIGUAR",
-                "MERCADINHO SAO LUIZ",
-                "CIODATERRA",
-                "SUPER ADEGA",
-                "CASABERG",
-                "CASA BERGAN")) {
-            return "Alimentação";
-        }
-
-        if (containsAny(n, nCompact,
-                "NETSHOES",
-                "LIZ LINGERIE",
-                "LIZLINGERIE",
-                "MARY JOHN",
-                "L M FORTALEZA",
-                "LS NE RIOMAR FORT")) {
-            return "Vestuário";
-        }
-
-        if (containsAny(n, nCompact,
-                "SMILES CLUB",
-                "CLUB SMILES")) {
-            return "Assinaturas";
-        }
-
-        if (containsAny(n, nCompact,
-                "CLUBE LIVELO",
-                "LIVELO CLUB",
-                "SHOPPING LIVELO")) {
-            return "Serviços";
-        }
-
-        if (containsAny(n, nCompact,
-                "SMILES FIDEL",
-                "SMILES FIDELIDADE",
-                "SMILES BILH")) {
-            return "Viagem";
-        }
-
-        if (containsAny(n, nCompact,
-                "PRONACE",
-                "GLOBO FORMULAS",
-                "GLOBO FORMULAS",
-                "REGITEC ASSISTENCIA",
-                "ASSISTENCIA REGITEC",
-                "UNIKKA PHARMA",
-                "ASA UNIKKA PHARMA",
-                "CONTROL VITA",
-                "CONSULTORIO")) {
-            return "Saúde";
-        }
-
-        if (containsAny(n, nCompact,
-                "FINA FIT",
-                "FINAFIT",
-                "KEEP RUNNING",
-                "KEEPRUNNING")) {
-            return "Academia/Saúde";
-        }
-
-        if (containsAny(n, nCompact,
-                "MOTOLIBRE",
-                "MOTO LIBRE",
-                "MOBILIT ENTERPRISE")) {
-            return "Transporte";
-        }
-
-        if (containsAny(n, nCompact,
-                "LIBREPRODUCOES",
-                "LIBRE PRODUCOES",
-                "CLUBE W PREPAGO",
-                "CLUBEWPREPAGO",
-                "ONE PARK CEARA")) {
-            return "Lazer";
-        }
-
-        // ===== Mapeamentos explícitos (merchants observados no Santander) =====
-        if (containsAny(n, nCompact, "TOKIO MARINE", "TOKIO MARINE AUTO")) {
-            return "Seguro";
-        }
-        if (containsAny(n, nCompact, "P9ESPACOLASERES", "ESPACO LASER", "ESPACOLASER")) {
-            return "Saúde";
-        }
-        if (containsAny(n, nCompact, "SEAWORLD", "BUSCH GARDENS")) {
-            return "Lazer";
-        }
-
-        // Disney Parks (viagem/turismo) - deve vir antes de Assinaturas (Disney Plus)
-        if (containsAny(n, nCompact,
-                "DISNEY WORLD",
-                "DISNEY ORLANDO",
-                "DISNEY FLORIDA",
-                "WALT DISNEY",
-                "DISNEY PARKS")) {
-            return "Viagem";
-        }
-
-        // Caso genérico: "DISNEY" (evita classificar Disney Plus como viagem)
-        if (containsAny(n, nCompact, "DISNEY") && !n.contains("PLUS")) {
-            return "Viagem";
-        }
-
-        // "BEC" é curto e pode dar falso-positivo; mantém match mais específico.
-        if (containsAny(n, nCompact, "BEC ITALO", "BEC11")) {
-            return "Alimentação";
-        }
-
-        // ===== Assinaturas / Streaming / Software =====
-        if (containsAny(n, nCompact,
-                "NETFLIX",
-                "DISNEY PLUS",
-                "AMAZON PRIME",
-                "PRIME VIDEO",
-                "HBO MAX",
-                "GLOBOPLAY",
-                "GLOBO PLAY",
-                "PARAMOUNT PLUS",
-                "PARAMOUNT+",
-                "APPLE TV",
-                "APPLE TV PLUS",
-                "APPLE TV+",
-                "SPOTIFY",
-                "APPLE MUSIC",
-                "YOUTUBE MUSIC",
-                "DEEZER",
-                "TIDAL",
-                "PLAYSTATION PLUS",
-                "PS PLUS",
-                "XBOX GAME PASS",
-                "GAME PASS",
-                "NINTENDO SWITCH ONLINE",
-                "NINTENDO ONLINE",
-                "SWITCH ONLINE",
-                "STEAM",
-                "EPIC GAMES",
-                "MICROSOFT 365",
-                "OFFICE 365",
-                "ONEDRIVE",
-                "MICROSOFT TEAMS",
-                "TEAMS",
-                "XBOX LIVE",
-                "XBOX GOLD",
-                "ADOBE",
-                "ADOBE CREATIVE CLOUD",
-                "ADOBE CC",
-                "PHOTOSHOP",
-                "PREMIERE",
-                "LIGHTROOM",
-                "ICLOUD",
-                "ICLOUD PLUS",
-                "ICLOUD+",
-                "APPLE ONE",
-                "GOOGLE ONE",
-                "GOOGLE WORKSPACE",
-                "WORKSPACE",
-                "YOUTUBE PREMIUM",
-                // Nubank frequentemente traz "D*GOOGLE ..." e "GOOGLE BRASIL PAGAMENTOS"
-                "D GOOGLE",
-                "DGOOGLE",
-                "GOOGLE BRASIL PAGAMENTOS",
-                "BRASIL PAGAMENTOS")) {
-            return "Assinaturas";
-        }
-
-        // Google Payments (evita tornar "GOOGLE" genérico demais)
-        if (n.contains("GOOGLE") && n.contains("PAGAMENTOS")) {
-            return "Assinaturas";
-        }
-
-        // Apple cobranças recorrentes (normalize transforma "APPLE.COM/BILL" em "APPLE COM BILL")
-        if (n.contains("APPLE COM BILL") || (n.contains("APPLE") && n.contains("COM") && n.contains("BILL"))) {
-            return "Assinaturas";
-        }
-
-        // Mapeamentos explícitos (mais específicos primeiro)
-        if (n.contains("AIRBNB")) return "Hospedagem";
-        if (containsAny(n, nCompact, "BOOKING", "BOOKING COM", "EXPEDIA", "TRIVAGO")) return "Hospedagem";
-
-        // Tickets/viagem (ex.: TICKETE...TRAV..., agências de viagem)
-        if (containsAny(n, nCompact,
-                "TICKETE",
-                "TICKETEKET",
-                "TICKETMASTER",
-                "TRAVEL",
-                "TRAVELCO",
-                "TRAVE",
-                "TRAV ")) {
-            return "Viagem";
-        }
-
-        // Companhias aéreas (Viagem)
-        // Atenção a falsos positivos por substring curta (ex.: "GOL" dentro de "GOLD'S GYM"; "AZUL" dentro de "ZONA AZUL")
-        if (containsAny(n, nCompact, "LATAM", "UNITED")
-                || n.matches(".*\\bGOL\\b.*")
-                || containsAny(n, nCompact, "GOL LINHAS", "GOL LINHAS AEREAS", "GOL LINHAS AEREAS SA")
-                || containsAny(n, nCompact, "AZUL LINHAS", "AZUL LINHAS AEREAS", "AZUL AEREAS")) {
-            return "Viagem";
-        }
-
-        // compat: manter regra legada (normalmente não bate após normalize, mas não atrapalha)
-        if (n.contains("APPLE.COM/BILL") || (n.contains("APPLE.COM") && n.contains("BILL"))) return "Assinaturas";
-
-        // Delivery (prioridade antes de Transporte, porque UBER EATS contém UBER)
-        // normalize transforma "IFD*" em "IFD" (o '*' vira espaço)
-        if (n.equals("IFD") || n.startsWith("IFD ")) return "iFood";
-        if (n.contains("IFOOD")) return "iFood";
-        if (containsAny(n, nCompact, "UBER EATS", "UBEREATS", "RAPPI", "LOGGI", "99FOOD", "99 FOOD", "AIQFOME")) {
-            return "Alimentação";
-        }
-
-        // ===== Vestuário / Moda =====
-        // Marcas esportivas/premium
-        if (containsAny(n, nCompact,
-                "ADIDAS",
-                "NIKE",
-                "PUMA",
-                "MIZUNO",
-                "ASICS",
-                "NEW BALANCE",
-                "REEBOK",
-                "SAUCONY",
-                "CONVERSE",
-                "VANS")) {
-            return "Vestuário";
-        }
-
-        // Marcas premium (ex.: compras em viagem)
-        if (containsAny(n, nCompact, "FERRAGAMO", "SALVATORE FERRAGAMO")) {
-            return "Vestuário";
-        }
-
-        // Marcas nacionais / lojas esportivas
-        if (containsAny(n, nCompact,
-                "LUPO",
-                "HAVAIANAS",
-                "MORMAII",
-                "SPEEDO",
-                "MOTTA SPORT",
-                "BIRDEN",
-                "GALAPAGOS",
-                "FUTFANATICS",
-                "CENTAURO",
-                "BOLOVO")) {
-            return "Vestuário";
-        }
-
-        // Lojas de departamento/multimarcas
-        if (containsAny(n, nCompact,
-                "SHEIN",
-                "RENNER",
-                "LOJAS RENNER",
-                "RIACHUELO",
-                "LOJAS RIACHUELO",
-                "ZARA",
-                "VIVARA",
-                "FOREVER 21",
-                "FASHION",
-                "MARCELOSHOES",
-                "MARCELOS SHOES")) {
-            return "Vestuário";
-        }
-
-        // H&M e C&C têm pontuação; normalização+compact pega "HM" e "CC"
-        if (containsAny(n, nCompact, "H&M")) {
-            return "Vestuário";
-        }
-        if (containsAny(n, nCompact, "C&C")) {
-            return "Vestuário";
-        }
-
-        // Marketplaces de vestuário (mais específico que e-commerce genérico)
-        if (containsAny(n, nCompact, "MERCADOLIVREFASHION", "MERCADOLIVREROUPAS")) {
-            return "Vestuário";
-        }
-        if (n.contains("AMAZON") && n.contains("FASHION")) {
-            return "Vestuário";
-        }
-
-        // Marketplaces/lojas online que muitas vezes são vestuário
-        if (containsAny(n, nCompact, "SHOPEE", "ALIEXPRESS", "ALI EXPRESS", "WISH")) {
-            return "Vestuário";
-        }
-
-        // ===== Academia / Saúde (fitness) =====
-        if (containsAny(n, nCompact,
-                "VIX ACADEMIA",
-                "SMART FIT",
-                "SMARTFIT",
-                "BLUEFIT",
-                "BODYTECH",
-                "GOLD'S GYM",
-                "GOLDS GYM",
-                "GOLDSGYM",
-                "GOLD GYM",
-                "XTREME",
-                "FITDANCE",
-                "COMPANHIA ATHLETICA",
-                "CA ACADEMIA",
-                "GYMPASS",
-                "FITPASS",
-                "CLASSPASS",
-                "FITPRO",
-                "YOGA",
-                "PILATES")) {
-            return "Academia/Saúde";
-        }
-
-        // Fallback por palavra-chave (evita perder academias locais)
-        if (n.contains("ACADEMIA") || n.contains(" GYM") || n.endsWith(" GYM")) {
-            return "Academia/Saúde";
-        }
-
-        // "OTICA" precisa ser palavra inteira (evita "BOTICARIO" virar Saúde)
-        if (n.contains("VISAOEXPRESS") || n.matches(".*\\bOTICA\\b.*") || n.matches(".*\\bOTICAS\\b.*")) {
-            return "Saúde";
-        }
-
-        // ===== Plano de Saúde (operadoras) =====
-        if (containsAny(n, nCompact,
-                "UNIMED",
-                "BRADESCO SAUDE",
-                "BRADESCO SAÚDE",
-                "AMIL",
-                "SULAMERICA",
-                "SULAMÉRICA",
-                "HAPVIDA")) {
-            return "Plano de Saúde";
-        }
-
-        // ===== Seguros =====
-        if (containsAny(n, nCompact,
-                "BRADESCO AUTO",
-                "MONGERAL",
-            "PRUDENTIAL",
-                "SEGURO",
-                "SEGUROS",
-                "SEGURADORA",
-                "SEGURADOR",
-                "PEPAY",
-                "SEGUROFATURA",
-                "SUPROTEGIDO",
-                "PROTEGIDO")) {
-            return "Seguro";
-        }
-
-        // ===== Farmácias / Drogarias / Óticas =====
-        if (containsAny(n, nCompact,
-                "FARMACIA DO DR",
-                "FARMACIA DR",
-                "DROGARIA PACHECO",
-                "DROGARIAS PACHECO",
-                "DROGARIA ARAUJO",
-                "ARAUJO FARMACIAS",
-                "FARMACIA SANTA CLARA",
-                "SANTA CLARA",
-                "RAIA",
-                "DROGASIL",
-                "RAIA DROGASIL",
-                "ULTRAFARMA",
-                "ULTRA FARMA",
-                "NOTREDAME",
-                "NOTRE DAME",
-                "PAGUE MENOS",
-                "FARMACIAS PAGUE MENOS",
-                "FARMACIA GLOBAL",
-                "GLOBAL FARMACIAS",
-                "MANIPULADA",
-                "FARMACIA MANIPULADA",
-                "FARMACIA ONLINE",
-                "FARMACIA.COM.BR",
-                "FARMACIASBRASILEIRAS",
-                "CONSULTA REMEDIOS",
-                "CONSULTARMEDIOS",
-                "DROGARIA ONLINE",
-                "DROGARIA.COM.BR",
-                "OTICA CAROL",
-                "CAROL OTICAS",
-                "OTICA SATO",
-                "SATO OTICAS",
-                "OTICA DINIZ",
-                "DINIZ OTICAS",
-                "OTICA MISTER",
-                "MISTER OTICAS",
-                "OTICA PREMIER",
-                "PREMIER OTICAS")) {
-            return "Saúde";
-        }
-
-        // Fallback: termos genéricos de farmácia/drogaria
-        if (n.contains("FARMACIA") || n.contains("DROGARIA") || n.contains("REMEDIO") || n.contains("REMÉDIO")) {
-            return "Saúde";
-        }
-
-        // Pet (cuidado para não bater com "petro")
-        if (n.contains("PET STOCK") || n.matches(".*\\bPET\\b.*")) {
-            return "Pet";
-        }
-
-        // Amazon / e-commerce
-        if (n.contains("AMAZONMKTPLC") || n.contains("AMAZON BR") || n.equals("AMAZON") || n.startsWith("AMAZON ") || n.contains(" AMAZON")) {
-            return "E-commerce";
-        }
-
-        // Apple Store (compra física/loja) — não confundir com APPLE.COM/BILL que é assinatura
-        if ((n.contains("APPLE") && n.contains("STORE")) && !n.contains("APPLE COM BILL")) {
-            return "E-commerce";
-        }
-
-        // ===== Supermercados / Alimentação =====
-        if (containsAny(n, nCompact,
-                "CARREFOUR",
-                "EXTRA",
-                "EXTRA SUPERMERCADO",
-                "PAO DE ACUCAR",
-                "PÃO DE AÇÚCAR",
-                "ZONA SUL",
-                "PREZUNIC",
-                "COOP",
-                "SONDA",
-                "WALMART",
-                "ATACADAO",
-                "ATACADÃO",
-                "ASSAI",
-                "ASSAÍ",
-                "UNIAO SUPRIMENTOS",
-                "UNION SUPRIMENTOS",
-                "EXTRA PLUS",
-                "EXTRAPLUS",
-                "MERCADO CENTRAL",
-                "HORTO MERCAD",
-                "HORTOMERCAD",
-                "SUPERMERCADO LOCAL",
-                "LOCAL SUPER",
-                "PADARIA",
-                "CONFEITARIA")) {
-            return "Alimentação";
-        }
-
-        // Serviços específicos
-        if (n.contains("ZZRSV SP JARDINS LINK")) {
-            return "Serviços";
-        }
-
-        // Lazer: bares/restaurantes/churrascarias etc
-        // Inclui prefixos tipo BARZIN/BARZINHO; evita colisões comuns como BARRA
-        if (n.matches("^BAR(?!R).*")
-            || n.contains(" BAR ")
-            || n.startsWith("BAR ")
-                || n.contains("CHURRASC")
-                || n.contains("CHOPPERIA")
-                || n.contains("RESTAURANTE")
-                || n.contains("RESTAURANT")
-                || n.contains("BOTECO")
-                || n.contains("BUTECO")
-                || (n.contains("STATUE") && (n.contains("CRUISES") || n.contains("LIBERTY") || n.contains("TICK")))
-                || n.contains("TENNIS")
-                || n.contains("CASA DE SHOW")
-                || n.contains("FLUENTE")
-                || n.contains("BEBIDA")
-                || n.contains("GRAU DE BEBIDA")
-                || n.contains("PIMENTA CARIOCA")
-                || n.contains("CHURRASCANAL")
-                || n.contains("CHOPPERIA DA PRACA")) {
-            return "Lazer";
-        }
+        String n = normalize(description);
+        Hits hits = scan(n, compact(n));
 
-        // Alimentação específica (restaurantes internacionais nem sempre vêm com palavras-chave comuns)
-        if (n.contains("DIM SUM")) {
-            return "Alimentação";
+        List<CompiledRule> rules = type == TransactionType.INCOME ? INCOME_RULES : EXPENSE_RULES;
+        for (CompiledRule rule : rules) {
+            if (rule.when().test(hits)) return rule.category();
         }
+        return "Outros";
+    }
 
-        // ===== Educação =====
-        if (containsAny(n, nCompact,
-                "DEVSUPERIOR",
-                "PG DEVSUPERIOR",
-                "UDEMY",
-                "COURSERA",
-                "ALURA",
-                "PLATZI",
-                "SKILLSHARE",
-                "LINKEDIN LEARNING",
-                "LINKEDIN LEARN",
-                "EDTECH",
-                "CAMBLY",
-                "PREPLY",
-                "ENGLISH LIVE",
-                "ENGLISHLIVE",
-                "BABBEL",
-                "DUOLINGO",
-                "DUOLINGO PLUS",
-                "BUSUU",
-                "VOXY",
-                "MOSALINGUA",
-                "ESCOLA TECNICA",
-                "ESCOLA TÉCNICA",
-                "CURSO PREPARATORIO",
-                "CURSO PREPARATÓRIO",
-                "CENTRO DE TREINAMENTO",
-                "INSTITUTO EDUCACIONAL",
-                "CODECADEMY",
-                "TREEHOUSE",
-                "DATACAMP",
-                "HACKERRANK",
-                "LEETCODE")) {
-            return "Educação";
-        }
+    /**
+     * Needles encontrados em {@code n} (com posição relevante: palavra inteira, início, fim, texto todo)
+     * e na forma compacta.
+     */
+    private static final class Hits {
+        final BitSet present = new BitSet();
+        final BitSet word = new BitSet();
+        final BitSet prefix = new BitSet();
+        final BitSet suffix = new BitSet();
+        final BitSet exact = new BitSet();
+        final BitSet compact = new BitSet();
+    }
 
-        // ===== Beleza =====
-        if (containsAny(n, nCompact,
-                "SALAO",
-                "SALAO DE BELEZA",
-                "SALÃO",
-                "SALÃO DE BELEZA",
-                "BARBEARIA",
-                "CASH BARBER",
-                "MANICURE",
-                "PEDICURE",
-                "NATURA",
-                "BOTICARIO",
-                "O BOTICARIO",
-                "AVON",
-                "MARY KAY",
-                "MARYKAY",
-                "SEPHORA",
-                "COSMETICOS",
-                "COSMÉTICOS")) {
-            return "Beleza";
-        }
+    private static Hits scan(String n, String nCompact) {
+        Hits hits = new Hits();
+        TEXT_NEEDLES.forEachMatch(n, (id, start, end) -> {
+            boolean atStart = start == 0;
+            boolean atEnd = end == n.length();
+            hits.present.set(id);
+            if (atStart) hits.prefix.set(id);
+            if (atEnd) hits.suffix.set(id);
+            if (atStart && atEnd) hits.exact.set(id);
+            // n só tem [A-Z0-9 ]: \b equivale a borda do texto ou espaço adjacente
+            if ((atStart || n.charAt(start - 1) == ' ') && (atEnd || n.charAt(end) == ' ')) hits.word.set(id);
+        });
+        COMPACT_NEEDLES.forEachMatch(nCompact, (id, start, end) -> hits.compact.set(id));
+        return hits;
+    }
 
-        // Heurísticas genéricas já existentes (mantém compatibilidade)
-        if (n.contains("UBER") || n.contains(" 99") || n.contains("99 ") || n.contains("CABIFY") || n.contains("LYFT") || n.contains("EASY TAXI") || n.contains("EASYTAXI")) {
-            return "Transporte";
+    /**
+     * Registra os needles das condições (ids estáveis por texto) e as traduz em testes sobre {@link Hits}.
+     */
+    private static final class Compiler {
+        final Map<String, Integer> text = new LinkedHashMap<>();
+        final Map<String, Integer> compact = new LinkedHashMap<>();
+
+        List<CompiledRule> compile(List<MerchantCategoryRules.Rule> rules) {
+            List<CompiledRule> out = new ArrayList<>(rules.size());
+            for (MerchantCategoryRules.Rule rule : rules) {
+                out.add(new CompiledRule(rule.category(), compile(rule.when())));
+            }
+            return List.copyOf(out);
+        }
+
+        Predicate<Hits> compile(MerchantCategoryRules.Condition condition) {
+            if (condition instanceof MerchantCategoryRules.Any any) {
+                BitSet textMask = new BitSet();
+                BitSet compactMask = new BitSet();
+                for (String needle : any.needles()) {
+                    if (needle == null || needle.isBlank()) continue;
+                    String nn = normalize(needle);
+                    if (!nn.isEmpty()) textMask.set(id(text, nn));
+                    String nnCompact = compact(nn);
+                    // Evita falsos positivos com tokens curtos (ex.: "NB" dentro de "AMAZONBR")
+                    if (nnCompact.length() > 2) compactMask.set(id(compact, nnCompact));
+                }
+                return h -> h.present.intersects(textMask) || h.compact.intersects(compactMask);
+            }
+            if (condition instanceof MerchantCategoryRules.Has has) {
+                int id = id(text, has.literal());
+                return h -> h.present.get(id);
+            }
+            if (condition instanceof MerchantCategoryRules.Word word) {
+                int id = id(text, word.literal());
+                return h -> h.word.get(id);
+            }
+            if (condition instanceof MerchantCategoryRules.StartsWith startsWith) {
+                int id = id(text, startsWith.literal());
+                return h -> h.prefix.get(id);
+            }
+            if (condition instanceof MerchantCategoryRules.EndsWith endsWith) {
+                int id = id(text, endsWith.literal());
+                return h -> h.suffix.get(id);
+            }
+            if (condition instanceof MerchantCategoryRules.EqualTo equalTo) {
+                int id = id(text, equalTo.literal());
+                return h -> h.exact.get(id);
+            }
+            if (condition instanceof MerchantCategoryRules.AllOf allOf) {
+                List<Predicate<Hits>> parts = allOf.conditions().stream().map(this::compile).toList();
+                return h -> parts.stream().allMatch(p -> p.test(h));
+            }
+            if (condition instanceof MerchantCategoryRules.AnyOf anyOf) {
+                List<Predicate<Hits>> parts = anyOf.conditions().stream().map(this::compile).toList();
+                return h -> parts.stream().anyMatch(p -> p.test(h));
+            }
+            if (condition instanceof MerchantCategoryRules.Not not) {
+                return compile(not.condition()).negate();
+            }
+            throw new IllegalArgumentException("Unsupported condition: " + condition);
         }
-        if (n.contains("POSTO") || n.contains("COMBUST") || n.contains("IPIRANGA") || n.contains("SHELL") || n.contains("PETRO")) return "Transporte";
-        if (n.contains("ESTACIONAMENTO") || n.contains("PARKING") || n.contains("ZONA AZUL")) return "Transporte";
 
-        if (n.contains("PIZZA") || n.contains("LANCHONETE") || n.contains("CAFE") || n.contains("CAFÉ") || n.contains("SORVETERIA") || n.contains("ACAI") || n.contains("AÇAÍ") || n.contains("JUICE BAR")) {
-            return "Alimentação";
+        private static int id(Map<String, Integer> ids, String needle) {
+            if (needle == null || needle.isEmpty()) throw new IllegalArgumentException("needle is required");
+            return ids.computeIfAbsent(needle, k -> ids.size());
         }
-        if (n.contains("MERCADO") || n.contains("SUPERMERC") || n.contains("ATACADO")) return "Alimentação";
-
-        // Fallback de assinaturas
-        if (n.contains("STREAM") || n.contains("SUBSCRIPTION") || n.contains("ASSINAT")) return "Assinaturas";
-
-        if (n.contains("HOSPITAL") || n.contains("CLINICA") || n.contains("CONSULTA") || n.contains("MEDIC")) return "Saúde";
-        if (n.contains("INTERNET")) return "Internet";
-        if (n.contains("TELEFONE") || n.contains("CELULAR")) return "Celular";
-        if (n.contains("ALUGUEL") || n.contains("RENT")) return "Aluguel";
-        if (n.contains("AGUA")) return "Água";
-        if (n.contains("ENERGIA") || n.contains("LUZ")) return "Luz";
-
-        return "Outros";
     }
 
     private static String normalize(String input) {
-        String noAccents = Normalizer.normalize(input, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
+        String noAccents = MARKS.matcher(Normalizer.normalize(input, Normalizer.Form.NFD)).replaceAll("");
 
         // Uppercase primeiro
         String upper = noAccents.toUpperCase();
 
         // Remove prefixos comuns de adquirência/marketplace para facilitar substring match
         // (ex.: EC*ADIDAS, MP GALAPAGOS, MP*GALAPAGOS)
-        upper = upper.replaceAll("\\bEC\\s*\\*", "")
-                .replaceAll("\\bMP\\s*\\*", "")
-                .replaceAll("\\bMP\\s+", "");
+        upper = EC_PREFIX.matcher(upper).replaceAll("");
+        upper = MP_STAR_PREFIX.matcher(upper).replaceAll("");
+        upper = MP_PREFIX.matcher(upper).replaceAll("");
 
         // Normaliza pontuação para espaço (H&M -> H M; C&C -> C C)
-        upper = upper.replaceAll("[^A-Z0-9 ]", " ");
+        upper = NON_ALNUM.matcher(upper).replaceAll(" ");
 
-        return upper.replaceAll("\\s+", " ").trim();
+        return SPACES.matcher(upper).replaceAll(" ").trim();
     }
 
     private static String compact(String normalized) {
         if (normalized == null) return "";
         return normalized.replace(" ", "");
     }
-
-    private static boolean containsAny(String normalized, String compact, String... needles) {
-        if (needles == null || needles.length == 0) return false;
-        String n = normalized == null ? "" : normalized;
-        String c = compact == null ? "" : compact;
-
-        for (String needle : needles) {
-            if (needle == null || needle.isBlank()) continue;
-            String nn = normalize(needle);
-            if (!nn.isEmpty() && n.contains(nn)) return true;
-            String nnCompact = compact(nn);
-            // Evita falsos positivos com tokens curtos (ex.: "NB" dentro de "AMAZONBR")
-            if (nnCompact.length() > 2 && c.contains(nnCompact)) return true;
-        }
-        return false;
-    }
 }
@@ -0,0 +1,576 @@
+package com.ella.backend.services.invoices.parsers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabela declarativa de categorização usada por {@link MerchantCategoryMapper}.
+ *
+ * Cada regra é "categoria quando condição"; as regras são avaliadas na ordem da lista e a primeira
+ * que bate vence (mesma precedência da antiga cadeia de ifs). As condições são avaliadas sobre o
+ * texto normalizado ({@code n}: maiúsculas, sem acentos, pontuação como espaço) e, no caso de
+ * {@link #any}, também sobre a forma compacta (sem espaços).
+ */
+final class MerchantCategoryRules {
+
+    private MerchantCategoryRules() {
+    }
+
+    record Rule(String category, Condition when) {
+    }
+
+    sealed interface Condition permits Any, Has, Word, StartsWith, EndsWith, EqualTo, AllOf, AnyOf, Not {
+    }
+
+    /**
+     * Algum needle (normalizado) aparece em {@code n}, ou sua forma compacta (&gt; 2 chars) aparece na forma compacta.
+     */
+    record Any(List<String> needles) implements Condition {
+    }
+
+    /** {@code n.contains(literal)}, sem normalizar o literal. */
+    record Has(String literal) implements Condition {
+    }
+
+    /** {@code literal} como palavra inteira em {@code n} ({@code \bLITERAL\b}). */
+    record Word(String literal) implements Condition {
+    }
+
+    record StartsWith(String literal) implements Condition {
+    }
+
+    record EndsWith(String literal) implements Condition {
+    }
+
+    record EqualTo(String literal) implements Condition {
+    }
+
+    record AllOf(List<Condition> conditions) implements Condition {
+    }
+
+    record AnyOf(List<Condition> conditions) implements Condition {
+    }
+
+    record Not(Condition condition) implements Condition {
+    }
+
+    // Créditos/estornos/pagamentos (type == INCOME); sem match -> "Outros"
+    static final List<Rule> INCOME = List.of(
+            rule("Pagamento", hasAny("INCLUSAO DE PAGAMENTO", "PAGAMENTO")),
+            rule("Reembolso", hasAny("ESTORNO", "CREDITO", "REEMBOLSO", "DEVOLUCAO", "PAYGOAL", "CASHBACK", "PONTOS"))
+    );
+
+    // Demais tipos; sem match -> "Outros"
+    static final List<Rule> EXPENSE = List.of(
+            // Taxas
+            rule("Taxas e Juros", hasAny("ANUIDADE", "ANULIDADE")),
+
+            // Encargos financeiros recorrentes em fatura
+            rule("Taxas e Juros", any(
+                    "ENCARGOS DE ROTATIVO",
+                    "ENCARGOS SOBREPARCELADO",
+                    "JUROS DE MORA",
+                    "MULTA POR ATRASO")),
+
+            // ===== Mapeamentos explícitos (merchants recorrentes Sicredi) =====
+            // Importante: estes são mais específicos e entram antes das heurísticas genéricas.
+            rule("Alimentação", any(
+                    "ORBITA BLUE",
+                    "CREPE POTIGUAR",
+                    "MERCADINHO SAO LUIZ",
+                    "CIODATERRA",
+                    "SUPER ADEGA",
+                    "CASABERG",
+                    "CASA BERGAN")),
+            rule("Vestuário", any(
+                    "NETSHOES",
+                    "LIZ LINGERIE",
+                    "LIZLINGERIE",
+                    "MARY JOHN",
+                    "L M FORTALEZA",
+                    "LS NE RIOMAR FORT")),
+            rule("Assinaturas", any(
+                    "SMILES CLUB",
+                    "CLUB SMILES")),
+            rule("Serviços", any(
+                    "CLUBE LIVELO",
+                    "LIVELO CLUB",
+                    "SHOPPING LIVELO")),
+            rule("Viagem", any(
+                    "SMILES FIDEL",
+                    "SMILES FIDELIDADE",
+                    "SMILES BILH")),
+            rule("Saúde", any(
+                    "PRONACE",
+                    "GLOBO FORMULAS",
+                    "REGITEC ASSISTENCIA",
+                    "ASSISTENCIA REGITEC",
+                    "UNIKKA PHARMA",
+                    "ASA UNIKKA PHARMA",
+                    "CONTROL VITA",
+                    "CONSULTORIO")),
+            rule("Academia/Saúde", any(
+                    "FINA FIT",
+                    "FINAFIT",
+                    "KEEP RUNNING",
+                    "KEEPRUNNING")),
+            rule("Transporte", any(
+                    "MOTOLIBRE",
+                    "MOTO LIBRE",
+                    "MOBILIT ENTERPRISE")),
+            rule("Lazer", any(
+                    "LIBREPRODUCOES",
+                    "LIBRE PRODUCOES",
+                    "CLUBE W PREPAGO",
+                    "CLUBEWPREPAGO",
+                    "ONE PARK CEARA")),
+
+            // ===== Mapeamentos explícitos (merchants observados no Santander) =====
+            rule("Seguro", any("TOKIO MARINE", "TOKIO MARINE AUTO")),
+            rule("Saúde", any("P9ESPACOLASERES", "ESPACO LASER", "ESPACOLASER")),
+            rule("Lazer", any("SEAWORLD", "BUSCH GARDENS")),
+
+            // Disney Parks (viagem/turismo) - deve vir antes de Assinaturas (Disney Plus)
+            rule("Viagem", any(
+                    "DISNEY WORLD",
+                    "DISNEY ORLANDO",
+                    "DISNEY FLORIDA",
+                    "WALT DISNEY",
+                    "DISNEY PARKS")),
+
+            // Caso genérico: "DISNEY" (evita classificar Disney Plus como viagem)
+            rule("Viagem", allOf(any("DISNEY"), not(has("PLUS")))),
+
+            // "BEC" é curto e pode dar falso-positivo; mantém match mais específico.
+            rule("Alimentação", any("BEC ITALO", "BEC11")),
+
+            // ===== Assinaturas / Streaming / Software =====
+            rule("Assinaturas", any(
+                    "NETFLIX",
+                    "DISNEY PLUS",
+                    "AMAZON PRIME",
+                    "PRIME VIDEO",
+                    "HBO MAX",
+                    "GLOBOPLAY",
+                    "GLOBO PLAY",
+                    "PARAMOUNT PLUS",
+                    "PARAMOUNT+",
+                    "APPLE TV",
+                    "APPLE TV PLUS",
+                    "APPLE TV+",
+                    "SPOTIFY",
+                    "APPLE MUSIC",
+                    "YOUTUBE MUSIC",
+                    "DEEZER",
+                    "TIDAL",
+                    "PLAYSTATION PLUS",
+                    "PS PLUS",
+                    "XBOX GAME PASS",
+                    "GAME PASS",
+                    "NINTENDO SWITCH ONLINE",
+                    "NINTENDO ONLINE",
+                    "SWITCH ONLINE",
+                    "STEAM",
+                    "EPIC GAMES",
+                    "MICROSOFT 365",
+                    "OFFICE 365",
+                    "ONEDRIVE",
+                    "MICROSOFT TEAMS",
+                    "TEAMS",
+                    "XBOX LIVE",
+                    "XBOX GOLD",
+                    "ADOBE",
+                    "ADOBE CREATIVE CLOUD",
+                    "ADOBE CC",
+                    "PHOTOSHOP",
+                    "PREMIERE",
+                    "LIGHTROOM",
+                    "ICLOUD",
+                    "ICLOUD PLUS",
+                    "ICLOUD+",
+                    "APPLE ONE",
+                    "GOOGLE ONE",
+                    "GOOGLE WORKSPACE",
+                    "WORKSPACE",
+                    "YOUTUBE PREMIUM",
+                    // Nubank frequentemente traz "D*GOOGLE ..." e "GOOGLE BRASIL PAGAMENTOS"
+                    "D GOOGLE",
+                    "DGOOGLE",
+                    "GOOGLE BRASIL PAGAMENTOS",
+                    "BRASIL PAGAMENTOS")),
+
+            // Google Payments (evita tornar "GOOGLE" genérico demais)
+            rule("Assinaturas", allOf(has("GOOGLE"), has("PAGAMENTOS"))),
+
+            // Apple cobranças recorrentes (normalize transforma "APPLE.COM/BILL" em "APPLE COM BILL")
+            rule("Assinaturas", anyOf(has("APPLE COM BILL"), allOf(has("APPLE"), has("COM"), has("BILL")))),
+
+            // Mapeamentos explícitos (mais específicos primeiro)
+            rule("Hospedagem", has("AIRBNB")),
+            rule("Hospedagem", any("BOOKING", "BOOKING COM", "EXPEDIA", "TRIVAGO")),
+
+            // Tickets/viagem (ex.: TICKETE...TRAV..., agências de viagem)
+            rule("Viagem", any(
+                    "TICKETE",
+                    "TICKETEKET",
+                    "TICKETMASTER",
+                    "TRAVEL",
+                    "TRAVELCO",
+                    "TRAVE",
+                    "TRAV ")),
+
+            // Companhias aéreas (Viagem)
+            // Atenção a falsos positivos por substring curta (ex.: "GOL" dentro de "GOLD'S GYM"; "AZUL" dentro de "ZONA AZUL")
+            rule("Viagem", anyOf(
+                    any("LATAM", "UNITED"),
+                    word("GOL"),
+                    any("GOL LINHAS", "GOL LINHAS AEREAS", "GOL LINHAS AEREAS SA"),
+                    any("AZUL LINHAS", "AZUL LINHAS AEREAS", "AZUL AEREAS"))),
+
+            // compat: manter regra legada (normalmente não bate após normalize, mas não atrapalha)
+            rule("Assinaturas", anyOf(has("APPLE.COM/BILL"), allOf(has("APPLE.COM"), has("BILL")))),
+
+            // Delivery (prioridade antes de Transporte, porque UBER EATS contém UBER)
+            // normalize transforma "IFD*" em "IFD" (o '*' vira espaço)
+            rule("iFood", anyOf(equalTo("IFD"), startsWith("IFD "))),
+            rule("iFood", has("IFOOD")),
+            rule("Alimentação", any("UBER EATS", "UBEREATS", "RAPPI", "LOGGI", "99FOOD", "99 FOOD", "AIQFOME")),
+
+            // ===== Vestuário / Moda =====
+            // Marcas esportivas/premium
+            rule("Vestuário", any(
+                    "ADIDAS",
+                    "NIKE",
+                    "PUMA",
+                    "MIZUNO",
+                    "ASICS",
+                    "NEW BALANCE",
+                    "REEBOK",
+                    "SAUCONY",
+                    "CONVERSE",
+                    "VANS")),
+
+            // Marcas premium (ex.: compras em viagem)
+            rule("Vestuário", any("FERRAGAMO", "SALVATORE FERRAGAMO")),
+
+            // Marcas nacionais / lojas esportivas
+            rule("Vestuário", any(
+                    "LUPO",
+                    "HAVAIANAS",
+                    "MORMAII",
+                    "SPEEDO",
+                    "MOTTA SPORT",
+                    "BIRDEN",
+                    "GALAPAGOS",
+                    "FUTFANATICS",
+                    "CENTAURO",
+                    "BOLOVO")),
+
+            // Lojas de departamento/multimarcas
+            rule("Vestuário", any(
+                    "SHEIN",
+                    "RENNER",
+                    "LOJAS RENNER",
+                    "RIACHUELO",
+                    "LOJAS RIACHUELO",
+                    "ZARA",
+                    "VIVARA",
+                    "FOREVER 21",
+                    "FASHION",
+                    "MARCELOSHOES",
+                    "MARCELOS SHOES")),
+
+            // H&M e C&C têm pontuação; normalização+compact pega "HM" e "CC"
+            rule("Vestuário", any("H&M")),
+            rule("Vestuário", any("C&C")),
+
+            // Marketplaces de vestuário (mais específico que e-commerce genérico)
+            rule("Vestuário", any("MERCADOLIVREFASHION", "MERCADOLIVREROUPAS")),
+            rule("Vestuário", allOf(has("AMAZON"), has("FASHION"))),
+
+            // Marketplaces/lojas online que muitas vezes são vestuário
+            rule("Vestuário", any("SHOPEE", "ALIEXPRESS", "ALI EXPRESS", "WISH")),
+
+            // ===== Academia / Saúde (fitness) =====
+            rule("Academia/Saúde", any(
+                    "VIX ACADEMIA",
+                    "SMART FIT",
+                    "SMARTFIT",
+                    "BLUEFIT",
+                    "BODYTECH",
+                    "GOLD'S GYM",
+                    "GOLDS GYM",
+                    "GOLDSGYM",
+                    "GOLD GYM",
+                    "XTREME",
+                    "FITDANCE",
+                    "COMPANHIA ATHLETICA",
+                    "CA ACADEMIA",
+                    "GYMPASS",
+                    "FITPASS",
+                    "CLASSPASS",
+                    "FITPRO",
+                    "YOGA",
+                    "PILATES")),
+
+            // Fallback por palavra-chave (evita perder academias locais)
+            rule("Academia/Saúde", anyOf(has("ACADEMIA"), has(" GYM"), endsWith(" GYM"))),
+
+            // "OTICA" precisa ser palavra inteira (evita "BOTICARIO" virar Saúde)
+            rule("Saúde", anyOf(has("VISAOEXPRESS"), word("OTICA"), word("OTICAS"))),
+
+            // ===== Plano de Saúde (operadoras) =====
+            rule("Plano de Saúde", any(
+                    "UNIMED",
+                    "BRADESCO SAUDE",
+                    "BRADESCO SAÚDE",
+                    "AMIL",
+                    "SULAMERICA",
+                    "SULAMÉRICA",
+                    "HAPVIDA")),
+
+            // ===== Seguros =====
+            rule("Seguro", any(
+                    "BRADESCO AUTO",
+                    "MONGERAL",
+                    "PRUDENTIAL",
+                    "SEGURO",
+                    "SEGUROS",
+                    "SEGURADORA",
+                    "SEGURADOR",
+                    "PEPAY",
+                    "SEGUROFATURA",
+                    "SUPROTEGIDO",
+                    "PROTEGIDO")),
+
+            // ===== Farmácias / Drogarias / Óticas =====
+            rule("Saúde", any(
+                    "FARMACIA DO DR",
+                    "FARMACIA DR",
+                    "DROGARIA PACHECO",
+                    "DROGARIAS PACHECO",
+                    "DROGARIA ARAUJO",
+                    "ARAUJO FARMACIAS",
+                    "FARMACIA SANTA CLARA",
+                    "SANTA CLARA",
+                    "RAIA",
+                    "DROGASIL",
+                    "RAIA DROGASIL",
+                    "ULTRAFARMA",
+                    "ULTRA FARMA",
+                    "NOTREDAME",
+                    "NOTRE DAME",
+                    "PAGUE MENOS",
+                    "FARMACIAS PAGUE MENOS",
+                    "FARMACIA GLOBAL",
+                    "GLOBAL FARMACIAS",
+                    "MANIPULADA",
+                    "FARMACIA MANIPULADA",
+                    "FARMACIA ONLINE",
+                    "FARMACIA.COM.BR",
+                    "FARMACIASBRASILEIRAS",
+                    "CONSULTA REMEDIOS",
+                    "CONSULTARMEDIOS",
+                    "DROGARIA ONLINE",
+                    "DROGARIA.COM.BR",
+                    "OTICA CAROL",
+                    "CAROL OTICAS",
+                    "OTICA SATO",
+                    "SATO OTICAS",
+                    "OTICA DINIZ",
+                    "DINIZ OTICAS",
+                    "OTICA MISTER",
+                    "MISTER OTICAS",
+                    "OTICA PREMIER",
+                    "PREMIER OTICAS")),
+
+            // Fallback: termos genéricos de farmácia/drogaria
+            rule("Saúde", hasAny("FARMACIA", "DROGARIA", "REMEDIO", "REMÉDIO")),
+
+            // Pet (cuidado para não bater com "petro")
+            rule("Pet", anyOf(has("PET STOCK"), word("PET"))),
+
+            // Amazon / e-commerce
+            rule("E-commerce", anyOf(
+                    has("AMAZONMKTPLC"),
+                    has("AMAZON BR"),
+                    equalTo("AMAZON"),
+                    startsWith("AMAZON "),
+                    has(" AMAZON"))),
+
+            // Apple Store (compra física/loja) — não confundir com APPLE.COM/BILL que é assinatura
+            rule("E-commerce", allOf(has("APPLE"), has("STORE"), not(has("APPLE COM BILL")))),
+
+            // ===== Supermercados / Alimentação =====
+            rule("Alimentação", any(
+                    "CARREFOUR",
+                    "EXTRA",
+                    "EXTRA SUPERMERCADO",
+                    "PAO DE ACUCAR",
+                    "PÃO DE AÇÚCAR",
+                    "ZONA SUL",
+                    "PREZUNIC",
+                    "COOP",
+                    "SONDA",
+                    "WALMART",
+                    "ATACADAO",
+                    "ATACADÃO",
+                    "ASSAI",
+                    "ASSAÍ",
+                    "UNIAO SUPRIMENTOS",
+                    "UNION SUPRIMENTOS",
+                    "EXTRA PLUS",
+                    "EXTRAPLUS",
+                    "MERCADO CENTRAL",
+                    "HORTO MERCAD",
+                    "HORTOMERCAD",
+                    "SUPERMERCADO LOCAL",
+                    "LOCAL SUPER",
+                    "PADARIA",
+                    "CONFEITARIA")),
+
+            // Serviços específicos
+            rule("Serviços", has("ZZRSV SP JARDINS LINK")),
+
+            // Lazer: bares/restaurantes/churrascarias etc
+            // Inclui prefixos tipo BARZIN/BARZINHO; evita colisões comuns como BARRA
+            rule("Lazer", anyOf(
+                    allOf(startsWith("BAR"), not(startsWith("BARR"))),
+                    has(" BAR "),
+                    startsWith("BAR "),
+                    has("CHURRASC"),
+                    has("CHOPPERIA"),
+                    has("RESTAURANTE"),
+                    has("RESTAURANT"),
+                    has("BOTECO"),
+                    has("BUTECO"),
+                    allOf(has("STATUE"), hasAny("CRUISES", "LIBERTY", "TICK")),
+                    has("TENNIS"),
+                    has("CASA DE SHOW"),
+                    has("FLUENTE"),
+                    has("BEBIDA"),
+                    has("GRAU DE BEBIDA"),
+                    has("PIMENTA CARIOCA"),
+                    has("CHURRASCANAL"),
+                    has("CHOPPERIA DA PRACA"))),
+
+            // Alimentação específica (restaurantes internacionais nem sempre vêm com palavras-chave comuns)
+            rule("Alimentação", has("DIM SUM")),
+
+            // ===== Educação =====
+            rule("Educação", any(
+                    "DEVSUPERIOR",
+                    "PG DEVSUPERIOR",
+                    "UDEMY",
+                    "COURSERA",
+                    "ALURA",
+                    "PLATZI",
+                    "SKILLSHARE",
+                    "LINKEDIN LEARNING",
+                    "LINKEDIN LEARN",
+                    "EDTECH",
+                    "CAMBLY",
+                    "PREPLY",
+                    "ENGLISH LIVE",
+                    "ENGLISHLIVE",
+                    "BABBEL",
+                    "DUOLINGO",
+                    "DUOLINGO PLUS",
+                    "BUSUU",
+                    "VOXY",
+                    "MOSALINGUA",
+                    "ESCOLA TECNICA",
+                    "ESCOLA TÉCNICA",
+                    "CURSO PREPARATORIO",
+                    "CURSO PREPARATÓRIO",
+                    "CENTRO DE TREINAMENTO",
+                    "INSTITUTO EDUCACIONAL",
+                    "CODECADEMY",
+                    "TREEHOUSE",
+                    "DATACAMP",
+                    "HACKERRANK",
+                    "LEETCODE")),
+
+            // ===== Beleza =====
+            rule("Beleza", any(
+                    "SALAO",
+                    "SALAO DE BELEZA",
+                    "SALÃO",
+                    "SALÃO DE BELEZA",
+                    "BARBEARIA",
+                    "CASH BARBER",
+                    "MANICURE",
+                    "PEDICURE",
+                    "NATURA",
+                    "BOTICARIO",
+                    "O BOTICARIO",
+                    "AVON",
+                    "MARY KAY",
+                    "MARYKAY",
+                    "SEPHORA",
+                    "COSMETICOS",
+                    "COSMÉTICOS")),
+
+            // Heurísticas genéricas já existentes (mantém compatibilidade)
+            rule("Transporte", hasAny("UBER", " 99", "99 ", "CABIFY", "LYFT", "EASY TAXI", "EASYTAXI")),
+            rule("Transporte", hasAny("POSTO", "COMBUST", "IPIRANGA", "SHELL", "PETRO")),
+            rule("Transporte", hasAny("ESTACIONAMENTO", "PARKING", "ZONA AZUL")),
+
+            rule("Alimentação", hasAny("PIZZA", "LANCHONETE", "CAFE", "CAFÉ", "SORVETERIA", "ACAI", "AÇAÍ", "JUICE BAR")),
+            rule("Alimentação", hasAny("MERCADO", "SUPERMERC", "ATACADO")),
+
+            // Fallback de assinaturas
+            rule("Assinaturas", hasAny("STREAM", "SUBSCRIPTION", "ASSINAT")),
+
+            rule("Saúde", hasAny("HOSPITAL", "CLINICA", "CONSULTA", "MEDIC")),
+            rule("Internet", has("INTERNET")),
+            rule("Celular", hasAny("TELEFONE", "CELULAR")),
+            rule("Aluguel", hasAny("ALUGUEL", "RENT")),
+            rule("Água", has("AGUA")),
+            rule("Luz", hasAny("ENERGIA", "LUZ"))
+    );
+
+    private static Rule rule(String category, Condition when) {
+        return new Rule(category, when);
+    }
+
+    private static Condition any(String... needles) {
+        return new Any(List.of(needles));
+    }
+
+    private static Condition has(String literal) {
+        return new Has(literal);
+    }
+
+    private static Condition hasAny(String... literals) {
+        return new AnyOf(Arrays.stream(literals).<Condition>map(Has::new).toList());
+    }
+
+    private static Condition word(String literal) {
+        return new Word(literal);
+    }
+
+    private static Condition startsWith(String literal) {
+        return new StartsWith(literal);
+    }
+
+    private static Condition endsWith(String literal) {
+        return new EndsWith(literal);
+    }
+
+    private static Condition equalTo(String literal) {
+        return new EqualTo(literal);
+    }
+
+    private static Condition allOf(Condition... conditions) {
+        return new AllOf(List.of(conditions));
+    }
+
+    private static Condition anyOf(Condition... conditions) {
+        return new AnyOf(List.of(conditions));
+    }
+
+    private static Condition not(Condition condition) {
+        return new Not(condition);
+    }
+}
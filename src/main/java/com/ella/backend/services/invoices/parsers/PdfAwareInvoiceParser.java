@@ -8,4 +8,12 @@ package com.ella.backend.services.invoices.parsers;
  */
 public interface PdfAwareInvoiceParser {
     ParseResult parseWithPdf(byte[] pdfBytes, String extractedText);
+
+    /**
+     * False when the remote service behind {@link #parseWithPdf} is known to be down (open circuit);
+     * the pipeline then uses the text parse directly instead of waiting for the call to fail.
+     */
+    default boolean isPdfParsingAvailable() {
+        return true;
+    }
 }
@@ -40,6 +40,11 @@ public class SantanderExtractorParser implements InvoiceParserStrategy, PdfAware
         return fallbackTextParser.extractTransactions(text);
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorClient.PATH_SANTANDER);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         try {
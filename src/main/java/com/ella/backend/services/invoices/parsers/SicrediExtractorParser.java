@@ -11,7 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import com.ella.backend.enums.TransactionScope;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.services.invoices.util.NormalizeUtil;
+import com.ella.backend.services.invoices.util.NormalizedText;
 
 public class SicrediExtractorParser implements InvoiceParserStrategy, PdfAwareInvoiceParser {
 
@@ -26,8 +26,13 @@ public class SicrediExtractorParser implements InvoiceParserStrategy, PdfAwareIn
 
     @Override
     public boolean isApplicable(String text) {
-        if (text == null || text.isBlank()) return false;
-        String n = NormalizeUtil.normalize(text);
+        return isApplicable(NormalizedText.of(text));
+    }
+
+    @Override
+    public boolean isApplicable(NormalizedText text) {
+        if (text.isBlank()) return false;
+        String n = text.normalized();
         return n.contains("sicredi") && n.contains("resumo da fatura");
     }
 
@@ -42,6 +47,11 @@ public class SicrediExtractorParser implements InvoiceParserStrategy, PdfAwareIn
         return fallbackTextParser.extractTransactions(text);
     }
 
+    @Override
+    public boolean isPdfParsingAvailable() {
+        return client.isAvailable(EllaExtractorClient.PATH_SICREDI);
+    }
+
     @Override
     public ParseResult parseWithPdf(byte[] pdfBytes, String extractedText) {
         log.info("[SicrediExtractorParser] Parsing Sicredi via ella-extractor...");
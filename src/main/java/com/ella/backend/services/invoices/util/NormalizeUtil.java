@@ -2,34 +2,57 @@ package com.ella.backend.services.invoices.util;
 
 import java.text.Normalizer;
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 public class NormalizeUtil {
 
+    private static final Locale PT_BR = Locale.forLanguageTag("pt-BR");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern UNICODE_SEPARATORS = Pattern.compile("\\p{Z}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     /**
      * Normaliza texto: lowercase, remove acentos, colapsa espaços
      * Exemplo: "Itaú Personalité" => "itau personalite"
+     *
+     * Uma única passada guiada por tabela ({@link TextFolder}); para o texto inteiro de uma fatura,
+     * prefira {@link NormalizedText#of} uma vez e reutilize.
      */
     public static String normalize(String text) {
         if (text == null || text.isBlank()) return "";
+        return TextFolder.fold(text, false).result();
+    }
 
-        // 1. Lowercase
-        String result = text.toLowerCase(Locale.forLanguageTag("pt-BR"));
+    /**
+     * Implementação original por regex (várias passadas). Mantida como referência para testes de
+     * equivalência e benchmarks, e para montar a tabela do {@link TextFolder}.
+     */
+    static String normalizeRegex(String text) {
+        if (text == null || text.isBlank()) return "";
 
-        // 2. Remove acentos (NFD decomposition)
-        result = Normalizer.normalize(result, Normalizer.Form.NFD);
-        result = result.replaceAll("\\p{M}", ""); // Remove combining marks
+        // 1. Lowercase + 2. Remove acentos (NFD decomposition)
+        String result = foldRegex(text);
 
         // 3. Normaliza espaçamentos de PDF (NBSP/Unicode separators) para espaço comum.
         // PDFBox frequentemente introduz NBSP (\u00A0) e outros separadores que NÃO casam com \s.
         result = result.replace('\u00A0', ' ');
-        result = result.replaceAll("\\p{Z}+", " ");
+        result = UNICODE_SEPARATORS.matcher(result).replaceAll(" ");
 
         // 4. Colapsa espaços
-        result = result.replaceAll("\\s+", " ").trim();
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
 
         return result;
     }
 
+    /**
+     * Lowercase (pt-BR) + remoção de marcas combinantes, sem tocar em espaços.
+     */
+    static String foldRegex(String text) {
+        String result = text.toLowerCase(PT_BR);
+        result = Normalizer.normalize(result, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(result).replaceAll("");
+    }
+
     /**
      * Verifica se texto contém keyword (case-insensitive, sem acentos)
      */
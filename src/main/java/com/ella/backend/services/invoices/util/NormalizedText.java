@@ -0,0 +1,75 @@
+package com.ella.backend.services.invoices.util;
+
+/**
+ * An invoice text normalized once ({@link NormalizeUtil#normalize} rules: lowercase, no accents,
+ * collapsed whitespace) and shared by the parser selector and every parser's applicability check,
+ * instead of each of them re-normalizing the whole multi-KB text.
+ *
+ * Keeps a map from normalized offsets back to the original text, so a match found on the
+ * normalized view can be cut out of the original (with its accents and line breaks).
+ */
+public final class NormalizedText {
+
+    private static final NormalizedText EMPTY = new NormalizedText("", "", new int[] {0});
+
+    private final String original;
+    private final String normalized;
+    private final int[] offsets;
+
+    private NormalizedText(String original, String normalized, int[] offsets) {
+        this.original = original;
+        this.normalized = normalized;
+        this.offsets = offsets;
+    }
+
+    public static NormalizedText of(String text) {
+        if (text == null || text.isEmpty()) return EMPTY;
+        if (text.isBlank()) return new NormalizedText(text, "", new int[] {text.length()});
+
+        TextFolder folder = TextFolder.fold(text, true);
+        return new NormalizedText(text, folder.result(), folder.offsets(text.length()));
+    }
+
+    public String original() {
+        return original;
+    }
+
+    public String normalized() {
+        return normalized;
+    }
+
+    public boolean isBlank() {
+        return normalized.isEmpty();
+    }
+
+    /**
+     * {@code needle} must already be normalized (lowercase, unaccented), like the literals parsers use.
+     */
+    public boolean contains(String needle) {
+        return normalized.contains(needle);
+    }
+
+    /**
+     * Index in the original text of the char that produced {@code normalized().charAt(index)};
+     * {@code index == normalized().length()} maps to the end of the original.
+     */
+    public int originalIndex(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * The original text behind {@code normalized().substring(start, end)}.
+     */
+    public String originalSlice(int start, int end) {
+        if (start >= end) return "";
+        int from = offsets[start];
+        int last = offsets[end - 1];
+        int to = last + Character.charCount(original.codePointAt(last));
+        return original.substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return normalized;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ella.backend.services.invoices.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+public final class Sha256 {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Sha256() {
+    }
+
+    /**
+     * Lower-case hex SHA-256, or {@code null} for null/empty input.
+     */
+    public static String hex(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) return null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return toHexLower(digest.digest(bytes));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to compute SHA-256", e);
+        }
+    }
+
+    public static String hex(String value) {
+        return hex(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toHexLower(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            hex[i * 2] = HEX[v >>> 4];
+            hex[i * 2 + 1] = HEX[v & 0x0F];
+        }
+        return new String(hex);
+    }
+}
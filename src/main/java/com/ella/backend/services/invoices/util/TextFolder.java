@@ -0,0 +1,132 @@
+package com.ella.backend.services.invoices.util;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass implementation of {@link NormalizeUtil#normalize}: lowercase, accent stripping and
+ * whitespace collapsing driven by a precomputed char table, writing into one growable buffer.
+ *
+ * The table covers everything below U+2070 (Latin, combining diacritics, Greek, Cyrillic, general
+ * punctuation), i.e. every char PDF text extraction realistically produces. Each entry is derived from the
+ * regex implementation itself, so the two agree char by char. Anything outside the table goes through
+ * a per-code-point slow path with the same rules; the only divergence is Greek capital sigma, which
+ * always folds to "σ" (whole-string lowercasing turns it into "ς" at the end of a word).
+ *
+ * Optionally records, for every output char, the index of the original char it came from.
+ */
+final class TextFolder {
+
+    private static final int TABLE_SIZE = 0x2070;
+    private static final char DROP = '\uFFFE';
+    private static final char SLOW = '\uFFFF';
+    private static final char[] TABLE = buildTable();
+
+    private char[] chars;
+    private int[] offsets;
+    private int length;
+    private int start;
+
+    private TextFolder(int capacity, boolean trackOffsets) {
+        this.chars = new char[Math.max(16, capacity)];
+        this.offsets = trackOffsets ? new int[chars.length] : null;
+    }
+
+    static TextFolder fold(String text, boolean trackOffsets) {
+        TextFolder folder = new TextFolder(text.length(), trackOffsets);
+        folder.append(text);
+        folder.trim();
+        return folder;
+    }
+
+    String result() {
+        return new String(chars, start, length - start);
+    }
+
+    /**
+     * Original index of every output char, plus {@code originalLength} as the end sentinel.
+     */
+    int[] offsets(int originalLength) {
+        int n = length - start;
+        int[] out = Arrays.copyOfRange(offsets, start, start + n + 1);
+        out[n] = originalLength;
+        return out;
+    }
+
+    private void append(String text) {
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            char mapped = c < TABLE_SIZE ? TABLE[c] : SLOW;
+            if (mapped == SLOW) {
+                i = appendSlow(text, i);
+                continue;
+            }
+            if (mapped != DROP) {
+                emit(mapped, i);
+            }
+            i++;
+        }
+    }
+
+    private int appendSlow(String text, int i) {
+        int cp = text.codePointAt(i);
+        String folded = NormalizeUtil.foldRegex(new String(Character.toChars(cp)));
+        for (int k = 0; k < folded.length(); k++) {
+            char c = folded.charAt(k);
+            emit(isSpace(c) ? ' ' : c, i);
+        }
+        return i + Character.charCount(cp);
+    }
+
+    private void emit(char c, int sourceIndex) {
+        if (c == ' ' && (length == 0 || chars[length - 1] == ' ')) {
+            return;
+        }
+        if (length == chars.length) {
+            int capacity = chars.length * 2;
+            chars = Arrays.copyOf(chars, capacity);
+            if (offsets != null) offsets = Arrays.copyOf(offsets, capacity);
+        }
+        if (offsets != null) offsets[length] = sourceIndex;
+        chars[length++] = c;
+    }
+
+    /**
+     * Same as {@link String#trim()}: drops leading/trailing chars {@code <= ' '}.
+     */
+    private void trim() {
+        while (length > 0 && chars[length - 1] <= ' ') length--;
+        while (start < length && chars[start] <= ' ') start++;
+        if (offsets != null && length == offsets.length) {
+            offsets = Arrays.copyOf(offsets, length + 1);
+        }
+    }
+
+    private static boolean isSpace(char c) {
+        // \p{Z} plus the regex \s class: [ \t\n\x0B\f\r]
+        return Character.isSpaceChar(c)
+                || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static char[] buildTable() {
+        char[] table = new char[TABLE_SIZE];
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            char ch = (char) c;
+            if (isSpace(ch)) {
+                table[c] = ' ';
+                continue;
+            }
+            String folded = NormalizeUtil.foldRegex(String.valueOf(ch));
+            if (folded.isEmpty()) {
+                table[c] = DROP;
+            } else if (folded.length() == 1 && folded.charAt(0) < DROP) {
+                char f = folded.charAt(0);
+                table[c] = isSpace(f) ? ' ' : f;
+            } else {
+                table[c] = SLOW;
+            }
+        }
+        return table;
+    }
+}
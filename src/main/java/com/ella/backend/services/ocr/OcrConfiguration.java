@@ -1,10 +1,15 @@
 package com.ella.backend.services.ocr;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,12 +21,14 @@ public class OcrConfiguration {
     @Bean
     @ConditionalOnProperty(prefix = "ella.ocr", name = "enabled", havingValue = "true")
     public OcrService tesseractOcrService(OcrProperties ocrProperties) {
-        log.info("[OCR] Enabled: language='{}' tessdataPath='{}' renderDpi={} maxPages={} minTextLen={}",
+        log.info("[OCR] Enabled: language='{}' tessdataPath='{}' renderDpi={} maxPages={} minTextLen={} parallelism={} maxInFlightPages={}",
                 safe(ocrProperties.getLanguage()),
                 safe(ocrProperties.getTessdataPath()),
                 ocrProperties.getPdf().getRenderDpi(),
                 ocrProperties.getPdf().getMaxPages(),
-                ocrProperties.getPdf().getMinTextLength());
+                ocrProperties.getPdf().getMinTextLength(),
+                ocrProperties.getPdf().getParallelism(),
+                ocrProperties.getPdf().getMaxInFlightPages());
         return new TesseractOcrService(ocrProperties);
     }
 
@@ -32,6 +39,38 @@ public class OcrConfiguration {
         return new DisabledOcrService();
     }
 
+    /**
+     * Bounded pool for page rendering and OCR. Threads are long-lived, so {@link TesseractOcrService}'s
+     * per-thread Tesseract instances are created once per worker and reused across uploads.
+     * When the queue is full, submitters wait for space instead of failing the upload.
+     */
+    @Bean(name = "ocrTaskExecutor")
+    public AsyncTaskExecutor ocrTaskExecutor(OcrProperties ocrProperties) {
+        int threads = Math.max(1, ocrProperties.getPdf().getParallelism());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("ocr-");
+        executor.setRejectedExecutionHandler(waitForQueueSpace());
+        executor.initialize();
+        return executor;
+    }
+
+    static RejectedExecutionHandler waitForQueueSpace() {
+        return (task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("OCR pool is shut down");
+            }
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrompido aguardando o pool de OCR", e);
+            }
+        };
+    }
+
     private static String safe(String value) {
         return value == null ? "" : value;
     }
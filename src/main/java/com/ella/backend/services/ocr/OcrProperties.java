@@ -72,6 +72,16 @@ public class OcrProperties {
          */
         private int maxPages = 6;
 
+        /**
+         * OCR worker threads (one Tesseract instance per thread). 1 disables page-level parallelism.
+         */
+        private int parallelism = 2;
+
+        /**
+         * Max rendered pages (BufferedImages) held in memory at once, waiting for or under OCR.
+         */
+        private int maxInFlightPages = 3;
+
         public int getMinTextLength() {
             return minTextLength;
         }
@@ -95,5 +105,21 @@ public class OcrProperties {
         public void setMaxPages(int maxPages) {
             this.maxPages = maxPages;
         }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxInFlightPages() {
+            return maxInFlightPages;
+        }
+
+        public void setMaxInFlightPages(int maxInFlightPages) {
+            this.maxInFlightPages = maxInFlightPages;
+        }
     }
 }
@@ -1,25 +1,65 @@
 package com.ella.backend.services.ocr;
 
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PdfOcrExtractor {
 
+    /** Per-page latency, tagged {@code phase=render|ocr}. */
+    static final String PAGE_METRIC = "ella.ocr.page";
+
     private final OcrProperties ocrProperties;
     private final OcrService ocrService;
+    private final AsyncTaskExecutor ocrTaskExecutor;
+    private final Timer renderTimer;
+    private final Timer ocrTimer;
+
+    public PdfOcrExtractor(
+            OcrProperties ocrProperties,
+            OcrService ocrService,
+            @Qualifier("ocrTaskExecutor") AsyncTaskExecutor ocrTaskExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.ocrProperties = ocrProperties;
+        this.ocrService = ocrService;
+        this.ocrTaskExecutor = ocrTaskExecutor;
+        this.renderTimer = pageTimer(meterRegistry, "render");
+        this.ocrTimer = pageTimer(meterRegistry, "ocr");
+    }
+
+    private static Timer pageTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder(PAGE_METRIC)
+                .description("PDF OCR latency per page")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     /**
      * Runs OCR on up to {@code ella.ocr.pdf.max-pages} pages using in-memory BufferedImages.
+     *
+     * Rendering and recognition both run on the bounded OCR pool, never on the calling thread (which
+     * may be a virtual upload thread). Pages are rendered one at a time (a PDDocument is not thread-safe)
+     * and recognized concurrently; at most {@code ella.ocr.pdf.max-in-flight-pages} rendered images are
+     * alive at once. Text is reassembled in page order.
      */
     public String extractText(PDDocument document) {
         if (document == null) return "";
@@ -30,33 +70,111 @@ public class PdfOcrExtractor {
 
         int totalPages = document.getNumberOfPages();
         int pagesToProcess = Math.min(totalPages, maxPages);
+        int parallelism = Math.max(1, Math.min(ocrProperties.getPdf().getParallelism(), pagesToProcess));
 
         long startMs = System.currentTimeMillis();
 
         try {
             PDFRenderer renderer = new PDFRenderer(document);
-            StringBuilder sb = new StringBuilder();
+            PageResult[] pages = new PageResult[pagesToProcess];
 
-            for (int pageIndex = 0; pageIndex < pagesToProcess; pageIndex++) {
-                BufferedImage image = renderer.renderImageWithDPI(pageIndex, dpi, ImageType.RGB);
-                try {
-                    String pageText = ocrService.extractText(image);
-                    if (pageText != null && !pageText.isBlank()) {
-                        sb.append(pageText).append('\n');
-                    }
-                } finally {
-                    // Help GC/free native memory sooner
-                    image.flush();
+            if (ocrTaskExecutor == null) {
+                for (int pageIndex = 0; pageIndex < pagesToProcess; pageIndex++) {
+                    long renderStart = System.nanoTime();
+                    BufferedImage image = renderer.renderImageWithDPI(pageIndex, dpi, ImageType.RGB);
+                    pages[pageIndex] = recognize(image, recordRender(renderStart));
+                }
+            } else {
+                int maxInFlight = parallelism <= 1 ? 1 : Math.max(1, ocrProperties.getPdf().getMaxInFlightPages());
+                extractPagesOnPool(renderer, pages, dpi, maxInFlight);
+            }
+
+            StringBuilder sb = new StringBuilder();
+            long slowestPageMs = 0;
+            for (PageResult page : pages) {
+                slowestPageMs = Math.max(slowestPageMs, page.renderMs() + page.ocrMs());
+                if (page.text() != null && !page.text().isBlank()) {
+                    sb.append(page.text()).append('\n');
                 }
             }
 
             String result = sb.toString();
             long elapsedMs = System.currentTimeMillis() - startMs;
-            log.info("[OCR] Completed: pages={}/{} dpi={} elapsedMs={} textLen={}",
-                    pagesToProcess, totalPages, dpi, elapsedMs, result.length());
+            log.info("[OCR] Completed: pages={}/{} dpi={} parallelism={} elapsedMs={} slowestPageMs={} textLen={}",
+                    pagesToProcess, totalPages, dpi, parallelism, elapsedMs, slowestPageMs, result.length());
             return result;
+        } catch (OcrException e) {
+            throw e;
         } catch (Exception e) {
             throw new OcrException("Falha ao executar OCR no PDF", e);
         }
     }
+
+    private void extractPagesOnPool(PDFRenderer renderer, PageResult[] pages, int dpi, int maxInFlight)
+            throws Exception {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Future<PageResult>> futures = new ArrayList<>(pages.length);
+
+        try {
+            for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+                inFlight.acquire();
+                int page = pageIndex;
+                long renderStart = System.nanoTime();
+                BufferedImage image;
+                try {
+                    // Waiting on the render keeps the document single-threaded: one page at a time,
+                    // each render happens-after the previous one through Future.get().
+                    image = ocrTaskExecutor.submit(() -> renderer.renderImageWithDPI(page, dpi, ImageType.RGB)).get();
+                } catch (Exception e) {
+                    inFlight.release();
+                    throw e;
+                }
+                long renderMs = recordRender(renderStart);
+
+                futures.add(ocrTaskExecutor.submit(() -> {
+                    try {
+                        return recognize(image, renderMs);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                pages[i] = futures.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OcrException ocr) throw ocr;
+            throw new OcrException("Falha ao executar OCR no PDF", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrException("OCR interrompido", e);
+        } finally {
+            for (Future<PageResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private long recordRender(long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        renderTimer.record(nanos, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private PageResult recognize(BufferedImage image, long renderMs) {
+        long ocrStart = System.nanoTime();
+        try {
+            String pageText = ocrService.extractText(image);
+            long nanos = System.nanoTime() - ocrStart;
+            ocrTimer.record(nanos, TimeUnit.NANOSECONDS);
+            return new PageResult(pageText, renderMs, TimeUnit.NANOSECONDS.toMillis(nanos));
+        } finally {
+            // Help GC/free native memory sooner
+            image.flush();
+        }
+    }
+
+    private record PageResult(String text, long renderMs, long ocrMs) {
+    }
 }
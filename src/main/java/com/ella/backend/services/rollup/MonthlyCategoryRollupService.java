@@ -0,0 +1,284 @@
+package com.ella.backend.services.rollup;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.BankStatementCashflowHeuristics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads and maintains {@code monthly_category_rollup}.
+ *
+ * A month is always recomputed as a whole from its source rows (delete + insert), so a refresh is
+ * idempotent and the table can be rebuilt or verified at any time against the raw data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyCategoryRollupService {
+
+    public record PersonMonth(UUID personId, YearMonth month) {
+    }
+
+    public record RebuildSummary(int persons, int months) {
+    }
+
+    /** Rollup totals of one month, type and source, summed over categories. */
+    public record MonthTotal(YearMonth month, String type, MonthlyRollupSource source, BigDecimal total, BigDecimal totalAbs) {
+    }
+
+    /** Absolute expense total of one category. */
+    public record CategoryTotal(String category, BigDecimal total) {
+    }
+
+    /** Marker row (monthly_rollup_backfill) of the STATEMENT part of the rollup. */
+    static final String STATEMENT_BACKFILL = "STATEMENT";
+
+    /** A claim older than this is considered abandoned (node died mid-backfill). */
+    private static final long BACKFILL_CLAIM_STALE_SECONDS = 3600;
+
+    private final MonthlyCategoryRollupStore store;
+    private final TransactionTemplate transactionTemplate;
+
+    // Only ever goes false -> true: the heuristics version cannot change within a running process.
+    private volatile boolean statementRowsCurrent;
+
+    /**
+     * Rollup rows of the person for the months {@code from}..{@code to} (inclusive). Until the statement
+     * backfill has run, the STATEMENT rows are computed from the raw statement rows instead of read.
+     */
+    public List<MonthlyCategoryTotal> find(UUID personId, YearMonth from, YearMonth to) {
+        if (isStatementBackfillCurrent()) {
+            return store.find(personId, from, to);
+        }
+        return withLiveStatementRows(personId, from, to);
+    }
+
+    /**
+     * Per month, type and source totals: at most a few rows per month, whatever the history size.
+     */
+    public List<MonthTotal> sumByMonthTypeAndSource(UUID personId, YearMonth from, YearMonth to) {
+        if (isStatementBackfillCurrent()) {
+            return store.sumByMonthTypeAndSource(personId, from, to);
+        }
+        Map<List<Object>, MonthTotal> totals = new LinkedHashMap<>();
+        for (MonthlyCategoryTotal row : withLiveStatementRows(personId, from, to)) {
+            MonthTotal total = new MonthTotal(row.month(), row.type(), row.source(), row.total(), row.totalAbs());
+            totals.merge(List.of(row.month(), row.type(), row.source()), total, (a, b) -> new MonthTotal(
+                    a.month(), a.type(), a.source(), a.total().add(b.total()), a.totalAbs().add(b.totalAbs())));
+        }
+        return totals.values().stream().sorted(Comparator.comparing(MonthTotal::month)).toList();
+    }
+
+    /**
+     * Expense totals per category, financial transactions and statement debits together.
+     */
+    public List<CategoryTotal> sumExpensesByCategory(UUID personId, YearMonth from, YearMonth to) {
+        if (isStatementBackfillCurrent()) {
+            return store.sumExpensesByCategory(personId, from, to);
+        }
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        for (MonthlyCategoryTotal row : withLiveStatementRows(personId, from, to)) {
+            if (!TransactionType.EXPENSE.name().equals(row.type())) continue;
+            String category = row.category() == null || row.category().isBlank() ? "Outros" : row.category().trim();
+            totals.merge(category, row.totalAbs(), BigDecimal::add);
+        }
+        return totals.entrySet().stream().map(e -> new CategoryTotal(e.getKey(), e.getValue())).toList();
+    }
+
+    /**
+     * Stored financial_transactions rows plus STATEMENT rows computed on the fly, month by month.
+     */
+    private List<MonthlyCategoryTotal> withLiveStatementRows(UUID personId, YearMonth from, YearMonth to) {
+        List<MonthlyCategoryTotal> rows = new ArrayList<>(store.find(personId, from, to).stream()
+                .filter(row -> row.source().isFinancialTransaction())
+                .toList());
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            rows.addAll(computeStatements(month, store.loadStatementRows(personId, month)));
+        }
+        return rows;
+    }
+
+    /**
+     * Recomputes the given months. Joins the caller's transaction: the rollup commits (or rolls back)
+     * together with the writes that made it stale.
+     */
+    @Transactional
+    public void refresh(Collection<PersonMonth> months) {
+        Map<UUID, TreeSet<YearMonth>> byPerson = new LinkedHashMap<>();
+        for (PersonMonth pm : months) {
+            byPerson.computeIfAbsent(pm.personId(), k -> new TreeSet<>()).add(pm.month());
+        }
+        byPerson.forEach((personId, personMonths) -> {
+            store.lockPerson(personId);
+            for (YearMonth month : personMonths) {
+                store.replace(personId, month, compute(personId, month));
+            }
+        });
+    }
+
+    /**
+     * The rows the given month should have, computed from financial_transactions and bank_statement_transactions.
+     */
+    public List<MonthlyCategoryTotal> compute(UUID personId, YearMonth month) {
+        List<MonthlyCategoryTotal> rows = new ArrayList<>(store.computeFinancial(personId, month));
+        rows.addAll(computeStatements(month, store.loadStatementRows(personId, month)));
+        return rows;
+    }
+
+    /**
+     * Recomputes every month of the person in one transaction.
+     *
+     * @return number of months rebuilt
+     */
+    public int rebuild(UUID personId) {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            store.lockPerson(personId);
+            List<YearMonth> months = store.months(personId);
+            for (YearMonth month : months) {
+                store.replace(personId, month, compute(personId, month));
+            }
+            return months.size();
+        });
+        log.info("[MonthlyRollup] rebuilt personId={} months={}", personId, rebuilt);
+        return rebuilt == null ? 0 : rebuilt;
+    }
+
+    /**
+     * Backfill: {@link #rebuild(UUID)} for every person, one transaction per person.
+     */
+    public RebuildSummary rebuildAll() {
+        List<UUID> personIds = store.personIds();
+        int months = 0;
+        for (UUID personId : personIds) {
+            months += rebuild(personId);
+        }
+        return new RebuildSummary(personIds.size(), months);
+    }
+
+    /**
+     * Whether the STATEMENT rows were built with the current {@link BankStatementCashflowHeuristics#VERSION}.
+     * Until then, readers that need statement cashflow should aggregate the raw rows instead.
+     */
+    public boolean isStatementBackfillCurrent() {
+        if (statementRowsCurrent) return true;
+        Integer version = store.backfillVersion(STATEMENT_BACKFILL);
+        statementRowsCurrent = version != null && version == BankStatementCashflowHeuristics.VERSION;
+        return statementRowsCurrent;
+    }
+
+    /**
+     * Rebuilds every person with bank statements when the STATEMENT rows were never backfilled or were
+     * built with another heuristics version, then records the current version. Only one node runs it:
+     * the others see the claim (or the recorded version) and return.
+     *
+     * @return what was rebuilt, or null when nothing had to be done here
+     */
+    public RebuildSummary backfillStatementsIfOutdated() {
+        if (isStatementBackfillCurrent()) return null;
+
+        int version = BankStatementCashflowHeuristics.VERSION;
+        String owner = "rollup-" + UUID.randomUUID();
+        if (!store.claimBackfill(STATEMENT_BACKFILL, version, owner, BACKFILL_CLAIM_STALE_SECONDS)) {
+            log.info("[MonthlyRollup] statement backfill version={} already done or running elsewhere", version);
+            return null;
+        }
+
+        try {
+            List<UUID> personIds = store.statementOwnerIds();
+            log.info("[MonthlyRollup] statement backfill version={} persons={} started", version, personIds.size());
+            int months = 0;
+            for (UUID personId : personIds) {
+                months += rebuild(personId);
+            }
+            store.completeBackfill(STATEMENT_BACKFILL, version, owner);
+            statementRowsCurrent = true;
+            log.info("[MonthlyRollup] statement backfill version={} persons={} months={} done",
+                    version, personIds.size(), months);
+            return new RebuildSummary(personIds.size(), months);
+        } catch (RuntimeException e) {
+            store.releaseBackfill(STATEMENT_BACKFILL, owner);
+            throw e;
+        }
+    }
+
+    /**
+     * Compares the stored rows of every month of the person with a fresh computation.
+     *
+     * @return months whose stored rows differ (empty when the rollup is consistent)
+     */
+    public List<YearMonth> verify(UUID personId) {
+        List<YearMonth> months = store.months(personId);
+        if (months.isEmpty()) return List.of();
+
+        Map<YearMonth, List<String>> stored = new LinkedHashMap<>();
+        for (MonthlyCategoryTotal row : store.find(personId, months.get(0), months.get(months.size() - 1))) {
+            stored.computeIfAbsent(row.month(), k -> new ArrayList<>()).add(fingerprint(row));
+        }
+
+        List<YearMonth> mismatched = new ArrayList<>();
+        for (YearMonth month : months) {
+            List<String> expected = compute(personId, month).stream().map(MonthlyCategoryRollupService::fingerprint).sorted().toList();
+            List<String> actual = stored.getOrDefault(month, List.of()).stream().sorted().toList();
+            if (!expected.equals(actual)) {
+                mismatched.add(month);
+            }
+        }
+        if (!mismatched.isEmpty()) {
+            log.warn("[MonthlyRollup] verify personId={} mismatchedMonths={}", personId, mismatched);
+        }
+        return mismatched;
+    }
+
+    /**
+     * Statement rows counted as cashflow, as INCOME (credits) / EXPENSE (debits) per heuristic category.
+     */
+    static List<MonthlyCategoryTotal> computeStatements(YearMonth month, List<BankStatementTransaction> statementRows) {
+        Map<List<String>, MonthlyCategoryTotal> totals = new LinkedHashMap<>();
+        for (BankStatementTransaction stx : statementRows) {
+            if (stx == null || stx.getAmount() == null || BankStatementCashflowHeuristics.shouldIgnore(stx)) continue;
+
+            TransactionType type = stx.getType() == BankStatementTransaction.Type.CREDIT
+                    ? TransactionType.INCOME
+                    : TransactionType.EXPENSE;
+            String category = BankStatementCashflowHeuristics.categorize(stx.getDescription(), stx.getType());
+            MonthlyCategoryTotal row = new MonthlyCategoryTotal(
+                    month, type.name(), MonthlyRollupSource.STATEMENT, category, stx.getAmount(), stx.getAmount().abs(), 1);
+            totals.merge(List.of(type.name(), category), row, (a, b) -> new MonthlyCategoryTotal(
+                    month, a.type(), a.source(), a.category(),
+                    a.total().add(b.total()), a.totalAbs().add(b.totalAbs()), a.count() + b.count()));
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    private static String fingerprint(MonthlyCategoryTotal row) {
+        return String.join("|",
+                row.type(),
+                row.source().name(),
+                Objects.toString(row.category()),
+                plain(row.total()),
+                plain(row.totalAbs()),
+                Integer.toString(row.count()));
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "0" : value.stripTrailingZeros().toPlainString();
+    }
+}
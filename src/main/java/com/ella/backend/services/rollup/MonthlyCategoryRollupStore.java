@@ -0,0 +1,258 @@
+package com.ella.backend.services.rollup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.entities.BankStatementTransaction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SQL access to {@code monthly_category_rollup} and to the source rows it is computed from.
+ * Month bounds are always passed as parameters, so the computing queries use the
+ * (person_id, transaction_date) indexes and touch only the month being refreshed.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyCategoryRollupStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<MonthlyCategoryTotal> find(UUID personId, YearMonth from, YearMonth to) {
+        return jdbcTemplate.query("""
+                select month_start, type, source, category, total, total_abs, tx_count
+                  from monthly_category_rollup
+                 where person_id = ?
+                   and month_start between ? and ?
+                """, (rs, i) -> mapTotal(rs), personId, from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * Totals per month, type and source (categories summed) for the months {@code from}..{@code to}.
+     */
+    public List<MonthlyCategoryRollupService.MonthTotal> sumByMonthTypeAndSource(UUID personId, YearMonth from, YearMonth to) {
+        return jdbcTemplate.query("""
+                select month_start, type, source,
+                       coalesce(sum(total), 0) as total,
+                       coalesce(sum(total_abs), 0) as total_abs
+                  from monthly_category_rollup
+                 where person_id = ?
+                   and month_start between ? and ?
+                 group by month_start, type, source
+                 order by month_start
+                """, (rs, i) -> new MonthlyCategoryRollupService.MonthTotal(
+                        YearMonth.from(rs.getDate("month_start").toLocalDate()),
+                        rs.getString("type"),
+                        MonthlyRollupSource.valueOf(rs.getString("source")),
+                        rs.getBigDecimal("total"),
+                        rs.getBigDecimal("total_abs")),
+                personId, from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * Absolute EXPENSE totals per category over all sources for the months {@code from}..{@code to};
+     * blank/missing categories are reported as "Outros".
+     */
+    public List<MonthlyCategoryRollupService.CategoryTotal> sumExpensesByCategory(UUID personId, YearMonth from, YearMonth to) {
+        return jdbcTemplate.query("""
+                select coalesce(nullif(trim(category), ''), 'Outros') as category,
+                       coalesce(sum(total_abs), 0) as total_abs
+                  from monthly_category_rollup
+                 where person_id = ?
+                   and month_start between ? and ?
+                   and type = 'EXPENSE'
+                 group by coalesce(nullif(trim(category), ''), 'Outros')
+                """, (rs, i) -> new MonthlyCategoryRollupService.CategoryTotal(
+                        rs.getString("category"),
+                        rs.getBigDecimal("total_abs")),
+                personId, from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * financial_transactions of the month grouped by type, source and category (soft-deleted rows excluded).
+     */
+    public List<MonthlyCategoryTotal> computeFinancial(UUID personId, YearMonth month) {
+        return jdbcTemplate.query("""
+                select type,
+                       case when purchase_date is null then 'NON_CARD' else 'CARD' end as source,
+                       category,
+                       coalesce(sum(amount), 0) as total,
+                       coalesce(sum(abs(amount)), 0) as total_abs,
+                       count(*) as tx_count
+                  from financial_transactions
+                 where person_id = ?
+                   and deleted_at is null
+                   and transaction_date between ? and ?
+                 group by type, case when purchase_date is null then 'NON_CARD' else 'CARD' end, category
+                """, (rs, i) -> new MonthlyCategoryTotal(
+                        month,
+                        rs.getString("type"),
+                        MonthlyRollupSource.valueOf(rs.getString("source")),
+                        rs.getString("category"),
+                        rs.getBigDecimal("total"),
+                        rs.getBigDecimal("total_abs"),
+                        rs.getInt("tx_count")),
+                personId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * The person's bank statement rows of the month, as detached entities carrying only what the
+     * cashflow heuristics look at (date, description, amount, type).
+     */
+    public List<BankStatementTransaction> loadStatementRows(UUID personId, YearMonth month) {
+        return jdbcTemplate.query("""
+                select t.transaction_date, t.description, t.amount, t.type
+                  from bank_statement_transactions t
+                  join bank_statements s on s.id = t.bank_statement_id
+                 where s.user_id = ?
+                   and t.transaction_date between ? and ?
+                """, (rs, i) -> {
+                    BankStatementTransaction row = new BankStatementTransaction();
+                    row.setTransactionDate(rs.getObject("transaction_date", LocalDate.class));
+                    row.setDescription(rs.getString("description"));
+                    row.setAmount(rs.getBigDecimal("amount"));
+                    row.setType(parseStatementType(rs.getString("type")));
+                    return row;
+                }, personId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    public void replace(UUID personId, YearMonth month, List<MonthlyCategoryTotal> rows) {
+        jdbcTemplate.update("delete from monthly_category_rollup where person_id = ? and month_start = ?",
+                personId, month.atDay(1));
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate("""
+                insert into monthly_category_rollup
+                       (person_id, month_start, type, source, category, total, total_abs, tx_count, updated_at)
+                values (?, ?, ?, ?, ?, ?, ?, ?, now())
+                """, rows, rows.size(), (ps, row) -> {
+                    ps.setObject(1, personId);
+                    ps.setObject(2, month.atDay(1));
+                    ps.setString(3, row.type());
+                    ps.setString(4, row.source().name());
+                    ps.setString(5, row.category());
+                    ps.setBigDecimal(6, row.total());
+                    ps.setBigDecimal(7, row.totalAbs());
+                    ps.setInt(8, row.count());
+                });
+    }
+
+    /**
+     * Serializes rollup refreshes of one person until the end of the current transaction, so two
+     * concurrent writers cannot interleave their delete/insert of the same month.
+     */
+    public void lockPerson(UUID personId) {
+        jdbcTemplate.queryForList("select id from persons where id = ? for update", UUID.class, personId);
+    }
+
+    /**
+     * Every month with source rows or stored rollup rows for the person.
+     */
+    public List<YearMonth> months(UUID personId) {
+        return jdbcTemplate.query("""
+                select distinct y, m from (
+                    select extract(year from transaction_date) as y, extract(month from transaction_date) as m
+                      from financial_transactions
+                     where person_id = ?
+                    union
+                    select extract(year from t.transaction_date), extract(month from t.transaction_date)
+                      from bank_statement_transactions t
+                      join bank_statements s on s.id = t.bank_statement_id
+                     where s.user_id = ?
+                    union
+                    select extract(year from month_start), extract(month from month_start)
+                      from monthly_category_rollup
+                     where person_id = ?
+                ) months
+                 order by y, m
+                """, (rs, i) -> YearMonth.of(rs.getInt("y"), rs.getInt("m")), personId, personId, personId);
+    }
+
+    public List<UUID> personIds() {
+        return jdbcTemplate.queryForList("select id from persons order by id", UUID.class);
+    }
+
+    /**
+     * Persons with at least one bank statement (the only ones with STATEMENT rollup rows).
+     */
+    public List<UUID> statementOwnerIds() {
+        return jdbcTemplate.queryForList("""
+                select distinct s.user_id
+                  from bank_statements s
+                  join persons p on p.id = s.user_id
+                 order by s.user_id
+                """, UUID.class);
+    }
+
+    /**
+     * Version recorded by the last completed backfill of that name, or null when it never ran.
+     */
+    public Integer backfillVersion(String name) {
+        List<Integer> versions = jdbcTemplate.query(
+                "select version from monthly_rollup_backfill where name = ?",
+                (rs, i) -> (Integer) rs.getObject("version"), name);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    /**
+     * Claims the backfill for {@code owner} unless it already ran with {@code version} or another
+     * node claimed it less than {@code staleAfterSeconds} ago.
+     */
+    public boolean claimBackfill(String name, int version, String owner, long staleAfterSeconds) {
+        return jdbcTemplate.update("""
+                update monthly_rollup_backfill
+                   set claimed_by = ?, claimed_at = now()
+                 where name = ?
+                   and (version is null or version <> ?)
+                   and (claimed_at is null or claimed_at < now() - make_interval(secs => ?))
+                """, owner, name, version, staleAfterSeconds) == 1;
+    }
+
+    public void completeBackfill(String name, int version, String owner) {
+        jdbcTemplate.update("""
+                update monthly_rollup_backfill
+                   set version = ?, completed_at = now(), claimed_by = null, claimed_at = null
+                 where name = ? and claimed_by = ?
+                """, version, name, owner);
+    }
+
+    public void releaseBackfill(String name, String owner) {
+        jdbcTemplate.update("""
+                update monthly_rollup_backfill
+                   set claimed_by = null, claimed_at = null
+                 where name = ? and claimed_by = ?
+                """, name, owner);
+    }
+
+    private static MonthlyCategoryTotal mapTotal(ResultSet rs) throws SQLException {
+        Date monthStart = rs.getDate("month_start");
+        BigDecimal total = rs.getBigDecimal("total");
+        BigDecimal totalAbs = rs.getBigDecimal("total_abs");
+        return new MonthlyCategoryTotal(
+                YearMonth.from(monthStart.toLocalDate()),
+                rs.getString("type"),
+                MonthlyRollupSource.valueOf(rs.getString("source")),
+                rs.getString("category"),
+                total,
+                totalAbs,
+                rs.getInt("tx_count"));
+    }
+
+    private static BankStatementTransaction.Type parseStatementType(String value) {
+        if (value == null) return null;
+        try {
+            return BankStatementTransaction.Type.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
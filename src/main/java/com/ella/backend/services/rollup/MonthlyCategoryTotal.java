@@ -0,0 +1,23 @@
+package com.ella.backend.services.rollup;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * One {@code monthly_category_rollup} row: totals of a person's rows for a month, type, source and category.
+ *
+ * @param type     TransactionType name; statement credits/debits are stored as INCOME/EXPENSE
+ * @param category raw category for financial transactions (may be null), heuristic category for statements
+ * @param total    sum of the signed amounts
+ * @param totalAbs sum of the absolute amounts
+ */
+public record MonthlyCategoryTotal(
+        YearMonth month,
+        String type,
+        MonthlyRollupSource source,
+        String category,
+        BigDecimal total,
+        BigDecimal totalAbs,
+        int count
+) {
+}
@@ -0,0 +1,36 @@
+package com.ella.backend.services.rollup;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the STATEMENT part of {@code monthly_category_rollup} after startup, once per
+ * {@link com.ella.backend.services.cashflow.BankStatementCashflowHeuristics#VERSION}
+ * (see {@link MonthlyCategoryRollupService#backfillStatementsIfOutdated()}).
+ *
+ * Runs in the background so startup is not held up; new writes keep the rollup current meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "ella.rollup.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupBackfillRunner {
+
+    private final MonthlyCategoryRollupService rollupService;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStatementRows() {
+        try {
+            rollupService.backfillStatementsIfOutdated();
+        } catch (Exception e) {
+            log.warn("[MonthlyRollup] statement backfill failed, retried on next startup: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ella.backend.services.rollup;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.entities.BankStatement;
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.entities.Person;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Marks rollup months dirty for every JPA insert, update (including soft-delete via deletedAt)
+ * and delete of {@link FinancialTransaction} and {@link BankStatementTransaction}.
+ * The JDBC bulk insert path bypasses Hibernate and calls {@link MonthlyRollupTracker} itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyRollupEntityListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /** Properties that change a FinancialTransaction's contribution to the rollup. */
+    private static final Set<String> FINANCIAL_PROPERTIES =
+            Set.of("amount", "type", "category", "transactionDate", "purchaseDate", "deletedAt", "person");
+
+    private static final Set<String> STATEMENT_PROPERTIES =
+            Set.of("amount", "type", "description", "transactionDate", "bankStatement");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MonthlyRollupTracker tracker;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        markCurrent(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        Set<String> relevant;
+        if (entity instanceof FinancialTransaction) {
+            relevant = FINANCIAL_PROPERTIES;
+        } else if (entity instanceof BankStatementTransaction) {
+            relevant = STATEMENT_PROPERTIES;
+        } else {
+            return;
+        }
+        if (!anyDirty(event, relevant)) {
+            // e.g. description/trip edits: totals unchanged, but dashboards listing the row are stale
+            markChanged(entity);
+            return;
+        }
+
+        markCurrent(entity);
+        markState(entity, event.getPersister(), event.getOldState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        markState(event.getEntity(), event.getPersister(), event.getDeletedState());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void markCurrent(Object entity) {
+        if (entity instanceof FinancialTransaction tx) {
+            tracker.markDirty(personId(tx.getPerson()), tx.getTransactionDate());
+        } else if (entity instanceof BankStatementTransaction stx) {
+            tracker.markDirty(userId(stx.getBankStatement()), stx.getTransactionDate());
+        }
+    }
+
+    private void markChanged(Object entity) {
+        if (entity instanceof FinancialTransaction tx) {
+            tracker.markChanged(personId(tx.getPerson()), tx.getTransactionDate());
+        } else if (entity instanceof BankStatementTransaction stx) {
+            tracker.markChanged(userId(stx.getBankStatement()), stx.getTransactionDate());
+        }
+    }
+
+    /**
+     * Marks the month the row belonged to according to a loaded/deleted state snapshot
+     * (it may differ from the entity's current person or date after an update).
+     */
+    private void markState(Object entity, EntityPersister persister, Object[] state) {
+        if (state == null) return;
+        if (entity instanceof FinancialTransaction) {
+            Object person = value(persister, state, "person");
+            Object date = value(persister, state, "transactionDate");
+            tracker.markDirty(person instanceof Person p ? personId(p) : null, date instanceof LocalDate d ? d : null);
+        } else if (entity instanceof BankStatementTransaction) {
+            Object statement = value(persister, state, "bankStatement");
+            Object date = value(persister, state, "transactionDate");
+            tracker.markDirty(statement instanceof BankStatement s ? userId(s) : null, date instanceof LocalDate d ? d : null);
+        }
+    }
+
+    private static boolean anyDirty(PostUpdateEvent event, Set<String> relevant) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) return true;
+        String[] names = event.getPersister().getPropertyNames();
+        for (int index : dirty) {
+            if (relevant.contains(names[index])) return true;
+        }
+        return false;
+    }
+
+    private static Object value(EntityPersister persister, Object[] state, String property) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length && i < state.length; i++) {
+            if (names[i].equals(property)) return state[i];
+        }
+        return null;
+    }
+
+    private static UUID personId(Person person) {
+        return person == null ? null : person.getId();
+    }
+
+    private static UUID userId(BankStatement statement) {
+        return statement == null ? null : statement.getUserId();
+    }
+}
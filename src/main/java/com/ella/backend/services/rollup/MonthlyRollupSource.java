@@ -0,0 +1,17 @@
+package com.ella.backend.services.rollup;
+
+/**
+ * Where a {@code monthly_category_rollup} row comes from.
+ */
+public enum MonthlyRollupSource {
+    /** financial_transactions with a purchase date (credit card invoice lines). */
+    CARD,
+    /** financial_transactions without a purchase date (manual entries, account movements). */
+    NON_CARD,
+    /** bank_statement_transactions that count as cashflow (see BankStatementCashflowHeuristics). */
+    STATEMENT;
+
+    public boolean isFinancialTransaction() {
+        return this != STATEMENT;
+    }
+}
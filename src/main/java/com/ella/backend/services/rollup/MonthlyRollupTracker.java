@@ -0,0 +1,124 @@
+package com.ella.backend.services.rollup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ella.backend.events.TransactionsChangedEvent;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.PersonMonth;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collects the (person, month) pairs touched by the current transaction and refreshes their rollup
+ * rows once, right before commit, in the same transaction. An upload that writes 5.000 rows of the
+ * same month therefore costs one month recomputation, not 5.000.
+ *
+ * After commit, every touched (person, months) is published as a {@link TransactionsChangedEvent},
+ * including changes that do not move rollup totals (e.g. a description edit).
+ *
+ * Fed by {@link MonthlyRollupEntityListener} (JPA writes) and by the bulk JDBC insert path.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyRollupTracker {
+
+    private final MonthlyCategoryRollupService rollupService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * A row of the month changed in a way that affects the rollup totals.
+     */
+    public void markDirty(UUID personId, LocalDate date) {
+        mark(personId, date, true);
+    }
+
+    /**
+     * A row of the month changed without affecting the rollup totals.
+     */
+    public void markChanged(UUID personId, LocalDate date) {
+        mark(personId, date, false);
+    }
+
+    private void mark(UUID personId, LocalDate date, boolean rollup) {
+        if (personId == null || date == null) return;
+        PersonMonth key = new PersonMonth(personId, YearMonth.from(date));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (rollup) {
+                rollupService.refresh(List.of(key));
+            }
+            publish(List.of(key));
+            return;
+        }
+        PendingChanges pending = pendingForCurrentTransaction();
+        if (rollup) {
+            pending.rollup.add(key);
+        }
+        pending.changed.add(key);
+    }
+
+    /**
+     * Looked up among the current transaction's synchronizations (not a bound resource) so a
+     * REQUIRES_NEW transaction gets its own set while the outer one is suspended.
+     */
+    private PendingChanges pendingForCurrentTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void publish(Collection<PersonMonth> changed) {
+        Map<UUID, Set<YearMonth>> byPerson = new LinkedHashMap<>();
+        for (PersonMonth pm : changed) {
+            byPerson.computeIfAbsent(pm.personId(), k -> new LinkedHashSet<>()).add(pm.month());
+        }
+        byPerson.forEach((personId, months) -> eventPublisher.publishEvent(new TransactionsChangedEvent(personId, Set.copyOf(months))));
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Set<PersonMonth> rollup = new LinkedHashSet<>();
+        private final Set<PersonMonth> changed = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (readOnly) return;
+            // Hibernate flushes on commit, after this callback: flush now so the last writes
+            // reach the database (and this set) before the rollup is computed.
+            if (entityManager.isJoinedToTransaction()) {
+                entityManager.flush();
+            }
+            while (!rollup.isEmpty()) {
+                List<PersonMonth> batch = List.copyOf(rollup);
+                rollup.clear();
+                rollupService.refresh(batch);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!changed.isEmpty()) {
+                publish(changed);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ella.backend.services.uploads;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.entities.Installment;
+import com.ella.backend.services.rollup.MonthlyRollupTracker;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write path for large imports (invoice uploads, bank statements): rows go to the database as
+ * multi-row {@code INSERT ... VALUES (...), (...)} statements, one round trip per table for up to
+ * {@link #ROWS_PER_STATEMENT} rows, instead of one persist + flush per entity.
+ *
+ * Ids (and created/updated timestamps) are generated here when missing, so callers can reference the
+ * rows right away. The entities are NOT attached to the persistence context: callers must not save or
+ * modify them through JPA afterwards. Must run inside the caller's transaction (JdbcTemplate shares
+ * the JPA connection), and pending JPA changes are flushed first so referenced rows (person,
+ * invoice, statement) exist.
+ *
+ * Hibernate never sees these rows, so the touched rollup months are reported to
+ * {@link MonthlyRollupTracker} here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkIngestionWriter {
+
+    /** Keeps every statement well under PostgreSQL's 32767 bind parameters (21 columns * 1000). */
+    static final int ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final MonthlyRollupTracker rollupTracker;
+
+    private static final List<Column<FinancialTransaction>> TRANSACTION_COLUMNS = List.of(
+            new Column<>("id", Types.OTHER, FinancialTransaction::getId),
+            new Column<>("person_id", Types.OTHER, tx -> tx.getPerson().getId()),
+            new Column<>("description", Types.VARCHAR, FinancialTransaction::getDescription),
+            new Column<>("amount", Types.NUMERIC, FinancialTransaction::getAmount),
+            new Column<>("type", Types.VARCHAR, tx -> name(tx.getType())),
+            new Column<>("scope", Types.VARCHAR, tx -> name(tx.getScope())),
+            new Column<>("category", Types.VARCHAR, FinancialTransaction::getCategory),
+            new Column<>("trip_id", Types.OTHER, FinancialTransaction::getTripId),
+            new Column<>("trip_subcategory", Types.VARCHAR, FinancialTransaction::getTripSubcategory),
+            new Column<>("transaction_date", Types.DATE, FinancialTransaction::getTransactionDate),
+            new Column<>("purchase_date", Types.DATE, FinancialTransaction::getPurchaseDate),
+            new Column<>("due_date", Types.DATE, FinancialTransaction::getDueDate),
+            new Column<>("paid_date", Types.DATE, FinancialTransaction::getPaidDate),
+            new Column<>("status", Types.VARCHAR, tx -> name(tx.getStatus())),
+            new Column<>("created_at", Types.TIMESTAMP, FinancialTransaction::getCreatedAt),
+            new Column<>("updated_at", Types.TIMESTAMP, FinancialTransaction::getUpdatedAt),
+            new Column<>("deleted_at", Types.TIMESTAMP, FinancialTransaction::getDeletedAt),
+            new Column<>("is_critical", Types.BOOLEAN, FinancialTransaction::isCritical),
+            new Column<>("critical_reason", Types.VARCHAR, tx -> name(tx.getCriticalReason())),
+            new Column<>("critical_reviewed", Types.BOOLEAN, FinancialTransaction::isCriticalReviewed),
+            new Column<>("critical_reviewed_at", Types.TIMESTAMP, FinancialTransaction::getCriticalReviewedAt)
+    );
+
+    private static final List<Column<Installment>> INSTALLMENT_COLUMNS = List.of(
+            new Column<>("id", Types.OTHER, Installment::getId),
+            new Column<>("number", Types.INTEGER, Installment::getNumber),
+            new Column<>("total", Types.INTEGER, Installment::getTotal),
+            new Column<>("amount", Types.NUMERIC, Installment::getAmount),
+            new Column<>("due_date", Types.DATE, Installment::getDueDate),
+            new Column<>("invoice_id", Types.OTHER, i -> i.getInvoice().getId()),
+            new Column<>("transaction_id", Types.OTHER, i -> i.getTransaction().getId()),
+            new Column<>("created_at", Types.TIMESTAMP, Installment::getCreatedAt),
+            new Column<>("updated_at", Types.TIMESTAMP, Installment::getUpdatedAt)
+    );
+
+    private static final List<Column<BankStatementTransaction>> STATEMENT_TRANSACTION_COLUMNS = List.of(
+            new Column<>("id", Types.OTHER, BankStatementTransaction::getId),
+            new Column<>("bank_statement_id", Types.OTHER, t -> t.getBankStatement().getId()),
+            new Column<>("transaction_date", Types.DATE, BankStatementTransaction::getTransactionDate),
+            new Column<>("description", Types.VARCHAR, BankStatementTransaction::getDescription),
+            new Column<>("amount", Types.NUMERIC, BankStatementTransaction::getAmount),
+            new Column<>("balance", Types.NUMERIC, BankStatementTransaction::getBalance),
+            new Column<>("type", Types.VARCHAR, t -> name(t.getType())),
+            new Column<>("created_at", Types.TIMESTAMP, BankStatementTransaction::getCreatedAt),
+            new Column<>("updated_at", Types.TIMESTAMP, BankStatementTransaction::getUpdatedAt)
+    );
+
+    private record Column<T>(String name, int sqlType, Function<T, Object> value) {
+    }
+
+    public void insertTransactions(List<FinancialTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        for (FinancialTransaction tx : transactions) {
+            if (tx.getId() == null) tx.setId(UUID.randomUUID());
+            if (tx.getCreatedAt() == null) tx.setCreatedAt(now);
+            if (tx.getUpdatedAt() == null) tx.setUpdatedAt(now);
+        }
+        insert("financial_transactions", TRANSACTION_COLUMNS, transactions);
+        for (FinancialTransaction tx : transactions) {
+            rollupTracker.markDirty(tx.getPerson().getId(), tx.getTransactionDate());
+        }
+    }
+
+    /**
+     * The invoice and transaction of each installment must already exist (e.g. {@link #insertTransactions} first).
+     */
+    public void insertInstallments(List<Installment> installments) {
+        if (installments == null || installments.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        for (Installment installment : installments) {
+            if (installment.getId() == null) installment.setId(UUID.randomUUID());
+            if (installment.getCreatedAt() == null) installment.setCreatedAt(now);
+            if (installment.getUpdatedAt() == null) installment.setUpdatedAt(now);
+        }
+        insert("installments", INSTALLMENT_COLUMNS, installments);
+    }
+
+    /**
+     * Each row's {@code bankStatement} must already be persisted; rows should not be in the
+     * statement's (cascaded) transaction list while it is managed, or JPA would insert them again.
+     */
+    public void insertStatementTransactions(List<BankStatementTransaction> rows) {
+        if (rows == null || rows.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        for (BankStatementTransaction row : rows) {
+            if (row.getId() == null) row.setId(UUID.randomUUID());
+            if (row.getCreatedAt() == null) row.setCreatedAt(now);
+            if (row.getUpdatedAt() == null) row.setUpdatedAt(now);
+        }
+        insert("bank_statement_transactions", STATEMENT_TRANSACTION_COLUMNS, rows);
+        for (BankStatementTransaction row : rows) {
+            rollupTracker.markDirty(row.getBankStatement().getUserId(), row.getTransactionDate());
+        }
+    }
+
+    private <T> void insert(String table, List<Column<T>> columns, List<T> rows) {
+        entityManager.flush();
+
+        long started = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_STATEMENT));
+            jdbcTemplate.update(insertSql(table, columns, chunk.size()), ps -> bind(ps, columns, chunk));
+        }
+        log.debug("[BulkIngestion] table={} rows={} tookMs={}", table, rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static <T> String insertSql(String table, List<Column<T>> columns, int rowCount) {
+        StringBuilder sql = new StringBuilder(64 + rowCount * columns.size() * 3);
+        sql.append("insert into ").append(table).append(" (");
+        for (int c = 0; c < columns.size(); c++) {
+            if (c > 0) sql.append(", ");
+            sql.append(columns.get(c).name());
+        }
+        sql.append(") values ");
+
+        String placeholders = "(" + "?, ".repeat(columns.size() - 1) + "?)";
+        for (int r = 0; r < rowCount; r++) {
+            if (r > 0) sql.append(", ");
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+
+    private static <T> void bind(PreparedStatement ps, List<Column<T>> columns, List<T> rows) throws SQLException {
+        int index = 1;
+        for (T row : rows) {
+            for (Column<T> column : columns) {
+                Object value = column.value().apply(row);
+                if (value == null) {
+                    ps.setNull(index, column.sqlType());
+                } else if (value instanceof BigDecimal decimal) {
+                    ps.setBigDecimal(index, decimal);
+                } else if (value instanceof LocalDate || value instanceof LocalDateTime || value instanceof UUID) {
+                    ps.setObject(index, value);
+                } else {
+                    ps.setObject(index, value, column.sqlType());
+                }
+                index++;
+            }
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,69 @@
+package com.ella.backend.services.uploads;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Default store: keeps the bytes in {@code invoice_upload_jobs.file_bytes}, which is no longer
+ * mapped on the entity, so loading a job (e.g. status polling) never pulls the file.
+ * Also serves jobs created before the blob store existed (no {@code blob_ref}).
+ */
+public class DatabaseUploadBlobStore implements UploadBlobStore {
+
+    public static final String SCHEME = "db";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseUploadBlobStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String scheme() {
+        return SCHEME;
+    }
+
+    /**
+     * The job row must already be flushed: this is a plain UPDATE on it.
+     */
+    @Override
+    public String put(UUID jobId, byte[] bytes) {
+        int updated = jdbcTemplate.update("update invoice_upload_jobs set file_bytes = ? where id = ?", bytes, jobId);
+        if (updated != 1) {
+            throw new IllegalStateException("Upload job not found for blob write: " + jobId);
+        }
+        return refFor(jobId);
+    }
+
+    @Override
+    public InputStream open(String ref) throws IOException {
+        UUID jobId = jobIdOf(ref);
+        List<byte[]> rows = jdbcTemplate.query(
+                "select file_bytes from invoice_upload_jobs where id = ?",
+                (rs, rowNum) -> rs.getBytes(1),
+                jobId);
+        if (rows.isEmpty() || rows.get(0) == null) {
+            throw new FileNotFoundException("Upload blob not found: " + ref);
+        }
+        return new ByteArrayInputStream(rows.get(0));
+    }
+
+    @Override
+    public void delete(String ref) {
+        jdbcTemplate.update("update invoice_upload_jobs set file_bytes = null where id = ?", jobIdOf(ref));
+    }
+
+    public static String refFor(UUID jobId) {
+        return SCHEME + ":" + jobId;
+    }
+
+    private static UUID jobIdOf(String ref) {
+        return UUID.fromString(ref.substring(SCHEME.length() + 1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ella.backend.services.uploads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Writes each upload to {@code <directory>/<jobId>.bin} (atomic move from a temp file).
+ */
+public class FileSystemUploadBlobStore implements UploadBlobStore {
+
+    public static final String SCHEME = "fs";
+
+    private final Path root;
+
+    public FileSystemUploadBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String scheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public String put(UUID jobId, byte[] bytes) throws IOException {
+        Files.createDirectories(root);
+        String name = jobId + ".bin";
+        Path tmp = Files.createTempFile(root, jobId.toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, root.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return SCHEME + ":" + name;
+    }
+
+    @Override
+    public InputStream open(String ref) throws IOException {
+        return Files.newInputStream(resolve(ref));
+    }
+
+    @Override
+    public void delete(String ref) throws IOException {
+        Files.deleteIfExists(resolve(ref));
+    }
+
+    private Path resolve(String ref) {
+        String name = ref.substring(SCHEME.length() + 1);
+        Path path = root.resolve(name).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid blob reference: " + ref);
+        }
+        return path;
+    }
+}
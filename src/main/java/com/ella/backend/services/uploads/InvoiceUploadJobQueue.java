@@ -0,0 +1,169 @@
+package com.ella.backend.services.uploads;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Claim/lease operations on invoice_upload_jobs, the durable queue shared by all backend nodes.
+ *
+ * All timestamps come from the database clock ({@code now()}) so nodes with skewed clocks agree on
+ * lease expiry. Each statement is atomic on its own; no surrounding transaction is needed.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvoiceUploadJobQueue {
+
+    private static final String CLAIM_SQL = """
+            update invoice_upload_jobs j
+               set status = 'RUNNING',
+                   locked_by = ?,
+                   lease_expires_at = now() + (? * interval '1 second'),
+                   attempts = j.attempts + 1,
+                   processed_rows = 0,
+                   next_attempt_at = null,
+                   started_at = coalesce(j.started_at, now())
+             where j.id in (
+                    select id
+                      from invoice_upload_jobs
+                     where ((status = 'PENDING' and (next_attempt_at is null or next_attempt_at <= now()))
+                            or (status = 'RUNNING' and (lease_expires_at is null or lease_expires_at < now())))
+                       and attempts < ?
+                     order by created_at
+                     limit ?
+                       for update skip locked)
+            returning j.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Atomically takes up to {@code limit} runnable jobs (PENDING and due, or RUNNING with an expired lease)
+     * for {@code workerId}. Rows locked by another node's claim are skipped, not waited on.
+     */
+    public List<UUID> claim(String workerId, int limit, int leaseSeconds, int maxAttempts) {
+        if (limit <= 0) return List.of();
+        return jdbcTemplate.queryForList(CLAIM_SQL, UUID.class, workerId, leaseSeconds, maxAttempts, limit);
+    }
+
+    /**
+     * Renews the lease of every job still held by {@code workerId}.
+     */
+    public int heartbeat(String workerId, int leaseSeconds) {
+        return jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set lease_expires_at = now() + (? * interval '1 second')
+                 where locked_by = ?
+                   and status = 'RUNNING'
+                """, leaseSeconds, workerId);
+    }
+
+    /**
+     * Records how many rows of a running job are processed so far. Runs in its own transaction so pollers
+     * see it while the upload's (still open) transaction keeps writing; those rows only count as imported
+     * once the job SUCCEEDED. A failed or retried job has it reset to 0 (its rows were rolled back).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reportProgress(UUID jobId, String workerId, int processedRows) {
+        jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set processed_rows = ?
+                 where id = ?
+                   and locked_by = ?
+                """, processedRows, jobId, workerId);
+    }
+
+    /**
+     * Records the job as SUCCEEDED, only while {@code workerId} still holds its lease.
+     *
+     * @return false when the lease was lost (expired and re-claimed by another worker): that worker now
+     *         owns the job and its outcome must not be overwritten
+     */
+    public boolean complete(UUID jobId, String workerId, String resultJson) {
+        return jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set status = 'SUCCEEDED',
+                       result_json = cast(? as jsonb),
+                       error_message = null,
+                       finished_at = now(),
+                       locked_by = null,
+                       lease_expires_at = null
+                 where id = ?
+                   and locked_by = ?
+                   and status = 'RUNNING'
+                """, resultJson, jobId, workerId) == 1;
+    }
+
+    /**
+     * Records the job as FAILED, only while {@code workerId} still holds its lease (see {@link #complete}).
+     */
+    public boolean fail(UUID jobId, String workerId, String errorMessage) {
+        return jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set status = 'FAILED',
+                       error_message = ?,
+                       processed_rows = 0,
+                       finished_at = now(),
+                       locked_by = null,
+                       lease_expires_at = null
+                 where id = ?
+                   and locked_by = ?
+                   and status = 'RUNNING'
+                """, errorMessage, jobId, workerId) == 1;
+    }
+
+    /**
+     * Puts the job back as PENDING after a transient failure; it becomes claimable after {@code delaySeconds}.
+     */
+    public boolean scheduleRetry(UUID jobId, String workerId, long delaySeconds, String errorMessage) {
+        return jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set status = 'PENDING',
+                       next_attempt_at = now() + (? * interval '1 second'),
+                       error_message = ?,
+                       processed_rows = 0,
+                       locked_by = null,
+                       lease_expires_at = null
+                 where id = ?
+                   and locked_by = ?
+                """, delaySeconds, errorMessage, jobId, workerId) == 1;
+    }
+
+    /**
+     * Gives back a claimed job that was never started (e.g. the local executor rejected it).
+     */
+    public void release(UUID jobId, String workerId) {
+        jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set status = 'PENDING',
+                       attempts = greatest(attempts - 1, 0),
+                       locked_by = null,
+                       lease_expires_at = null
+                 where id = ?
+                   and locked_by = ?
+                """, jobId, workerId);
+    }
+
+    /**
+     * Fails RUNNING jobs whose lease expired after their last allowed attempt (e.g. a file that kills the node).
+     */
+    public int failExhausted(int maxAttempts, String errorMessage) {
+        return jdbcTemplate.update("""
+                update invoice_upload_jobs
+                   set status = 'FAILED',
+                       error_message = coalesce(error_message, ?),
+                       finished_at = now(),
+                       locked_by = null,
+                       lease_expires_at = null
+                 where status = 'RUNNING'
+                   and (lease_expires_at is null or lease_expires_at < now())
+                   and attempts >= ?
+                """, errorMessage, maxAttempts);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ella.backend.services.uploads;
+
+import java.util.UUID;
+
+/**
+ * Published once a new upload job is committed, so an idle worker claims it without waiting for the next poll.
+ */
+public record InvoiceUploadJobQueuedEvent(UUID jobId) {
+}
@@ -0,0 +1,162 @@
+package com.ella.backend.services.uploads;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ella.backend.services.InvoiceUploadJobService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pulls upload jobs from {@link InvoiceUploadJobQueue} and runs at most
+ * {@code ella.uploads.queue.concurrency} of them at a time on this node.
+ * Adding nodes adds throughput; jobs of a node that dies are picked up again once their lease expires.
+ */
+@Component
+@Slf4j
+public class InvoiceUploadJobWorker {
+
+    private static final String EXHAUSTED_MESSAGE =
+            "Processamento interrompido após várias tentativas. Envie a fatura novamente.";
+
+    private final InvoiceUploadJobQueue queue;
+    private final InvoiceUploadJobService jobService;
+    private final Executor executor;
+    private final UploadQueueProperties properties;
+    private final String workerId;
+    private final int concurrency;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    // A lock rather than synchronized: poll() does JDBC I/O and may run on virtual threads.
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    private volatile boolean stopping;
+
+    public InvoiceUploadJobWorker(
+            InvoiceUploadJobQueue queue,
+            InvoiceUploadJobService jobService,
+            @Qualifier("invoiceUploadTaskExecutor") Executor executor,
+            UploadQueueProperties properties
+    ) {
+        this.queue = queue;
+        this.jobService = jobService;
+        this.executor = executor;
+        this.properties = properties;
+        this.workerId = resolveWorkerId(properties.getWorkerId());
+        this.concurrency = Math.max(1, properties.getConcurrency());
+        log.info("[InvoiceUploadJob] worker={} enabled={} concurrency={}",
+                workerId, properties.isEnabled(), concurrency);
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    @EventListener
+    public void onJobQueued(InvoiceUploadJobQueuedEvent event) {
+        poll();
+    }
+
+    @Scheduled(
+            initialDelayString = "${ella.uploads.queue.poll-interval-ms:2000}",
+            fixedDelayString = "${ella.uploads.queue.poll-interval-ms:2000}")
+    public void scheduledPoll() {
+        poll();
+    }
+
+    /**
+     * Claims as many jobs as there are free local slots and hands them to the executor.
+     */
+    public void poll() {
+        if (!properties.isEnabled() || stopping) return;
+
+        pollLock.lock();
+        try {
+            claimFreeSlots();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void claimFreeSlots() {
+        int free = concurrency - inFlight.size();
+        if (free <= 0) return;
+
+        List<UUID> claimed;
+        try {
+            claimed = queue.claim(workerId, free, properties.getLeaseSeconds(), Math.max(1, properties.getMaxAttempts()));
+        } catch (Exception e) {
+            log.warn("[InvoiceUploadJob] claim failed worker={}: {}", workerId, e.toString());
+            return;
+        }
+
+        for (UUID jobId : claimed) {
+            inFlight.add(jobId);
+            try {
+                executor.execute(() -> run(jobId));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(jobId);
+                queue.release(jobId, workerId);
+                log.warn("[InvoiceUploadJob] executor rejected jobId={}, released", jobId);
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${ella.uploads.queue.heartbeat-interval-ms:30000}",
+            fixedDelayString = "${ella.uploads.queue.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (!properties.isEnabled()) return;
+        try {
+            if (!inFlight.isEmpty()) {
+                queue.heartbeat(workerId, properties.getLeaseSeconds());
+            }
+            int exhausted = queue.failExhausted(Math.max(1, properties.getMaxAttempts()), EXHAUSTED_MESSAGE);
+            if (exhausted > 0) {
+                log.warn("[InvoiceUploadJob] marked {} job(s) FAILED after exhausting attempts", exhausted);
+            }
+        } catch (Exception e) {
+            log.warn("[InvoiceUploadJob] heartbeat failed worker={}: {}", workerId, e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    private void run(UUID jobId) {
+        try {
+            jobService.processJob(jobId, workerId);
+        } catch (Exception e) {
+            // processJob records failures itself; anything escaping is left to lease expiry.
+            log.error("[InvoiceUploadJob] unexpected error jobId={}", jobId, e);
+        } finally {
+            inFlight.remove(jobId);
+        }
+        poll();
+    }
+
+    private static String resolveWorkerId(String configured) {
+        if (configured != null && !configured.isBlank()) return configured.trim();
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        // Containers often share pid 1; the random suffix keeps ids unique across restarts and replicas.
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
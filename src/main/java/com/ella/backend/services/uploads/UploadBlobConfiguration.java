@@ -0,0 +1,52 @@
+package com.ella.backend.services.uploads;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties(UploadBlobProperties.class)
+@Slf4j
+public class UploadBlobConfiguration {
+
+    @Bean
+    public UploadBlobStorage uploadBlobStorage(
+            UploadBlobProperties properties,
+            UploadQueueProperties queueProperties,
+            JdbcTemplate jdbcTemplate
+    ) {
+        FileSystemUploadBlobStore fileSystem = new FileSystemUploadBlobStore(Path.of(properties.getDirectory()));
+        DatabaseUploadBlobStore database = new DatabaseUploadBlobStore(jdbcTemplate);
+
+        UploadBlobStore writeStore = "filesystem".equalsIgnoreCase(properties.getStore()) ? fileSystem : database;
+        checkReachableFromEveryWorker(writeStore, properties, queueProperties);
+        log.info("[UploadBlob] store={} directory='{}' ttlHours={}",
+                writeStore.scheme(), properties.getDirectory(), properties.getTtlHours());
+        return new UploadBlobStorage(writeStore, List.of(fileSystem, database));
+    }
+
+    /**
+     * Queued jobs are claimed by whichever node polls first; a node-local directory would leave the
+     * other nodes unable to read the file. Fail at startup instead of failing those jobs at runtime.
+     */
+    static void checkReachableFromEveryWorker(
+            UploadBlobStore writeStore,
+            UploadBlobProperties properties,
+            UploadQueueProperties queueProperties
+    ) {
+        if (writeStore instanceof FileSystemUploadBlobStore
+                && queueProperties.isEnabled()
+                && !properties.isSharedDirectory()) {
+            throw new IllegalStateException(
+                    "ella.uploads.blob.store=filesystem with the upload job queue enabled requires "
+                            + "ella.uploads.blob.shared-directory=true (directory on a volume shared by all nodes, "
+                            + "or a single node); otherwise use ella.uploads.blob.store=db");
+        }
+    }
+}
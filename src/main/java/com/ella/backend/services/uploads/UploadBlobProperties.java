@@ -0,0 +1,61 @@
+package com.ella.backend.services.uploads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ella.uploads.blob")
+public class UploadBlobProperties {
+
+    /**
+     * Where new upload files are written: "db" (default, invoice_upload_jobs.file_bytes) or "filesystem".
+     * Any node may claim a queued job, so "filesystem" needs {@link #sharedDirectory}.
+     */
+    private String store = "db";
+
+    /**
+     * Confirms that {@link #directory} is visible to every node (shared volume) or that there is a single
+     * node. Required to start with the "filesystem" store while the job queue is enabled.
+     */
+    private boolean sharedDirectory = false;
+
+    /**
+     * Root directory for the filesystem store.
+     */
+    private String directory = "./data/upload-blobs";
+
+    /**
+     * Blobs of finished (SUCCEEDED/FAILED) jobs are purged after this many hours.
+     */
+    private int ttlHours = 24;
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public boolean isSharedDirectory() {
+        return sharedDirectory;
+    }
+
+    public void setSharedDirectory(boolean sharedDirectory) {
+        this.sharedDirectory = sharedDirectory;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getTtlHours() {
+        return ttlHours;
+    }
+
+    public void setTtlHours(int ttlHours) {
+        this.ttlHours = ttlHours;
+    }
+}
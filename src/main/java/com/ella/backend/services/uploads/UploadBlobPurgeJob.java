@@ -0,0 +1,51 @@
+package com.ella.backend.services.uploads;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ella.backend.entities.InvoiceUploadJob;
+import com.ella.backend.repositories.InvoiceUploadJobRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops the stored file of finished upload jobs once {@code ella.uploads.blob.ttl-hours} has passed.
+ * The job row (status, result) is kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadBlobPurgeJob {
+
+    private static final List<InvoiceUploadJob.Status> FINISHED =
+            List.of(InvoiceUploadJob.Status.SUCCEEDED, InvoiceUploadJob.Status.FAILED);
+
+    private final InvoiceUploadJobRepository jobRepository;
+    private final UploadBlobStorage uploadBlobStorage;
+    private final UploadBlobProperties properties;
+
+    @Scheduled(
+            initialDelayString = "${ella.uploads.blob.purge-interval-ms:3600000}",
+            fixedDelayString = "${ella.uploads.blob.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(Math.max(1, properties.getTtlHours()));
+
+        List<InvoiceUploadJob> jobs = jobRepository.findTop500ByBlobRefIsNotNullAndStatusInAndFinishedAtBefore(FINISHED, cutoff);
+        for (InvoiceUploadJob job : jobs) {
+            uploadBlobStorage.delete(job.getBlobRef());
+            job.setBlobRef(null);
+        }
+
+        int legacy = jobRepository.clearLegacyFileBytesFinishedBefore(cutoff);
+
+        if (!jobs.isEmpty() || legacy > 0) {
+            log.info("[UploadBlob] Purged blobs: jobs={} legacyRows={} cutoff={}", jobs.size(), legacy, cutoff);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ella.backend.services.uploads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point for upload blobs: writes to the configured store and routes reads/deletes
+ * by the reference scheme. A {@code null} reference means a legacy job whose bytes live in
+ * the DB column.
+ */
+@Slf4j
+public class UploadBlobStorage {
+
+    private final UploadBlobStore writeStore;
+    private final List<UploadBlobStore> stores;
+
+    public UploadBlobStorage(UploadBlobStore writeStore, List<UploadBlobStore> stores) {
+        this.writeStore = writeStore;
+        this.stores = stores;
+    }
+
+    public String put(UUID jobId, byte[] bytes) throws IOException {
+        return writeStore.put(jobId, bytes);
+    }
+
+    public byte[] readAll(UUID jobId, String ref) throws IOException {
+        try (InputStream in = open(jobId, ref)) {
+            return in.readAllBytes();
+        }
+    }
+
+    public InputStream open(UUID jobId, String ref) throws IOException {
+        String r = ref != null ? ref : DatabaseUploadBlobStore.refFor(jobId);
+        return storeFor(r).open(r);
+    }
+
+    public void delete(String ref) {
+        if (ref == null) return;
+        try {
+            storeFor(ref).delete(ref);
+        } catch (Exception e) {
+            log.warn("[UploadBlob] delete failed ref={}: {}", ref, e.toString());
+        }
+    }
+
+    private UploadBlobStore storeFor(String ref) {
+        for (UploadBlobStore store : stores) {
+            if (ref.startsWith(store.scheme() + ":")) return store;
+        }
+        throw new IllegalArgumentException("Unknown blob store for reference: " + ref);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ella.backend.services.uploads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Storage for raw upload files (PDF/CSV) kept outside the {@code invoice_upload_jobs} row.
+ *
+ * References are opaque strings prefixed with the store {@link #scheme()} (e.g. {@code fs:...}),
+ * so jobs created under one store can still be read after switching the configured store.
+ */
+public interface UploadBlobStore {
+
+    String scheme();
+
+    String put(UUID jobId, byte[] bytes) throws IOException;
+
+    InputStream open(String ref) throws IOException;
+
+    void delete(String ref) throws IOException;
+}
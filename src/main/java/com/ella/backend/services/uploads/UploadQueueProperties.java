@@ -0,0 +1,109 @@
+package com.ella.backend.services.uploads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ella.uploads.queue")
+public class UploadQueueProperties {
+
+    /**
+     * Whether this node claims and processes upload jobs. Nodes with false only enqueue.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Jobs processed at the same time by this node.
+     */
+    private int concurrency = 2;
+
+    /**
+     * How often idle workers look for PENDING jobs (new uploads also wake them up directly).
+     */
+    private long pollIntervalMs = 2000;
+
+    /**
+     * A claimed job is owned for this long; the owner renews it every heartbeat.
+     * Jobs whose lease expired (node died, deploy) are claimed again by any node.
+     */
+    private int leaseSeconds = 300;
+
+    private long heartbeatIntervalMs = 30000;
+
+    /**
+     * Claims per job before it is marked FAILED. Invalid invoices fail on the first attempt.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Delay before the first retry; doubles on each further attempt.
+     */
+    private int retryBackoffSeconds = 30;
+
+    /**
+     * Lease owner name; defaults to host:pid plus a random suffix.
+     */
+    private String workerId;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public int getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(int leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getRetryBackoffSeconds() {
+        return retryBackoffSeconds;
+    }
+
+    public void setRetryBackoffSeconds(int retryBackoffSeconds) {
+        this.retryBackoffSeconds = retryBackoffSeconds;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(String workerId) {
+        this.workerId = workerId;
+    }
+}
@@ -0,0 +1,24 @@
+-- Content-addressed cache of PDF extraction results (parse output + raw text).
+-- Keyed by file SHA-256 + parser version + variant (digest of the dueDate override),
+-- so re-uploads of the same statement skip PDFBox/OCR/Adobe/extractor calls.
+-- Password-protected files are never cached. Rows past the TTL or of another parser build
+-- are deleted by ExtractionResultCache.purgeExpired (created_at index).
+CREATE TABLE IF NOT EXISTS invoice_extraction_cache (
+    id UUID PRIMARY KEY,
+    file_sha256 VARCHAR(64) NOT NULL,
+    parser_version VARCHAR(40) NOT NULL,
+    variant_key VARCHAR(64) NOT NULL,
+    source VARCHAR(40),
+    result_json JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_invoice_extraction_cache_key
+    ON invoice_extraction_cache (file_sha256, parser_version, variant_key);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_extraction_cache_created
+    ON invoice_extraction_cache (created_at);
+
+-- A table left by an earlier build may hold entries of password-protected files (decrypted text);
+-- none of them match the current parser version anyway. The cache refills on the next uploads.
+DELETE FROM invoice_extraction_cache;
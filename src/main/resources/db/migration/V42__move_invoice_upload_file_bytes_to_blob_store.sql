@@ -0,0 +1,8 @@
+-- Upload files now live in a blob store (ella.uploads.blob.store: db by default, or filesystem);
+-- the job row keeps a reference to the file. file_bytes remains the storage of the "db" store
+-- (and of jobs created before this migration) and is no longer required.
+ALTER TABLE invoice_upload_jobs
+    ADD COLUMN IF NOT EXISTS blob_ref VARCHAR(512);
+
+ALTER TABLE invoice_upload_jobs
+    ALTER COLUMN file_bytes DROP NOT NULL;
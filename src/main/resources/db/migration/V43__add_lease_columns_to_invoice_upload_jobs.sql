@@ -0,0 +1,11 @@
+-- DB-backed work queue for invoice uploads: workers claim jobs with FOR UPDATE SKIP LOCKED
+-- and hold a lease renewed by heartbeat; expired leases are reclaimed by any node.
+ALTER TABLE invoice_upload_jobs
+    ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN IF NOT EXISTS locked_by VARCHAR(128),
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_invoice_upload_jobs_queue
+    ON invoice_upload_jobs (status, created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
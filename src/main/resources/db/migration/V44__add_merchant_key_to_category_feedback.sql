@@ -0,0 +1,28 @@
+-- Merchant key for category feedback
+--
+-- Feedback used to be matched with lower(ft.description) LIKE '%term%' over every user's
+-- transactions. It is now stored with a normalized merchant key and matched per user by key.
+--
+-- merchant_key = MerchantMappings.merchantKey(transaction description):
+--   lowercase, accents removed, anything outside [a-z] (digits included) collapsed to one space, trimmed.
+
+ALTER TABLE category_feedback
+    ADD COLUMN IF NOT EXISTS merchant_key VARCHAR(255);
+
+-- Backfill from the corrected transaction's description.
+-- Accents are folded with translate() (Portuguese/Latin-1 letters) so the result matches the Java
+-- normalization without requiring the unaccent extension; letters outside that set become spaces.
+UPDATE category_feedback cf
+SET merchant_key = NULLIF(btrim(left(btrim(regexp_replace(
+        lower(translate(ft.description,
+            'ÁÀÂÃÄÅÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑÝáàâãäåéèêëíìîïóòôõöúùûüçñýÿ',
+            'AAAAAAEEEEIIIIOOOOOUUUUCNYaaaaaaeeeeiiiiooooouuuucnyy')),
+        '[^a-z]+', ' ', 'g')), 255)), '')
+FROM financial_transactions ft
+WHERE ft.id = cf.transaction_id
+  AND cf.merchant_key IS NULL
+  AND ft.description IS NOT NULL;
+
+-- Per-user history by key, newest first
+CREATE INDEX IF NOT EXISTS idx_category_feedback_user_merchant_key
+    ON category_feedback (user_id, merchant_key, created_at DESC);
@@ -0,0 +1,3 @@
+-- Progress of streaming (CSV) imports: rows persisted so far, reported after each chunk.
+ALTER TABLE invoice_upload_jobs
+    ADD COLUMN IF NOT EXISTS processed_rows INT NOT NULL DEFAULT 0;
@@ -0,0 +1,34 @@
+-- Monthly totals per person / month / type / source / category, maintained on write
+-- (MonthlyRollupTracker) so dashboards and reports read a few rows per month instead of
+-- re-aggregating the transaction history.
+CREATE TABLE IF NOT EXISTS monthly_category_rollup (
+    id          BIGSERIAL PRIMARY KEY,
+    person_id   UUID           NOT NULL REFERENCES persons(id) ON DELETE CASCADE,
+    month_start DATE           NOT NULL,
+    type        VARCHAR(20)    NOT NULL,
+    source      VARCHAR(20)    NOT NULL,
+    category    VARCHAR(255),
+    total       NUMERIC(19, 2) NOT NULL,
+    total_abs   NUMERIC(19, 2) NOT NULL,
+    tx_count    INT            NOT NULL,
+    updated_at  TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_monthly_rollup_person_month
+    ON monthly_category_rollup (person_id, month_start);
+
+-- Backfill of the financial_transactions part. Statement (STATEMENT source) rows depend on
+-- BankStatementCashflowHeuristics and are filled by POST /api/admin/rollups/monthly/rebuild.
+INSERT INTO monthly_category_rollup (person_id, month_start, type, source, category, total, total_abs, tx_count)
+SELECT person_id,
+       date_trunc('month', transaction_date)::date,
+       type,
+       CASE WHEN purchase_date IS NULL THEN 'NON_CARD' ELSE 'CARD' END,
+       category,
+       coalesce(sum(amount), 0),
+       coalesce(sum(abs(amount)), 0),
+       count(*)
+  FROM financial_transactions
+ WHERE deleted_at IS NULL
+ GROUP BY person_id, date_trunc('month', transaction_date)::date, type,
+          CASE WHEN purchase_date IS NULL THEN 'NON_CARD' ELSE 'CARD' END, category;
@@ -0,0 +1,17 @@
+-- Shared (L2) tier of DashboardCache when ella.cache.dashboard.remote.enabled=true.
+-- Pure cache: UNLOGGED (no WAL; emptied after a crash) and safe to truncate at any time.
+CREATE UNLOGGED TABLE IF NOT EXISTS dashboard_cache_entries (
+    cache_key  VARCHAR(255) PRIMARY KEY,
+    person_id  UUID         NOT NULL,
+    view       VARCHAR(20)  NOT NULL,
+    month_from DATE,
+    month_to   DATE,
+    payload    TEXT         NOT NULL,
+    expires_at TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_cache_entries_person
+    ON dashboard_cache_entries (person_id);
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_cache_entries_expires
+    ON dashboard_cache_entries (expires_at);
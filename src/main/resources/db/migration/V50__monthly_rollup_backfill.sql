@@ -0,0 +1,14 @@
+-- Marks which version of BankStatementCashflowHeuristics the STATEMENT rows of
+-- monthly_category_rollup were built with. V46 only backfilled financial_transactions;
+-- MonthlyRollupBackfillRunner fills (and, after a heuristics change, rebuilds) the statement part
+-- on startup and records the version here. A claim (claimed_by/claimed_at) keeps nodes that start
+-- together from running it twice.
+CREATE TABLE IF NOT EXISTS monthly_rollup_backfill (
+    name          VARCHAR(50) PRIMARY KEY,
+    version       INT,
+    claimed_by    VARCHAR(255),
+    claimed_at    TIMESTAMP,
+    completed_at  TIMESTAMP
+);
+
+INSERT INTO monthly_rollup_backfill (name) VALUES ('STATEMENT') ON CONFLICT (name) DO NOTHING;
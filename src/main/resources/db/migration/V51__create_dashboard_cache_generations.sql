@@ -0,0 +1,8 @@
+-- Invalidation counter per person for the shared dashboard cache (PostgresDashboardRemoteCache).
+-- A value computed while the person's generation changed is not stored, so a load that started
+-- before a write cannot put the old dashboard back after the write's invalidation.
+-- UNLOGGED like dashboard_cache_entries: both are emptied together after a crash.
+CREATE UNLOGGED TABLE IF NOT EXISTS dashboard_cache_generations (
+    person_id  UUID   PRIMARY KEY,
+    generation BIGINT NOT NULL
+);
@@ -2,10 +2,7 @@ package com.ella.backend.classification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,11 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.ella.backend.classification.dto.ClassificationSuggestRequestDTO;
 import com.ella.backend.classification.dto.ClassificationSuggestResponseDTO;
-import com.ella.backend.classification.entity.CategoryFeedback;
 import com.ella.backend.classification.entity.CategoryRule;
 import com.ella.backend.classification.repository.CategoryFeedbackRepository;
+import com.ella.backend.classification.repository.CategoryFeedbackRepository.FeedbackHistoryProjection;
 import com.ella.backend.classification.repository.CategoryRuleRepository;
+import com.ella.backend.classification.rules.MerchantMappings;
 import com.ella.backend.enums.TransactionType;
 
 class ClassificationServiceTest {
@@ -67,8 +66,6 @@ class ClassificationServiceTest {
         assertEquals("RegraCategoria", res.category());
         assertEquals(0.92, res.confidence(), 0.0001);
         assertTrue(res.reason().startsWith("matched rule:"));
-
-        verify(feedbackRepository, never()).findSimilarFeedback(any(), anyString());
     }
 
     @Test
@@ -78,26 +75,16 @@ class ClassificationServiceTest {
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
 
-        CategoryFeedback f1 = CategoryFeedback.builder()
-                .userId(userId)
-                .transactionId(UUID.randomUUID())
-                .chosenCategory("Mercado")
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .build();
-
-        CategoryFeedback f2 = CategoryFeedback.builder()
-                .userId(userId)
-                .transactionId(UUID.randomUUID())
-                .chosenCategory("Mercado")
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of(f2, f1));
+        when(feedbackRepository.findFeedbackHistory(userId, 50))
+                .thenReturn(List.of(
+                        feedback("Lazer", LocalDateTime.now(), "mercado carrefour"),
+                        feedback("Mercado", LocalDateTime.now().minusDays(1), "mercado carrefour"),
+                        feedback("Mercado", LocalDateTime.now().minusDays(2), "mercado carrefour"),
+                        feedback("Lazer", LocalDateTime.now().minusDays(3), "cinema")));
 
         ClassificationSuggestResponseDTO res = service.suggest(
                 userId,
-                "mercado carrefour",
+                "MERCADO-CARREFOUR 0042",
                 new BigDecimal("20.00"),
                 TransactionType.EXPENSE
         );
@@ -108,14 +95,74 @@ class ClassificationServiceTest {
         assertEquals("feedback history match", res.reason());
     }
 
+    @Test
+    void merchantKey_dropsDigitsPunctuationAndAccents() {
+        assertEquals("mercado carrefour", MerchantMappings.merchantKey("MERCADO CARREFOUR 123"));
+        assertEquals("mercado carrefour", MerchantMappings.merchantKey(" Mercado-Carrefour 0042 "));
+        assertEquals("acai da praca", MerchantMappings.merchantKey("AÇAÍ DA PRAÇA 12/03"));
+        assertEquals("", MerchantMappings.merchantKey("12/03 4455"));
+        assertEquals("", MerchantMappings.merchantKey(null));
+    }
+
+    @Test
+    void rules_firstMatchInPriorityOrderWins() {
+        UUID userId = UUID.randomUUID();
+
+        when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
+                .thenReturn(List.of(
+                        rule(userId, "  ", "Vazia"),
+                        rule(userId, "Posto Shell", "Combustível"),
+                        rule(userId, "shell", "Outra")));
+
+        assertEquals("Combustível", service.suggest(userId, "POSTO  SHELL centro", BigDecimal.TEN, null).category());
+        assertEquals("Outra", service.suggest(userId, "shell select", BigDecimal.TEN, null).category());
+    }
+
+    @Test
+    void suggestAll_loadsUserDataOnceAndKeepsOrder() {
+        UUID userId = UUID.randomUUID();
+
+        when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
+                .thenReturn(List.of(rule(userId, "padaria", "Padaria")));
+
+        List<ClassificationSuggestResponseDTO> res = service.suggestAll(userId, List.of(
+                new ClassificationSuggestRequestDTO("PADARIA DO ZE", new BigDecimal("12.00"), null),
+                new ClassificationSuggestRequestDTO("uber 99", new BigDecimal("-5.00"), null),
+                new ClassificationSuggestRequestDTO("PADARIA DO ZE", new BigDecimal("8.00"), TransactionType.EXPENSE)));
+
+        assertEquals(List.of("Padaria", "Transporte", "Padaria"),
+                res.stream().map(ClassificationSuggestResponseDTO::category).toList());
+        assertEquals(TransactionType.INCOME, res.get(1).type());
+
+        service.suggest(userId, "netflix", BigDecimal.TEN, null);
+
+        verify(ruleRepository, times(1)).findByUserIdOrderByPriorityDescCreatedAtDesc(userId);
+        verify(feedbackRepository, times(1)).findFeedbackHistory(userId, 50);
+    }
+
+    @Test
+    void invalidate_reloadsRulesOnNextSuggestion() {
+        UUID userId = UUID.randomUUID();
+
+        when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
+                .thenReturn(List.of())
+                .thenReturn(List.of(rule(userId, "academia", "Esporte")));
+
+        assertEquals("Lazer", service.suggest(userId, "academia xyz", BigDecimal.TEN, null).category());
+        assertEquals("Lazer", service.suggest(userId, "academia xyz", BigDecimal.TEN, null).category());
+
+        service.invalidate(userId);
+
+        assertEquals("Esporte", service.suggest(userId, "academia xyz", BigDecimal.TEN, null).category());
+        verify(ruleRepository, times(2)).findByUserIdOrderByPriorityDescCreatedAtDesc(userId);
+    }
+
     @Test
     void keywordScoring_worksAndReturnsConfidenceFromScore() {
         UUID userId = UUID.randomUUID();
 
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of());
 
         // "uber mercado" -> Transporte(0.90) vs Mercado(0.70) => Transporte, score=0.90 => confidence=0.85
         ClassificationSuggestResponseDTO res = service.suggest(
@@ -136,8 +183,6 @@ class ClassificationServiceTest {
 
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of());
 
         ClassificationSuggestResponseDTO res = service.suggest(
                 userId,
@@ -157,8 +202,6 @@ class ClassificationServiceTest {
 
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of());
 
         ClassificationSuggestResponseDTO res = service.suggest(
                 userId,
@@ -178,8 +221,6 @@ class ClassificationServiceTest {
 
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of());
 
         ClassificationSuggestResponseDTO res = service.suggest(
                 userId,
@@ -199,8 +240,6 @@ class ClassificationServiceTest {
 
         when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                 .thenReturn(List.of());
-        when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                .thenReturn(List.of());
 
         // "uber 99" -> Transporte 0.90 + 0.80 = 1.70 => confidence=0.92
         ClassificationSuggestResponseDTO res = service.suggest(
@@ -220,8 +259,6 @@ class ClassificationServiceTest {
 
                 when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                                 .thenReturn(List.of());
-                when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                                .thenReturn(List.of());
 
                 assertSuggests(userId, "Mp Loteriasonlinenfg", "Lazer");
                 assertSuggests(userId, "Ristorante Benedetto", "Alimentação");
@@ -250,8 +287,6 @@ class ClassificationServiceTest {
 
                 when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                                 .thenReturn(List.of());
-                when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                                .thenReturn(List.of());
 
                 assertSuggests(userId, "LOUNGERIESA 05/05", "Vestuário");
                 assertSuggests(userId, "NUTRICEARAPRODNA 05/05", "Saúde");
@@ -273,8 +308,6 @@ class ClassificationServiceTest {
 
                 when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                                 .thenReturn(List.of());
-                when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                                .thenReturn(List.of());
 
                 assertSuggests(userId, "GRUPO CASAS BAHIA", "E-commerce");
                 assertSuggests(userId, "PG *CALVIN KLEIN", "Vestuário");
@@ -296,14 +329,40 @@ class ClassificationServiceTest {
 
                 when(ruleRepository.findByUserIdOrderByPriorityDescCreatedAtDesc(userId))
                                 .thenReturn(List.of());
-                when(feedbackRepository.findSimilarFeedback(eq(userId), anyString()))
-                                .thenReturn(List.of());
 
                 assertSuggests(userId, "IOF - COMPRA NO EXTERIOR", "Taxas e Juros");
                 assertSuggests(userId, "IOF - COMPRA INTERNACIONAL", "Taxas e Juros");
                 assertSuggests(userId, "911 MUSEUM WEB 646-757-5567", "Lazer");
         }
 
+    private static CategoryRule rule(UUID userId, String pattern, String category) {
+        return CategoryRule.builder()
+                .userId(userId)
+                .pattern(pattern)
+                .category(category)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static FeedbackHistoryProjection feedback(String chosenCategory, LocalDateTime createdAt, String merchantKey) {
+        return new FeedbackHistoryProjection() {
+            @Override
+            public String getChosenCategory() {
+                return chosenCategory;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+
+            @Override
+            public String getMerchantKey() {
+                return merchantKey;
+            }
+        };
+    }
+
         private void assertSuggests(UUID userId, String description, String expectedCategory) {
                 ClassificationSuggestResponseDTO res = service.suggest(
                                 userId,
@@ -0,0 +1,71 @@
+package com.ella.backend.classification.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ella.backend.classification.entity.CategoryFeedback;
+import com.ella.backend.classification.repository.CategoryFeedbackRepository.FeedbackHistoryProjection;
+
+/**
+ * Runs the feedback history query against a real database (H2 in PostgreSQL mode, schema from the entities).
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:category_feedback;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=MONTH,YEAR",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CategoryFeedbackRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    @Autowired
+    CategoryFeedbackRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void findFeedbackHistory_keepsTheNewestRowsPerMerchantKeyNewestFirst() {
+        for (int i = 0; i < 5; i++) {
+            feedback(userId, "mercado carrefour", i < 2 ? "Lazer" : "Mercado", NOW.minusDays(i));
+        }
+        feedback(userId, "cinema", "Lazer", NOW.minusHours(12));
+        feedback(userId, null, "Outros", NOW);
+        feedback(UUID.randomUUID(), "cinema", "Mercado", NOW);
+
+        List<FeedbackHistoryProjection> history = repository.findFeedbackHistory(userId, 3);
+
+        assertThat(history).extracting(FeedbackHistoryProjection::getMerchantKey)
+                .containsExactly("mercado carrefour", "cinema", "mercado carrefour", "mercado carrefour");
+        assertThat(history).extracting(FeedbackHistoryProjection::getChosenCategory)
+                .containsExactly("Lazer", "Lazer", "Lazer", "Mercado");
+        assertThat(history).extracting(FeedbackHistoryProjection::getCreatedAt)
+                .containsExactly(NOW, NOW.minusHours(12), NOW.minusDays(1), NOW.minusDays(2));
+    }
+
+    private void feedback(UUID owner, String merchantKey, String category, LocalDateTime createdAt) {
+        CategoryFeedback saved = repository.saveAndFlush(CategoryFeedback.builder()
+                .userId(owner)
+                .merchantKey(merchantKey)
+                .chosenCategory(category)
+                .build());
+        // created_at is set by @CreationTimestamp and not updatable through the entity.
+        jdbcTemplate.update("update category_feedback set created_at = ? where id = ?", createdAt, saved.getId());
+    }
+}
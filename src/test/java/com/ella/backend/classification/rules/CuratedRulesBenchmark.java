@@ -0,0 +1,98 @@
+package com.ella.backend.classification.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Automaton-backed {@link MerchantMappings#bestMatch} / {@link KeywordHeuristics#matches} vs the
+ * per-entry {@code contains} implementations, over a batch of synthetic statement descriptions.
+ *
+ * Not a unit test: run it manually from the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main CuratedRulesBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CuratedRulesBenchmark {
+
+    private List<String> loose;
+    private List<String> normalized;
+
+    @Setup
+    public void setup() {
+        List<String> descriptions = descriptions(200, 42);
+        loose = descriptions.stream().map(MerchantMappings::looseNormalize).toList();
+        normalized = descriptions.stream().map(d -> d.trim().toLowerCase(java.util.Locale.ROOT)).toList();
+    }
+
+    @Benchmark
+    public void merchantAutomaton(Blackhole bh) {
+        for (String d : loose) bh.consume(MerchantMappings.bestMatch(d));
+    }
+
+    @Benchmark
+    public void merchantLinear(Blackhole bh) {
+        for (String d : loose) bh.consume(MerchantMappings.bestMatchLinear(d));
+    }
+
+    @Benchmark
+    public void keywordsAutomaton(Blackhole bh) {
+        for (String d : normalized) bh.consume(KeywordHeuristics.matches(d));
+    }
+
+    @Benchmark
+    public void keywordsLinear(Blackhole bh) {
+        for (String d : normalized) bh.consume(KeywordHeuristics.matchesLinear(d));
+    }
+
+    /**
+     * Statement-like descriptions: curated merchant patterns and keywords mixed with dates, installments,
+     * store numbers and unrelated words, plus a share of lines that match nothing.
+     */
+    public static List<String> descriptions(int count, long seed) {
+        String[] noise = {"COMPRA", "PARC 02/10", "SAO PAULO BR", "LOJA 0042", "12/03", "NUTRICEA", "PG *", "-", "LTDA", "CEARA"};
+        Random random = new Random(seed);
+        List<String> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(noise[random.nextInt(noise.length)]).append(' ');
+            switch (random.nextInt(4)) {
+                case 0 -> sb.append(MerchantMappings.MAPPINGS.get(random.nextInt(MerchantMappings.MAPPINGS.size())).merchantPattern());
+                case 1 -> sb.append(KeywordHeuristics.KEYWORDS.get(random.nextInt(KeywordHeuristics.KEYWORDS.size())).keyword().toUpperCase(java.util.Locale.ROOT));
+                case 2 -> sb.append(MerchantMappings.MAPPINGS.get(random.nextInt(MerchantMappings.MAPPINGS.size())).merchantPattern())
+                        .append(' ')
+                        .append(KeywordHeuristics.KEYWORDS.get(random.nextInt(KeywordHeuristics.KEYWORDS.size())).keyword());
+                default -> sb.append("ESTABELECIMENTO ").append(random.nextInt(10_000));
+            }
+            sb.append(' ').append(noise[random.nextInt(noise.length)]);
+            out.add(sb.toString());
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CuratedRulesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
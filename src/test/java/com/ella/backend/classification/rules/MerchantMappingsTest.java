@@ -0,0 +1,46 @@
+package com.ella.backend.classification.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MerchantMappingsTest {
+
+    @Test
+    void bestMatch_agreesWithLinearScanOnEveryCuratedPatternAndSyntheticCorpus() {
+        List<String> descriptions = new ArrayList<>(CuratedRulesBenchmark.descriptions(2_000, 7));
+        for (MerchantMappings.MerchantMapping m : MerchantMappings.MAPPINGS) {
+            descriptions.add(m.merchantPattern());
+            descriptions.add("COMPRA " + m.merchantPattern() + " 12/03");
+            descriptions.add(m.merchantPattern().replace(" ", ""));
+        }
+
+        for (String description : descriptions) {
+            String loose = MerchantMappings.looseNormalize(description);
+            assertEquals(MerchantMappings.bestMatchLinear(loose), MerchantMappings.bestMatch(loose), description);
+        }
+    }
+
+    @Test
+    void keywordMatches_agreeWithLinearScan() {
+        for (String description : CuratedRulesBenchmark.descriptions(2_000, 11)) {
+            String normalized = description.trim().toLowerCase(java.util.Locale.ROOT);
+            assertEquals(KeywordHeuristics.matchesLinear(normalized), KeywordHeuristics.matches(normalized), description);
+        }
+    }
+
+    @Test
+    void shortFragmentsOnlyMatchWholeTokens() {
+        MerchantMappings.MAPPINGS.stream()
+                .filter(m -> m.fragments().size() == 1 && m.fragments().get(0).length() <= 3)
+                .forEach(m -> {
+                    String fragment = m.fragments().get(0);
+                    assertTrue(MerchantMappings.bestMatch("compra " + fragment + " loja").isPresent(), fragment);
+                    assertEquals(MerchantMappings.bestMatchLinear("nutri" + fragment + "x"), MerchantMappings.bestMatch("nutri" + fragment + "x"));
+                });
+    }
+}
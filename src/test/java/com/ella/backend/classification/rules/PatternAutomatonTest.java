@@ -0,0 +1,39 @@
+package com.ella.backend.classification.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PatternAutomatonTest {
+
+    @Test
+    void reportsOverlappingAndNestedOccurrences() {
+        PatternAutomaton automaton = PatternAutomaton.compile(List.of("he", "she", "his", "hers"));
+
+        List<String> hits = new ArrayList<>();
+        automaton.forEachMatch("ushers", (p, start, end) -> hits.add(p + "@" + start + "-" + end));
+
+        assertEquals(List.of("1@1-4", "0@2-4", "3@2-6"), hits);
+    }
+
+    @Test
+    void firstMatch_returnsLowestPatternIndexLikeSequentialContains() {
+        List<String> patterns = Arrays.asList("posto shell", "", null, "shell", "uber");
+        PatternAutomaton automaton = PatternAutomaton.compile(patterns);
+
+        assertEquals(0, automaton.firstMatch("uber para o posto shell"));
+        assertEquals(3, automaton.firstMatch("shell select"));
+        assertEquals(4, automaton.firstMatch("uber trip"));
+        assertEquals(-1, automaton.firstMatch("padaria"));
+        assertEquals(-1, automaton.firstMatch(null));
+    }
+
+    @Test
+    void emptyAutomatonNeverMatches() {
+        assertEquals(-1, PatternAutomaton.compile(List.of()).firstMatch("qualquer coisa"));
+    }
+}
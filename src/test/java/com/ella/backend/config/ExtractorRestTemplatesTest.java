@@ -0,0 +1,108 @@
+package com.ella.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExtractorRestTemplatesTest {
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ExtractorRestTemplates restTemplates;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/parse/sicredi", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            byte[] json = "{\"bank\":\"sicredi\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                    gzip.write(json);
+                }
+                json = buffer.toByteArray();
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        });
+        server.createContext("/parse/broken", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        ExtractorHttpProperties properties = new ExtractorHttpProperties();
+        properties.setReadTimeoutMs(Map.of("ella-extractor", 5000));
+        httpClient = new ExtractorHttpConfig().extractorHttpClient(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplates = new ExtractorRestTemplates(httpClient, properties, meterRegistry, null);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void sameClientNameSharesOneRestTemplate() {
+        RestTemplate a = restTemplates.get("ella-extractor", Duration.ofSeconds(10));
+        RestTemplate b = restTemplates.get("ella-extractor", Duration.ofSeconds(10));
+
+        assertThat(a).isSameAs(b);
+        assertThat(restTemplates.get("latam-pass", Duration.ofSeconds(10))).isNotSameAs(a);
+    }
+
+    @Test
+    void decodesGzipResponsesAndRecordsLatencyPerEndpoint() {
+        RestTemplate rt = restTemplates.get("ella-extractor", Duration.ofSeconds(10));
+
+        String body = rt.getForObject(baseUrl + "/parse/sicredi", String.class);
+
+        assertThat(body).isEqualTo("{\"bank\":\"sicredi\"}");
+        Timer timer = meterRegistry.find(ExtractorMetricsInterceptor.METRIC)
+                .tags("client", "ella-extractor", "endpoint", "/parse/sicredi", "outcome", "200")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsErrorOutcome() {
+        RestTemplate rt = restTemplates.get("ella-extractor", Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> rt.getForObject(baseUrl + "/parse/broken", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        assertThat(meterRegistry.find(ExtractorMetricsInterceptor.METRIC)
+                .tags("endpoint", "/parse/broken", "outcome", "500")
+                .timer()).isNotNull();
+    }
+}
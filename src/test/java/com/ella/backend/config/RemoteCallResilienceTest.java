@@ -0,0 +1,170 @@
+package com.ella.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class RemoteCallResilienceTest {
+
+    private static RemoteCallResilienceProperties props() {
+        RemoteCallResilienceProperties p = new RemoteCallResilienceProperties();
+        p.setSlidingWindowSize(4);
+        p.setMinimumNumberOfCalls(4);
+        p.setFailureRateThreshold(50);
+        p.setOpenStateWaitMs(60_000);
+        return p;
+    }
+
+    @Test
+    void opensAfterFailuresAndRejectsWithoutCalling() throws Exception {
+        RemoteCallResilience resilience = new RemoteCallResilience(props());
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> resilience.execute("ella-extractor", "/parse/c6-invoice", () -> {
+                calls.incrementAndGet();
+                throw new IOException("connection refused");
+            }, null)).isInstanceOf(IOException.class);
+        }
+
+        assertThat(resilience.isCallPermitted("ella-extractor", "/parse/c6-invoice")).isFalse();
+        assertThat(resilience.isCallPermitted("ella-extractor", "/parse/sicredi")).isTrue();
+
+        assertThatThrownBy(() -> resilience.execute("ella-extractor", "/parse/c6-invoice", () -> {
+            calls.incrementAndGet();
+            return "ok";
+        }, null)).isInstanceOf(RemoteCallResilience.RemoteCallRejectedException.class);
+        assertThat(calls).hasValue(4);
+        assertThat(resilience.states()).containsEntry("ella-extractor:/parse/c6-invoice", "OPEN");
+    }
+
+    @Test
+    void resultsNotFlaggedAsFailureKeepCircuitClosed() throws Exception {
+        RemoteCallResilience resilience = new RemoteCallResilience(props());
+
+        for (int i = 0; i < 6; i++) {
+            int status = resilience.execute("ella-extractor", "/parse/santander", () -> 422, s -> s >= 500);
+            assertThat(status).isEqualTo(422);
+        }
+        assertThat(resilience.isCallPermitted("ella-extractor", "/parse/santander")).isTrue();
+
+        // Window of 4: two 5xx after the 422s make it 50% failures.
+        for (int i = 0; i < 2; i++) {
+            resilience.execute("ella-extractor", "/parse/santander", () -> 503, s -> s >= 500);
+        }
+        assertThat(resilience.isCallPermitted("ella-extractor", "/parse/santander")).isFalse();
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimit() throws Exception {
+        RemoteCallResilienceProperties p = props();
+        p.setMaxConcurrentCalls(1);
+        p.setMaxWaitMs(0);
+        RemoteCallResilience resilience = new RemoteCallResilience(p);
+
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> resilience.execute("adobe", "/extract", () -> {
+                inCall.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }, null));
+            assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> resilience.execute("adobe", "/extract", () -> "second", null))
+                    .isInstanceOf(RemoteCallResilience.RemoteCallRejectedException.class)
+                    .hasMessageContaining("concurrent");
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void bulkheadLetsCallsWaitForAFreeSlot() throws Exception {
+        RemoteCallResilienceProperties p = props();
+        p.setMaxConcurrentCalls(1);
+        p.setMaxWaitMs(5_000);
+        RemoteCallResilience resilience = new RemoteCallResilience(p);
+
+        CountDownLatch inCall = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> resilience.execute("adobe", "/extract", () -> {
+                inCall.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "first";
+            }, null));
+            assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+            try (RemoteCallResilience.DegradationTracker tracker = RemoteCallResilience.trackDegradation()) {
+                assertThat(resilience.execute("adobe", "/extract", () -> "second", null)).isEqualTo("second");
+                assertThat(tracker.isDegraded()).isFalse();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void disabled_passesThrough() throws Exception {
+        RemoteCallResilienceProperties p = props();
+        p.setEnabled(false);
+        RemoteCallResilience resilience = new RemoteCallResilience(p);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> resilience.execute("x", "/y", () -> {
+                throw new IOException("down");
+            }, null)).isNotInstanceOf(RemoteCallResilience.RemoteCallRejectedException.class);
+        }
+        assertThat(resilience.isCallPermitted("x", "/y")).isTrue();
+    }
+
+    @Test
+    void degradationTrackerFlagsSkippedOrFailedCallsOnItsThreadOnly() throws Exception {
+        RemoteCallResilience resilience = new RemoteCallResilience(props());
+
+        try (RemoteCallResilience.DegradationTracker tracker = RemoteCallResilience.trackDegradation()) {
+            resilience.execute("ella-extractor", "/parse/sicredi", () -> 200, s -> s >= 500);
+            resilience.execute("ella-extractor", "/parse/sicredi", () -> 422, s -> s >= 500);
+            assertThat(tracker.isDegraded()).isFalse();
+
+            try (RemoteCallResilience.DegradationTracker inner = RemoteCallResilience.trackDegradation()) {
+                resilience.execute("ella-extractor", "/parse/sicredi", () -> 503, s -> s >= 500);
+                assertThat(inner.isDegraded()).isTrue();
+            }
+            assertThat(tracker.isDegraded()).isTrue();
+        }
+
+        try (RemoteCallResilience.DegradationTracker tracker = RemoteCallResilience.trackDegradation()) {
+            assertThatThrownBy(() -> resilience.execute("adobe", "/extract", () -> {
+                throw new IOException("timeout");
+            }, null)).isInstanceOf(IOException.class);
+            assertThat(tracker.isDegraded()).isTrue();
+        }
+
+        // Outside any scope nothing is recorded (and nothing leaks into the next scope).
+        resilience.execute("ella-extractor", "/parse/sicredi", () -> 503, s -> s >= 500);
+        try (RemoteCallResilience.DegradationTracker tracker = RemoteCallResilience.trackDegradation()) {
+            assertThat(tracker.isDegraded()).isFalse();
+        }
+    }
+}
@@ -118,7 +118,7 @@ class InvoiceUploadJobControllerIntegrationTest {
         job.setStatus(InvoiceUploadJob.Status.PENDING);
         job.setFilename("invoice.pdf");
         job.setContentType("application/pdf");
-        job.setFileBytes("dummy".getBytes());
+        job.setBlobRef("fs:" + job.getId() + ".bin");
         job.setCreatedAt(createdAt);
 
         when(jobService.createJob(
@@ -205,7 +205,7 @@ class InvoiceUploadJobControllerIntegrationTest {
         job.setPersonId(personId);
         job.setStatus(InvoiceUploadJob.Status.SUCCEEDED);
         job.setFilename("invoice.pdf");
-        job.setFileBytes("dummy".getBytes());
+        job.setBlobRef("fs:" + job.getId() + ".bin");
         job.setCreatedAt(createdAt);
         job.setStartedAt(startedAt);
         job.setFinishedAt(finishedAt);
@@ -237,7 +237,7 @@ class InvoiceUploadJobControllerIntegrationTest {
                 job.setPersonId(personId);
                 job.setStatus(InvoiceUploadJob.Status.SUCCEEDED);
                 job.setFilename("invoice.pdf");
-                job.setFileBytes("dummy".getBytes());
+                job.setBlobRef("fs:" + job.getId() + ".bin");
                 job.setCreatedAt(createdAt);
                 job.setResultJson("{not-valid-json");
 
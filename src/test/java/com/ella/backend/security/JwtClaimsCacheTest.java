@@ -0,0 +1,83 @@
+package com.ella.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ella.backend.entities.User;
+import com.ella.backend.enums.Role;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+class JwtClaimsCacheTest {
+
+    private JwtService jwtService;
+    private JwtClaimsCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        ReflectionTestUtils.setField(jwtService, "secret", "01234567890123456789012345678901");
+        ReflectionTestUtils.setField(jwtService, "expirationMillis", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMillis", 604_800_000L);
+        cache = new JwtClaimsCache(jwtService, 100);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(Role.USER);
+    }
+
+    @Test
+    void verify_parsesEachTokenOnce() {
+        String token = jwtService.generateToken(user);
+
+        JwtClaimsCache.VerifiedToken first = cache.verify(token);
+        JwtClaimsCache.VerifiedToken second = cache.verify(token);
+
+        assertEquals("user@example.com", first.subject());
+        assertSame(first, second);
+        verify(jwtService, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void verify_rejectsTamperedTokensEveryTime() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.verify(tampered));
+        assertThrows(JwtException.class, () -> cache.verify(tampered));
+
+        verify(jwtService, times(2)).parseClaims(anyString());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void verify_doesNotServeExpiredTokens() {
+        ReflectionTestUtils.setField(jwtService, "expirationMillis", -1_000L);
+        String expired = jwtService.generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> cache.verify(expired));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void verify_flagsPasswordResetTokens() {
+        String reset = jwtService.generatePasswordResetToken(user.getId().toString(), UUID.randomUUID().toString(), 15);
+
+        assertTrue(cache.verify(reset).isPasswordReset());
+    }
+}
@@ -0,0 +1,80 @@
+package com.ella.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.ella.backend.entities.User;
+import com.ella.backend.enums.Role;
+import com.ella.backend.enums.Status;
+import com.ella.backend.events.UserAccessChangedEvent;
+import com.ella.backend.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PrincipalCache principalCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userRepository, 100, 60);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(Role.USER);
+        user.setStatus(Status.ACTIVE);
+    }
+
+    @Test
+    void load_hitsTheDatabaseOncePerEmail() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        CustomUserDetails first = principalCache.load("user@example.com");
+        CustomUserDetails second = principalCache.load("user@example.com");
+
+        assertEquals(user.getId(), first.getId());
+        assertEquals(user.getId(), second.getId());
+        assertTrue(first.isEnabled());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void accessChange_evictsSoTheNewRoleIsLoaded() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        principalCache.load("user@example.com");
+
+        user.setRole(Role.ADMIN);
+        principalCache.onUserAccessChanged(new UserAccessChangedEvent("user@example.com"));
+
+        assertEquals("ROLE_ADMIN", principalCache.load("user@example.com").getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void load_unknownEmailIsNotCached() {
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.load("ghost@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.load("ghost@example.com"));
+
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+    }
+}
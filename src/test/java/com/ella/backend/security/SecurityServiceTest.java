@@ -0,0 +1,158 @@
+package com.ella.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.ella.backend.entities.User;
+import com.ella.backend.enums.Role;
+import com.ella.backend.enums.Status;
+import com.ella.backend.exceptions.ResourceNotFoundException;
+import com.ella.backend.repositories.AssetRepository;
+import com.ella.backend.repositories.BudgetRepository;
+import com.ella.backend.repositories.CompanyRepository;
+import com.ella.backend.repositories.CreditCardRepository;
+import com.ella.backend.repositories.ExpenseRepository;
+import com.ella.backend.repositories.FinancialTransactionRepository;
+import com.ella.backend.repositories.GoalRepository;
+import com.ella.backend.repositories.InstallmentRepository;
+import com.ella.backend.repositories.InvestmentRepository;
+import com.ella.backend.repositories.InvoiceRepository;
+import com.ella.backend.services.UserService;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityServiceTest {
+
+    @Mock private UserService userService;
+    @Mock private FinancialTransactionRepository financialTransactionRepository;
+    @Mock private CompanyRepository companyRepository;
+    @Mock private CreditCardRepository creditCardRepository;
+    @Mock private InvoiceRepository invoiceRepository;
+    @Mock private GoalRepository goalRepository;
+    @Mock private ExpenseRepository expenseRepository;
+    @Mock private BudgetRepository budgetRepository;
+    @Mock private InvestmentRepository investmentRepository;
+    @Mock private AssetRepository assetRepository;
+    @Mock private InstallmentRepository installmentRepository;
+
+    @InjectMocks
+    private SecurityService securityService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void canAccessPerson_comparesWithThePrincipalWithoutQueries() {
+        authenticate(Role.USER);
+
+        assertTrue(securityService.canAccessPerson(userId.toString()));
+        assertFalse(securityService.canAccessPerson(UUID.randomUUID().toString()));
+        assertFalse(securityService.canAccessPerson("not-a-uuid"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void canAccessTransaction_usesAnOwnershipProbe() {
+        authenticate(Role.USER);
+        UUID transactionId = UUID.randomUUID();
+        when(financialTransactionRepository.existsByIdAndPersonIdAndDeletedAtIsNull(transactionId, userId)).thenReturn(true);
+
+        assertTrue(securityService.canAccessTransaction(transactionId.toString()));
+        assertTrue(securityService.canAccessIncome(transactionId.toString()));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void canAccessInvoice_deniesWhenTheProbeFindsNothing() {
+        authenticate(Role.USER);
+        UUID invoiceId = UUID.randomUUID();
+        when(invoiceRepository.existsByIdAndCardOwnerIdAndDeletedAtIsNull(invoiceId, userId)).thenReturn(false);
+
+        assertFalse(securityService.canAccessInvoice(invoiceId.toString()));
+    }
+
+    @Test
+    void admin_skipsOwnershipQueries() {
+        authenticate(Role.ADMIN);
+
+        assertTrue(securityService.canAccessCompany(UUID.randomUUID().toString()));
+        assertTrue(securityService.canAccessInstallment(UUID.randomUUID().toString()));
+        assertTrue(securityService.canAccessTransactions(List.of(UUID.randomUUID().toString())));
+        verifyNoInteractions(companyRepository, installmentRepository, financialTransactionRepository);
+    }
+
+    @Test
+    void canAccessTransactions_countsTheDistinctIdsOnce() {
+        authenticate(Role.USER);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(financialTransactionRepository.countActiveByIdInAndPersonId(Set.of(first, second), userId)).thenReturn(2L);
+
+        assertTrue(securityService.canAccessTransactions(
+                List.of(first.toString(), second.toString(), first.toString())));
+    }
+
+    @Test
+    void canAccessTransactions_deniesWhenAnyIdIsForeignOrInvalid() {
+        authenticate(Role.USER);
+        UUID own = UUID.randomUUID();
+        UUID foreign = UUID.randomUUID();
+        when(financialTransactionRepository.countActiveByIdInAndPersonId(anyCollection(), eq(userId))).thenReturn(1L);
+
+        assertFalse(securityService.canAccessTransactions(List.of(own.toString(), foreign.toString())));
+        assertFalse(securityService.canAccessTransactions(List.of(own.toString(), "not-a-uuid")));
+        verify(financialTransactionRepository).countActiveByIdInAndPersonId(anyCollection(), any());
+    }
+
+    @Test
+    void otherAuthentications_fallBackToTheUserLookup() {
+        User user = new User();
+        user.setId(userId);
+        user.setRole(Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+        when(userService.findByEmail("user@example.com")).thenReturn(user);
+
+        assertEquals(userId, securityService.getAuthenticatedPersonIdOrThrow());
+    }
+
+    @Test
+    void unknownUser_isDenied() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ghost@example.com", null, List.of()));
+        when(userService.findByEmail("ghost@example.com")).thenThrow(new ResourceNotFoundException("not found"));
+
+        assertThrows(AccessDeniedException.class, () -> securityService.canAccessGoal(UUID.randomUUID().toString()));
+    }
+
+    private void authenticate(Role role) {
+        CustomUserDetails details = CustomUserDetails.of(userId, "user@example.com", null, role, Status.ACTIVE);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ella.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ella.backend.dto.dashboard.MonthlyPointDTO;
+import com.ella.backend.entities.Person;
+import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DisabledDashboardRemoteCache;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.CategoryTotal;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.MonthTotal;
+import com.ella.backend.services.rollup.MonthlyRollupSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardChartsServiceTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private MonthlyCategoryRollupService monthlyCategoryRollupService;
+
+    @Spy
+    private DashboardCache dashboardCache = new DashboardCache(100, 60, new DisabledDashboardRemoteCache(), new ObjectMapper(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private DashboardChartsService service;
+
+    @Test
+    void getCharts_buildsSixMonthWindowFromMonthAndCategoryAggregates() {
+        UUID personId = UUID.randomUUID();
+        Person person = new Person();
+        person.setId(personId);
+        when(personRepository.findById(personId)).thenReturn(Optional.of(person));
+
+        YearMonth target = YearMonth.of(2026, 3);
+        YearMonth windowStart = YearMonth.of(2025, 10);
+        when(monthlyCategoryRollupService.sumByMonthTypeAndSource(personId, windowStart, target)).thenReturn(List.of(
+                month(target, "INCOME", MonthlyRollupSource.NON_CARD, "3000.00"),
+                month(target, "INCOME", MonthlyRollupSource.STATEMENT, "500.00"),
+                month(target, "EXPENSE", MonthlyRollupSource.CARD, "-400.00"),
+                month(target, "EXPENSE", MonthlyRollupSource.NON_CARD, "100.00"),
+                month(target, "EXPENSE", MonthlyRollupSource.STATEMENT, "-250.00"),
+                month(windowStart, "EXPENSE", MonthlyRollupSource.CARD, "80.00")));
+        when(monthlyCategoryRollupService.sumExpensesByCategory(personId, target, target)).thenReturn(List.of(
+                new CategoryTotal("Alimentação", new BigDecimal("600.00")),
+                new CategoryTotal("Moradia", new BigDecimal("150.00"))));
+
+        var charts = service.getCharts(personId.toString(), 2026, 3);
+
+        List<MonthlyPointDTO> points = charts.getMonthlyEvolution().getPoints();
+        assertThat(points).extracting(MonthlyPointDTO::getMonthLabel)
+                .containsExactly("2025-10", "2025-11", "2025-12", "2026-01", "2026-02", "2026-03");
+        assertThat(points.get(0).getExpensesCard()).isEqualByComparingTo("80.00");
+
+        MonthlyPointDTO march = points.get(5);
+        assertThat(march.getIncome()).isEqualByComparingTo("3500.00");
+        assertThat(march.getIncomeChecking()).isEqualByComparingTo("500.00");
+        assertThat(march.getExpensesCard()).isEqualByComparingTo("400.00");
+        assertThat(march.getExpensesChecking()).isEqualByComparingTo("350.00");
+        assertThat(march.getExpenses()).isEqualByComparingTo("750.00");
+
+        assertThat(charts.getCategoryBreakdown()).hasSize(2);
+        assertThat(charts.getCategoryBreakdown().get(0).getCategory()).isEqualTo("Alimentação");
+        assertThat(charts.getCategoryBreakdown().get(0).getPercentage()).isEqualByComparingTo("80.00");
+    }
+
+    private static MonthTotal month(YearMonth month, String type, MonthlyRollupSource source, String total) {
+        BigDecimal amount = new BigDecimal(total);
+        return new MonthTotal(month, type, source, amount, amount.abs());
+    }
+}
@@ -3,23 +3,38 @@ package com.ella.backend.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
 import com.ella.backend.entities.Person;
 import com.ella.backend.exceptions.ResourceNotFoundException;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DisabledDashboardRemoteCache;
+import com.ella.backend.services.insights.InsightDataCache;
 import com.ella.backend.services.insights.providers.InsightProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardInsightsServiceTest {
@@ -33,6 +48,9 @@ class DashboardInsightsServiceTest {
     @Mock
     private InsightProvider provider2;
 
+    @Mock
+    private InsightDataCache insightDataCache;
+
     @Test
     @DisplayName("Does not fail if one provider throws")
     void providerFailureDoesNotBreakResponse() {
@@ -47,7 +65,7 @@ class DashboardInsightsServiceTest {
                 InsightDTO.builder().type("info").category("Gastos").message("ok").build()
         ));
 
-        DashboardInsightsService service = new DashboardInsightsService(List.of(provider1, provider2), personRepository);
+        DashboardInsightsService service = newService(Runnable::run, 3000);
 
         List<InsightDTO> out = service.getInsights(personId.toString(), 2026, 2);
         assertEquals(1, out.size());
@@ -71,7 +89,7 @@ class DashboardInsightsServiceTest {
         when(provider1.generate(eq(person), eq(2026), eq(2))).thenReturn(many);
         when(provider2.generate(eq(person), eq(2026), eq(2))).thenReturn(List.of());
 
-        DashboardInsightsService service = new DashboardInsightsService(List.of(provider1, provider2), personRepository);
+        DashboardInsightsService service = newService(Runnable::run, 3000);
 
         List<InsightDTO> out = service.getInsights(personId.toString(), 2026, 2);
         assertEquals(5, out.size());
@@ -83,11 +101,92 @@ class DashboardInsightsServiceTest {
         UUID personId = UUID.randomUUID();
         when(personRepository.findById(personId)).thenReturn(Optional.empty());
 
-        DashboardInsightsService service = new DashboardInsightsService(List.of(provider1, provider2), personRepository);
+        DashboardInsightsService service = newService(Runnable::run, 3000);
 
         assertThrows(ResourceNotFoundException.class, () -> service.getInsights(personId.toString(), 2026, 2));
     }
 
+    @Test
+    @DisplayName("Runs providers concurrently")
+    void runsProvidersConcurrently() {
+        UUID personId = UUID.randomUUID();
+        Person person = new Person();
+        person.setId(personId);
+
+        when(personRepository.findById(personId)).thenReturn(Optional.of(person));
+        // Each provider only answers once both are running: sequential execution would time out.
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Answer<List<InsightDTO>> waitForTheOther = invocation -> {
+            bothRunning.countDown();
+            return bothRunning.await(2, TimeUnit.SECONDS) ? List.of(i("together")) : List.of();
+        };
+        when(provider1.generate(eq(person), eq(2026), eq(2))).thenAnswer(waitForTheOther);
+        when(provider2.generate(eq(person), eq(2026), eq(2))).thenAnswer(waitForTheOther);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<InsightDTO> out = newService(executor, 5000).getInsights(personId.toString(), 2026, 2);
+            assertEquals(1, out.size());
+            assertEquals(0, bothRunning.getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Returns partial results when a provider times out, without caching them")
+    void slowProviderIsLeftOutAndNotCached() {
+        UUID personId = UUID.randomUUID();
+        Person person = new Person();
+        person.setId(personId);
+
+        when(personRepository.findById(personId)).thenReturn(Optional.of(person));
+        CountDownLatch never = new CountDownLatch(1);
+        when(provider1.generate(eq(person), eq(2026), eq(2))).thenAnswer(invocation -> {
+            never.await(5, TimeUnit.SECONDS);
+            return List.of(i("late"));
+        });
+        when(provider2.generate(eq(person), eq(2026), eq(2))).thenReturn(List.of(i("fast")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            DashboardInsightsService service = newService(executor, 100);
+
+            List<InsightDTO> first = service.getInsights(personId.toString(), 2026, 2);
+            List<InsightDTO> second = service.getInsights(personId.toString(), 2026, 2);
+
+            assertEquals(List.of("fast"), first.stream().map(InsightDTO::getMessage).toList());
+            assertEquals(List.of("fast"), second.stream().map(InsightDTO::getMessage).toList());
+            verify(provider2, times(2)).generate(eq(person), eq(2026), eq(2));
+        } finally {
+            never.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Prefetches the widest window any provider declared before running them")
+    void prefetchesTheUnionWindow() {
+        UUID personId = UUID.randomUUID();
+        Person person = new Person();
+        person.setId(personId);
+
+        when(personRepository.findById(personId)).thenReturn(Optional.of(person));
+        when(provider1.lookbackMonths()).thenReturn(3);
+        when(provider2.lookbackMonths()).thenReturn(1);
+        when(provider1.generate(eq(person), eq(2026), eq(2))).thenReturn(List.of());
+        when(provider2.generate(eq(person), eq(2026), eq(2))).thenReturn(List.of());
+
+        newService(Runnable::run, 3000).getInsights(personId.toString(), 2026, 2);
+
+        verify(insightDataCache).prefetch(person, YearMonth.of(2026, 2), 3);
+    }
+
+    private DashboardInsightsService newService(Executor executor, long providerTimeoutMs) {
+        DashboardCache cache = new DashboardCache(100, 60, new DisabledDashboardRemoteCache(), new ObjectMapper(), new SimpleMeterRegistry());
+        return new DashboardInsightsService(List.of(provider1, provider2), personRepository, cache, insightDataCache, executor, providerTimeoutMs);
+    }
+
     private static InsightDTO i(String msg) {
         return InsightDTO.builder().type("info").category("C").message(msg).build();
     }
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +34,14 @@ import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.InstallmentRepository;
 import com.ella.backend.repositories.InvoiceRepository;
 import com.ella.backend.repositories.PersonRepository;
+import com.ella.backend.services.cache.DashboardCache;
+import com.ella.backend.services.cache.DisabledDashboardRemoteCache;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService;
+import com.ella.backend.services.rollup.MonthlyCategoryTotal;
+import com.ella.backend.services.rollup.MonthlyRollupSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceOptimizedTest {
@@ -55,6 +64,9 @@ class DashboardServiceOptimizedTest {
     @Mock
     InstallmentRepository installmentRepository;
 
+    @Mock
+    MonthlyCategoryRollupService monthlyCategoryRollupService;
+
     @Test
     void buildDashboard_usesAggregatesAndLimitsTransactionList() {
         UUID personId = UUID.randomUUID();
@@ -68,34 +80,17 @@ class DashboardServiceOptimizedTest {
         when(invoiceRepository.findByCardOwnerAndMonthAndYearAndDeletedAtIsNull(eq(person), eq(2), eq(2026)))
                 .thenReturn(List.of());
 
-        when(financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(eq(person), any(), any(), eq(TransactionType.INCOME)))
-                .thenReturn(new BigDecimal("1000.00"));
-        when(financialTransactionRepository.sumAmountByPersonAndDateRangeAndType(eq(person), any(), any(), eq(TransactionType.EXPENSE)))
-                .thenReturn(new BigDecimal("250.00"));
-
-        FinancialTransactionRepository.CategoryTotalProjection cat1 = new FinancialTransactionRepository.CategoryTotalProjection() {
-            @Override public String getCategory() { return "Alimentacao"; }
-            @Override public BigDecimal getTotal() { return new BigDecimal("150.00"); }
-        };
-        FinancialTransactionRepository.CategoryTotalProjection cat2 = new FinancialTransactionRepository.CategoryTotalProjection() {
-            @Override public String getCategory() { return "Transporte"; }
-            @Override public BigDecimal getTotal() { return new BigDecimal("100.00"); }
-        };
-        when(financialTransactionRepository.sumExpenseTotalsByCategoryForPersonAndDateRange(eq(person), any(), any()))
-                .thenReturn(List.of(cat1, cat2));
-
-        FinancialTransactionRepository.MonthTypeTotalProjection janIncome = new FinancialTransactionRepository.MonthTypeTotalProjection() {
-            @Override public LocalDate getMonthStart() { return LocalDate.of(2026, 1, 1); }
-            @Override public String getType() { return "INCOME"; }
-            @Override public BigDecimal getTotal() { return new BigDecimal("500.00"); }
-        };
-        FinancialTransactionRepository.MonthTypeTotalProjection janExpense = new FinancialTransactionRepository.MonthTypeTotalProjection() {
-            @Override public LocalDate getMonthStart() { return LocalDate.of(2026, 1, 1); }
-            @Override public String getType() { return "EXPENSE"; }
-            @Override public BigDecimal getTotal() { return new BigDecimal("200.00"); }
-        };
-        when(financialTransactionRepository.sumTotalsByMonthAndTypeForPersonAndDateRange(eq(personId), any(), any()))
-                .thenReturn(List.of(janIncome, janExpense));
+        YearMonth jan = YearMonth.of(2026, 1);
+        YearMonth feb = YearMonth.of(2026, 2);
+        when(monthlyCategoryRollupService.find(personId, jan, YearMonth.of(2026, 12))).thenReturn(List.of(
+                total(jan, TransactionType.INCOME, MonthlyRollupSource.NON_CARD, "Salário", "500.00"),
+                total(jan, TransactionType.EXPENSE, MonthlyRollupSource.CARD, "Outros", "200.00"),
+                total(feb, TransactionType.INCOME, MonthlyRollupSource.NON_CARD, "Salário", "1000.00"),
+                total(feb, TransactionType.EXPENSE, MonthlyRollupSource.CARD, "Alimentacao", "100.00"),
+                total(feb, TransactionType.EXPENSE, MonthlyRollupSource.NON_CARD, "Alimentacao", "50.00"),
+                total(feb, TransactionType.EXPENSE, MonthlyRollupSource.CARD, "Transporte", "100.00"),
+                // Statement rows are not part of these totals.
+                total(feb, TransactionType.EXPENSE, MonthlyRollupSource.STATEMENT, "Moradia", "900.00")));
 
         // Fake page with more items than the configured limit.
         var txs = java.util.stream.IntStream.range(0, 20)
@@ -121,7 +116,9 @@ class DashboardServiceOptimizedTest {
                 financialTransactionRepository,
                 goalRepository,
                 invoiceRepository,
-                installmentRepository
+                installmentRepository,
+                monthlyCategoryRollupService,
+                new DashboardCache(100, 60, new DisabledDashboardRemoteCache(), new ObjectMapper(), new SimpleMeterRegistry())
         );
         ReflectionTestUtils.setField(service, "personalTransactionsLimit", 10);
 
@@ -135,11 +132,16 @@ class DashboardServiceOptimizedTest {
 
         assertThat(response.getPersonalSummary().getTotalIncome()).isEqualByComparingTo("1000.00");
         assertThat(response.getPersonalSummary().getTotalExpenses()).isEqualByComparingTo("250.00");
-        assertThat(response.getPersonalTotals().getYearIncome()).isEqualByComparingTo("1000.00");
-        assertThat(response.getPersonalTotals().getYearExpenses()).isEqualByComparingTo("250.00");
+        assertThat(response.getPersonalTotals().getYearIncome()).isEqualByComparingTo("1500.00");
+        assertThat(response.getPersonalTotals().getYearExpenses()).isEqualByComparingTo("450.00");
 
         assertThat(response.getPersonalCategoryBreakdown()).hasSize(2);
+        assertThat(response.getPersonalCategoryBreakdown().get(0).getCategory()).isEqualTo("Alimentacao");
+        assertThat(response.getPersonalCategoryBreakdown().get(0).getTotal()).isEqualByComparingTo("150.00");
+        assertThat(response.getPersonalCategoryBreakdown().get(0).getPercentage()).isEqualByComparingTo("60.00");
         assertThat(response.getPersonalMonthlyEvolution().getPoints()).hasSize(12);
+        assertThat(response.getPersonalMonthlyEvolution().getPoints().get(0).getIncome()).isEqualByComparingTo("500.00");
+        assertThat(response.getPersonalMonthlyEvolution().getPoints().get(1).getExpenses()).isEqualByComparingTo("250.00");
 
         // Limited payload
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
@@ -150,8 +152,15 @@ class DashboardServiceOptimizedTest {
         // The service may map/sort, but should not return more than limit.
         assertThat(response.getPersonalTransactions().size()).isLessThanOrEqualTo(10);
 
-        // Ensure we no longer load full month/year transaction lists.
+        // Ensure we no longer load full month/year transaction lists nor aggregate them per request.
         verify(financialTransactionRepository, never())
                 .findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(eq(person), any(LocalDate.class), any(LocalDate.class));
+        verify(financialTransactionRepository, never())
+                .sumAmountByPersonAndDateRangeAndType(any(), any(), any(), any());
+    }
+
+    private static MonthlyCategoryTotal total(YearMonth month, TransactionType type, MonthlyRollupSource source,
+                                              String category, String amount) {
+        return new MonthlyCategoryTotal(month, type.name(), source, category, new BigDecimal(amount), new BigDecimal(amount), 1);
     }
 }
@@ -12,11 +12,17 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
-import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ella.backend.entities.InvoiceUploadJob;
 import com.ella.backend.repositories.InvoiceUploadJobRepository;
+import com.ella.backend.services.uploads.InvoiceUploadJobQueue;
+import com.ella.backend.services.uploads.UploadBlobStorage;
+import com.ella.backend.services.uploads.UploadQueueProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SuppressWarnings("null")
@@ -25,17 +31,20 @@ class InvoiceUploadJobServiceDedupTest {
     private final InvoiceUploadJobRepository jobRepository = Mockito.mock(InvoiceUploadJobRepository.class);
     private final InvoiceUploadService invoiceUploadService = Mockito.mock(InvoiceUploadService.class);
     private final ObjectMapper objectMapper = Mockito.mock(ObjectMapper.class);
-    private final CacheManager cacheManager = Mockito.mock(CacheManager.class);
+    private final UploadBlobStorage uploadBlobStorage = Mockito.mock(UploadBlobStorage.class);
 
     private final InvoiceUploadJobService service = new InvoiceUploadJobService(
             jobRepository,
             invoiceUploadService,
             objectMapper,
-            cacheManager
+            uploadBlobStorage,
+            Mockito.mock(InvoiceUploadJobQueue.class),
+            new UploadQueueProperties(),
+            Mockito.mock(ApplicationEventPublisher.class)
     );
 
     @Test
-    void createJob_reusesExistingSucceededJob_forSameContent() {
+    void createJob_reusesExistingSucceededJob_forSameContent() throws Exception {
         UUID personId = UUID.randomUUID();
         byte[] bytes = "same-content".getBytes(StandardCharsets.UTF_8);
         String sha = sha256Hex(bytes);
@@ -47,7 +56,7 @@ class InvoiceUploadJobServiceDedupTest {
         existing.setFileSha256(sha);
         existing.setFilename("invoice.pdf");
         existing.setDueDate("2026-02-20");
-        existing.setFileBytes(bytes);
+        existing.setBlobRef("fs:" + existing.getId() + ".bin");
 
         when(jobRepository.findTopByPersonIdAndFileSha256OrderByCreatedAtDesc(personId, sha))
                 .thenReturn(Optional.of(existing));
@@ -62,11 +71,12 @@ class InvoiceUploadJobServiceDedupTest {
         );
 
         assertThat(result).isSameAs(existing);
-        verify(jobRepository, never()).save(Mockito.<InvoiceUploadJob>any());
+        verify(jobRepository, never()).saveAndFlush(Mockito.<InvoiceUploadJob>any());
+        verify(uploadBlobStorage, never()).put(Mockito.any(), Mockito.any());
     }
 
     @Test
-    void createJob_createsNewJob_whenMostRecentIsFailed() {
+    void createJob_createsNewJob_whenMostRecentIsFailed() throws Exception {
         UUID personId = UUID.randomUUID();
         byte[] bytes = "same-content".getBytes(StandardCharsets.UTF_8);
         String sha = sha256Hex(bytes);
@@ -77,7 +87,7 @@ class InvoiceUploadJobServiceDedupTest {
         failed.setStatus(InvoiceUploadJob.Status.FAILED);
         failed.setFileSha256(sha);
         failed.setFilename("invoice.pdf");
-        failed.setFileBytes(bytes);
+        failed.setBlobRef("fs:" + failed.getId() + ".bin");
 
         when(jobRepository.findTopByPersonIdAndFileSha256OrderByCreatedAtDesc(personId, sha))
                 .thenReturn(Optional.of(failed));
@@ -89,9 +99,9 @@ class InvoiceUploadJobServiceDedupTest {
         saved.setFileSha256(sha);
         saved.setFilename("invoice.pdf");
         saved.setContentType("application/pdf");
-        saved.setFileBytes(bytes);
 
-        when(jobRepository.save(Mockito.<InvoiceUploadJob>any())).thenReturn(saved);
+        when(jobRepository.saveAndFlush(Mockito.<InvoiceUploadJob>any())).thenReturn(saved);
+        when(uploadBlobStorage.put(saved.getId(), bytes)).thenReturn("fs:" + saved.getId() + ".bin");
 
         InvoiceUploadJob result = service.createJob(
                 personId,
@@ -105,7 +115,7 @@ class InvoiceUploadJobServiceDedupTest {
         assertThat(result.getId()).isEqualTo(saved.getId());
 
         ArgumentCaptor<InvoiceUploadJob> captor = ArgumentCaptor.forClass(InvoiceUploadJob.class);
-        verify(jobRepository).save(captor.capture());
+        verify(jobRepository).saveAndFlush(captor.capture());
         InvoiceUploadJob toSave = captor.getValue();
 
         assertThat(toSave.getPersonId()).isEqualTo(personId);
@@ -113,7 +123,49 @@ class InvoiceUploadJobServiceDedupTest {
         assertThat(toSave.getFileSha256()).isEqualTo(sha);
         assertThat(toSave.getFilename()).isEqualTo("invoice.pdf");
         assertThat(toSave.getContentType()).isEqualTo("application/pdf");
-        assertThat(toSave.getFileBytes()).isEqualTo(bytes);
+        assertThat(result.getBlobRef()).isEqualTo("fs:" + saved.getId() + ".bin");
+    }
+
+    @Test
+    void createJob_flushesTheRowBeforeWritingTheBlob() throws Exception {
+        UUID personId = UUID.randomUUID();
+        byte[] bytes = "new-content".getBytes(StandardCharsets.UTF_8);
+        InvoiceUploadJob saved = new InvoiceUploadJob();
+        saved.setId(UUID.randomUUID());
+        when(jobRepository.saveAndFlush(Mockito.<InvoiceUploadJob>any())).thenReturn(saved);
+        when(uploadBlobStorage.put(saved.getId(), bytes)).thenReturn("db:" + saved.getId());
+
+        service.createJob(personId, "invoice.pdf", "application/pdf", bytes, null, null);
+
+        // The "db" store UPDATEs file_bytes on the job row, so the INSERT must already be flushed.
+        InOrder inOrder = Mockito.inOrder(jobRepository, uploadBlobStorage);
+        inOrder.verify(jobRepository).saveAndFlush(Mockito.<InvoiceUploadJob>any());
+        inOrder.verify(uploadBlobStorage).put(saved.getId(), bytes);
+    }
+
+    @Test
+    void createJob_deletesTheBlobWhenTheTransactionRollsBack() throws Exception {
+        UUID personId = UUID.randomUUID();
+        byte[] bytes = "new-content".getBytes(StandardCharsets.UTF_8);
+        InvoiceUploadJob saved = new InvoiceUploadJob();
+        saved.setId(UUID.randomUUID());
+        String ref = "fs:" + saved.getId() + ".bin";
+        when(jobRepository.saveAndFlush(Mockito.<InvoiceUploadJob>any())).thenReturn(saved);
+        when(uploadBlobStorage.put(saved.getId(), bytes)).thenReturn(ref);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.createJob(personId, "invoice.pdf", "application/pdf", bytes, null, null);
+            verify(uploadBlobStorage, never()).delete(ref);
+
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(uploadBlobStorage).delete(ref);
     }
 
     private static String sha256Hex(byte[] bytes) {
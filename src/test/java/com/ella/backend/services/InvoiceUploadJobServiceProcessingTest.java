@@ -0,0 +1,153 @@
+package com.ella.backend.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
+
+import com.ella.backend.dto.InvoiceUploadResponseDTO;
+import com.ella.backend.entities.InvoiceUploadJob;
+import com.ella.backend.repositories.InvoiceUploadJobRepository;
+import com.ella.backend.services.invoices.InvoiceParsingException;
+import com.ella.backend.services.uploads.InvoiceUploadJobQueue;
+import com.ella.backend.services.uploads.UploadBlobStorage;
+import com.ella.backend.services.uploads.UploadQueueProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SuppressWarnings("null")
+class InvoiceUploadJobServiceProcessingTest {
+
+    private static final String WORKER = "node-a:1:abcd";
+
+    private final InvoiceUploadJobRepository jobRepository = Mockito.mock(InvoiceUploadJobRepository.class);
+    private final InvoiceUploadService invoiceUploadService = Mockito.mock(InvoiceUploadService.class);
+    private final UploadBlobStorage uploadBlobStorage = Mockito.mock(UploadBlobStorage.class);
+    private final InvoiceUploadJobQueue jobQueue = Mockito.mock(InvoiceUploadJobQueue.class);
+    private final UploadQueueProperties queueProperties = new UploadQueueProperties();
+
+    private final InvoiceUploadJobService service = new InvoiceUploadJobService(
+            jobRepository,
+            invoiceUploadService,
+            new ObjectMapper(),
+            uploadBlobStorage,
+            jobQueue,
+            queueProperties,
+            Mockito.mock(ApplicationEventPublisher.class)
+    );
+
+    private InvoiceUploadJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        job = new InvoiceUploadJob();
+        job.setId(UUID.randomUUID());
+        job.setPersonId(UUID.randomUUID());
+        job.setStatus(InvoiceUploadJob.Status.RUNNING);
+        job.setFilename("invoice.pdf");
+        job.setBlobRef("fs:x.bin");
+        job.setLockedBy(WORKER);
+        job.setAttempts(1);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(uploadBlobStorage.readAll(job.getId(), "fs:x.bin")).thenReturn(new byte[] {1});
+        when(jobQueue.scheduleRetry(any(), anyString(), Mockito.anyLong(), any())).thenReturn(true);
+        when(jobQueue.complete(any(), anyString(), any())).thenReturn(true);
+        when(jobQueue.fail(any(), anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    void processJob_skipsJobLeasedByAnotherWorker() {
+        job.setLockedBy("node-b:1:ffff");
+
+        service.processJob(job.getId(), WORKER);
+
+        verifyNoInteractions(invoiceUploadService);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void processJob_transientFailure_schedulesRetryWithBackoff() throws Exception {
+        queueProperties.setRetryBackoffSeconds(10);
+        job.setAttempts(2);
+        when(uploadBlobStorage.readAll(job.getId(), "fs:x.bin")).thenThrow(new IOException("disk hiccup"));
+
+        service.processJob(job.getId(), WORKER);
+
+        verify(jobQueue).scheduleRetry(eq(job.getId()), eq(WORKER), eq(20L), eq("disk hiccup"));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void processJob_invalidInvoice_failsWithoutRetry() {
+        when(invoiceUploadService.processInvoiceBytesForPerson(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new InvoiceParsingException("Fatura não suportada"));
+
+        service.processJob(job.getId(), WORKER);
+
+        verify(jobQueue, never()).scheduleRetry(any(), anyString(), Mockito.anyLong(), any());
+        verify(jobQueue).fail(job.getId(), WORKER, "Fatura não suportada");
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void processJob_csv_streamsFromBlobStoreAndReportsProgress() throws Exception {
+        job.setFilename("extrato.csv");
+        when(uploadBlobStorage.open(job.getId(), "fs:x.bin"))
+                .thenAnswer(invocation -> new ByteArrayInputStream("data,descrição,valor\n".getBytes()));
+        when(invoiceUploadService.processCsvForPerson(eq(job.getPersonId()), eq("extrato.csv"), any(), any()))
+                .thenAnswer(invocation -> {
+                    InputStreamSource source = invocation.getArgument(2);
+                    IntConsumer progress = invocation.getArgument(3);
+                    try (var in = source.getInputStream()) {
+                        in.readAllBytes();
+                    }
+                    progress.accept(1000);
+                    return InvoiceUploadResponseDTO.builder().totalTransactions(1000).build();
+                });
+
+        service.processJob(job.getId(), WORKER);
+
+        verify(jobQueue).reportProgress(job.getId(), WORKER, 1000);
+        verify(uploadBlobStorage, never()).readAll(any(), any());
+        verify(invoiceUploadService, never()).processInvoiceBytesForPerson(any(), any(), any(), any(), any(), any());
+        verify(jobQueue).complete(eq(job.getId()), eq(WORKER), Mockito.contains("\"totalTransactions\":1000"));
+    }
+
+    @Test
+    void processJob_lastAttempt_fails() throws Exception {
+        job.setAttempts(queueProperties.getMaxAttempts());
+        when(uploadBlobStorage.readAll(job.getId(), "fs:x.bin")).thenThrow(new IOException("gone"));
+
+        service.processJob(job.getId(), WORKER);
+
+        verify(jobQueue, never()).scheduleRetry(any(), anyString(), Mockito.anyLong(), any());
+        verify(jobQueue).fail(job.getId(), WORKER, "gone");
+    }
+
+    @Test
+    void processJob_leaseLostDuringRun_doesNotOverwriteTheNewOwner() {
+        when(invoiceUploadService.processInvoiceBytesForPerson(any(), any(), any(), any(), any(), any()))
+                .thenReturn(InvoiceUploadResponseDTO.builder().totalTransactions(3).build());
+        when(jobQueue.complete(any(), anyString(), any())).thenReturn(false);
+
+        service.processJob(job.getId(), WORKER);
+
+        verify(jobQueue).complete(eq(job.getId()), eq(WORKER), any());
+        verify(jobRepository, never()).save(any());
+        verify(jobQueue, never()).fail(any(), anyString(), any());
+    }
+}
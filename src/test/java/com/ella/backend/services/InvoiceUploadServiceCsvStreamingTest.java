@@ -0,0 +1,160 @@
+package com.ella.backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ella.backend.classification.ClassificationService;
+import com.ella.backend.classification.dto.ClassificationSuggestResponseDTO;
+import com.ella.backend.entities.CreditCard;
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.entities.Invoice;
+import com.ella.backend.entities.User;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.repositories.CreditCardRepository;
+import com.ella.backend.repositories.InvoiceRepository;
+import com.ella.backend.services.uploads.BulkIngestionWriter;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceUploadServiceCsvStreamingTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ClassificationService classificationService;
+
+    @Mock
+    private CreditCardRepository creditCardRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private BulkIngestionWriter bulkIngestionWriter;
+
+    @InjectMocks
+    private InvoiceUploadService invoiceUploadService;
+
+    private final User user = new User();
+    private final List<Integer> insertedBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(UUID.randomUUID());
+        user.setName("User");
+        user.setEmail("user@example.com");
+        when(userService.findById(user.getId().toString())).thenReturn(user);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        when(creditCardRepository.findByOwner(user)).thenReturn(List.of());
+        when(creditCardRepository.save(any(CreditCard.class))).thenAnswer(invocation -> {
+            CreditCard card = invocation.getArgument(0);
+            card.setId(UUID.randomUUID());
+            return card;
+        });
+        when(invoiceRepository.findByCardAndMonthAndYearAndDeletedAtIsNull(any(CreditCard.class), anyInt(), anyInt()))
+                .thenReturn(Optional.empty());
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
+            Invoice invoice = invocation.getArgument(0);
+            if (invoice.getId() == null) invoice.setId(UUID.randomUUID());
+            return invoice;
+        });
+
+        doAnswer(invocation -> {
+            List<FinancialTransaction> txs = invocation.getArgument(0);
+            insertedBatchSizes.add(txs.size());
+            txs.forEach(tx -> tx.setId(UUID.randomUUID()));
+            return null;
+        }).when(bulkIngestionWriter).insertTransactions(anyList());
+    }
+
+    @Test
+    void processCsvForPerson_persistsAndReportsProgressChunkByChunk() {
+        StringBuilder csv = new StringBuilder("data,descrição,valor,categoria\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append(String.format("%02d/01/2025,COMPRA %d,10.00,Outros%n", 1 + i % 28, i));
+        }
+        CountingSource source = new CountingSource(csv.toString());
+
+        when(classificationService.suggestAll(eq(user.getId()), anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).stream()
+                        .map(item -> new ClassificationSuggestResponseDTO("Alimentação", TransactionType.EXPENSE, 0.9, "test"))
+                        .toList());
+
+        List<Integer> progress = new ArrayList<>();
+        var response = invoiceUploadService.processCsvForPerson(user.getId(), "extrato.csv", source, progress::add);
+
+        assertEquals(2500, response.getTotalTransactions());
+        assertEquals(LocalDate.of(2025, 1, 1), response.getStartDate());
+        assertEquals(LocalDate.of(2025, 1, 28), response.getEndDate());
+        assertEquals(List.of(1000, 1000, 500), insertedBatchSizes);
+        assertEquals(List.of(1000, 2000, 2500), progress);
+        // Classified per chunk; no card column, so no first pass over the file.
+        verify(classificationService, times(3)).suggestAll(eq(user.getId()), anyList());
+        assertEquals(1, source.opens.get());
+    }
+
+    @Test
+    void processCsvForPerson_fullExport_groupsBankInvoicesUsingWholeFile() {
+        StringBuilder csv = new StringBuilder("nome,cpf,cartão,data,descrição,valor,categoria\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("Ana,000,Visa 1234,10/01/2025,COMPRA ").append(i).append(",10.00,Alimentação\n");
+        }
+        // Only the last chunk mentions Santander: the invoice grouping must already know it for the first chunk.
+        csv.append("Ana,000,Santander 5678,10/01/2025,COMPRA X,10.00,Alimentação\n");
+        CountingSource source = new CountingSource(csv.toString());
+
+        var response = invoiceUploadService.processCsvForPerson(user.getId(), "extrato.csv", source, rows -> {});
+
+        assertEquals(1001, response.getTotalTransactions());
+        assertEquals(List.of(1000, 1), insertedBatchSizes);
+        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        assertEquals(2, source.opens.get());
+    }
+
+    private static final class CountingSource implements InputStreamSource {
+        private final byte[] bytes;
+        private final AtomicInteger opens = new AtomicInteger();
+
+        CountingSource(String content) {
+            this.bytes = content.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public java.io.InputStream getInputStream() {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,6 +44,7 @@ import com.ella.backend.services.invoices.extraction.ExtractionPipeline;
 import com.ella.backend.services.invoices.extraction.ExtractionResult;
 import com.ella.backend.services.invoices.parsers.ParseResult;
 import com.ella.backend.services.invoices.parsers.TransactionData;
+import com.ella.backend.services.uploads.BulkIngestionWriter;
 
 @ExtendWith(MockitoExtension.class)
 class InvoiceUploadServiceDuplicateTransactionsTest {
@@ -68,6 +70,9 @@ class InvoiceUploadServiceDuplicateTransactionsTest {
     @Mock
     private ExtractionPipeline extractionPipeline;
 
+    @Mock
+    private BulkIngestionWriter bulkIngestionWriter;
+
     @InjectMocks
     private InvoiceUploadService invoiceUploadService;
 
@@ -131,8 +136,10 @@ class InvoiceUploadServiceDuplicateTransactionsTest {
         user.setEmail("user@example.com");
         when(userService.findByEmail("user@example.com")).thenReturn(user);
 
-        when(classificationService.suggest(eq(user.getId()), any(String.class), any(BigDecimal.class), any(TransactionType.class)))
-            .thenReturn(new ClassificationSuggestResponseDTO("Alimentacao", TransactionType.EXPENSE, 0.9, "test"));
+        when(classificationService.suggestAll(eq(user.getId()), anyList()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).stream()
+                .map(item -> new ClassificationSuggestResponseDTO("Alimentacao", TransactionType.EXPENSE, 0.9, "test"))
+                .toList());
 
         when(creditCardRepository.findByOwner(user)).thenReturn(List.of());
         when(creditCardRepository.save(any(CreditCard.class))).thenAnswer(invocation -> {
@@ -151,16 +158,18 @@ class InvoiceUploadServiceDuplicateTransactionsTest {
             return inv;
         });
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+        List<Integer> insertedBatchSizes = new java.util.ArrayList<>();
+        doAnswer(invocation -> {
             @SuppressWarnings("unchecked")
             List<FinancialTransaction> txs = invocation.getArgument(0);
+            insertedBatchSizes.add(txs.size());
             for (FinancialTransaction tx : txs) {
                 if (tx.getId() == null) tx.setId(UUID.randomUUID());
                 if (tx.getStatus() == null) tx.setStatus(TransactionStatus.PENDING);
                 if (tx.getScope() == null) tx.setScope(TransactionScope.PERSONAL);
             }
-            return txs;
-        });
+            return null;
+        }).when(bulkIngestionWriter).insertTransactions(anyList());
 
         MockMultipartFile file = new MockMultipartFile(
             "file",
@@ -174,6 +183,8 @@ class InvoiceUploadServiceDuplicateTransactionsTest {
 
         // Then: identical rows are preserved as distinct transactions.
         assertEquals(2, response.getTotalTransactions());
-        verify(transactionRepository, times(1)).saveAll(anyList());
+        // Both rows go to the database in a single multi-row insert.
+        assertEquals(List.of(2), insertedBatchSizes);
+        verify(bulkIngestionWriter, times(1)).insertInstallments(anyList());
     }
 }
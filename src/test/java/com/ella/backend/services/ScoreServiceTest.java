@@ -20,18 +20,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.entities.CreditCard;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Invoice;
 import com.ella.backend.entities.Person;
 import com.ella.backend.entities.Score;
 import com.ella.backend.enums.InvoiceStatus;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
 import com.ella.backend.repositories.CreditCardRepository;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.InvoiceRepository;
 import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.repositories.ScoreRepository;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 
 @ExtendWith(MockitoExtension.class)
 class ScoreServiceTest {
@@ -43,7 +42,7 @@ class ScoreServiceTest {
     private InvoiceRepository invoiceRepository;
 
     @Mock
-    private FinancialTransactionRepository transactionRepository;
+    private TxViewStore txViewStore;
 
     @Mock
     private PersonRepository personRepository;
@@ -82,14 +81,9 @@ class ScoreServiceTest {
         when(invoiceRepository.findByCardOwnerAndDeletedAtIsNull(person)).thenReturn(List.of(inv));
         when(invoiceRepository.findTopByCardOwnerAndDeletedAtIsNullOrderByDueDateAsc(person)).thenReturn(Optional.of(inv));
 
-        FinancialTransaction tx1 = new FinancialTransaction();
-        tx1.setType(TransactionType.EXPENSE);
-        tx1.setStatus(TransactionStatus.PAID);
-        tx1.setCategory("Alimentação");
-        tx1.setTransactionDate(LocalDate.now().minusDays(5));
-        tx1.setAmount(new BigDecimal("100"));
+        TxView tx1 = TxView.of(LocalDate.now().minusDays(5), new BigDecimal("100"), TransactionType.EXPENSE, "Alimentação", "Mercado");
 
-        when(transactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(any(), any(), any()))
+        when(txViewStore.findFinancialNotCancelled(any(), any(), any()))
                 .thenReturn(List.of(tx1));
 
         when(scoreRepository.save(any(Score.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -0,0 +1,222 @@
+package com.ella.backend.services.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.ella.backend.dto.dashboard.DashboardResponseDTO;
+import com.ella.backend.dto.dashboard.InvoiceSummaryDTO;
+import com.ella.backend.dto.dashboard.SummaryDTO;
+import com.ella.backend.events.GoalsChangedEvent;
+import com.ella.backend.events.TransactionsChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DashboardCacheTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final DashboardCache cache = new DashboardCache(100, 60, new DisabledDashboardRemoteCache(), objectMapper, new SimpleMeterRegistry());
+    private final DashboardCacheInvalidator invalidator = new DashboardCacheInvalidator(cache);
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @Test
+    void get_computesOncePerKey() {
+        AtomicInteger loads = new AtomicInteger();
+        DashboardCacheKey key = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+
+        assertEquals("v", cache.get(key, () -> { loads.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.get(key, () -> { loads.incrementAndGet(); return "other"; }));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void transactionsChanged_evictsOnlyThatPersonsEntriesCoveringTheMonth() {
+        DashboardCacheKey aliceJan = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        DashboardCacheKey aliceFeb = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 2), YearMonth.of(2025, 2));
+        DashboardCacheKey aliceYear = DashboardCacheKey.of(alice, DashboardView.CHARTS, YearMonth.of(2025, 1), YearMonth.of(2025, 12));
+        DashboardCacheKey aliceGoals = DashboardCacheKey.anyMonth(alice, DashboardView.GOALS);
+        DashboardCacheKey bobJan = DashboardCacheKey.of(bob, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        Set.of(aliceJan, aliceFeb, aliceYear, aliceGoals, bobJan).forEach(key -> cache.get(key, () -> "v"));
+
+        invalidator.onTransactionsChanged(new TransactionsChangedEvent(alice, Set.of(YearMonth.of(2025, 1))));
+
+        assertEquals(Set.of(aliceFeb, bobJan), cached(aliceJan, aliceFeb, aliceYear, aliceGoals, bobJan));
+    }
+
+    @Test
+    void goalsChanged_evictsOnlyGoalAndFullViews() {
+        DashboardCacheKey summary = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        DashboardCacheKey goals = DashboardCacheKey.anyMonth(alice, DashboardView.GOALS);
+        DashboardCacheKey full = new DashboardCacheKey(alice, DashboardView.FULL, YearMonth.of(2025, 1), YearMonth.of(2025, 12), "3");
+        Set.of(summary, goals, full).forEach(key -> cache.get(key, () -> "v"));
+
+        invalidator.onGoalsChanged(new GoalsChangedEvent(alice));
+
+        assertEquals(Set.of(summary), cached(summary, goals, full));
+        assertEquals(0, cache.invalidate(alice, Set.of(), EnumSet.of(DashboardView.GOALS)));
+    }
+
+    @Test
+    void sharedTier_servesOtherNodesAndCountsHitsPerTier() {
+        SharedStore store = new SharedStore();
+        SimpleMeterRegistry metricsA = new SimpleMeterRegistry();
+        SimpleMeterRegistry metricsB = new SimpleMeterRegistry();
+        DashboardCache nodeA = new DashboardCache(100, 60, store.node(), objectMapper, metricsA);
+        DashboardCache nodeB = new DashboardCache(100, 60, store.node(), objectMapper, metricsB);
+        DashboardCacheKey key = new DashboardCacheKey(alice, DashboardView.FULL, YearMonth.of(2025, 1), YearMonth.of(2025, 12), "3");
+
+        DashboardResponseDTO computed = DashboardResponseDTO.builder()
+                .personId(alice.toString())
+                .personalSummary(SummaryDTO.builder().totalIncome(new BigDecimal("1500.00")).balance(new BigDecimal("320.50")).build())
+                .personalInvoices(List.of(InvoiceSummaryDTO.builder().invoiceId("inv-1").dueDate(LocalDate.of(2025, 3, 10)).build()))
+                .build();
+        nodeA.get(key, () -> computed);
+
+        Object served = nodeB.get(key, () -> fail("node B should read node A's entry from the shared tier"));
+
+        DashboardResponseDTO response = assertInstanceOf(DashboardResponseDTO.class, served);
+        assertEquals(computed, response);
+        assertEquals(1.0, metricsA.counter(DashboardCache.METRIC, "tier", "l2", "view", "FULL", "result", "miss").count());
+        assertEquals(1.0, metricsB.counter(DashboardCache.METRIC, "tier", "l1", "view", "FULL", "result", "miss").count());
+        assertEquals(1.0, metricsB.counter(DashboardCache.METRIC, "tier", "l2", "view", "FULL", "result", "hit").count());
+
+        nodeB.get(key, () -> fail("now in node B's L1"));
+        assertEquals(1.0, metricsB.counter(DashboardCache.METRIC, "tier", "l1", "view", "FULL", "result", "hit").count());
+    }
+
+    @Test
+    void sharedTier_invalidationOnOneNodeReachesEveryNode() {
+        SharedStore store = new SharedStore();
+        DashboardCache nodeA = new DashboardCache(100, 60, store.node(), objectMapper, new SimpleMeterRegistry());
+        DashboardCache nodeB = new DashboardCache(100, 60, store.node(), objectMapper, new SimpleMeterRegistry());
+        DashboardCacheKey key = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        nodeA.get(key, () -> SummaryDTO.builder().balance(BigDecimal.ONE).build());
+        nodeB.get(key, () -> fail("served by the shared tier"));
+
+        nodeA.invalidate(alice, Set.of(YearMonth.of(2025, 1)), DashboardView.all());
+
+        assertEquals(0, nodeB.size());
+        assertEquals(Map.of(), store.entries);
+        SummaryDTO recomputed = nodeB.get(key, () -> SummaryDTO.builder().balance(BigDecimal.TEN).build());
+        assertEquals(BigDecimal.TEN, recomputed.getBalance());
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsReturnedButNotCached() {
+        DashboardCacheKey key = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+
+        String value = cache.get(key, () -> {
+            // A write commits (and invalidates) while this load is still running on the old data.
+            invalidator.onTransactionsChanged(new TransactionsChangedEvent(alice, Set.of(YearMonth.of(2025, 1))));
+            return "old";
+        });
+
+        assertEquals("old", value);
+        assertEquals("new", cache.get(key, () -> "new"));
+        assertEquals("new", cache.get(key, () -> "newer"));
+    }
+
+    @Test
+    void sharedTier_dropsAPutWhoseLoadOverlappedAnotherNodesInvalidation() {
+        SharedStore store = new SharedStore();
+        DashboardCache nodeA = new DashboardCache(100, 60, store.node(), objectMapper, new SimpleMeterRegistry());
+        DashboardCache nodeB = new DashboardCache(100, 60, store.node(), objectMapper, new SimpleMeterRegistry());
+        DashboardCacheKey key = DashboardCacheKey.of(alice, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        DashboardCacheKey bobKey = DashboardCacheKey.of(bob, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+
+        nodeA.get(key, () -> {
+            nodeB.invalidate(alice, Set.of(YearMonth.of(2025, 1)), DashboardView.all());
+            return SummaryDTO.builder().balance(BigDecimal.ONE).build();
+        });
+        nodeA.get(bobKey, () -> SummaryDTO.builder().balance(BigDecimal.ONE).build());
+
+        assertEquals(Set.of(bobKey), store.entries.keySet());
+        assertEquals(1, nodeA.size());
+    }
+
+    private Set<DashboardCacheKey> cached(DashboardCacheKey... keys) {
+        Set<DashboardCacheKey> present = new HashSet<>();
+        for (DashboardCacheKey key : keys) {
+            if (cache.get(key, () -> null) != null) present.add(key);
+        }
+        return present;
+    }
+
+    /**
+     * In-memory stand-in for the shared tier: one store, one {@link DashboardRemoteCache} per node,
+     * invalidations delivered to the other nodes only (as NOTIFY does with the origin check).
+     */
+    private static final class SharedStore {
+        private final Map<DashboardCacheKey, String> entries = new ConcurrentHashMap<>();
+        private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+        private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+        Node node() {
+            Node node = new Node();
+            nodes.add(node);
+            return node;
+        }
+
+        private final class Node implements DashboardRemoteCache {
+            private final List<Consumer<DashboardInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public Optional<String> get(DashboardCacheKey key) {
+                return Optional.ofNullable(entries.get(key));
+            }
+
+            @Override
+            public long generation(UUID personId) {
+                return generations.getOrDefault(personId, 0L);
+            }
+
+            @Override
+            public boolean put(DashboardCacheKey key, String json, Duration ttl, long generation) {
+                if (generation(key.personId()) != generation) return false;
+                entries.put(key, json);
+                return true;
+            }
+
+            @Override
+            public void invalidate(DashboardInvalidation invalidation) {
+                generations.merge(invalidation.personId(), 1L, Long::sum);
+                entries.keySet().removeIf(invalidation::matches);
+                nodes.stream().filter(other -> other != this)
+                        .forEach(other -> other.listeners.forEach(listener -> listener.accept(invalidation)));
+            }
+
+            @Override
+            public void subscribe(Consumer<DashboardInvalidation> listener) {
+                listeners.add(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ella.backend.services.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresDashboardRemoteCacheIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("ella_test")
+            .withUsername("ella")
+            .withPassword("ella");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final UUID personId = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private PostgresDashboardRemoteCache nodeA;
+    private PostgresDashboardRemoteCache nodeB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V47__create_dashboard_cache_entries.sql"),
+                new ClassPathResource("db/migration/V51__create_dashboard_cache_generations.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("delete from dashboard_cache_entries");
+        jdbcTemplate.update("delete from dashboard_cache_generations");
+
+        nodeA = new PostgresDashboardRemoteCache(jdbcTemplate, dataSource, objectMapper);
+        nodeB = new PostgresDashboardRemoteCache(jdbcTemplate, dataSource, objectMapper);
+        nodeA.start();
+        nodeB.start();
+        awaitUntil(() -> nodeA.isListening() && nodeB.isListening());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void entriesAreSharedAndExpire() {
+        DashboardCacheKey key = DashboardCacheKey.of(personId, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        DashboardCacheKey expired = DashboardCacheKey.of(personId, DashboardView.SUMMARY, YearMonth.of(2025, 2), YearMonth.of(2025, 2));
+
+        nodeA.put(key, "{\"balance\":1}", Duration.ofMinutes(1), nodeA.generation(personId));
+        nodeA.put(expired, "{\"balance\":2}", Duration.ofSeconds(-1), nodeA.generation(personId));
+
+        assertThat(nodeB.get(key)).contains("{\"balance\":1}");
+        assertThat(nodeB.get(expired)).isEmpty();
+
+        nodeB.purgeExpired();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from dashboard_cache_entries", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_deletesCoveringEntriesAndNotifiesOtherNodes() throws InterruptedException {
+        List<DashboardInvalidation> receivedByA = new CopyOnWriteArrayList<>();
+        List<DashboardInvalidation> receivedByB = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+
+        DashboardCacheKey january = DashboardCacheKey.of(personId, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        DashboardCacheKey march = DashboardCacheKey.of(personId, DashboardView.SUMMARY, YearMonth.of(2025, 3), YearMonth.of(2025, 3));
+        DashboardCacheKey goals = DashboardCacheKey.anyMonth(personId, DashboardView.GOALS);
+        for (DashboardCacheKey key : List.of(january, march, goals)) {
+            nodeA.put(key, "{}", Duration.ofMinutes(1), nodeA.generation(personId));
+        }
+
+        DashboardInvalidation invalidation = new DashboardInvalidation(personId, Set.of(YearMonth.of(2025, 1)), DashboardView.all());
+        nodeA.invalidate(invalidation);
+
+        assertThat(nodeA.get(january)).isEmpty();
+        assertThat(nodeA.get(goals)).isEmpty();
+        assertThat(nodeA.get(march)).isPresent();
+
+        awaitUntil(() -> !receivedByB.isEmpty());
+        assertThat(receivedByB).containsExactly(invalidation);
+        assertThat(receivedByA).isEmpty();
+    }
+
+    @Test
+    void put_isDroppedWhenThePersonWasInvalidatedSinceItsGenerationWasRead() {
+        DashboardCacheKey key = DashboardCacheKey.of(personId, DashboardView.SUMMARY, YearMonth.of(2025, 1), YearMonth.of(2025, 1));
+        long before = nodeA.generation(personId);
+
+        nodeB.invalidate(new DashboardInvalidation(personId, Set.of(YearMonth.of(2025, 1)), DashboardView.all()));
+
+        assertThat(nodeA.put(key, "{\"balance\":1}", Duration.ofMinutes(1), before)).isFalse();
+        assertThat(nodeA.get(key)).isEmpty();
+        assertThat(nodeA.put(key, "{\"balance\":2}", Duration.ofMinutes(1), nodeA.generation(personId))).isTrue();
+        assertThat(nodeB.get(key)).contains("{\"balance\":2}");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+}
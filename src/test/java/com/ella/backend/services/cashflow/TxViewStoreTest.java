@@ -0,0 +1,173 @@
+package com.ella.backend.services.cashflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ella.backend.entities.BankStatement;
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.entities.Person;
+import com.ella.backend.enums.TransactionStatus;
+import com.ella.backend.enums.TransactionType;
+
+/**
+ * Runs the store's SQL against a real database (H2 in PostgreSQL mode, schema from the entities):
+ * which rows each query returns, and how a row becomes a {@link TxView}.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:tx_view_store;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=MONTH,YEAR",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TxViewStore.class)
+class TxViewStoreTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+
+    @Autowired
+    TxViewStore store;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Person ana;
+    private Person bia;
+
+    @BeforeEach
+    void setUp() {
+        ana = person("Ana");
+        bia = person("Bia");
+    }
+
+    @Test
+    void findFinancial_returnsThePersonsRowsInsideTheDateBoundsOrderedByDate() {
+        tx(ana, LocalDate.of(2026, 3, 31), "10.00", TransactionStatus.PAID, "Mercado");
+        tx(ana, START, "20.00", TransactionStatus.PENDING, "Mercado");
+        tx(ana, LocalDate.of(2026, 3, 15), "30.00", TransactionStatus.CANCELLED, "Mercado");
+        tx(ana, LocalDate.of(2026, 2, 28), "40.00", TransactionStatus.PAID, "Mercado");
+        tx(ana, LocalDate.of(2026, 4, 1), "50.00", TransactionStatus.PAID, "Mercado");
+        tx(bia, LocalDate.of(2026, 3, 10), "60.00", TransactionStatus.PAID, "Mercado");
+        FinancialTransaction deleted = tx(ana, LocalDate.of(2026, 3, 20), "70.00", TransactionStatus.PAID, "Mercado");
+        deleted.setDeletedAt(LocalDateTime.of(2026, 3, 21, 9, 0));
+        entityManager.flush();
+
+        List<TxView> rows = store.findFinancial(ana.getId(), START, END);
+
+        assertThat(rows).extracting(TxView::transactionDate)
+                .containsExactly(START, LocalDate.of(2026, 3, 15), LocalDate.of(2026, 3, 31));
+        assertThat(rows).extracting(TxView::amountCents).containsExactly(2000L, 3000L, 1000L);
+    }
+
+    @Test
+    void findFinancialNotCancelled_alsoLeavesOutCancelledRows() {
+        tx(ana, LocalDate.of(2026, 3, 5), "10.00", TransactionStatus.PAID, "Mercado");
+        tx(ana, LocalDate.of(2026, 3, 6), "20.00", TransactionStatus.CANCELLED, "Mercado");
+        tx(ana, LocalDate.of(2026, 3, 7), "30.00", TransactionStatus.PENDING, "Mercado");
+        FinancialTransaction deleted = tx(ana, LocalDate.of(2026, 3, 8), "40.00", TransactionStatus.PAID, "Mercado");
+        deleted.setDeletedAt(LocalDateTime.of(2026, 3, 9, 9, 0));
+        tx(ana, LocalDate.of(2026, 4, 1), "50.00", TransactionStatus.PAID, "Mercado");
+        entityManager.flush();
+
+        assertThat(store.findFinancialNotCancelled(ana.getId(), START, END))
+                .extracting(TxView::amountCents)
+                .containsExactly(1000L, 3000L);
+    }
+
+    @Test
+    void findFinancial_mapsEveryColumnIntoTheView() {
+        tx(ana, LocalDate.of(2026, 3, 14), "-123.45", TransactionStatus.PAID, "Alimentação");
+        // category is NOT NULL in the schema; legacy rows without one must still map.
+        jdbcTemplate.execute("alter table financial_transactions alter column category set null");
+        FinancialTransaction uncategorized = tx(ana, LocalDate.of(2026, 3, 15), "0.10", TransactionStatus.PAID, "Outros");
+        jdbcTemplate.update("update financial_transactions set category = null where id = ?", uncategorized.getId());
+
+        List<TxView> rows = store.findFinancial(ana.getId(), START, END);
+
+        assertThat(rows).containsExactly(
+                new TxView(LocalDate.of(2026, 3, 14).toEpochDay(), -12345L, TransactionType.EXPENSE, "Alimentação", "Mercado CENTRAL"),
+                new TxView(LocalDate.of(2026, 3, 15).toEpochDay(), 10L, TransactionType.EXPENSE, null, "Mercado CENTRAL"));
+        assertThat(rows.get(0).amount()).isEqualByComparingTo("-123.45");
+    }
+
+    @Test
+    void findStatementRows_joinsThroughTheStatementOwner() {
+        BankStatement anaStatement = statement(ana);
+        BankStatement biaStatement = statement(bia);
+        statementRow(anaStatement, LocalDate.of(2026, 3, 20), "SALARIO", "3000.00", BankStatementTransaction.Type.CREDIT);
+        statementRow(anaStatement, START, "PIX ENVIADO", "-50.00", BankStatementTransaction.Type.DEBIT);
+        statementRow(anaStatement, LocalDate.of(2026, 2, 28), "TARIFA", "-9.90", BankStatementTransaction.Type.DEBIT);
+        statementRow(anaStatement, LocalDate.of(2026, 4, 1), "TARIFA", "-9.90", BankStatementTransaction.Type.DEBIT);
+        statementRow(biaStatement, LocalDate.of(2026, 3, 10), "PIX RECEBIDO", "80.00", BankStatementTransaction.Type.CREDIT);
+        entityManager.flush();
+
+        List<TxViewStore.StatementRow> rows = store.findStatementRows(ana.getId(), START, END);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).transactionDate()).isEqualTo(START);
+        assertThat(rows.get(0).amount()).isEqualByComparingTo("-50.00");
+        assertThat(rows.get(0).type()).isEqualTo(BankStatementTransaction.Type.DEBIT);
+        assertThat(rows.get(0).description()).isEqualTo("PIX ENVIADO");
+        assertThat(rows.get(1).description()).isEqualTo("SALARIO");
+        assertThat(rows.get(1).type()).isEqualTo(BankStatementTransaction.Type.CREDIT);
+    }
+
+    private Person person(String name) {
+        Person person = new Person();
+        person.setName(name);
+        return entityManager.persist(person);
+    }
+
+    private FinancialTransaction tx(Person owner, LocalDate date, String amount, TransactionStatus status, String category) {
+        return entityManager.persistAndFlush(FinancialTransaction.builder()
+                .person(owner)
+                .description("Mercado CENTRAL")
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.EXPENSE)
+                .category(category)
+                .transactionDate(date)
+                .status(status)
+                .build());
+    }
+
+    private BankStatement statement(Person owner) {
+        BankStatement statement = new BankStatement();
+        statement.setUserId(owner.getId());
+        statement.setBank("ITAU");
+        statement.setStatementDate(END);
+        return entityManager.persist(statement);
+    }
+
+    private void statementRow(BankStatement statement, LocalDate date, String description, String amount,
+            BankStatementTransaction.Type type) {
+        BankStatementTransaction row = new BankStatementTransaction();
+        row.setBankStatement(statement);
+        row.setTransactionDate(date);
+        row.setDescription(description);
+        row.setAmount(new BigDecimal(amount));
+        row.setBalance(BigDecimal.ZERO);
+        row.setType(type);
+        entityManager.persist(row);
+    }
+}
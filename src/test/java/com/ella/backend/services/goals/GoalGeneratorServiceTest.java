@@ -24,11 +24,11 @@ import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.GoalStatus;
 import com.ella.backend.exceptions.ResourceNotFoundException;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.repositories.GoalRepository;
 import com.ella.backend.repositories.PersonRepository;
 import com.ella.backend.services.GoalGeneratorService;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxViewStore;
 import com.ella.backend.services.goals.providers.GoalProvider;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,7 +42,7 @@ class GoalGeneratorServiceTest {
     private PersonRepository personRepository;
 
     @Mock
-    private FinancialTransactionRepository financialTransactionRepository;
+    private TxViewStore txViewStore;
 
     @Mock
     private CashflowTransactionsService cashflowTransactionsService;
@@ -65,8 +65,8 @@ class GoalGeneratorServiceTest {
         when(goalRepository.countByOwnerAndStatus(person, GoalStatus.ACTIVE)).thenReturn(2L);
         when(goalRepository.findByOwner(person)).thenReturn(List.of());
 
-        when(financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(
-            org.mockito.ArgumentMatchers.eq(person),
+        when(txViewStore.findFinancial(
+            org.mockito.ArgumentMatchers.eq(person.getId()),
             org.mockito.ArgumentMatchers.any(),
             org.mockito.ArgumentMatchers.any()
         )).thenReturn(List.of());
@@ -86,7 +86,7 @@ class GoalGeneratorServiceTest {
             List.of(provider1, provider2, provider3),
             personRepository,
             goalRepository,
-            financialTransactionRepository,
+            txViewStore,
             cashflowTransactionsService
         );
 
@@ -110,7 +110,7 @@ class GoalGeneratorServiceTest {
             List.of(provider1, provider2, provider3),
             personRepository,
             goalRepository,
-            financialTransactionRepository,
+            txViewStore,
             cashflowTransactionsService
         );
 
@@ -132,8 +132,8 @@ class GoalGeneratorServiceTest {
         when(goalRepository.countByOwnerAndStatus(person, GoalStatus.ACTIVE)).thenReturn(0L);
         when(goalRepository.findByOwner(person)).thenReturn(List.of(existingActive));
 
-        when(financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(
-            org.mockito.ArgumentMatchers.eq(person),
+        when(txViewStore.findFinancial(
+            org.mockito.ArgumentMatchers.eq(person.getId()),
             org.mockito.ArgumentMatchers.any(),
             org.mockito.ArgumentMatchers.any()
         )).thenReturn(List.of());
@@ -151,7 +151,7 @@ class GoalGeneratorServiceTest {
             List.of(provider1, provider2),
             personRepository,
             goalRepository,
-            financialTransactionRepository,
+            txViewStore,
             cashflowTransactionsService
         );
 
@@ -176,7 +176,7 @@ class GoalGeneratorServiceTest {
             List.of(provider1),
             personRepository,
             goalRepository,
-            financialTransactionRepository,
+            txViewStore,
             cashflowTransactionsService
         );
 
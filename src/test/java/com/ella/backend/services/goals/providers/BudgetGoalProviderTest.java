@@ -12,11 +12,10 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 class ReducibleSpendingGoalProviderTest {
 
@@ -29,7 +28,7 @@ class ReducibleSpendingGoalProviderTest {
 
         YearMonth current = YearMonth.from(LocalDate.now());
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
         expense(person, current.atDay(2), "2000", "Aluguel"),
         expense(person, current.minusMonths(1).atDay(2), "2000", "Aluguel"),
         expense(person, current.minusMonths(2).atDay(2), "2000", "Aluguel"),
@@ -47,16 +46,7 @@ class ReducibleSpendingGoalProviderTest {
     assertTrue(goals.getFirst().getTargetAmount().compareTo(BigDecimal.ZERO) > 0);
     }
 
-    private static FinancialTransaction expense(Person person, LocalDate date, String amount, String category) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Expense")
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView expense(Person person, LocalDate date, String amount, String category) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, "Expense");
     }
 }
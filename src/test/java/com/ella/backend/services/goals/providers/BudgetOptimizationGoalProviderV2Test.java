@@ -12,11 +12,10 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 class BudgetOptimizationGoalProviderV2Test {
 
@@ -29,7 +28,7 @@ class BudgetOptimizationGoalProviderV2Test {
 
         YearMonth current = YearMonth.from(LocalDate.now());
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 expense(person, current.minusMonths(2).atDay(10), "100", "Lazer"),
                 expense(person, current.minusMonths(1).atDay(10), "300", "Lazer"),
                 expense(person, current.atDay(10), "200", "Lazer"),
@@ -45,16 +44,7 @@ class BudgetOptimizationGoalProviderV2Test {
         assertTrue(goals.stream().allMatch(g -> g.getTitle() != null && g.getTitle().startsWith("Orçamento:")));
     }
 
-    private static FinancialTransaction expense(Person person, LocalDate date, String amount, String category) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Expense")
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView expense(Person person, LocalDate date, String amount, String category) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, "Expense");
     }
 }
@@ -12,11 +12,10 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 class SubscriptionCleanupGoalProviderTest {
 
@@ -29,7 +28,7 @@ class SubscriptionCleanupGoalProviderTest {
 
         YearMonth current = YearMonth.from(LocalDate.now());
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 subExpense(person, current.atDay(5), "29.90", "NETFLIX.COM"),
                 subExpense(person, current.minusMonths(1).atDay(5), "29.90", "Netflix"),
                 subExpense(person, current.minusMonths(2).atDay(5), "29.90", "Netflix"),
@@ -49,16 +48,7 @@ class SubscriptionCleanupGoalProviderTest {
         assertTrue(goals.getFirst().getTargetAmount().compareTo(BigDecimal.ZERO) > 0);
     }
 
-    private static FinancialTransaction subExpense(Person person, LocalDate date, String amount, String description) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description(description)
-                .category("Assinaturas")
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView subExpense(Person person, LocalDate date, String amount, String description) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, "Assinaturas", description);
     }
 }
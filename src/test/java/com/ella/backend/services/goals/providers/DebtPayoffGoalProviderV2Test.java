@@ -16,14 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Invoice;
 import com.ella.backend.entities.Person;
 import com.ella.backend.enums.InvoiceStatus;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
 import com.ella.backend.repositories.InvoiceRepository;
+import com.ella.backend.services.cashflow.TxView;
 
 @ExtendWith(MockitoExtension.class)
 class DebtPayoffGoalProviderV2Test {
@@ -48,7 +47,7 @@ class DebtPayoffGoalProviderV2Test {
 
         when(invoiceRepository.findByCardOwnerAndDeletedAtIsNull(person)).thenReturn(List.of(invoice));
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 income(person, LocalDate.now().minusMonths(2).withDayOfMonth(5), "6000"),
                 income(person, LocalDate.now().minusMonths(1).withDayOfMonth(5), "6000"),
                 income(person, LocalDate.now().withDayOfMonth(5), "6000"),
@@ -65,29 +64,11 @@ class DebtPayoffGoalProviderV2Test {
         assertTrue(goals.getFirst().getDescription().toLowerCase().contains("faturas"));
     }
 
-    private static FinancialTransaction income(Person person, LocalDate date, String amount) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Income")
-                .category("Renda")
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.INCOME)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView income(Person person, LocalDate date, String amount) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.INCOME, "Renda", "Income");
     }
 
-    private static FinancialTransaction expense(Person person, LocalDate date, String amount, String category) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Expense")
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView expense(Person person, LocalDate date, String amount, String category) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, "Expense");
     }
 }
@@ -12,11 +12,10 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Goal;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 
 class EmergencyFundGoalProviderTest {
 
@@ -29,7 +28,7 @@ class EmergencyFundGoalProviderTest {
 
         YearMonth current = YearMonth.from(LocalDate.now());
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                                 income(person, current.atDay(5), "6000"),
                                 income(person, current.minusMonths(1).atDay(5), "6000"),
                                 income(person, current.minusMonths(2).atDay(5), "6000"),
@@ -54,7 +53,7 @@ class EmergencyFundGoalProviderTest {
 
         YearMonth current = YearMonth.from(LocalDate.now());
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 income(person, current.atDay(5), "3000"),
                 income(person, current.minusMonths(1).atDay(5), "3000"),
                 income(person, current.minusMonths(2).atDay(5), "3000"),
@@ -68,29 +67,11 @@ class EmergencyFundGoalProviderTest {
         assertTrue(goals.isEmpty());
     }
 
-    private static FinancialTransaction income(Person person, LocalDate date, String amount) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Income")
-                .category("Renda")
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.INCOME)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView income(Person person, LocalDate date, String amount) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.INCOME, "Renda", "Income");
     }
 
-    private static FinancialTransaction expense(Person person, LocalDate date, String amount, String category) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .description("Expense")
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView expense(Person person, LocalDate date, String amount, String category) {
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, "Expense");
     }
 }
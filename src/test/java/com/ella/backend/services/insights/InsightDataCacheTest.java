@@ -0,0 +1,128 @@
+package com.ella.backend.services.insights;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ella.backend.entities.Person;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
+
+@ExtendWith(MockitoExtension.class)
+class InsightDataCacheTest {
+
+    @Mock
+    private TxViewStore txViewStore;
+
+    @Mock
+    private CashflowTransactionsService cashflowTransactionsService;
+
+    @Test
+    void concurrentCallersOfTheSameMonthShareOneQuery() throws Exception {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        YearMonth month = YearMonth.of(2026, 2);
+        List<TxView> rows = List.of(tx(LocalDate.of(2026, 2, 3)));
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(cashflowTransactionsService.fetchCashflowTransactions(eq(person), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return rows;
+                });
+
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<TxView>> first = executor.submit(() -> cache.getCashflowTransactionsForMonth(person, month));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<List<TxView>> second = executor.submit(() -> cache.getCashflowTransactionsForMonth(person, month));
+            release.countDown();
+
+            assertSame(rows, first.get(5, TimeUnit.SECONDS));
+            assertSame(rows, second.get(5, TimeUnit.SECONDS));
+            verify(cashflowTransactionsService, times(1)).fetchCashflowTransactions(eq(person), any(LocalDate.class), any(LocalDate.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void prefetch_loadsTheWindowOncePerSourceAndSlicesItIntoMonths() {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        YearMonth current = YearMonth.of(2026, 3);
+        TxView january = tx(LocalDate.of(2026, 1, 10));
+        TxView march = tx(LocalDate.of(2026, 3, 5));
+        TxView statementRow = tx(LocalDate.of(2026, 3, 20));
+        List<TxView> base = List.of(january, march);
+
+        when(txViewStore.findFinancial(
+                person.getId(), LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31)))
+                .thenReturn(base);
+        when(cashflowTransactionsService.combineWithStatements(
+                person, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31), base))
+                .thenReturn(List.of(january, march, statementRow));
+
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
+        cache.prefetch(person, current, 2);
+
+        assertEquals(List.of(january), cache.getTransactionsForMonth(person, YearMonth.of(2026, 1)));
+        assertEquals(List.of(), cache.getTransactionsForMonth(person, YearMonth.of(2026, 2)));
+        assertEquals(List.of(march), cache.getTransactionsForMonth(person, current));
+        assertEquals(List.of(march, statementRow), cache.getCashflowTransactionsForMonth(person, current));
+        verifyNoMoreInteractions(txViewStore, cashflowTransactionsService);
+    }
+
+    @Test
+    void failedLoadIsRetriedByTheNextCaller() {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        YearMonth month = YearMonth.of(2026, 2);
+        List<TxView> rows = List.of(tx(LocalDate.of(2026, 2, 3)));
+
+        when(txViewStore.findFinancial(
+                person.getId(), month.atDay(1), month.atEndOfMonth()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(rows);
+
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
+
+        assertThrows(IllegalStateException.class, () -> cache.getTransactionsForMonth(person, month));
+        assertEquals(rows, cache.getTransactionsForMonth(person, month));
+        assertEquals(rows, cache.getTransactionsForMonth(person, month));
+        verify(txViewStore, times(2)).findFinancial(
+                person.getId(), month.atDay(1), month.atEndOfMonth());
+    }
+
+    private static TxView tx(LocalDate date) {
+        return TxView.of(date, new BigDecimal("10.00"), TransactionType.EXPENSE, "Outros", "tx " + date);
+    }
+}
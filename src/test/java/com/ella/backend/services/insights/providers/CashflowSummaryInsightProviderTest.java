@@ -19,19 +19,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 import com.ella.backend.services.insights.InsightDataCache;
 
 @ExtendWith(MockitoExtension.class)
 class CashflowSummaryInsightProviderTest {
 
     @Mock
-    private FinancialTransactionRepository financialTransactionRepository;
+    private TxViewStore txViewStore;
 
     @Mock
     private CashflowTransactionsService cashflowTransactionsService;
@@ -45,7 +44,7 @@ class CashflowSummaryInsightProviderTest {
 
         YearMonth ym = YearMonth.of(2026, 2);
 
-        List<FinancialTransaction> combined = List.of(
+        List<TxView> combined = List.of(
                 tx(person, LocalDate.of(2026, 2, 1), TransactionType.INCOME, "Salário", "5000.00"),
                 tx(person, LocalDate.of(2026, 2, 2), TransactionType.EXPENSE, "Mercado", "1200.00")
         );
@@ -53,7 +52,7 @@ class CashflowSummaryInsightProviderTest {
         when(cashflowTransactionsService.fetchCashflowTransactions(eq(person), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(combined);
 
-        InsightDataCache cache = new InsightDataCache(financialTransactionRepository, cashflowTransactionsService);
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
         CashflowSummaryInsightProvider provider = new CashflowSummaryInsightProvider(cache);
 
         List<InsightDTO> insights = provider.generate(person, ym.getYear(), ym.getMonthValue());
@@ -66,16 +65,7 @@ class CashflowSummaryInsightProviderTest {
         assertTrue(msg.contains("resultado"));
     }
 
-    private static FinancialTransaction tx(Person person, LocalDate date, TransactionType type, String desc, String amount) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .category("Outros")
-                .description(desc)
-                .amount(new BigDecimal(amount))
-                .type(type)
-                .status(TransactionStatus.PAID)
-                .build();
+    private static TxView tx(Person person, LocalDate date, TransactionType type, String desc, String amount) {
+        return TxView.of(date, new BigDecimal(amount), type, "Outros", desc);
     }
 }
@@ -17,10 +17,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +39,7 @@ class OutrosCategoryQualityInsightProviderTest {
         YearMonth ym = YearMonth.of(year, month);
 
         // Total = 1200, Outros = 260 => 22%
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 expense(p, "SUPERMERCADO", "Alimentação", "600.00", ym.atDay(2)),
                 expense(p, "RESTAURANTE", "Alimentação", "340.00", ym.atDay(3)),
                 expense(p, "UBER TRIP 1234", "Outros", "140.00", ym.atDay(5)),
@@ -74,7 +73,7 @@ class OutrosCategoryQualityInsightProviderTest {
         int month = 2;
         YearMonth ym = YearMonth.of(year, month);
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 expense(p, "UBER TRIP 1234", "Outros", "600.00", ym.atDay(2)),
                 expense(p, "IFOOD 999", "Outros", "300.00", ym.atDay(3)),
                 expense(p, "SUPERMERCADO", "Alimentação", "200.00", ym.atDay(5))
@@ -89,21 +88,13 @@ class OutrosCategoryQualityInsightProviderTest {
         assertEquals(0, out.size());
     }
 
-    private static FinancialTransaction expense(
+    private static TxView expense(
             Person p,
             String description,
             String category,
             String amount,
             LocalDate date
     ) {
-        return FinancialTransaction.builder()
-                .person(p)
-                .description(description)
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .transactionDate(date)
-                .status(TransactionStatus.PAID)
-                .build();
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, description);
     }
 }
@@ -21,19 +21,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 import com.ella.backend.services.insights.InsightDataCache;
 
 @ExtendWith(MockitoExtension.class)
 class RecurringPaymentInsightProviderTest {
 
     @Mock
-    private FinancialTransactionRepository financialTransactionRepository;
+    private TxViewStore txViewStore;
 
         @Mock
         private CashflowTransactionsService cashflowTransactionsService;
@@ -47,7 +46,7 @@ class RecurringPaymentInsightProviderTest {
 
         YearMonth current = YearMonth.of(2026, 2);
 
-        Map<YearMonth, List<FinancialTransaction>> byMonth = new HashMap<>();
+        Map<YearMonth, List<TxView>> byMonth = new HashMap<>();
         byMonth.put(current, List.of(
                 tx(person, LocalDate.of(2026, 2, 7), "Streaming", "Netflix", "39.90")
         ));
@@ -64,7 +63,7 @@ class RecurringPaymentInsightProviderTest {
                     return byMonth.getOrDefault(YearMonth.from(start), List.of());
                 });
 
-        InsightDataCache cache = new InsightDataCache(financialTransactionRepository, cashflowTransactionsService);
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
         RecurringPaymentInsightProvider provider = new RecurringPaymentInsightProvider(cache);
 
         List<InsightDTO> insights = provider.generate(person, current.getYear(), current.getMonthValue());
@@ -85,7 +84,7 @@ class RecurringPaymentInsightProviderTest {
 
         YearMonth current = YearMonth.of(2026, 2);
 
-        Map<YearMonth, List<FinancialTransaction>> byMonth = new HashMap<>();
+        Map<YearMonth, List<TxView>> byMonth = new HashMap<>();
         byMonth.put(current, List.of(tx(person, LocalDate.of(2026, 2, 7), "Outros", "PIX JOAO", "39.90")));
         byMonth.put(current.minusMonths(1), List.of(tx(person, LocalDate.of(2026, 1, 7), "Outros", "PIX JOAO", "39.90")));
         byMonth.put(current.minusMonths(2), List.of(tx(person, LocalDate.of(2025, 12, 7), "Outros", "PIX JOAO", "39.90")));
@@ -96,29 +95,20 @@ class RecurringPaymentInsightProviderTest {
                     return byMonth.getOrDefault(YearMonth.from(start), List.of());
                 });
 
-        InsightDataCache cache = new InsightDataCache(financialTransactionRepository, cashflowTransactionsService);
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
         RecurringPaymentInsightProvider provider = new RecurringPaymentInsightProvider(cache);
 
         List<InsightDTO> insights = provider.generate(person, current.getYear(), current.getMonthValue());
         assertTrue(insights.isEmpty());
     }
 
-    private static FinancialTransaction tx(
+    private static TxView tx(
             Person person,
             LocalDate date,
             String category,
             String description,
             String amount
     ) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .category(category)
-                .description(description)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, description);
     }
 }
@@ -17,10 +17,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.cashflow.TxView;
 import com.ella.backend.services.insights.InsightDataCache;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +38,7 @@ class TopCategoryInsightProviderTest {
         int month = 2;
         YearMonth ym = YearMonth.of(year, month);
 
-        List<FinancialTransaction> txs = List.of(
+        List<TxView> txs = List.of(
                 expense(p, "UBER TRIP 1234", "Outros", "200.00", ym.atDay(2)),
                 expense(p, "IFOOD 999", "Outros", "180.00", ym.atDay(3)),
                 expense(p, "SUPERMERCADO", "Alimentação", "350.00", ym.atDay(5)),
@@ -69,21 +68,13 @@ class TopCategoryInsightProviderTest {
         assertTrue(msg.contains("38"));
     }
 
-    private static FinancialTransaction expense(
+    private static TxView expense(
             Person p,
             String description,
             String category,
             String amount,
             LocalDate date
     ) {
-        return FinancialTransaction.builder()
-                .person(p)
-                .description(description)
-                .category(category)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .transactionDate(date)
-                .status(TransactionStatus.PAID)
-                .build();
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, description);
     }
 }
@@ -21,19 +21,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.ella.backend.dto.dashboard.InsightDTO;
-import com.ella.backend.entities.FinancialTransaction;
 import com.ella.backend.entities.Person;
-import com.ella.backend.enums.TransactionStatus;
 import com.ella.backend.enums.TransactionType;
-import com.ella.backend.repositories.FinancialTransactionRepository;
 import com.ella.backend.services.cashflow.CashflowTransactionsService;
+import com.ella.backend.services.cashflow.TxView;
+import com.ella.backend.services.cashflow.TxViewStore;
 import com.ella.backend.services.insights.InsightDataCache;
 
 @ExtendWith(MockitoExtension.class)
 class UnexpectedSpendingInsightProviderTest {
 
     @Mock
-    private FinancialTransactionRepository financialTransactionRepository;
+    private TxViewStore txViewStore;
 
         @Mock
         private CashflowTransactionsService cashflowTransactionsService;
@@ -47,7 +46,7 @@ class UnexpectedSpendingInsightProviderTest {
 
         YearMonth current = YearMonth.of(2026, 2);
 
-        Map<YearMonth, List<FinancialTransaction>> byMonth = new HashMap<>();
+        Map<YearMonth, List<TxView>> byMonth = new HashMap<>();
         // Baseline: 3 meses anteriores (valores estáveis)
         byMonth.put(current.minusMonths(1), List.of(
                 tx(person, LocalDate.of(2026, 1, 10), "Restaurantes", "Restaurante A", "100.00"),
@@ -66,13 +65,13 @@ class UnexpectedSpendingInsightProviderTest {
                 tx(person, LocalDate.of(2026, 2, 5), "Restaurantes", "Restaurante A", "250.00")
         ));
 
-                when(financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(eq(person), any(LocalDate.class), any(LocalDate.class)))
+                when(txViewStore.findFinancial(eq(person.getId()), any(LocalDate.class), any(LocalDate.class)))
                 .thenAnswer(invocation -> {
                     LocalDate start = invocation.getArgument(1);
                     return byMonth.getOrDefault(YearMonth.from(start), List.of());
                 });
 
-        InsightDataCache cache = new InsightDataCache(financialTransactionRepository, cashflowTransactionsService);
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
         UnexpectedSpendingInsightProvider provider = new UnexpectedSpendingInsightProvider(cache);
 
         List<InsightDTO> insights = provider.generate(person, current.getYear(), current.getMonthValue());
@@ -91,40 +90,31 @@ class UnexpectedSpendingInsightProviderTest {
 
         YearMonth current = YearMonth.of(2026, 2);
 
-        Map<YearMonth, List<FinancialTransaction>> byMonth = Map.of(
+        Map<YearMonth, List<TxView>> byMonth = Map.of(
                 current, List.of(tx(person, LocalDate.of(2026, 2, 5), "Restaurantes", "Restaurante A", "250.00")),
                 current.minusMonths(1), List.of(tx(person, LocalDate.of(2026, 1, 10), "Restaurantes", "Restaurante A", "100.00"))
         );
 
-                when(financialTransactionRepository.findByPersonAndTransactionDateBetweenAndDeletedAtIsNull(eq(person), any(LocalDate.class), any(LocalDate.class)))
+                when(txViewStore.findFinancial(eq(person.getId()), any(LocalDate.class), any(LocalDate.class)))
                 .thenAnswer(invocation -> {
                     LocalDate start = invocation.getArgument(1);
                     return byMonth.getOrDefault(YearMonth.from(start), List.of());
                 });
 
-        InsightDataCache cache = new InsightDataCache(financialTransactionRepository, cashflowTransactionsService);
+        InsightDataCache cache = new InsightDataCache(txViewStore, cashflowTransactionsService);
         UnexpectedSpendingInsightProvider provider = new UnexpectedSpendingInsightProvider(cache);
 
         List<InsightDTO> insights = provider.generate(person, current.getYear(), current.getMonthValue());
         assertTrue(insights.isEmpty());
     }
 
-    private static FinancialTransaction tx(
+    private static TxView tx(
             Person person,
             LocalDate date,
             String category,
             String description,
             String amount
     ) {
-        return FinancialTransaction.builder()
-                .person(person)
-                .transactionDate(date)
-                .purchaseDate(date)
-                .category(category)
-                .description(description)
-                .amount(new BigDecimal(amount))
-                .type(TransactionType.EXPENSE)
-                .status(TransactionStatus.PAID)
-                .build();
+        return TxView.of(date, new BigDecimal(amount), TransactionType.EXPENSE, category, description);
     }
 }
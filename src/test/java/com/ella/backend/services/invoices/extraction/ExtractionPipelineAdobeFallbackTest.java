@@ -11,6 +11,8 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -20,6 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.env.Environment;
 
 import com.ella.backend.config.QualityScoreConfig;
+import com.ella.backend.config.RemoteCallResilience;
+import com.ella.backend.config.RemoteCallResilienceProperties;
 import com.ella.backend.services.invoices.extraction.core.InvoiceParsingCore;
 import com.ella.backend.services.invoices.parsers.InvoiceParserFactory;
 import com.ella.backend.services.invoices.parsers.ParseResult;
@@ -80,6 +84,15 @@ class ExtractionPipelineAdobeFallbackTest {
             ParseQualityEvaluator evaluator,
             ParseQualityValidator validator,
             AdobeExtractor adobeExtractor
+    ) {
+        return buildPipeline(evaluator, validator, adobeExtractor, null);
+    }
+
+    private static ExtractionPipeline buildPipeline(
+            ParseQualityEvaluator evaluator,
+            ParseQualityValidator validator,
+            AdobeExtractor adobeExtractor,
+            ExtractionResultCache extractionResultCache
     ) {
         InvoiceParserFactory invoiceParserFactory = new InvoiceParserFactory("http://localhost:8000");
         PdfTextExtractor pdfTextExtractor = new PdfTextExtractor();
@@ -109,7 +122,8 @@ class ExtractionPipelineAdobeFallbackTest {
                 validator,
                 parserParent,
                 adobeExtractor,
-                strategy
+                strategy,
+                extractionResultCache
         );
     }
 
@@ -186,4 +200,43 @@ class ExtractionPipelineAdobeFallbackTest {
         assertEquals(AdobeFallbackStrategy.DECISION_PDFBOX_FALLBACK, result.fallbackDecision());
         verify(adobeExtractor, times(1)).extract(any());
     }
+
+    @Test
+    void resultIsCachedOnlyWhenNoRemoteCallFailed() throws Exception {
+        byte[] pdfBytes = pdfWithText(itauText(PDFBOX_MARKER));
+
+        ParseQualityEvaluator evaluator = org.mockito.Mockito.mock(ParseQualityEvaluator.class);
+        ParseQualityValidator validator = org.mockito.Mockito.mock(ParseQualityValidator.class);
+        AdobeExtractor adobeExtractor = org.mockito.Mockito.mock(AdobeExtractor.class);
+        ExtractionResultCache cache = org.mockito.Mockito.mock(ExtractionResultCache.class);
+        ExtractionResultCache.Key key = new ExtractionResultCache.Key("sha", "variant");
+        when(cache.keyFor(any(), any(), any())).thenReturn(key);
+        when(cache.find(key)).thenReturn(Optional.empty());
+        when(validator.isValid(any(ParseResult.class), any(QualityScoreConfig.class))).thenReturn(true);
+
+        // Low score -> Adobe is tried and its call fails through the resilience layer.
+        RemoteCallResilience resilience = new RemoteCallResilience(new RemoteCallResilienceProperties());
+        when(adobeExtractor.extract(any())).thenAnswer(inv -> {
+            try {
+                resilience.execute("adobe", "/extract", () -> {
+                    throw new IOException("connection reset");
+                }, null);
+            } catch (IOException ignored) {
+            }
+            return null;
+        });
+        when(evaluator.evaluate(any(ParseResult.class), anyString())).thenReturn(40);
+
+        ExtractionPipeline pipeline = buildPipeline(evaluator, validator, adobeExtractor, cache);
+        ExtractionResult degraded = pipeline.extractFromPdf(new ByteArrayInputStream(pdfBytes), null, null);
+
+        assertEquals(AdobeFallbackStrategy.DECISION_PDFBOX_FALLBACK, degraded.fallbackDecision());
+        verify(cache, never()).store(any(), any());
+
+        // Good score -> no remote call at all: cached.
+        when(evaluator.evaluate(any(ParseResult.class), anyString())).thenReturn(90);
+        ExtractionResult complete = pipeline.extractFromPdf(new ByteArrayInputStream(pdfBytes), null, null);
+
+        verify(cache, times(1)).store(key, complete);
+    }
 }
@@ -81,7 +81,8 @@ class ExtractionPipelineUnsupportedBankMessageTest {
                 validator,
                 parserParent,
                 adobeExtractor,
-                strategy
+                strategy,
+                null
         );
     }
 
@@ -0,0 +1,123 @@
+package com.ella.backend.services.invoices.extraction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.ella.backend.entities.InvoiceExtractionCacheEntry;
+import com.ella.backend.enums.TransactionScope;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.repositories.InvoiceExtractionCacheRepository;
+import com.ella.backend.services.invoices.parsers.ParseResult;
+import com.ella.backend.services.invoices.parsers.TransactionData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ExtractionResultCacheTest {
+
+    private static final byte[] PDF = "%PDF-1.4 fake".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void storedResultRoundTripsThroughCache() {
+        InvoiceExtractionCacheRepository repository = mock(InvoiceExtractionCacheRepository.class);
+        AtomicReference<InvoiceExtractionCacheEntry> stored = new AtomicReference<>();
+        when(repository.findByFileSha256AndParserVersionAndVariantKey(anyString(), anyString(), anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(stored.get()));
+        when(repository.saveAndFlush(any(InvoiceExtractionCacheEntry.class))).thenAnswer(inv -> {
+            stored.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        ExtractionResultCache cache = new ExtractionResultCache(repository, new ObjectMapper().findAndRegisterModules());
+        ExtractionResultCache.Key key = cache.keyFor(PDF, null, null);
+
+        TransactionData tx = new TransactionData("UBER TRIP", new BigDecimal("18.40"), TransactionType.EXPENSE,
+                "Transporte", LocalDate.of(2025, 12, 17), "Itaú final 1234", TransactionScope.PERSONAL);
+        tx.setDueDate(LocalDate.of(2025, 12, 23));
+        tx.installmentNumber = 2;
+        tx.installmentTotal = 10;
+        ParseResult parse = ParseResult.builder()
+                .transactions(List.of(tx))
+                .dueDate(LocalDate.of(2025, 12, 23))
+                .totalAmount(new BigDecimal("18.40"))
+                .bankName("ItauInvoiceParser")
+                .qualityScore(92)
+                .source("PDFBox")
+                .rawText("texto")
+                .build();
+
+        cache.store(key, new ExtractionResult(parse, "texto", "PDFBox", false, null));
+        Optional<ExtractionResult> hit = cache.find(cache.keyFor(PDF, null, null));
+
+        assertTrue(hit.isPresent());
+        ExtractionResult result = hit.get();
+        assertEquals("PDFBox", result.source());
+        assertEquals("texto", result.rawText());
+        assertEquals(92, result.parseResult().getQualityScore());
+        assertEquals(LocalDate.of(2025, 12, 23), result.parseResult().getDueDate());
+        assertEquals(1, result.transactions().size());
+        TransactionData cached = result.transactions().get(0);
+        assertEquals("UBER TRIP", cached.description);
+        assertEquals(0, cached.amount.compareTo(new BigDecimal("18.40")));
+        assertEquals(LocalDate.of(2025, 12, 23), cached.dueDate);
+        assertEquals(2, cached.installmentNumber);
+        assertEquals(10, cached.installmentTotal);
+    }
+
+    @Test
+    void dueDateOverrideIsConsideredInTheKey() {
+        ExtractionResultCache cache = new ExtractionResultCache(mock(InvoiceExtractionCacheRepository.class), new ObjectMapper());
+
+        ExtractionResultCache.Key plain = cache.keyFor(PDF, null, null);
+        ExtractionResultCache.Key withDueDate = cache.keyFor(PDF, null, "2025-12-20");
+
+        assertEquals(plain.fileSha256(), withDueDate.fileSha256());
+        assertNotEquals(plain.variantKey(), withDueDate.variantKey());
+        assertEquals(plain, cache.keyFor(PDF, "", "  "));
+    }
+
+    @Test
+    void passwordProtectedUploadsAreNotCacheable() {
+        ExtractionResultCache cache = new ExtractionResultCache(mock(InvoiceExtractionCacheRepository.class), new ObjectMapper());
+
+        assertNull(cache.keyFor(PDF, "1234", null));
+        assertNull(cache.keyFor(PDF, "1234", "2025-12-20"));
+    }
+
+    @Test
+    void purgeDeletesEntriesPastTheTtlOrOfAnotherParserBuild() {
+        InvoiceExtractionCacheRepository repository = mock(InvoiceExtractionCacheRepository.class);
+        ExtractionResultCache cache = new ExtractionResultCache(repository, new ObjectMapper());
+
+        cache.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteExpiredOrOtherVersion(cutoff.capture(), eq(ExtractionResultCache.PARSER_VERSION));
+        LocalDateTime expected = LocalDateTime.now().minusDays(30);
+        assertTrue(cutoff.getValue().isAfter(expected.minusMinutes(1)) && cutoff.getValue().isBefore(expected.plusMinutes(1)),
+                cutoff.getValue().toString());
+    }
+
+    @Test
+    void parserVersionIsDerivedFromTheParserClasses() {
+        assertTrue(ExtractionResultCache.PARSER_VERSION.startsWith("b-"), ExtractionResultCache.PARSER_VERSION);
+        assertTrue(ExtractionResultCache.PARSER_VERSION.length() <= 40);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ella.backend.services.invoices.extraction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ella.backend.services.invoices.parsers.InvoiceParserSelector;
+import com.ella.backend.services.invoices.parsers.InvoiceParserStrategy;
+import com.ella.backend.services.invoices.parsers.TransactionData;
+
+class ParseContextTest {
+
+    @Test
+    void reusesSelectionForSameSourceAndText() {
+        CountingParser parser = new CountingParser(true);
+        ParseContext context = new ParseContext(List.of(parser));
+        String text = "fatura";
+
+        InvoiceParserSelector.Selection first = context.select(ParseContext.SOURCE_PDFBOX, text);
+        InvoiceParserSelector.Selection second = context.select(ParseContext.SOURCE_PDFBOX, new String(text));
+
+        assertSame(first, second);
+        assertEquals(1, parser.extractions.get());
+        assertEquals(1, context.hits());
+        assertEquals(1, context.misses());
+    }
+
+    @Test
+    void reselectsWhenSourceOrTextChanges() {
+        CountingParser parser = new CountingParser(true);
+        ParseContext context = new ParseContext(List.of(parser));
+
+        context.select(ParseContext.SOURCE_PDFBOX, "fatura");
+        context.select(ParseContext.SOURCE_OCR, "fatura");
+        context.select(ParseContext.SOURCE_OCR, "fatura ocr");
+
+        assertEquals(3, parser.extractions.get());
+        assertEquals(0, context.hits());
+    }
+
+    @Test
+    void memoizesUnsupportedLayoutFailures() {
+        CountingParser parser = new CountingParser(false);
+        ParseContext context = new ParseContext(List.of(parser));
+
+        assertThrows(IllegalArgumentException.class, () -> context.select(ParseContext.SOURCE_PDFBOX, "texto"));
+        assertThrows(IllegalArgumentException.class, () -> context.select(ParseContext.SOURCE_PDFBOX, "texto"));
+
+        assertEquals(1, parser.applicabilityChecks.get());
+        assertEquals(1, context.hits());
+    }
+
+    private static final class CountingParser implements InvoiceParserStrategy {
+        private final boolean applicable;
+        private final AtomicInteger applicabilityChecks = new AtomicInteger();
+        private final AtomicInteger extractions = new AtomicInteger();
+
+        private CountingParser(boolean applicable) {
+            this.applicable = applicable;
+        }
+
+        @Override
+        public boolean isApplicable(String text) {
+            applicabilityChecks.incrementAndGet();
+            return applicable;
+        }
+
+        @Override
+        public LocalDate extractDueDate(String text) {
+            return applicable ? LocalDate.of(2026, 1, 20) : null;
+        }
+
+        @Override
+        public List<TransactionData> extractTransactions(String text) {
+            extractions.incrementAndGet();
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ella.backend.services.invoices.parsers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Staged vs exhaustive parser selection over synthetic Itaú / Nubank invoices.
+ *
+ * Not a unit test: run it manually from the test classpath, e.g.
+ * {@code mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt}, then
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main InvoiceParserSelectorBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvoiceParserSelectorBenchmark {
+
+    @Param({"itau", "nubank"})
+    public String layout;
+
+    @Param({"40", "400"})
+    public int lines;
+
+    private List<InvoiceParserStrategy> parsers;
+    private String text;
+
+    @Setup
+    public void setup() {
+        parsers = new InvoiceParserFactory("http://localhost:8000").getParsers();
+        text = "nubank".equals(layout) ? nubankInvoice(lines) : itauInvoice(lines);
+    }
+
+    @Benchmark
+    public InvoiceParserSelector.Selection staged() {
+        return InvoiceParserSelector.selectBest(parsers, text);
+    }
+
+    @Benchmark
+    public InvoiceParserSelector.Selection exhaustive() {
+        return InvoiceParserSelector.selectBestExhaustive(parsers, text);
+    }
+
+    public static String itauInvoice(int lines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ITAU UNIBANCO S.A.\n")
+                .append("Resumo da fatura em R$\n")
+                .append("Total desta fatura 12.005,92\n")
+                .append("Vencimento: 22/12/2025\n")
+                .append("Pagamentos efetuados\n")
+                .append("21/11 PAGAMENTO DEB AUTOMATIC -3.692,62\n")
+                .append("Lançamentos: compras e saques\n");
+        for (int i = 0; i < lines; i++) {
+            int day = 1 + (i % 28);
+            sb.append(String.format("%02d/11 MERCADO LOJA %03d %d,%02d%n", day, i, 10 + i, i % 100));
+        }
+        sb.append("Compras parceladas - próximas faturas\n")
+                .append("22/01 BT SHOP VITORI 12/12 482,00\n");
+        return sb.toString();
+    }
+
+    static String nubankInvoice(int lines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("NUBANK - Nu Pagamentos S.A.\n")
+                .append("Esta é a sua fatura de dezembro, no valor de R$ 1.107,60\n")
+                .append("Data de vencimento: 12 DEZ 2025\n")
+                .append("Período vigente: 05 NOV a 05 DEZ\n")
+                .append("TRANSAÇÕES    DE 05 NOV A 05 DEZ\n");
+        for (int i = 0; i < lines; i++) {
+            int day = 6 + (i % 24);
+            sb.append(String.format("%02d NOV    Uber*Trip %03d    R$ %d,%02d%n", day, i, 10 + i, i % 100));
+        }
+        sb.append("Pagamentos e Financiamentos    -R$ 660,63\n")
+                .append("05 NOV    Pagamento em 05 NOV    -R$ 934,83\n");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InvoiceParserSelectorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,9 +1,11 @@
 package com.ella.backend.services.invoices.parsers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -196,4 +198,27 @@ class InvoiceParserSelectorTest {
         assertEquals(LocalDate.of(2026, 2, 25), selection.chosen().dueDate());
     }
 
+    @Test
+    void stagedSelectionMatchesExhaustiveSelectionAndSkipsNonApplicableExtraction() {
+        List<InvoiceParserStrategy> parsers = new InvoiceParserFactory("http://localhost:8000").getParsers();
+
+        for (String text : List.of(
+                InvoiceParserSelectorBenchmark.itauInvoice(50),
+                InvoiceParserSelectorBenchmark.nubankInvoice(50))) {
+            InvoiceParserSelector.Selection staged = InvoiceParserSelector.selectBest(parsers, text);
+            InvoiceParserSelector.Selection exhaustive = InvoiceParserSelector.selectBestExhaustive(parsers, text);
+
+            assertEquals(exhaustive.chosen().parser(), staged.chosen().parser());
+            assertEquals(exhaustive.chosen().score(), staged.chosen().score());
+            assertEquals(exhaustive.chosen().dueDate(), staged.chosen().dueDate());
+            assertEquals(exhaustive.chosen().txCount(), staged.chosen().txCount());
+            assertEquals(exhaustive.evaluated().size(), staged.evaluated().size());
+
+            for (InvoiceParserSelector.Candidate candidate : staged.evaluated()) {
+                if (!candidate.applicable()) {
+                    assertNull(candidate.transactions());
+                }
+            }
+        }
+    }
 }
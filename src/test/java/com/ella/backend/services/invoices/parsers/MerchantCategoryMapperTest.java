@@ -1,6 +1,16 @@
 package com.ella.backend.services.invoices.parsers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -158,4 +168,33 @@ class MerchantCategoryMapperTest {
         assertEquals("Saúde", MerchantCategoryMapper.categorize("P9ESPACOLASERES", TransactionType.EXPENSE));
         assertEquals("Lazer", MerchantCategoryMapper.categorize("SEAWORLD/BUSCH GARDENS", TransactionType.EXPENSE));
     }
+
+    /**
+     * merchant-category-golden.tsv ("tipo\tdescrição\tcategoria", tipo "-" = null) was produced by the
+     * if-chain implementation that preceded the rule table: every needle of the table in several shapes
+     * (prefixes EC and MP, compacted, lowercase, embedded), random pairs of needles (precedence), and the
+     * descriptions used across the parser tests.
+     */
+    @Test
+    void matchesGoldenFile() throws IOException {
+        List<String> mismatches = new ArrayList<>();
+        int cases = 0;
+        try (InputStream in = getClass().getResourceAsStream("/invoices/merchant-category-golden.tsv")) {
+            assertNotNull(in, "golden file not found");
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split("\t", -1);
+                TransactionType type = "-".equals(cols[0]) ? null : TransactionType.valueOf(cols[0]);
+                String actual = MerchantCategoryMapper.categorize(cols[1], type);
+                if (!cols[2].equals(actual)) {
+                    mismatches.add(cols[0] + " '" + cols[1] + "': expected " + cols[2] + " but was " + actual);
+                }
+                cases++;
+            }
+        }
+
+        assertTrue(cases > 5_000, "golden file too small: " + cases);
+        assertTrue(mismatches.isEmpty(), mismatches.size() + " mismatches, e.g. " + mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
 }
@@ -0,0 +1,67 @@
+package com.ella.backend.services.invoices.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ella.backend.services.invoices.parsers.InvoiceParserSelectorBenchmark;
+
+/**
+ * Table-driven {@link NormalizeUtil#normalize} vs the original regex implementation, plus building a
+ * {@link NormalizedText} (with offset map), over synthetic Itaú invoice text.
+ *
+ * Not a unit test: run it manually from the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main NormalizeUtilBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizeUtilBenchmark {
+
+    @Param({"40", "400"})
+    public int lines;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = InvoiceParserSelectorBenchmark.itauInvoice(lines);
+    }
+
+    @Benchmark
+    public String table() {
+        return NormalizeUtil.normalize(text);
+    }
+
+    @Benchmark
+    public String regex() {
+        return NormalizeUtil.normalizeRegex(text);
+    }
+
+    @Benchmark
+    public NormalizedText normalizedText() {
+        return NormalizedText.of(text);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NormalizeUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
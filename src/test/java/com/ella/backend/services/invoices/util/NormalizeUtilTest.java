@@ -0,0 +1,75 @@
+package com.ella.backend.services.invoices.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class NormalizeUtilTest {
+
+    @Test
+    void tableNormalizerMatchesRegexImplementation() {
+        List<String> samples = List.of(
+                "",
+                "   ",
+                "Itaú Personalité",
+                "ITAU   PERSONNALITÉ\n\tResumo da fatura em R$",
+                "LANÇAMENTOS ATUAIS  Total desta fatura 12.005,92",
+                "  pagamento mínimo \r\n",
+                "\u0001 cartão final 1234 \u0001",
+                "Açaí Ñandú Øresund Straße İstanbul ŉ",
+                "e\u0301 combinado \u0301 solto",
+                "emoji 😀 e 𝐀 fora do BMP",
+                "Кириллица и ΑΒΓ",
+                "ＦＵＬＬＷＩＤＴＨ ｔｅｘｔ ™ ½");
+
+        for (String s : samples) {
+            assertEquals(NormalizeUtil.normalizeRegex(s), NormalizeUtil.normalize(s), () -> "input: " + s);
+        }
+    }
+
+    @Test
+    void tableNormalizerMatchesRegexOnRandomLatinText() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            StringBuilder sb = new StringBuilder();
+            int len = random.nextInt(200);
+            for (int i = 0; i < len; i++) {
+                int bucket = random.nextInt(10);
+                if (bucket < 6) sb.append((char) (0x20 + random.nextInt(0x5F)));
+                else if (bucket < 8) sb.append((char) (0xA0 + random.nextInt(0x1B0)));
+                else if (bucket < 9) sb.append((char) (0x300 + random.nextInt(0x70)));
+                else sb.append(" \t\n\r\u000B\f\u00A0\u2009\u2028".charAt(random.nextInt(9)));
+            }
+            String s = sb.toString();
+            assertEquals(NormalizeUtil.normalizeRegex(s), NormalizeUtil.normalize(s), () -> "input: " + s);
+        }
+    }
+
+    @Test
+    void normalizedTextMapsBackToOriginal() {
+        String original = "  Resumo da  Fatura\n\nLANÇAMENTOS  ATUAIS";
+        NormalizedText text = NormalizedText.of(original);
+
+        assertEquals("resumo da fatura lancamentos atuais", text.normalized());
+        assertTrue(text.contains("lancamentos atuais"));
+
+        int idx = text.normalized().indexOf("lancamentos");
+        assertEquals(original.indexOf("LANÇAMENTOS"), text.originalIndex(idx));
+        assertEquals("LANÇAMENTOS  ATUAIS", text.originalSlice(idx, text.normalized().length()));
+        assertEquals("Fatura", text.originalSlice(text.normalized().indexOf("fatura"), text.normalized().indexOf("fatura") + 6));
+        assertEquals(original.length(), text.originalIndex(text.normalized().length()));
+    }
+
+    @Test
+    void normalizedTextHandlesBlankInput() {
+        assertTrue(NormalizedText.of(null).isBlank());
+        assertTrue(NormalizedText.of("   ").isBlank());
+        assertEquals("", NormalizedText.of("\n").normalized());
+        assertFalse(NormalizedText.of("fatura").isBlank());
+    }
+}
@@ -0,0 +1,161 @@
+package com.ella.backend.services.ocr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PdfOcrExtractorTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void concurrentOcrKeepsPageOrderAndCapsInFlightImages() throws Exception {
+        OcrProperties props = properties(3, 2);
+        executor = executor(3);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        OcrService ocr = image -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                // Earlier (wider) pages are slower, so completion order is the reverse of page order.
+                Thread.sleep(image.getWidth() / 10L);
+                return "page-" + image.getWidth();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "";
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+
+        try (PDDocument doc = documentWithPageWidths(500, 400, 300, 200, 100)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            String text = new PdfOcrExtractor(props, ocr, executor, registry).extractText(doc);
+
+            assertEquals("page-500\npage-400\npage-300\npage-200\npage-100\n", text);
+            assertTrue(maxInFlight.get() <= 2, "in-flight images must respect max-in-flight-pages");
+            assertEquals(5, registry.get(PdfOcrExtractor.PAGE_METRIC).tag("phase", "render").timer().count());
+            assertEquals(5, registry.get(PdfOcrExtractor.PAGE_METRIC).tag("phase", "ocr").timer().count());
+        }
+    }
+
+    @Test
+    void sequentialModeWhenParallelismIsOne() throws Exception {
+        OcrProperties props = properties(1, 3);
+        OcrService ocr = image -> "page-" + image.getWidth();
+
+        try (PDDocument doc = documentWithPageWidths(300, 200)) {
+            String text = new PdfOcrExtractor(props, ocr, null, new SimpleMeterRegistry()).extractText(doc);
+
+            assertEquals("page-300\npage-200\n", text);
+        }
+    }
+
+    @Test
+    void parallelismOneStillRecognizesOnThePool() throws Exception {
+        OcrProperties props = properties(1, 3);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setThreadNamePrefix("ocr-test-");
+        executor.initialize();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        OcrService ocr = image -> {
+            threads.add(Thread.currentThread().getName());
+            return "page-" + image.getWidth();
+        };
+
+        try (PDDocument doc = documentWithPageWidths(300, 200)) {
+            String text = new PdfOcrExtractor(props, ocr, executor, new SimpleMeterRegistry()).extractText(doc);
+
+            assertEquals("page-300\npage-200\n", text);
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("ocr-test-")), threads::toString);
+        }
+    }
+
+    @Test
+    void fullPoolQueueMakesSubmittersWaitInsteadOfRejecting() throws Exception {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(OcrConfiguration.waitForQueueSpace());
+        executor.initialize();
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                Thread.sleep(20);
+                return n;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void pageFailureSurfacesAsOcrException() throws Exception {
+        OcrProperties props = properties(2, 2);
+        executor = executor(2);
+        OcrService ocr = image -> {
+            if (image.getWidth() == 200) throw new OcrException("boom", new RuntimeException());
+            return "ok";
+        };
+
+        try (PDDocument doc = documentWithPageWidths(300, 200, 100)) {
+            PdfOcrExtractor extractor = new PdfOcrExtractor(props, ocr, executor, new SimpleMeterRegistry());
+            assertThrows(OcrException.class, () -> extractor.extractText(doc));
+        }
+    }
+
+    private static OcrProperties properties(int parallelism, int maxInFlightPages) {
+        OcrProperties props = new OcrProperties();
+        props.setEnabled(true);
+        props.getPdf().setRenderDpi(72);
+        props.getPdf().setParallelism(parallelism);
+        props.getPdf().setMaxInFlightPages(maxInFlightPages);
+        return props;
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return executor;
+    }
+
+    private static PDDocument documentWithPageWidths(int... widths) {
+        PDDocument doc = new PDDocument();
+        for (int width : widths) {
+            doc.addPage(new PDPage(new PDRectangle(width, 100)));
+        }
+        return doc;
+    }
+}
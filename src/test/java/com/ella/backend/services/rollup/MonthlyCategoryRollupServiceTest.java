@@ -0,0 +1,192 @@
+package com.ella.backend.services.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.services.cashflow.BankStatementCashflowHeuristics;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.PersonMonth;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyCategoryRollupServiceTest {
+
+    @Mock
+    private MonthlyCategoryRollupStore store;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private MonthlyCategoryRollupService service;
+
+    private final UUID personId = UUID.randomUUID();
+    private final YearMonth jan = YearMonth.of(2025, 1);
+
+    @Test
+    void compute_addsStatementCashflowWithoutBillPaymentsAndBalances() {
+        MonthlyCategoryTotal card = new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.CARD, "Alimentação",
+                new BigDecimal("80.00"), new BigDecimal("80.00"), 2);
+        when(store.computeFinancial(personId, jan)).thenReturn(List.of(card));
+        when(store.loadStatementRows(personId, jan)).thenReturn(List.of(
+                statementRow("SALARIO EMPRESA X", "5000.00", BankStatementTransaction.Type.CREDIT),
+                statementRow("IFOOD *PEDIDO", "-40.00", BankStatementTransaction.Type.DEBIT),
+                statementRow("IFOOD *PEDIDO 2", "-10.00", BankStatementTransaction.Type.DEBIT),
+                statementRow("PAGAMENTO FATURA CARTAO", "-900.00", BankStatementTransaction.Type.DEBIT),
+                statementRow("SALDO DO DIA", "1200.00", BankStatementTransaction.Type.BALANCE)));
+
+        List<MonthlyCategoryTotal> rows = service.compute(personId, jan);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(card);
+        assertThat(rows.get(1).type()).isEqualTo("INCOME");
+        assertThat(rows.get(1).source()).isEqualTo(MonthlyRollupSource.STATEMENT);
+        assertThat(rows.get(1).category()).isEqualTo("Renda");
+        MonthlyCategoryTotal food = rows.get(2);
+        assertThat(food.type()).isEqualTo("EXPENSE");
+        assertThat(food.category()).isEqualTo("Alimentação");
+        assertThat(food.total()).isEqualByComparingTo("-50.00");
+        assertThat(food.totalAbs()).isEqualByComparingTo("50.00");
+        assertThat(food.count()).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_locksPersonOnceAndReplacesEachDistinctMonth() {
+        YearMonth feb = YearMonth.of(2025, 2);
+        when(store.computeFinancial(eq(personId), any())).thenReturn(List.of());
+        when(store.loadStatementRows(eq(personId), any())).thenReturn(List.of());
+
+        service.refresh(List.of(new PersonMonth(personId, feb), new PersonMonth(personId, jan), new PersonMonth(personId, feb)));
+
+        InOrder order = inOrder(store);
+        order.verify(store).lockPerson(personId);
+        order.verify(store).replace(personId, jan, List.of());
+        order.verify(store).replace(personId, feb, List.of());
+        verify(store, times(1)).lockPerson(personId);
+    }
+
+    @Test
+    void verify_reportsMonthsWhoseStoredRowsDiffer() {
+        YearMonth feb = YearMonth.of(2025, 2);
+        when(store.months(personId)).thenReturn(List.of(jan, feb));
+        when(store.find(personId, jan, feb)).thenReturn(List.of(
+                // Same values as computed, different scale: still consistent.
+                new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.CARD, null, new BigDecimal("10.0"), new BigDecimal("10.0"), 1),
+                new MonthlyCategoryTotal(feb, "EXPENSE", MonthlyRollupSource.CARD, null, new BigDecimal("10.00"), new BigDecimal("10.00"), 1)));
+        when(store.computeFinancial(personId, jan)).thenReturn(List.of(
+                new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.CARD, null, new BigDecimal("10.00"), new BigDecimal("10.00"), 1)));
+        when(store.computeFinancial(personId, feb)).thenReturn(List.of(
+                new MonthlyCategoryTotal(feb, "EXPENSE", MonthlyRollupSource.CARD, null, new BigDecimal("25.00"), new BigDecimal("25.00"), 2)));
+        when(store.loadStatementRows(eq(personId), any())).thenReturn(List.of());
+
+        assertThat(service.verify(personId)).containsExactly(feb);
+    }
+
+    @Test
+    void readsComputeStatementRowsFromRawDataUntilTheBackfillRan() {
+        YearMonth feb = YearMonth.of(2025, 2);
+        when(store.backfillVersion("STATEMENT")).thenReturn(null);
+        when(store.find(personId, jan, feb)).thenReturn(List.of(
+                new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.CARD, "Alimentação",
+                        new BigDecimal("-30.00"), new BigDecimal("30.00"), 1),
+                new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.CARD, " ",
+                        new BigDecimal("-5.00"), new BigDecimal("5.00"), 1),
+                // Stale row of an old heuristics version: must not be counted.
+                new MonthlyCategoryTotal(jan, "EXPENSE", MonthlyRollupSource.STATEMENT, "Outros",
+                        new BigDecimal("-999.00"), new BigDecimal("999.00"), 1)));
+        when(store.loadStatementRows(personId, jan)).thenReturn(List.of(
+                statementRow("IFOOD *PEDIDO", "-20.00", BankStatementTransaction.Type.DEBIT),
+                statementRow("PAGAMENTO FATURA CARTAO", "-900.00", BankStatementTransaction.Type.DEBIT)));
+        when(store.loadStatementRows(personId, feb)).thenReturn(List.of(
+                statementRow("SALARIO EMPRESA X", "5000.00", BankStatementTransaction.Type.CREDIT)));
+
+        List<MonthlyCategoryRollupService.MonthTotal> months = service.sumByMonthTypeAndSource(personId, jan, feb);
+        assertThat(months).extracting(MonthlyCategoryRollupService.MonthTotal::month).containsExactly(jan, jan, feb);
+        assertThat(months.get(0).source()).isEqualTo(MonthlyRollupSource.CARD);
+        assertThat(months.get(0).totalAbs()).isEqualByComparingTo("35.00");
+        assertThat(months.get(1).source()).isEqualTo(MonthlyRollupSource.STATEMENT);
+        assertThat(months.get(1).total()).isEqualByComparingTo("-20.00");
+        assertThat(months.get(2).type()).isEqualTo("INCOME");
+        assertThat(months.get(2).total()).isEqualByComparingTo("5000.00");
+
+        assertThat(service.sumExpensesByCategory(personId, jan, feb)).containsExactly(
+                new MonthlyCategoryRollupService.CategoryTotal("Alimentação", new BigDecimal("50.00")),
+                new MonthlyCategoryRollupService.CategoryTotal("Outros", new BigDecimal("5.00")));
+        verify(store, never()).sumByMonthTypeAndSource(any(), any(), any());
+        verify(store, never()).sumExpensesByCategory(any(), any(), any());
+    }
+
+    @Test
+    void backfillStatements_rebuildsStatementOwnersAndRecordsTheHeuristicsVersion() {
+        int version = BankStatementCashflowHeuristics.VERSION;
+        when(store.backfillVersion("STATEMENT")).thenReturn(null);
+        when(store.claimBackfill(eq("STATEMENT"), eq(version), anyString(), anyLong())).thenReturn(true);
+        when(store.statementOwnerIds()).thenReturn(List.of(personId));
+        when(transactionTemplate.execute(any())).thenReturn(3);
+
+        MonthlyCategoryRollupService.RebuildSummary summary = service.backfillStatementsIfOutdated();
+
+        assertThat(summary).isEqualTo(new MonthlyCategoryRollupService.RebuildSummary(1, 3));
+        verify(store).completeBackfill(eq("STATEMENT"), eq(version), anyString());
+        assertThat(service.isStatementBackfillCurrent()).isTrue();
+        verify(store, times(1)).backfillVersion("STATEMENT");
+    }
+
+    @Test
+    void backfillStatements_skipsWhenCurrentOrClaimedElsewhere() {
+        when(store.backfillVersion("STATEMENT")).thenReturn(BankStatementCashflowHeuristics.VERSION - 1);
+        when(store.claimBackfill(eq("STATEMENT"), anyInt(), anyString(), anyLong())).thenReturn(false);
+
+        assertThat(service.backfillStatementsIfOutdated()).isNull();
+        assertThat(service.isStatementBackfillCurrent()).isFalse();
+        verify(store, never()).statementOwnerIds();
+
+        when(store.backfillVersion("STATEMENT")).thenReturn(BankStatementCashflowHeuristics.VERSION);
+        assertThat(service.backfillStatementsIfOutdated()).isNull();
+        verify(store, times(1)).claimBackfill(eq("STATEMENT"), anyInt(), anyString(), anyLong());
+    }
+
+    @Test
+    void backfillStatements_releasesTheClaimWhenARebuildFails() {
+        when(store.claimBackfill(eq("STATEMENT"), anyInt(), anyString(), anyLong())).thenReturn(true);
+        when(store.statementOwnerIds()).thenReturn(List.of(personId));
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(service::backfillStatementsIfOutdated).isInstanceOf(IllegalStateException.class);
+
+        verify(store).releaseBackfill(eq("STATEMENT"), anyString());
+        verify(store, never()).completeBackfill(anyString(), anyInt(), anyString());
+    }
+
+    private static BankStatementTransaction statementRow(String description, String amount, BankStatementTransaction.Type type) {
+        BankStatementTransaction row = new BankStatementTransaction();
+        row.setTransactionDate(LocalDate.of(2025, 1, 10));
+        row.setDescription(description);
+        row.setAmount(new BigDecimal(amount));
+        row.setType(type);
+        return row;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ella.backend.services.rollup;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ella.backend.events.TransactionsChangedEvent;
+import com.ella.backend.services.rollup.MonthlyCategoryRollupService.PersonMonth;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupTrackerTest {
+
+    @Mock
+    private MonthlyCategoryRollupService rollupService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MonthlyRollupTracker tracker;
+
+    private final UUID personId = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void markDirty_insideTransaction_refreshesEachMonthOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(entityManager.isJoinedToTransaction()).thenReturn(true);
+
+        for (int day = 1; day <= 28; day++) {
+            tracker.markDirty(personId, LocalDate.of(2025, 1, day));
+        }
+        tracker.markDirty(personId, LocalDate.of(2025, 2, 3));
+        verify(rollupService, never()).refresh(org.mockito.ArgumentMatchers.any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.beforeCommit(false));
+
+        verify(entityManager).flush();
+        verify(rollupService).refresh(List.of(
+                new PersonMonth(personId, YearMonth.of(2025, 1)),
+                new PersonMonth(personId, YearMonth.of(2025, 2))));
+        verify(eventPublisher, never()).publishEvent(org.mockito.ArgumentMatchers.any(Object.class));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(
+                personId, Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2))));
+    }
+
+    @Test
+    void markChanged_publishesAfterCommitWithoutRefreshing() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(entityManager.isJoinedToTransaction()).thenReturn(false);
+
+        tracker.markChanged(personId, LocalDate.of(2025, 4, 10));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(rollupService, never()).refresh(org.mockito.ArgumentMatchers.any());
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(personId, Set.of(YearMonth.of(2025, 4))));
+    }
+
+    @Test
+    void markDirty_withoutTransaction_refreshesImmediately() {
+        tracker.markDirty(personId, LocalDate.of(2025, 3, 15));
+
+        verify(rollupService).refresh(List.of(new PersonMonth(personId, YearMonth.of(2025, 3))));
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(personId, Set.of(YearMonth.of(2025, 3))));
+    }
+}
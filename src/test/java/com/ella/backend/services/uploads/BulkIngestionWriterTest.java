@@ -0,0 +1,284 @@
+package com.ella.backend.services.uploads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ella.backend.entities.BankStatement;
+import com.ella.backend.entities.BankStatementTransaction;
+import com.ella.backend.entities.CreditCard;
+import com.ella.backend.entities.FinancialTransaction;
+import com.ella.backend.entities.Installment;
+import com.ella.backend.entities.Invoice;
+import com.ella.backend.entities.Person;
+import com.ella.backend.enums.CriticalReason;
+import com.ella.backend.enums.TransactionScope;
+import com.ella.backend.enums.TransactionStatus;
+import com.ella.backend.enums.TransactionType;
+import com.ella.backend.services.rollup.MonthlyRollupTracker;
+
+/**
+ * Runs the writer's multi-row INSERTs against a real database (H2 in PostgreSQL mode, schema from the entities)
+ * and reads the rows back column by column.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:bulk_ingestion;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=MONTH,YEAR",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BulkIngestionWriter.class)
+class BulkIngestionWriterTest {
+
+    @Autowired
+    BulkIngestionWriter writer;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    MonthlyRollupTracker rollupTracker;
+
+    private Person person;
+    private Invoice invoice;
+    private BankStatement statement;
+
+    @BeforeEach
+    void setUp() {
+        person = new Person();
+        person.setName("Ana");
+        entityManager.persist(person);
+
+        CreditCard card = new CreditCard();
+        card.setName("Visa");
+        card.setBrand("VISA");
+        card.setLimitAmount(new BigDecimal("5000.00"));
+        card.setClosingDay(3);
+        card.setDueDay(10);
+        card.setOwner(person);
+        entityManager.persist(card);
+
+        invoice = new Invoice();
+        invoice.setCard(card);
+        invoice.setMonth(3);
+        invoice.setYear(2026);
+        invoice.setDueDate(LocalDate.of(2026, 3, 10));
+        entityManager.persist(invoice);
+
+        statement = new BankStatement();
+        statement.setUserId(person.getId());
+        statement.setBank("ITAU");
+        statement.setStatementDate(LocalDate.of(2026, 3, 31));
+        entityManager.persist(statement);
+    }
+
+    @Test
+    void insertsInvoiceTransactionsWithEveryColumnInPlace() {
+        UUID tripId = UUID.randomUUID();
+        LocalDateTime reviewedAt = LocalDateTime.of(2026, 3, 5, 14, 30, 15);
+        FinancialTransaction full = FinancialTransaction.builder()
+                .person(person)
+                .description("IFOOD *RESTAURANTE")
+                .amount(new BigDecimal("123.45"))
+                .type(TransactionType.EXPENSE)
+                .scope(TransactionScope.BUSINESS)
+                .category("Alimentação")
+                .tripId(tripId)
+                .tripSubcategory("Refeições")
+                .transactionDate(LocalDate.of(2026, 2, 14))
+                .purchaseDate(LocalDate.of(2026, 2, 13))
+                .dueDate(LocalDate.of(2026, 3, 10))
+                .paidDate(LocalDate.of(2026, 3, 9))
+                .status(TransactionStatus.PAID)
+                .critical(true)
+                .criticalReason(CriticalReason.HIGH_VALUE)
+                .criticalReviewed(true)
+                .criticalReviewedAt(reviewedAt)
+                .build();
+        FinancialTransaction sparse = FinancialTransaction.builder()
+                .person(person)
+                .description("UBER")
+                .amount(new BigDecimal("-7.90"))
+                .type(TransactionType.EXPENSE)
+                .category("Transporte")
+                .transactionDate(LocalDate.of(2026, 2, 15))
+                .status(TransactionStatus.PENDING)
+                .build();
+
+        writer.insertTransactions(List.of(full, sparse));
+
+        assertThat(full.getId()).isNotNull();
+        assertThat(full.getCreatedAt()).isNotNull();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select * from financial_transactions where id = ?", full.getId());
+        assertThat(row.get("person_id")).isEqualTo(person.getId());
+        assertThat(row.get("description")).isEqualTo("IFOOD *RESTAURANTE");
+        assertThat((BigDecimal) row.get("amount")).isEqualByComparingTo("123.45");
+        assertThat(row.get("type")).isEqualTo("EXPENSE");
+        assertThat(row.get("scope")).isEqualTo("BUSINESS");
+        assertThat(row.get("category")).isEqualTo("Alimentação");
+        assertThat(row.get("trip_id")).isEqualTo(tripId);
+        assertThat(row.get("trip_subcategory")).isEqualTo("Refeições");
+        assertThat(date(row.get("transaction_date"))).isEqualTo(LocalDate.of(2026, 2, 14));
+        assertThat(date(row.get("purchase_date"))).isEqualTo(LocalDate.of(2026, 2, 13));
+        assertThat(date(row.get("due_date"))).isEqualTo(LocalDate.of(2026, 3, 10));
+        assertThat(date(row.get("paid_date"))).isEqualTo(LocalDate.of(2026, 3, 9));
+        assertThat(row.get("status")).isEqualTo("PAID");
+        assertThat(row.get("is_critical")).isEqualTo(true);
+        assertThat(row.get("critical_reason")).isEqualTo("HIGH_VALUE");
+        assertThat(row.get("critical_reviewed")).isEqualTo(true);
+        assertThat(((Timestamp) row.get("critical_reviewed_at")).toLocalDateTime()).isEqualTo(reviewedAt);
+        assertThat(row.get("deleted_at")).isNull();
+
+        Map<String, Object> nulls = jdbcTemplate.queryForMap("select * from financial_transactions where id = ?", sparse.getId());
+        assertThat((BigDecimal) nulls.get("amount")).isEqualByComparingTo("-7.90");
+        assertThat(nulls.get("scope")).isEqualTo("PERSONAL");
+        assertThat(nulls.get("trip_id")).isNull();
+        assertThat(nulls.get("trip_subcategory")).isNull();
+        assertThat(nulls.get("purchase_date")).isNull();
+        assertThat(nulls.get("due_date")).isNull();
+        assertThat(nulls.get("paid_date")).isNull();
+        assertThat(nulls.get("is_critical")).isEqualTo(false);
+        assertThat(nulls.get("critical_reason")).isNull();
+        assertThat(nulls.get("critical_reviewed_at")).isNull();
+
+        verify(rollupTracker).markDirty(person.getId(), LocalDate.of(2026, 2, 14));
+        verify(rollupTracker).markDirty(person.getId(), LocalDate.of(2026, 2, 15));
+    }
+
+    @Test
+    void insertsInstallmentsReferencingTheInsertedTransactions() {
+        FinancialTransaction tx = expense("NETSHOES 2/3", LocalDate.of(2026, 2, 1));
+        writer.insertTransactions(List.of(tx));
+
+        Installment installment = new Installment();
+        installment.setNumber(2);
+        installment.setTotal(3);
+        installment.setAmount(new BigDecimal("66.67"));
+        installment.setDueDate(LocalDate.of(2026, 3, 10));
+        installment.setInvoice(invoice);
+        installment.setTransaction(tx);
+        writer.insertInstallments(List.of(installment));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select * from installments where id = ?", installment.getId());
+        assertThat(row.get("number")).isEqualTo(2);
+        assertThat(row.get("total")).isEqualTo(3);
+        assertThat((BigDecimal) row.get("amount")).isEqualByComparingTo("66.67");
+        assertThat(date(row.get("due_date"))).isEqualTo(LocalDate.of(2026, 3, 10));
+        assertThat(row.get("invoice_id")).isEqualTo(invoice.getId());
+        assertThat(row.get("transaction_id")).isEqualTo(tx.getId());
+        assertThat(row.get("created_at")).isNotNull();
+    }
+
+    @Test
+    void insertsStatementRowsAndMarksTheStatementOwnerDirty() {
+        BankStatementTransaction debit = statementRow(LocalDate.of(2026, 3, 2), "PIX ENVIADO", "-50.00", "950.00",
+                BankStatementTransaction.Type.DEBIT);
+        BankStatementTransaction credit = statementRow(LocalDate.of(2026, 3, 5), "SALARIO", "3000.00", "3950.00",
+                BankStatementTransaction.Type.CREDIT);
+
+        writer.insertStatementTransactions(List.of(debit, credit));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select * from bank_statement_transactions where id = ?", debit.getId());
+        assertThat(row.get("bank_statement_id")).isEqualTo(statement.getId());
+        assertThat(date(row.get("transaction_date"))).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(row.get("description")).isEqualTo("PIX ENVIADO");
+        assertThat((BigDecimal) row.get("amount")).isEqualByComparingTo("-50.00");
+        assertThat((BigDecimal) row.get("balance")).isEqualByComparingTo("950.00");
+        assertThat(row.get("type")).isEqualTo("DEBIT");
+        assertThat(row.get("created_at")).isNotNull();
+        assertThat(row.get("updated_at")).isNotNull();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select type from bank_statement_transactions where id = ?", String.class, credit.getId()))
+                .isEqualTo("CREDIT");
+        verify(rollupTracker).markDirty(person.getId(), LocalDate.of(2026, 3, 2));
+        verify(rollupTracker).markDirty(person.getId(), LocalDate.of(2026, 3, 5));
+    }
+
+    @Test
+    void splitsLargeImportsAcrossStatementsWithoutLosingRows() {
+        int count = BulkIngestionWriter.ROWS_PER_STATEMENT + 1;
+        List<FinancialTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(expense("TX " + i, LocalDate.of(2026, 1, 1).plusDays(i % 28)));
+        }
+        List<BankStatementTransaction> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(statementRow(LocalDate.of(2026, 3, 1), "ROW " + i, "1.00", String.valueOf(i),
+                    BankStatementTransaction.Type.CREDIT));
+        }
+
+        writer.insertTransactions(transactions);
+        writer.insertStatementTransactions(rows);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financial_transactions", Integer.class))
+                .isEqualTo(count);
+        assertThat(jdbcTemplate.queryForObject(
+                "select description from financial_transactions where id = ?", String.class,
+                transactions.get(count - 1).getId()))
+                .isEqualTo("TX " + (count - 1));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bank_statement_transactions", Integer.class))
+                .isEqualTo(count);
+        assertThat(jdbcTemplate.queryForObject(
+                "select balance from bank_statement_transactions where id = ?", BigDecimal.class,
+                rows.get(BulkIngestionWriter.ROWS_PER_STATEMENT).getId()))
+                .isEqualByComparingTo(String.valueOf(BulkIngestionWriter.ROWS_PER_STATEMENT));
+        verify(rollupTracker, times(count)).markDirty(person.getId(), LocalDate.of(2026, 3, 1));
+    }
+
+    private FinancialTransaction expense(String description, LocalDate date) {
+        return FinancialTransaction.builder()
+                .person(person)
+                .description(description)
+                .amount(new BigDecimal("10.00"))
+                .type(TransactionType.EXPENSE)
+                .category("Outros")
+                .transactionDate(date)
+                .status(TransactionStatus.PENDING)
+                .build();
+    }
+
+    private BankStatementTransaction statementRow(LocalDate date, String description, String amount, String balance,
+                                                  BankStatementTransaction.Type type) {
+        BankStatementTransaction row = new BankStatementTransaction();
+        row.setBankStatement(statement);
+        row.setTransactionDate(date);
+        row.setDescription(description);
+        row.setAmount(new BigDecimal(amount));
+        row.setBalance(new BigDecimal(balance));
+        row.setType(type);
+        return row;
+    }
+
+    private static LocalDate date(Object value) {
+        return ((java.sql.Date) value).toLocalDate();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ella.backend.services.uploads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ella.backend.entities.InvoiceUploadJob;
+import com.ella.backend.repositories.InvoiceUploadJobRepository;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class InvoiceUploadJobQueueIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("ella_test")
+            .withUsername("ella")
+            .withPassword("ella");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.test.database.replace", () -> "NONE");
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+
+        registry.add("jwt.secret", () -> "test-secret");
+        // Drive the queue by hand; the local worker must not claim the test rows.
+        registry.add("ella.uploads.queue.enabled", () -> "false");
+    }
+
+    @Autowired
+    InvoiceUploadJobQueue queue;
+
+    @Autowired
+    InvoiceUploadJobRepository jobRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void claim_splitsPendingJobsBetweenWorkers() {
+        pendingJob();
+        pendingJob();
+        pendingJob();
+
+        List<UUID> a = queue.claim("node-a", 2, 60, 3);
+        List<UUID> b = queue.claim("node-b", 2, 60, 3);
+
+        assertThat(a).hasSize(2);
+        assertThat(b).hasSize(1).doesNotContainAnyElementsOf(a);
+        assertThat(queue.claim("node-c", 2, 60, 3)).isEmpty();
+
+        InvoiceUploadJob claimed = jobRepository.findById(b.get(0)).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(InvoiceUploadJob.Status.RUNNING);
+        assertThat(claimed.getLockedBy()).isEqualTo("node-b");
+        assertThat(claimed.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void claim_reclaimsExpiredLease() {
+        UUID id = pendingJob();
+        assertThat(queue.claim("node-a", 1, 60, 3)).containsExactly(id);
+
+        jdbcTemplate.update("update invoice_upload_jobs set lease_expires_at = now() - interval '1 second' where id = ?", id);
+
+        assertThat(queue.claim("node-b", 1, 60, 3)).containsExactly(id);
+        assertThat(queue.heartbeat("node-a", 60)).isZero();
+        assertThat(queue.heartbeat("node-b", 60)).isEqualTo(1);
+    }
+
+    @Test
+    void scheduleRetry_delaysNextClaim() {
+        UUID id = pendingJob();
+        queue.claim("node-a", 1, 60, 3);
+
+        assertThat(queue.scheduleRetry(id, "node-a", 3600, "timeout")).isTrue();
+
+        assertThat(queue.claim("node-a", 1, 60, 3)).isEmpty();
+        InvoiceUploadJob job = jobRepository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(InvoiceUploadJob.Status.PENDING);
+        assertThat(job.getErrorMessage()).isEqualTo("timeout");
+    }
+
+    @Test
+    void fail_resetsTheProgressOfTheRolledBackRows() {
+        UUID id = pendingJob();
+        queue.claim("node-a", 1, 60, 3);
+        queue.reportProgress(id, "node-a", 5000);
+        assertThat(jobRepository.findById(id).orElseThrow().getProcessedRows()).isEqualTo(5000);
+
+        assertThat(queue.fail(id, "node-a", "constraint violation")).isTrue();
+
+        InvoiceUploadJob failed = jobRepository.findById(id).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(InvoiceUploadJob.Status.FAILED);
+        assertThat(failed.getProcessedRows()).isZero();
+    }
+
+    @Test
+    void complete_onlyByTheWorkerHoldingTheLease() {
+        UUID id = pendingJob();
+        queue.claim("node-a", 1, 60, 3);
+        jdbcTemplate.update("update invoice_upload_jobs set lease_expires_at = now() - interval '1 second' where id = ?", id);
+        assertThat(queue.claim("node-b", 1, 60, 3)).containsExactly(id);
+
+        // node-a finishes late: its outcome must not clobber node-b's run.
+        assertThat(queue.fail(id, "node-a", "late failure")).isFalse();
+        assertThat(queue.complete(id, "node-a", "{\"totalTransactions\":1}")).isFalse();
+        InvoiceUploadJob running = jobRepository.findById(id).orElseThrow();
+        assertThat(running.getStatus()).isEqualTo(InvoiceUploadJob.Status.RUNNING);
+        assertThat(running.getLockedBy()).isEqualTo("node-b");
+
+        assertThat(queue.complete(id, "node-b", "{\"totalTransactions\":2}")).isTrue();
+        InvoiceUploadJob done = jobRepository.findById(id).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(InvoiceUploadJob.Status.SUCCEEDED);
+        assertThat(done.getLockedBy()).isNull();
+        assertThat(done.getFinishedAt()).isNotNull();
+        assertThat(done.getResultJson()).contains("2");
+    }
+
+    @Test
+    void failExhausted_failsExpiredJobsOutOfAttempts() {
+        UUID id = pendingJob();
+        queue.claim("node-a", 1, 60, 1);
+        jdbcTemplate.update("update invoice_upload_jobs set lease_expires_at = now() - interval '1 second' where id = ?", id);
+
+        assertThat(queue.claim("node-b", 1, 60, 1)).isEmpty();
+        assertThat(queue.failExhausted(1, "esgotado")).isEqualTo(1);
+        assertThat(jobRepository.findById(id).orElseThrow().getStatus()).isEqualTo(InvoiceUploadJob.Status.FAILED);
+    }
+
+    private UUID pendingJob() {
+        InvoiceUploadJob job = new InvoiceUploadJob();
+        job.setPersonId(UUID.randomUUID());
+        job.setStatus(InvoiceUploadJob.Status.PENDING);
+        job.setFilename("invoice.pdf");
+        return jobRepository.saveAndFlush(job).getId();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ella.backend.services.uploads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class UploadBlobStorageTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileSystemStore_roundTripsAndDeletes() throws Exception {
+        FileSystemUploadBlobStore fs = new FileSystemUploadBlobStore(dir);
+        UploadBlobStorage storage = new UploadBlobStorage(fs, List.of(fs));
+        UUID jobId = UUID.randomUUID();
+        byte[] bytes = "%PDF-1.4 fake".getBytes(StandardCharsets.UTF_8);
+
+        String ref = storage.put(jobId, bytes);
+
+        assertThat(ref).isEqualTo("fs:" + jobId + ".bin");
+        assertThat(storage.readAll(jobId, ref)).isEqualTo(bytes);
+        try (var files = Files.list(dir)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+
+        storage.delete(ref);
+        assertThat(Files.exists(dir.resolve(jobId + ".bin"))).isFalse();
+    }
+
+    @Test
+    void nullRef_readsLegacyBytesFromDatabaseStore() throws Exception {
+        FileSystemUploadBlobStore fs = new FileSystemUploadBlobStore(dir);
+        DatabaseUploadBlobStore db = Mockito.mock(DatabaseUploadBlobStore.class);
+        Mockito.when(db.scheme()).thenReturn(DatabaseUploadBlobStore.SCHEME);
+        UUID jobId = UUID.randomUUID();
+        Mockito.when(db.open("db:" + jobId)).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        UploadBlobStorage storage = new UploadBlobStorage(fs, List.of(fs, db));
+
+        assertThat(storage.readAll(jobId, null)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void fileSystemStore_rejectsPathTraversal() {
+        FileSystemUploadBlobStore fs = new FileSystemUploadBlobStore(dir);
+
+        assertThatThrownBy(() -> fs.open("fs:../outside.bin"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fileSystemStore_withQueue_requiresSharedDirectory() {
+        FileSystemUploadBlobStore fs = new FileSystemUploadBlobStore(dir);
+        UploadBlobProperties blob = new UploadBlobProperties();
+        blob.setStore("filesystem");
+        UploadQueueProperties queue = new UploadQueueProperties();
+
+        assertThatThrownBy(() -> UploadBlobConfiguration.checkReachableFromEveryWorker(fs, blob, queue))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shared-directory");
+
+        blob.setSharedDirectory(true);
+        UploadBlobConfiguration.checkReachableFromEveryWorker(fs, blob, queue);
+
+        blob.setSharedDirectory(false);
+        queue.setEnabled(false);
+        UploadBlobConfiguration.checkReachableFromEveryWorker(fs, blob, queue);
+        assertThat(new UploadBlobProperties().getStore()).isEqualTo("db");
+    }
+}